@@ -17,6 +17,8 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import tech.pegasys.pantheon.ethereum.core.MiningParameters;
 import tech.pegasys.pantheon.ethereum.core.MiningParametersTestBuilder;
 import tech.pegasys.pantheon.ethereum.core.PendingTransactions;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHasher;
 import tech.pegasys.pantheon.util.Subscribers;
 
 import java.time.Clock;
@@ -38,7 +40,8 @@ public class EthHashMinerExecutorTest {
             null,
             new PendingTransactions(1),
             miningParameters,
-            new DefaultBlockScheduler(1, 10, Clock.systemUTC()));
+            new DefaultBlockScheduler(1, 10, Clock.systemUTC()),
+            new EthHasher.Light(new EthHashCacheFactory()));
 
     assertThatExceptionOfType(CoinbaseNotSetException.class)
         .isThrownBy(() -> executor.startAsyncMining(new Subscribers<>(), null))
@@ -56,7 +59,8 @@ public class EthHashMinerExecutorTest {
             null,
             new PendingTransactions(1),
             miningParameters,
-            new DefaultBlockScheduler(1, 10, Clock.systemUTC()));
+            new DefaultBlockScheduler(1, 10, Clock.systemUTC()),
+            new EthHasher.Light(new EthHashCacheFactory()));
 
     assertThatExceptionOfType(IllegalArgumentException.class)
         .isThrownBy(() -> executor.setCoinbase(null))
@@ -16,6 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Collection;
@@ -34,6 +35,24 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  /**
+   * @param blockHash the hash of the block
+   * @return the block header, RLP encoded exactly as stored
+   */
+  Optional<BytesValue> getBlockHeaderRlp(Hash blockHash);
+
+  /**
+   * @param blockHash the hash of the block
+   * @return the block body, RLP encoded exactly as stored
+   */
+  Optional<BytesValue> getBlockBodyRlp(Hash blockHash);
+
+  /**
+   * @param blockHash the hash of the block
+   * @return the list of transaction receipts for the block, RLP encoded exactly as stored
+   */
+  Optional<BytesValue> getTransactionReceiptsRlp(Hash blockHash);
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<UInt256> getTotalDifficulty(Hash blockHash);
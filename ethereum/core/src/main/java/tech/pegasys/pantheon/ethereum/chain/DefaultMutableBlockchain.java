@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
 import tech.pegasys.pantheon.util.Subscribers;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
@@ -113,6 +114,21 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     return blockchainStorage.getTransactionReceipts(blockHeaderHash);
   }
 
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockHeaderRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockBodyRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getTransactionReceiptsRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<Hash> getBlockHashByNumber(final long number) {
     return blockchainStorage.getBlockHash(number);
@@ -155,6 +171,59 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     notifyBlockAdded(blockAddedEvent);
   }
 
+  @Override
+  public synchronized void appendBlocks(
+      final List<Block> blocks, final List<List<TransactionReceipt>> receipts) {
+    checkArgument(blocks.size() == receipts.size(), "Supplied receipts do not match blocks.");
+    if (blocks.isEmpty()) {
+      return;
+    }
+    final Block firstBlock = blocks.get(0);
+    final ChainHead chainHead = getChainHead();
+    if (!firstBlock.getHeader().getParentHash().equals(chainHead.getHash())
+        || blockIsAlreadyTracked(firstBlock)) {
+      // Only chunks that extend the chain head can be written without reading back any fork data
+      for (int i = 0; i < blocks.size(); i++) {
+        appendBlock(blocks.get(i), receipts.get(i));
+      }
+      return;
+    }
+
+    Hash parentHash = chainHead.getHash();
+    for (int i = 0; i < blocks.size(); i++) {
+      final Block block = blocks.get(i);
+      checkArgument(
+          block.getBody().getTransactions().size() == receipts.get(i).size(),
+          "Supplied receipts do not match block transactions.");
+      checkArgument(
+          block.getHeader().getParentHash().equals(parentHash),
+          "Attempt to append non-connected block.");
+      parentHash = block.getHash();
+    }
+
+    // Total difficulty is carried along the chunk rather than read back from storage per block
+    final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    final List<BlockAddedEvent> blockAddedEvents = new ArrayList<>(blocks.size());
+    UInt256 td = chainHead.getTotalDifficulty();
+    for (int i = 0; i < blocks.size(); i++) {
+      final Block block = blocks.get(i);
+      final List<TransactionReceipt> blockReceipts = receipts.get(i);
+      final Hash hash = block.getHash();
+      td = td.plus(block.getHeader().getDifficulty());
+      updater.putBlockHeader(hash, block.getHeader());
+      updater.putBlockBody(hash, block.getBody());
+      updater.putTransactionReceipts(hash, blockReceipts);
+      updater.putTotalDifficulty(hash, td);
+      updater.putBlockHash(block.getHeader().getNumber(), hash);
+      indexTransactionForBlock(updater, hash, block.getBody().getTransactions());
+      blockAddedEvents.add(BlockAddedEvent.createForHeadAdvancement(block));
+    }
+    updater.setChainHead(parentHash);
+    updater.commit();
+
+    blockAddedEvents.forEach(this::notifyBlockAdded);
+  }
+
   private BlockAddedEvent appendBlockHelper(
       final Block block, final List<TransactionReceipt> receipts) {
     final Hash hash = block.getHash();
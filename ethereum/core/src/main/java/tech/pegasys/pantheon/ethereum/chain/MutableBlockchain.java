@@ -30,4 +30,17 @@ public interface MutableBlockchain extends Blockchain {
    * @param receipts The list of receipts associated with this block's transactions.
    */
   void appendBlock(Block block, List<TransactionReceipt> receipts);
+
+  /**
+   * Adds a chunk of consecutive blocks to the blockchain.
+   *
+   * <p>When the first block's parent is the current chain head, all blocks are written in a single
+   * batch, including the total difficulties and canonical chain indexes, and the last block becomes
+   * the new chain head. Otherwise each block is appended as if by {@link #appendBlock(Block,
+   * List)}.
+   *
+   * @param blocks The blocks to append, each the parent of the next.
+   * @param receipts The lists of receipts associated with each block's transactions.
+   */
+  void appendBlocks(List<Block> blocks, List<List<TransactionReceipt>> receipts);
 }
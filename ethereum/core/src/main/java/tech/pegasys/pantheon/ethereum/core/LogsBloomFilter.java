@@ -37,6 +37,8 @@ public class LogsBloomFilter {
   private static final int LEAST_SIGNIFICANT_BYTE = 0xFF;
   private static final int LEAST_SIGNIFICANT_THREE_BITS = 0x7;
   private static final int BITS_IN_BYTE = 8;
+  public static final int BIT_SIZE = BYTE_SIZE * BITS_IN_BYTE;
+  private static final int BITS_PER_ITEM = 3;
 
   private final MutableBytesValue data;
 
@@ -90,17 +92,27 @@ public class LogsBloomFilter {
   }
 
   /**
-   * Discover the low order 11-bits, of the first three double-bytes, of the SHA3 hash, of each
-   * value and update the bloom filter accordingly.
+   * Discover the low order 11-bits, of the first three double-bytes, of the SHA3 hash, of a log
+   * item. These are the indexes of the bits the item sets in a bloom filter.
    *
-   * @param hashValue The hash of the log item.
+   * @param logItem The log item, either the logger address or a topic.
+   * @return the indexes of the bits set by the item.
    */
-  private void setBits(final BytesValue hashValue) {
-    for (int counter = 0; counter < 6; counter += 2) {
-      final int setBloomBit =
+  public static int[] bitIndexes(final BytesValue logItem) {
+    final BytesValue hashValue = keccak256(logItem);
+    final int[] indexes = new int[BITS_PER_ITEM];
+    for (int i = 0; i < BITS_PER_ITEM; i++) {
+      final int counter = 2 * i;
+      indexes[i] =
           ((hashValue.get(counter) & LEAST_SIGNIFICANT_THREE_BITS) << BITS_IN_BYTE)
               + (hashValue.get(counter + 1) & LEAST_SIGNIFICANT_BYTE);
-      setBit(setBloomBit);
+    }
+    return indexes;
+  }
+
+  private void setBits(final BytesValue logItem) {
+    for (final int index : bitIndexes(logItem)) {
+      setBit(index);
     }
   }
 
@@ -126,13 +138,35 @@ public class LogsBloomFilter {
   }
 
   public void insertLog(final Log log) {
-    setBits(keccak256(log.getLogger()));
+    setBits(log.getLogger());
 
     for (final LogTopic topic : log.getTopics()) {
-      setBits(keccak256(topic));
+      setBits(topic);
     }
   }
 
+  /**
+   * Checks whether a log item may have been inserted into this bloom filter. False positives are
+   * possible but false negatives are not.
+   *
+   * @param logItem The log item, either the logger address or a topic.
+   * @return false if the item was definitely not inserted.
+   */
+  public boolean couldContain(final BytesValue logItem) {
+    for (final int index : bitIndexes(logItem)) {
+      if (!isBitSet(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean isBitSet(final int index) {
+    final int byteIndex = BYTE_SIZE - 1 - index / 8;
+    final int bitIndex = index % 8;
+    return (data.get(byteIndex) & (1 << bitIndex)) != 0;
+  }
+
   private void setBit(final int index) {
     final int byteIndex = BYTE_SIZE - 1 - index / 8;
     final int bitIndex = index % 8;
@@ -22,16 +22,30 @@ public class MiningParameters {
   private final Wei minTransactionGasPrice;
   private final BytesValue extraData;
   private final Boolean enabled;
+  private final int threads;
+  private final boolean fullDatasetEnabled;
 
   public MiningParameters(
       final Address coinbase,
       final Wei minTransactionGasPrice,
       final BytesValue extraData,
       final Boolean enabled) {
+    this(coinbase, minTransactionGasPrice, extraData, enabled, 1, false);
+  }
+
+  public MiningParameters(
+      final Address coinbase,
+      final Wei minTransactionGasPrice,
+      final BytesValue extraData,
+      final Boolean enabled,
+      final int threads,
+      final boolean fullDatasetEnabled) {
     this.coinbase = Optional.ofNullable(coinbase);
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.extraData = extraData;
     this.enabled = enabled;
+    this.threads = threads;
+    this.fullDatasetEnabled = fullDatasetEnabled;
   }
 
   public Optional<Address> getCoinbase() {
@@ -49,4 +63,12 @@ public class MiningParameters {
   public Boolean isMiningEnabled() {
     return enabled;
   }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public boolean isFullDatasetEnabled() {
+    return fullDatasetEnabled;
+  }
 }
@@ -14,17 +14,30 @@ package tech.pegasys.pantheon.ethereum.debug;
 
 public class TraceOptions {
 
+  /** The number of operations a single transaction trace may record unless configured otherwise. */
+  public static final int DEFAULT_MAX_FRAMES = 1_000_000;
+
   private final boolean traceStorage;
   private final boolean traceMemory;
   private final boolean traceStack;
+  private final int maxFrames;
 
   public static final TraceOptions DEFAULT = new TraceOptions(true, true, true);
 
   public TraceOptions(
       final boolean traceStorage, final boolean traceMemory, final boolean traceStack) {
+    this(traceStorage, traceMemory, traceStack, DEFAULT_MAX_FRAMES);
+  }
+
+  public TraceOptions(
+      final boolean traceStorage,
+      final boolean traceMemory,
+      final boolean traceStack,
+      final int maxFrames) {
     this.traceStorage = traceStorage;
     this.traceMemory = traceMemory;
     this.traceStack = traceStack;
+    this.maxFrames = maxFrames;
   }
 
   public boolean isStorageEnabled() {
@@ -38,4 +51,8 @@ public class TraceOptions {
   public boolean isStackEnabled() {
     return traceStack;
   }
+
+  public int getMaxFrames() {
+    return maxFrames;
+  }
 }
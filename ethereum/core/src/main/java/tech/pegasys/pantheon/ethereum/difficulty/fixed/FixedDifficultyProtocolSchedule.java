@@ -16,6 +16,7 @@ import static tech.pegasys.pantheon.ethereum.mainnet.MainnetTransactionValidator
 
 import tech.pegasys.pantheon.config.GenesisConfigOptions;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolScheduleBuilder;
 
@@ -24,11 +25,19 @@ public class FixedDifficultyProtocolSchedule {
 
   public static ProtocolSchedule<Void> create(
       final GenesisConfigOptions config, final PrivacyParameters privacyParameters) {
+    return create(config, privacyParameters, new EthHashCacheFactory());
+  }
+
+  public static ProtocolSchedule<Void> create(
+      final GenesisConfigOptions config,
+      final PrivacyParameters privacyParameters,
+      final EthHashCacheFactory ethHashCacheFactory) {
     return new ProtocolScheduleBuilder<>(
             config,
             NO_CHAIN_ID,
             builder -> builder.difficultyCalculator(FixedDifficultyCalculators.calculator(config)),
-            privacyParameters)
+            privacyParameters,
+            ethHashCacheFactory)
         .createProtocolSchedule();
   }
 }
@@ -12,18 +12,45 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Provides the EthHash cache for each epoch.
+ *
+ * <p>Once a cache is requested for a block within {@link #getPrecomputeBlocks()} blocks of the end
+ * of its epoch, the next epoch's cache is generated in the background so that crossing the epoch
+ * boundary does not stall validation. When a cache directory is configured, generated caches are
+ * written to it and later loaded from it instead of being regenerated, including after a restart.
+ */
 public class EthHashCacheFactory {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  public static final long DEFAULT_PRECOMPUTE_BLOCKS = 3000;
+
+  private static final String CACHE_FILE_PREFIX = "ethash-cache-";
+
   public static class EthHashDescriptor {
     private final long datasetSize;
     private final int[] cache;
@@ -44,18 +71,153 @@ public class EthHashCacheFactory {
 
   Cache<Long, EthHashDescriptor> descriptorCache = CacheBuilder.newBuilder().maximumSize(5).build();
 
+  private final ExecutorService precomputeExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ethash-cache-%d").build());
+  private final AtomicLong lastPrecomputedEpoch = new AtomicLong(-1L);
+  private final Optional<Path> cacheDirectory;
+  private final long precomputeBlocks;
+
+  /** Creates a factory that only keeps caches in memory. */
+  public EthHashCacheFactory() {
+    this(Optional.empty(), DEFAULT_PRECOMPUTE_BLOCKS);
+  }
+
+  /**
+   * @param cacheDirectory the directory to persist caches to, if any
+   * @param precomputeBlocks how many blocks before the end of an epoch to start generating the next
+   *     epoch's cache, or zero to disable precomputation
+   */
+  public EthHashCacheFactory(final Optional<Path> cacheDirectory, final long precomputeBlocks) {
+    this.cacheDirectory = cacheDirectory;
+    this.precomputeBlocks = precomputeBlocks;
+  }
+
+  public long getPrecomputeBlocks() {
+    return precomputeBlocks;
+  }
+
   public EthHashDescriptor ethHashCacheFor(final long blockNumber) {
     final long epochIndex = EthHash.epoch(blockNumber);
+    final EthHashDescriptor descriptor = descriptorFor(epochIndex);
+    if (blockNumber % EthHash.EPOCH_LENGTH >= EthHash.EPOCH_LENGTH - precomputeBlocks) {
+      precompute(epochIndex + 1);
+    }
+    return descriptor;
+  }
+
+  private EthHashDescriptor descriptorFor(final long epochIndex) {
     try {
-      return descriptorCache.get(epochIndex, () -> createHashCache(epochIndex, blockNumber));
+      // Concurrent requests for the same epoch, including a running precomputation, share a load.
+      return descriptorCache.get(epochIndex, () -> loadOrCreateHashCache(epochIndex));
     } catch (final ExecutionException ex) {
       throw new RuntimeException("Failed to create a suitable cache for EthHash calculations.", ex);
     }
   }
 
-  private EthHashDescriptor createHashCache(final long epochIndex, final long blockNumber) {
+  private void precompute(final long epochIndex) {
+    final long previous = lastPrecomputedEpoch.get();
+    if (previous >= epochIndex || !lastPrecomputedEpoch.compareAndSet(previous, epochIndex)) {
+      return;
+    }
+    precomputeExecutor.execute(
+        () -> {
+          LOG.debug("Precomputing EthHash cache for epoch {}", epochIndex);
+          try {
+            descriptorFor(epochIndex);
+          } catch (final RuntimeException ex) {
+            LOG.warn("Failed to precompute EthHash cache for epoch {}", epochIndex, ex);
+          }
+        });
+  }
+
+  private EthHashDescriptor loadOrCreateHashCache(final long epochIndex) {
+    final int cacheSize = Ints.checkedCast(EthHash.cacheSize(epochIndex));
     final int[] cache =
-        EthHash.mkCache(Ints.checkedCast(EthHash.cacheSize(epochIndex)), blockNumber);
+        cacheDirectory
+            .flatMap(dir -> loadCache(dir, epochIndex, cacheSize))
+            .orElseGet(
+                () -> {
+                  final int[] created =
+                      EthHash.mkCache(cacheSize, epochIndex * EthHash.EPOCH_LENGTH);
+                  cacheDirectory.ifPresent(dir -> persistCache(dir, epochIndex, created));
+                  return created;
+                });
     return new EthHashDescriptor(EthHash.datasetSize(epochIndex), cache);
   }
+
+  private Optional<int[]> loadCache(final Path directory, final long epochIndex, final int size) {
+    final Path cacheFile = cacheFile(directory, epochIndex);
+    if (!Files.isRegularFile(cacheFile)) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+      if (channel.size() != size) {
+        LOG.warn("Ignoring EthHash cache file {} with unexpected size", cacheFile);
+        return Optional.empty();
+      }
+      final int[] cache = new int[size / Integer.BYTES];
+      channel
+          .map(MapMode.READ_ONLY, 0, size)
+          .order(ByteOrder.LITTLE_ENDIAN)
+          .asIntBuffer()
+          .get(cache);
+      return Optional.of(cache);
+    } catch (final IOException ex) {
+      LOG.warn("Unable to load EthHash cache file {}", cacheFile, ex);
+      return Optional.empty();
+    }
+  }
+
+  private void persistCache(final Path directory, final long epochIndex, final int[] cache) {
+    final Path cacheFile = cacheFile(directory, epochIndex);
+    final Path tempFile = directory.resolve(cacheFile.getFileName() + ".tmp");
+    try {
+      Files.createDirectories(directory);
+      final ByteBuffer buffer =
+          ByteBuffer.allocate(cache.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.asIntBuffer().put(cache);
+      try (final FileChannel channel =
+          FileChannel.open(
+              tempFile,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      // Move into place so a partially written file is never loaded.
+      Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+      removeStaleCaches(directory, epochIndex);
+    } catch (final IOException ex) {
+      LOG.warn("Unable to persist EthHash cache for epoch {}", epochIndex, ex);
+    }
+  }
+
+  private void removeStaleCaches(final Path directory, final long epochIndex) throws IOException {
+    try (final DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, CACHE_FILE_PREFIX + "*")) {
+      for (final Path file : files) {
+        final Optional<Long> fileEpoch = epochOf(file);
+        // Keep the previous epoch too, as blocks from it may still be validated after a reorg.
+        if (fileEpoch.isPresent() && fileEpoch.get() < epochIndex - 1) {
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+  }
+
+  private static Optional<Long> epochOf(final Path cacheFile) {
+    try {
+      return Optional.of(
+          Long.parseLong(cacheFile.getFileName().toString().substring(CACHE_FILE_PREFIX.length())));
+    } catch (final NumberFormatException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private static Path cacheFile(final Path directory, final long epochIndex) {
+    return directory.resolve(CACHE_FILE_PREFIX + epochIndex);
+  }
 }
@@ -12,18 +12,25 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class EthHashSolver {
 
@@ -69,43 +76,104 @@ public class EthHashSolver {
 
   private final long NO_MINING_CONDUCTED = -1;
 
+  /** Number of nonces a worker claims from the nonce generator at a time. */
+  private static final int NONCE_BATCH_SIZE = 32;
+
   private final Iterable<Long> nonceGenerator;
   private final EthHasher ethHasher;
+  private final int threadCount;
+  private final Executor workerExecutor;
   private volatile long hashesPerSecond = NO_MINING_CONDUCTED;
 
   private volatile Optional<EthHashSolverJob> currentJob = Optional.empty();
 
   public EthHashSolver(final Iterable<Long> nonceGenerator, final EthHasher ethHasher) {
+    this(nonceGenerator, ethHasher, 1, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Creates a solver which searches for a nonce using {@code threadCount} threads. The calling
+   * thread of {@link #solveFor(EthHashSolverJob)} is one of them, the others are run on {@code
+   * workerExecutor}.
+   *
+   * @param nonceGenerator The nonces to try, shared between all threads
+   * @param ethHasher The hasher to use, which must be thread safe if more than one thread is used
+   * @param threadCount The number of threads to search with
+   * @param workerExecutor The executor to run the additional threads on
+   */
+  public EthHashSolver(
+      final Iterable<Long> nonceGenerator,
+      final EthHasher ethHasher,
+      final int threadCount,
+      final Executor workerExecutor) {
+    checkArgument(threadCount > 0, "Must mine with at least one thread");
     this.nonceGenerator = nonceGenerator;
     this.ethHasher = ethHasher;
+    this.threadCount = threadCount;
+    this.workerExecutor = workerExecutor;
   }
 
   public EthHashSolution solveFor(final EthHashSolverJob job)
       throws InterruptedException, ExecutionException {
     currentJob = Optional.of(job);
-    findValidNonce();
-    return currentJob.get().getSolution();
+    findValidNonce(job);
+    return job.getSolution();
   }
 
-  private void findValidNonce() {
+  private void findValidNonce(final EthHashSolverJob job) {
     final Stopwatch operationTimer = Stopwatch.createStarted();
-    final EthHashSolverJob job = currentJob.get();
-    long hashesExecuted = 0;
-    final byte[] hashBuffer = new byte[64];
-    for (final Long n : nonceGenerator) {
+    final Iterator<Long> nonces = nonceGenerator.iterator();
+    final LongAdder hashesExecuted = new LongAdder();
+    final AtomicInteger activeWorkers = new AtomicInteger(threadCount);
+    final Runnable worker =
+        () -> searchNonces(job, nonces, operationTimer, hashesExecuted, activeWorkers);
+    for (int i = 1; i < threadCount; i++) {
+      workerExecutor.execute(worker);
+    }
+    worker.run();
+  }
 
-      if (job.isDone()) {
-        return;
+  private void searchNonces(
+      final EthHashSolverJob job,
+      final Iterator<Long> nonces,
+      final Stopwatch operationTimer,
+      final LongAdder hashesExecuted,
+      final AtomicInteger activeWorkers) {
+    final long[] batch = new long[NONCE_BATCH_SIZE];
+    final byte[] hashBuffer = new byte[64];
+    try {
+      int batchSize;
+      while (!job.isDone() && (batchSize = claimNonces(nonces, batch)) > 0) {
+        Optional<EthHashSolution> solution = Optional.empty();
+        int hashed = 0;
+        // Workers stop as soon as the job is solved, cancelled or replaced.
+        while (!solution.isPresent() && hashed < batchSize && !job.isDone()) {
+          solution = testNonce(job.getInputs(), batch[hashed++], hashBuffer);
+        }
+        // The rate is updated once per batch to keep the shared counter off the hashing path,
+        // and before a solution is published so it covers the hashes that found it.
+        hashesExecuted.add(hashed);
+        final double operationDurationSeconds = operationTimer.elapsed(TimeUnit.NANOSECONDS) / 1e9;
+        hashesPerSecond = (long) (hashesExecuted.sum() / operationDurationSeconds);
+        solution.ifPresent(job::solvedWith);
       }
+    } catch (final RuntimeException ex) {
+      job.failed(ex);
+    } finally {
+      if (activeWorkers.decrementAndGet() == 0) {
+        job.failed(new IllegalStateException("No valid nonce found."));
+      }
+    }
+  }
 
-      final Optional<EthHashSolution> solution = testNonce(job.getInputs(), n, hashBuffer);
-      solution.ifPresent(job::solvedWith);
-
-      hashesExecuted++;
-      final double operationDurationSeconds = operationTimer.elapsed(TimeUnit.NANOSECONDS) / 1e9;
-      hashesPerSecond = (long) (hashesExecuted / operationDurationSeconds);
+  private int claimNonces(final Iterator<Long> nonces, final long[] batch) {
+    synchronized (nonces) {
+      int claimed = 0;
+      while (claimed < batch.length && nonces.hasNext()) {
+        batch[claimed++] = nonces.next();
+      }
+      return claimed;
     }
-    job.failed(new IllegalStateException("No valid nonce found."));
   }
 
   private Optional<EthHashSolution> testNonce(
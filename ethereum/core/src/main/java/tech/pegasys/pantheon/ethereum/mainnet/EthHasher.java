@@ -15,12 +15,20 @@ package tech.pegasys.pantheon.ethereum.mainnet;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 public interface EthHasher {
 
@@ -34,7 +42,11 @@ public interface EthHasher {
 
   final class Light implements EthHasher {
 
-    private static final EthHashCacheFactory cacheFactory = new EthHashCacheFactory();
+    private final EthHashCacheFactory cacheFactory;
+
+    public Light(final EthHashCacheFactory cacheFactory) {
+      this.cacheFactory = cacheFactory;
+    }
 
     @Override
     public void hash(
@@ -46,132 +58,192 @@ public interface EthHasher {
     }
   }
 
+  /**
+   * Hashes against the full EthHash dataset, which is built once per epoch into a memory-mapped
+   * file so that lookups do not need to recompute dataset items from the cache. A dataset is
+   * generated into a partial file that only replaces the dataset file once complete, so a dataset
+   * file left by an earlier run can be reused.
+   *
+   * <p>The current dataset is published through a volatile field, so hashing takes no lock. Only
+   * threads hashing for a new epoch wait while its dataset is built; threads still hashing for the
+   * previous epoch carry on with the previous dataset. A replaced dataset is unmapped once it is
+   * garbage collected, as a thread may still be reading from it.
+   */
   final class Full implements EthHasher, Closeable {
 
     private static final int HASHERS = Runtime.getRuntime().availableProcessors();
 
-    private long epoch = -1L;
+    /** Size of each mapped region, a multiple of the dataset item size. */
+    private static final long SEGMENT_BYTES = 1L << 30;
 
-    private long datasetSize;
+    private static final Dataset NO_DATASET = new Dataset(-1L, 0, new MappedByteBuffer[0]);
 
-    private final RandomAccessFile cacheFile;
+    private final Path datasetFile;
+    private final Path partialDatasetFile;
 
     private final ExecutorService hashers = Executors.newFixedThreadPool(HASHERS);
 
-    public Full(final Path cacheFile) throws IOException {
-      this.cacheFile = new RandomAccessFile(cacheFile.toFile(), "rw");
-      datasetSize = this.cacheFile.length();
+    private final Object datasetUpdateLock = new Object();
+
+    private volatile Dataset dataset = NO_DATASET;
+
+    public Full(final Path datasetFile) throws IOException {
+      this.datasetFile = datasetFile;
+      this.partialDatasetFile = datasetFile.resolveSibling(datasetFile.getFileName() + ".partial");
+      // A partial dataset is left by a run stopped while generating and is never reused
+      Files.deleteIfExists(partialDatasetFile);
     }
 
     @Override
     public void hash(
         final byte[] buffer, final long nonce, final long number, final byte[] headerHash) {
-      final long newEpoch = EthHash.epoch(number);
-      if (epoch != newEpoch) {
-        updateCache(number, newEpoch);
-      }
-      final byte[] hash =
-          EthHash.hashimoto(
-              headerHash,
-              datasetSize,
-              nonce,
-              (bytes, offset) -> {
-                try {
-                  cacheFile.seek(((long) offset) * EthHash.HASH_BYTES);
-                  cacheFile.readFully(bytes);
-                } catch (final IOException ex) {
-                  throw new IllegalStateException(ex);
-                }
-              });
+      final long epoch = EthHash.epoch(number);
+      final Dataset loaded = dataset;
+      final Dataset current = loaded.epoch == epoch ? loaded : updateDataset(number, epoch);
+      final byte[] hash = EthHash.hashimoto(headerHash, current.size, nonce, current::readItem);
       System.arraycopy(hash, 0, buffer, 0, hash.length);
     }
 
-    private void updateCache(final long number, final long newEpoch) {
-      final int[] cache = EthHash.mkCache(Ints.checkedCast(EthHash.cacheSize(newEpoch)), number);
-      epoch = newEpoch;
-      final long newDatasetSize = EthHash.datasetSize(epoch);
-      if (newDatasetSize != datasetSize) {
-        datasetSize = newDatasetSize;
-        final CountDownLatch doneLatch = new CountDownLatch(HASHERS);
-        final int upperBound = Ints.checkedCast(datasetSize / EthHash.HASH_BYTES);
-        final int partitionSize = upperBound / HASHERS;
-        for (int partition = 0; partition < HASHERS; ++partition) {
-          hashers.execute(
-              new EthHasher.Full.HasherTask(
-                  partition * partitionSize,
-                  partition == HASHERS - 1 ? upperBound : (partition + 1) * partitionSize,
-                  cache,
-                  doneLatch,
-                  cacheFile));
+    private Dataset updateDataset(final long number, final long epoch) {
+      synchronized (datasetUpdateLock) {
+        final Dataset current = dataset;
+        if (current.epoch == epoch) {
+          return current;
         }
         try {
-          doneLatch.await();
-        } catch (final InterruptedException ex) {
+          final Dataset updated = loadDataset(number, epoch);
+          dataset = updated;
+          return updated;
+        } catch (final IOException ex) {
           throw new IllegalStateException(ex);
         }
       }
     }
 
+    private Dataset loadDataset(final long number, final long epoch) throws IOException {
+      final long size = EthHash.datasetSize(epoch);
+      // Dataset sizes grow with every epoch, so a complete dataset of this size is for this epoch
+      if (!Files.exists(datasetFile) || Files.size(datasetFile) != size) {
+        generateDataset(number, epoch, size);
+      }
+      try (final FileChannel channel = FileChannel.open(datasetFile, StandardOpenOption.READ)) {
+        return new Dataset(epoch, size, map(channel, size, MapMode.READ_ONLY));
+      }
+    }
+
+    private void generateDataset(final long number, final long epoch, final long size)
+        throws IOException {
+      final MappedByteBuffer[] segments;
+      try (final RandomAccessFile file = new RandomAccessFile(partialDatasetFile.toFile(), "rw")) {
+        file.setLength(size);
+        segments = map(file.getChannel(), size, MapMode.READ_WRITE);
+      }
+      final int cacheSize = Ints.checkedCast(EthHash.cacheSize(epoch));
+      generate(new Dataset(epoch, size, segments), EthHash.mkCache(cacheSize, number));
+      for (final MappedByteBuffer segment : segments) {
+        segment.force();
+      }
+      Files.move(
+          partialDatasetFile,
+          datasetFile,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static MappedByteBuffer[] map(
+        final FileChannel channel, final long size, final MapMode mode) throws IOException {
+      final int segmentCount = Ints.checkedCast((size - 1) / SEGMENT_BYTES + 1);
+      final MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+      for (int i = 0; i < segments.length; ++i) {
+        final long position = i * SEGMENT_BYTES;
+        segments[i] = channel.map(mode, position, Math.min(SEGMENT_BYTES, size - position));
+      }
+      return segments;
+    }
+
+    private void generate(final Dataset dataset, final int[] cache) {
+      final CountDownLatch doneLatch = new CountDownLatch(HASHERS);
+      final int upperBound = Ints.checkedCast(dataset.size / EthHash.HASH_BYTES);
+      final int partitionSize = upperBound / HASHERS;
+      for (int partition = 0; partition < HASHERS; ++partition) {
+        hashers.execute(
+            new EthHasher.Full.HasherTask(
+                partition * partitionSize,
+                partition == HASHERS - 1 ? upperBound : (partition + 1) * partitionSize,
+                cache,
+                doneLatch,
+                dataset));
+      }
+      // The dataset is flushed and moved into place afterwards, so no task may still be writing
+      Uninterruptibles.awaitUninterruptibly(doneLatch);
+    }
+
     @Override
-    public void close() throws IOException {
-      cacheFile.close();
+    public void close() {
       hashers.shutdownNow();
+      dataset = NO_DATASET;
     }
 
-    private static final class HasherTask implements Runnable {
+    private static final class Dataset {
 
-      private static final int DISK_BATCH_SIZE = 256;
+      private final long epoch;
+      private final long size;
+      private final MappedByteBuffer[] segments;
+
+      private Dataset(final long epoch, final long size, final MappedByteBuffer[] segments) {
+        this.epoch = epoch;
+        this.size = size;
+        this.segments = segments;
+      }
+
+      private void readItem(final byte[] item, final int index) {
+        itemView(index).get(item);
+      }
+
+      private void writeItem(final byte[] item, final int index) {
+        itemView(index).put(item);
+      }
+
+      private ByteBuffer itemView(final int index) {
+        // Each caller gets its own view, so the shared buffers' positions are never modified.
+        final long offset = ((long) index) * EthHash.HASH_BYTES;
+        final ByteBuffer view = segments[(int) (offset / SEGMENT_BYTES)].duplicate();
+        view.position((int) (offset % SEGMENT_BYTES));
+        return view;
+      }
+    }
+
+    private static final class HasherTask implements Runnable {
 
       private final int start;
       private final int end;
       private final int[] cache;
       private final CountDownLatch doneLatch;
-      private final RandomAccessFile cacheFile;
+      private final Dataset dataset;
 
       HasherTask(
           final int start,
           final int upperBound,
           final int[] cache,
           final CountDownLatch doneLatch,
-          final RandomAccessFile cacheFile) {
+          final Dataset dataset) {
         this.end = upperBound;
         this.cache = cache;
         this.start = start;
         this.doneLatch = doneLatch;
-        this.cacheFile = cacheFile;
+        this.dataset = dataset;
       }
 
       @Override
       public void run() {
+        final byte[] itemBuffer = new byte[EthHash.HASH_BYTES];
         try {
-          final byte[] itemBuffer = new byte[EthHash.HASH_BYTES];
-          final byte[] writeBuffer = new byte[EthHash.HASH_BYTES * DISK_BATCH_SIZE];
-          int buffered = 0;
-          long lastOffset = 0;
           for (int i = start; i < end; ++i) {
             EthHash.calcDatasetItem(itemBuffer, cache, i);
-            System.arraycopy(
-                itemBuffer, 0, writeBuffer, buffered * EthHash.HASH_BYTES, EthHash.HASH_BYTES);
-            ++buffered;
-            if (buffered == DISK_BATCH_SIZE) {
-              synchronized (cacheFile) {
-                lastOffset =
-                    (long) ((i - DISK_BATCH_SIZE + 1) * EthHash.HASH_BYTES) + writeBuffer.length;
-                cacheFile.seek(lastOffset - writeBuffer.length);
-                cacheFile.write(writeBuffer);
-              }
-              buffered = 0;
-            }
-          }
-          if (buffered > 0) {
-            synchronized (cacheFile) {
-              cacheFile.seek(lastOffset);
-              cacheFile.write(writeBuffer, 0, buffered * EthHash.HASH_BYTES);
-            }
+            dataset.writeItem(itemBuffer, i);
           }
+        } finally {
           doneLatch.countDown();
-        } catch (final IOException ex) {
-          throw new IllegalStateException(ex);
         }
       }
     }
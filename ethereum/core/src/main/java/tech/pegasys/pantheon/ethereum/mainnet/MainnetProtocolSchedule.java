@@ -40,11 +40,27 @@ public class MainnetProtocolSchedule {
    */
   public static ProtocolSchedule<Void> fromConfig(
       final GenesisConfigOptions config, final PrivacyParameters privacyParameters) {
+    return fromConfig(config, privacyParameters, new EthHashCacheFactory());
+  }
+
+  /**
+   * Create a Mainnet protocol schedule from a config object
+   *
+   * @param config {@link GenesisConfigOptions} containing the config options for the milestone
+   *     starting points
+   * @param privacyParameters the parameters set for private transactions
+   * @param ethHashCacheFactory provides the EthHash caches used to validate proof of work
+   * @return A configured mainnet protocol schedule
+   */
+  public static ProtocolSchedule<Void> fromConfig(
+      final GenesisConfigOptions config,
+      final PrivacyParameters privacyParameters,
+      final EthHashCacheFactory ethHashCacheFactory) {
     if (FixedDifficultyCalculators.isFixedDifficultyInConfig(config)) {
-      return FixedDifficultyProtocolSchedule.create(config, privacyParameters);
+      return FixedDifficultyProtocolSchedule.create(config, privacyParameters, ethHashCacheFactory);
     }
     return new ProtocolScheduleBuilder<>(
-            config, DEFAULT_CHAIN_ID, Function.identity(), privacyParameters)
+            config, DEFAULT_CHAIN_ID, Function.identity(), privacyParameters, ethHashCacheFactory)
         .createProtocolSchedule();
   }
 }
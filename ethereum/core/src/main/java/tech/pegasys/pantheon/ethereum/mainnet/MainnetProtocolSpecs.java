@@ -59,7 +59,8 @@ public abstract class MainnetProtocolSpecs {
 
   private MainnetProtocolSpecs() {}
 
-  public static ProtocolSpecBuilder<Void> frontierDefinition() {
+  public static ProtocolSpecBuilder<Void> frontierDefinition(
+      final EthHashCacheFactory ethHashCacheFactory) {
     return new ProtocolSpecBuilder<Void>()
         .gasCalculator(FrontierGasCalculator::new)
         .evmBuilder(MainnetEvmRegistries::frontier)
@@ -94,8 +95,13 @@ public abstract class MainnetProtocolSpecs {
                     messageCallProcessor,
                     false))
         .difficultyCalculator(MainnetDifficultyCalculators.FRONTIER)
-        .blockHeaderValidatorBuilder(MainnetBlockHeaderValidator::create)
-        .ommerHeaderValidatorBuilder(MainnetBlockHeaderValidator::createOmmerValidator)
+        .blockHeaderValidatorBuilder(
+            difficultyCalculator ->
+                MainnetBlockHeaderValidator.create(difficultyCalculator, ethHashCacheFactory))
+        .ommerHeaderValidatorBuilder(
+            difficultyCalculator ->
+                MainnetBlockHeaderValidator.createOmmerValidator(
+                    difficultyCalculator, ethHashCacheFactory))
         .blockBodyValidatorBuilder(MainnetBlockBodyValidator::new)
         .transactionReceiptFactory(MainnetProtocolSpecs::frontierTransactionReceiptFactory)
         .blockReward(FRONTIER_BLOCK_REWARD)
@@ -108,8 +114,9 @@ public abstract class MainnetProtocolSpecs {
         .name("Frontier");
   }
 
-  public static ProtocolSpecBuilder<Void> homesteadDefinition() {
-    return frontierDefinition()
+  public static ProtocolSpecBuilder<Void> homesteadDefinition(
+      final EthHashCacheFactory ethHashCacheFactory) {
+    return frontierDefinition(ethHashCacheFactory)
         .gasCalculator(HomesteadGasCalculator::new)
         .evmBuilder(MainnetEvmRegistries::homestead)
         .contractCreationProcessorBuilder(
@@ -122,9 +129,13 @@ public abstract class MainnetProtocolSpecs {
         .name("Homestead");
   }
 
-  public static ProtocolSpecBuilder<Void> daoRecoveryInitDefinition() {
-    return homesteadDefinition()
-        .blockHeaderValidatorBuilder(MainnetBlockHeaderValidator::createDaoValidator)
+  public static ProtocolSpecBuilder<Void> daoRecoveryInitDefinition(
+      final EthHashCacheFactory ethHashCacheFactory) {
+    return homesteadDefinition(ethHashCacheFactory)
+        .blockHeaderValidatorBuilder(
+            difficultyCalculator ->
+                MainnetBlockHeaderValidator.createDaoValidator(
+                    difficultyCalculator, ethHashCacheFactory))
         .blockProcessorBuilder(
             (transactionProcessor,
                 transactionReceiptFactory,
@@ -139,20 +150,23 @@ public abstract class MainnetProtocolSpecs {
         .name("DaoRecoveryInit");
   }
 
-  public static ProtocolSpecBuilder<Void> daoRecoveryTransitionDefinition() {
-    return daoRecoveryInitDefinition()
+  public static ProtocolSpecBuilder<Void> daoRecoveryTransitionDefinition(
+      final EthHashCacheFactory ethHashCacheFactory) {
+    return daoRecoveryInitDefinition(ethHashCacheFactory)
         .blockProcessorBuilder(MainnetBlockProcessor::new)
         .name("DaoRecoveryTransition");
   }
 
-  public static ProtocolSpecBuilder<Void> tangerineWhistleDefinition() {
-    return homesteadDefinition()
+  public static ProtocolSpecBuilder<Void> tangerineWhistleDefinition(
+      final EthHashCacheFactory ethHashCacheFactory) {
+    return homesteadDefinition(ethHashCacheFactory)
         .gasCalculator(TangerineWhistleGasCalculator::new)
         .name("TangerineWhistle");
   }
 
-  public static ProtocolSpecBuilder<Void> spuriousDragonDefinition(final int chainId) {
-    return tangerineWhistleDefinition()
+  public static ProtocolSpecBuilder<Void> spuriousDragonDefinition(
+      final int chainId, final EthHashCacheFactory ethHashCacheFactory) {
+    return tangerineWhistleDefinition(ethHashCacheFactory)
         .gasCalculator(SpuriousDragonGasCalculator::new)
         .messageCallProcessorBuilder(
             (evm, precompileContractRegistry) ->
@@ -196,8 +210,9 @@ public abstract class MainnetProtocolSpecs {
         .name("SpuriousDragon");
   }
 
-  public static ProtocolSpecBuilder<Void> byzantiumDefinition(final int chainId) {
-    return spuriousDragonDefinition(chainId)
+  public static ProtocolSpecBuilder<Void> byzantiumDefinition(
+      final int chainId, final EthHashCacheFactory ethHashCacheFactory) {
+    return spuriousDragonDefinition(chainId, ethHashCacheFactory)
         .evmBuilder(MainnetEvmRegistries::byzantium)
         .precompileContractRegistryBuilder(MainnetPrecompiledContractRegistries::byzantium)
         .difficultyCalculator(MainnetDifficultyCalculators.BYZANTIUM)
@@ -207,8 +222,9 @@ public abstract class MainnetProtocolSpecs {
         .name("Byzantium");
   }
 
-  public static ProtocolSpecBuilder<Void> constantinopleDefinition(final int chainId) {
-    return byzantiumDefinition(chainId)
+  public static ProtocolSpecBuilder<Void> constantinopleDefinition(
+      final int chainId, final EthHashCacheFactory ethHashCacheFactory) {
+    return byzantiumDefinition(chainId, ethHashCacheFactory)
         .difficultyCalculator(MainnetDifficultyCalculators.CONSTANTINOPLE)
         .gasCalculator(ConstantinopleGasCalculator::new)
         .evmBuilder(MainnetEvmRegistries::constantinople)
@@ -216,8 +232,9 @@ public abstract class MainnetProtocolSpecs {
         .name("Constantinople");
   }
 
-  public static ProtocolSpecBuilder<Void> constantinopleFixDefinition(final int chainId) {
-    return constantinopleDefinition(chainId)
+  public static ProtocolSpecBuilder<Void> constantinopleFixDefinition(
+      final int chainId, final EthHashCacheFactory ethHashCacheFactory) {
+    return constantinopleDefinition(chainId, ethHashCacheFactory)
         .gasCalculator(ConstantinopleFixGasCalculator::new)
         .name("ConstantinopleFix");
   }
@@ -27,16 +27,27 @@ public class ProtocolScheduleBuilder<C> {
   private final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<C>> protocolSpecAdapter;
   private final int defaultChainId;
   private final PrivacyParameters privacyParameters;
+  private final EthHashCacheFactory ethHashCacheFactory;
 
   public ProtocolScheduleBuilder(
       final GenesisConfigOptions config,
       final int defaultChainId,
       final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<C>> protocolSpecAdapter,
       final PrivacyParameters privacyParameters) {
+    this(config, defaultChainId, protocolSpecAdapter, privacyParameters, new EthHashCacheFactory());
+  }
+
+  public ProtocolScheduleBuilder(
+      final GenesisConfigOptions config,
+      final int defaultChainId,
+      final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<C>> protocolSpecAdapter,
+      final PrivacyParameters privacyParameters,
+      final EthHashCacheFactory ethHashCacheFactory) {
     this.config = config;
     this.protocolSpecAdapter = protocolSpecAdapter;
     this.defaultChainId = defaultChainId;
     this.privacyParameters = privacyParameters;
+    this.ethHashCacheFactory = ethHashCacheFactory;
   }
 
   public ProtocolSchedule<C> createProtocolSchedule() {
@@ -46,11 +57,13 @@ public class ProtocolScheduleBuilder<C> {
     validateForkOrdering();
 
     addProtocolSpec(
-        protocolSchedule, OptionalLong.of(0), MainnetProtocolSpecs.frontierDefinition());
+        protocolSchedule,
+        OptionalLong.of(0),
+        MainnetProtocolSpecs.frontierDefinition(ethHashCacheFactory));
     addProtocolSpec(
         protocolSchedule,
         config.getHomesteadBlockNumber(),
-        MainnetProtocolSpecs.homesteadDefinition());
+        MainnetProtocolSpecs.homesteadDefinition(ethHashCacheFactory));
 
     config
         .getDaoForkBlock()
@@ -62,11 +75,11 @@ public class ProtocolScheduleBuilder<C> {
                 addProtocolSpec(
                     protocolSchedule,
                     OptionalLong.of(daoBlockNumber),
-                    MainnetProtocolSpecs.daoRecoveryInitDefinition());
+                    MainnetProtocolSpecs.daoRecoveryInitDefinition(ethHashCacheFactory));
                 addProtocolSpec(
                     protocolSchedule,
                     OptionalLong.of(daoBlockNumber + 1),
-                    MainnetProtocolSpecs.daoRecoveryTransitionDefinition());
+                    MainnetProtocolSpecs.daoRecoveryTransitionDefinition(ethHashCacheFactory));
 
                 // Return to the previous protocol spec after the dao fork has completed.
                 protocolSchedule.putMilestone(daoBlockNumber + 10, originalProtocolSpec);
@@ -76,23 +89,23 @@ public class ProtocolScheduleBuilder<C> {
     addProtocolSpec(
         protocolSchedule,
         config.getTangerineWhistleBlockNumber(),
-        MainnetProtocolSpecs.tangerineWhistleDefinition());
+        MainnetProtocolSpecs.tangerineWhistleDefinition(ethHashCacheFactory));
     addProtocolSpec(
         protocolSchedule,
         config.getSpuriousDragonBlockNumber(),
-        MainnetProtocolSpecs.spuriousDragonDefinition(chainId));
+        MainnetProtocolSpecs.spuriousDragonDefinition(chainId, ethHashCacheFactory));
     addProtocolSpec(
         protocolSchedule,
         config.getByzantiumBlockNumber(),
-        MainnetProtocolSpecs.byzantiumDefinition(chainId));
+        MainnetProtocolSpecs.byzantiumDefinition(chainId, ethHashCacheFactory));
     addProtocolSpec(
         protocolSchedule,
         config.getConstantinopleBlockNumber(),
-        MainnetProtocolSpecs.constantinopleDefinition(chainId));
+        MainnetProtocolSpecs.constantinopleDefinition(chainId, ethHashCacheFactory));
     addProtocolSpec(
         protocolSchedule,
         config.getConstantinopleFixBlockNumber(),
-        MainnetProtocolSpecs.constantinopleFixDefinition(chainId));
+        MainnetProtocolSpecs.constantinopleFixDefinition(chainId, ethHashCacheFactory));
 
     LOG.info("Protocol schedule created with milestones: {}", protocolSchedule.listMilestones());
     return protocolSchedule;
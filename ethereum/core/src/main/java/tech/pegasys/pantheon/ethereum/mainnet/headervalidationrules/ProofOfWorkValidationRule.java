@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.mainnet.headervalidationrules;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.mainnet.DetachedBlockHeaderValidationRule;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.EthHasher;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
@@ -33,13 +34,17 @@ public final class ProofOfWorkValidationRule implements DetachedBlockHeaderValid
 
   private static final BigInteger ETHHASH_TARGET_UPPER_BOUND = BigInteger.valueOf(2).pow(256);
 
-  private static final EthHasher HASHER = new EthHasher.Light();
+  private final EthHasher hasher;
+
+  public ProofOfWorkValidationRule(final EthHashCacheFactory cacheFactory) {
+    this.hasher = new EthHasher.Light(cacheFactory);
+  }
 
   @Override
   public boolean validate(final BlockHeader header, final BlockHeader parent) {
     final byte[] hashBuffer = new byte[64];
     final Hash headerHash = hashHeader(header);
-    HASHER.hash(hashBuffer, header.getNonce(), header.getNumber(), headerHash.extractArray());
+    hasher.hash(hashBuffer, header.getNonce(), header.getNumber(), headerHash.extractArray());
 
     if (header.getDifficulty().isZero()) {
       LOG.trace("Rejecting header because difficulty is 0");
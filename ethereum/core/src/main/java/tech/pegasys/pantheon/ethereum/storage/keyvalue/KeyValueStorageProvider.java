@@ -37,7 +37,8 @@ public class KeyValueStorageProvider implements StorageProvider {
 
   @Override
   public WorldStateStorage createWorldStateStorage() {
-    return new KeyValueStorageWorldStateStorage(keyValueStorage);
+    return new KeyValueStorageWorldStateStorage(
+        keyValueStorage, KeyValueStorageWorldStateStorage.DEFAULT_CACHE_SIZE_IN_BYTES);
   }
 
   @Override
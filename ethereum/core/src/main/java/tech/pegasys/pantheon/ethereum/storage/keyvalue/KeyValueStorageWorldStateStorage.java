@@ -21,12 +21,34 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Optional;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
 
+  public static final long DEFAULT_CACHE_SIZE_IN_BYTES = 16 * 1024 * 1024;
+
   private final KeyValueStorage keyValueStorage;
+  // Values are keyed by their hash so cached entries never go stale
+  private final Cache<Bytes32, BytesValue> cache;
 
   public KeyValueStorageWorldStateStorage(final KeyValueStorage keyValueStorage) {
+    this(keyValueStorage, 0);
+  }
+
+  /**
+   * @param keyValueStorage the underlying storage
+   * @param cacheSizeInBytes the total size of the most recently read trie nodes and code to keep in
+   *     memory, shared between world state reads and node data served to peers
+   */
+  public KeyValueStorageWorldStateStorage(
+      final KeyValueStorage keyValueStorage, final long cacheSizeInBytes) {
     this.keyValueStorage = keyValueStorage;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(cacheSizeInBytes)
+            .weigher((Bytes32 key, BytesValue value) -> value.size())
+            .build();
   }
 
   @Override
@@ -34,7 +56,7 @@ public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
     if (codeHash.equals(Hash.EMPTY)) {
       return Optional.of(BytesValue.EMPTY);
     } else {
-      return keyValueStorage.get(codeHash);
+      return getCached(codeHash);
     }
   }
 
@@ -52,7 +74,7 @@ public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
     if (nodeHash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE);
     } else {
-      return keyValueStorage.get(nodeHash);
+      return getCached(nodeHash);
     }
   }
 
@@ -63,8 +85,18 @@ public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
     } else if (hash.equals(Hash.EMPTY)) {
       return Optional.of(BytesValue.EMPTY);
     } else {
-      return keyValueStorage.get(hash);
+      return getCached(hash);
+    }
+  }
+
+  private Optional<BytesValue> getCached(final Bytes32 hash) {
+    final BytesValue cachedValue = cache.getIfPresent(hash);
+    if (cachedValue != null) {
+      return Optional.of(cachedValue);
     }
+    final Optional<BytesValue> value = keyValueStorage.get(hash);
+    value.ifPresent(v -> cache.put(hash, v));
+    return value;
   }
 
   @Override
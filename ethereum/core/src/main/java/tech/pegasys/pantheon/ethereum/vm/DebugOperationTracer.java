@@ -12,26 +12,57 @@
  */
 package tech.pegasys.pantheon.ethereum.vm;
 
-import static tech.pegasys.pantheon.util.uint.UInt256.U_32;
-
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrameLimitExceededException;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Records a {@link TraceFrame} for every operation executed.
+ *
+ * <p>Memory and storage are captured as differences against the previous operation of the same
+ * message frame: unchanged words and unchanged storage are shared between trace frames rather than
+ * copied for every operation, so long transactions don't hold a full copy per step. Tracing fails
+ * with a {@link TraceFrameLimitExceededException} once more operations execute than {@link
+ * TraceOptions#getMaxFrames()} allows.
+ */
 public class DebugOperationTracer implements OperationTracer {
 
+  // Operations that may leave the memory of the executing frame changed once they complete
+  private static final Set<String> MEMORY_WRITING_OPERATIONS =
+      ImmutableSet.of(
+          "MSTORE",
+          "MSTORE8",
+          "CALLDATACOPY",
+          "CODECOPY",
+          "EXTCODECOPY",
+          "RETURNDATACOPY",
+          "CALL",
+          "CALLCODE",
+          "DELEGATECALL",
+          "STATICCALL");
+  private static final String STORAGE_WRITING_OPERATION = "SSTORE";
+
   private final TraceOptions options;
   private final List<TraceFrame> traceFrames = new ArrayList<>();
+  // The last capture of each message frame on the call stack, indexed by depth
+  private final List<FrameCapture> captures = new ArrayList<>();
+  private MessageFrame lastTracedFrame;
 
   public DebugOperationTracer(final TraceOptions options) {
     this.options = options;
@@ -43,19 +74,28 @@ public class DebugOperationTracer implements OperationTracer {
       final Optional<Gas> currentGasCost,
       final ExecuteOperation executeOperation)
       throws ExceptionalHaltException {
+    if (traceFrames.size() >= options.getMaxFrames()) {
+      throw new TraceFrameLimitExceededException(options.getMaxFrames());
+    }
     final int depth = frame.getMessageStackDepth();
     final String opcode = frame.getCurrentOperation().getName();
     final int pc = frame.getPC();
     final Gas gasRemaining = frame.getRemainingGas();
     final EnumSet<ExceptionalHaltReason> exceptionalHaltReasons =
         EnumSet.copyOf(frame.getExceptionalHaltReasons());
+    // Another frame may have executed since this frame's previous operation, e.g. a nested call
+    final boolean continuesFrame = lastTracedFrame == frame;
+    lastTracedFrame = frame;
+    final FrameCapture capture = captureFor(frame, depth);
     final Optional<Bytes32[]> stack = captureStack(frame);
-    final Optional<Bytes32[]> memory = captureMemory(frame);
+    final Optional<Bytes32[]> memory = captureMemory(frame, capture, continuesFrame);
 
     try {
       executeOperation.execute();
     } finally {
-      final Optional<Map<UInt256, UInt256>> storage = captureStorage(frame);
+      final Optional<Map<UInt256, UInt256>> storage =
+          captureStorage(frame, capture, continuesFrame, opcode);
+      capture.lastOpcode = opcode;
 
       traceFrames.add(
           new TraceFrame(
@@ -71,25 +111,76 @@ public class DebugOperationTracer implements OperationTracer {
     }
   }
 
-  private Optional<Map<UInt256, UInt256>> captureStorage(final MessageFrame frame) {
+  private FrameCapture captureFor(final MessageFrame frame, final int depth) {
+    while (captures.size() > depth + 1) {
+      captures.remove(captures.size() - 1);
+    }
+    while (captures.size() <= depth) {
+      captures.add(null);
+    }
+    FrameCapture capture = captures.get(depth);
+    if (capture == null || capture.frame != frame) {
+      capture = new FrameCapture(frame);
+      captures.set(depth, capture);
+    }
+    return capture;
+  }
+
+  private Optional<Map<UInt256, UInt256>> captureStorage(
+      final MessageFrame frame,
+      final FrameCapture capture,
+      final boolean continuesFrame,
+      final String opcode) {
     if (!options.isStorageEnabled()) {
       return Optional.empty();
     }
-    final Map<UInt256, UInt256> storageContents =
-        new TreeMap<>(
-            frame.getWorldState().getMutable(frame.getRecipientAddress()).getUpdatedStorage());
-    return Optional.of(storageContents);
+    if (capture.storage == null
+        || !continuesFrame
+        || STORAGE_WRITING_OPERATION.equals(opcode)) {
+      capture.storage =
+          Collections.unmodifiableMap(
+              new TreeMap<>(
+                  frame
+                      .getWorldState()
+                      .getMutable(frame.getRecipientAddress())
+                      .getUpdatedStorage()));
+    }
+    return Optional.of(capture.storage);
   }
 
-  private Optional<Bytes32[]> captureMemory(final MessageFrame frame) {
+  private Optional<Bytes32[]> captureMemory(
+      final MessageFrame frame, final FrameCapture capture, final boolean continuesFrame) {
     if (!options.isMemoryEnabled()) {
       return Optional.empty();
     }
-    final Bytes32[] memoryContents = new Bytes32[frame.memoryWordSize().toInt()];
+    final int words = frame.memoryWordSize().toInt();
+    final Bytes32[] previous = capture.memory;
+    if (previous != null
+        && previous.length == words
+        && continuesFrame
+        && !MEMORY_WRITING_OPERATIONS.contains(capture.lastOpcode)) {
+      return Optional.of(previous);
+    }
+
+    final BytesValue contents =
+        words == 0
+            ? BytesValue.EMPTY
+            : frame.readMemory(UInt256.ZERO, UInt256.of((long) words * Bytes32.SIZE));
+    final Bytes32[] memoryContents = new Bytes32[words];
+    boolean changed = previous == null || previous.length != words;
     for (int i = 0; i < memoryContents.length; i++) {
-      memoryContents[i] = Bytes32.wrap(frame.readMemory(UInt256.of(i).times(U_32), U_32), 0);
+      final Bytes32 word = Bytes32.wrap(contents, i * Bytes32.SIZE);
+      if (previous != null && i < previous.length && previous[i].equals(word)) {
+        memoryContents[i] = previous[i];
+      } else {
+        memoryContents[i] = word.copy();
+        changed = true;
+      }
     }
-    return Optional.of(memoryContents);
+    if (changed) {
+      capture.memory = memoryContents;
+    }
+    return Optional.of(capture.memory);
   }
 
   private Optional<Bytes32[]> captureStack(final MessageFrame frame) {
@@ -107,4 +198,15 @@ public class DebugOperationTracer implements OperationTracer {
   public List<TraceFrame> getTraceFrames() {
     return traceFrames;
   }
+
+  private static class FrameCapture {
+    private final MessageFrame frame;
+    private String lastOpcode;
+    private Bytes32[] memory;
+    private Map<UInt256, UInt256> storage;
+
+    private FrameCapture(final MessageFrame frame) {
+      this.frame = frame;
+    }
+  }
 }
@@ -12,7 +12,9 @@
  */
 package tech.pegasys.pantheon.ethereum.chain;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 
 import tech.pegasys.pantheon.ethereum.core.Block;
@@ -23,6 +25,7 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHashFunction;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
@@ -105,6 +108,29 @@ public class DefaultMutableBlockchainTest {
     assertThat(blockchain.getForks()).isEmpty();
   }
 
+  @Test
+  public void rawBlockDataMatchesEncodedBlockData() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final Block genesisBlock = gen.genesisBlock();
+    final DefaultMutableBlockchain blockchain = createBlockchain(kvStore, genesisBlock);
+
+    final BlockOptions options =
+        new BlockOptions().setBlockNumber(1L).setParentHash(genesisBlock.getHash());
+    final Block newBlock = gen.block(options);
+    final List<TransactionReceipt> receipts = gen.receipts(newBlock);
+    blockchain.appendBlock(newBlock, receipts);
+
+    final Hash hash = newBlock.getHash();
+    assertThat(blockchain.getBlockHeaderRlp(hash))
+        .contains(RLP.encode(newBlock.getHeader()::writeTo));
+    assertThat(blockchain.getBlockBodyRlp(hash)).contains(RLP.encode(newBlock.getBody()::writeTo));
+    assertThat(blockchain.getTxReceiptsRlp(hash))
+        .contains(RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeTo)));
+    assertThat(blockchain.getBlockHeaderRlp(gen.hash())).isEmpty();
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void appendUnconnectedBlock() {
     final BlockDataGenerator gen = new BlockDataGenerator();
@@ -158,6 +184,49 @@ public class DefaultMutableBlockchainTest {
     assertThat(blockchain.getForks()).isEmpty();
   }
 
+  @Test
+  public void appendBlocksInSingleBatch() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(4);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultMutableBlockchain blockchain = createBlockchain(kvStore, chain.get(0));
+    final List<Block> addedBlocks = new ArrayList<>();
+    blockchain.observeBlockAdded((event, chainView) -> addedBlocks.add(event.getBlock()));
+    blockchain.appendBlocks(
+        chain.subList(1, chain.size()), blockReceipts.subList(1, blockReceipts.size()));
+
+    for (int i = 1; i < chain.size(); i++) {
+      assertBlockDataIsStored(blockchain, chain.get(i), blockReceipts.get(i));
+    }
+    final Block head = chain.get(chain.size() - 1);
+    assertBlockIsHead(blockchain, head);
+    assertTotalDifficultiesAreConsistent(blockchain, head);
+    assertThat(addedBlocks).containsExactlyElementsOf(chain.subList(1, chain.size()));
+    assertThat(blockchain.getForks()).isEmpty();
+  }
+
+  @Test
+  public void appendBlocksRejectsUnconnectedChunk() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(4);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultMutableBlockchain blockchain = createBlockchain(kvStore, chain.get(0));
+
+    assertThatThrownBy(
+            () ->
+                blockchain.appendBlocks(
+                    asList(chain.get(1), chain.get(3)),
+                    asList(blockReceipts.get(1), blockReceipts.get(3))))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertBlockIsHead(blockchain, chain.get(0));
+  }
+
   @Test
   public void appendBlockWithReorgToChainAtEqualHeight() {
     final BlockDataGenerator gen = new BlockDataGenerator(1);
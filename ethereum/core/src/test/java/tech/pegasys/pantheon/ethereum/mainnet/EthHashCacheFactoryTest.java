@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory.EthHashDescriptor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EthHashCacheFactoryTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldLoadPersistedCache() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    final byte[] persistedCache = new byte[(int) EthHash.cacheSize(0)];
+    Arrays.fill(persistedCache, (byte) 1);
+    Files.write(directory.resolve("ethash-cache-0"), persistedCache);
+
+    final EthHashCacheFactory factory = new EthHashCacheFactory(Optional.of(directory), 0);
+    final EthHashDescriptor descriptor = factory.ethHashCacheFor(1);
+
+    assertThat(descriptor.getCache()).hasSize(persistedCache.length / Integer.BYTES);
+    assertThat(descriptor.getCache()[0]).isEqualTo(0x01010101);
+    assertThat(descriptor.getDatasetSize()).isEqualTo(EthHash.datasetSize(0));
+  }
+
+  @Test
+  public void shouldPersistGeneratedCache() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    final EthHashCacheFactory factory = new EthHashCacheFactory(Optional.of(directory), 0);
+
+    final EthHashDescriptor generated = factory.ethHashCacheFor(1);
+
+    assertThat(directory.resolve("ethash-cache-0")).exists();
+    final EthHashCacheFactory restartedFactory =
+        new EthHashCacheFactory(Optional.of(directory), 0);
+    assertThat(restartedFactory.ethHashCacheFor(1).getCache()).isEqualTo(generated.getCache());
+  }
+}
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.mainnet;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
@@ -26,7 +27,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
@@ -37,7 +42,8 @@ public class EthHashSolverTest {
   @Test
   public void emptyHashRateAndWorkDefinitionIsReportedPriorToSolverStarting() {
     final List<Long> noncesToTry = Arrays.asList(1L, 1L, 1L, 1L, 1L, 1L, 0L);
-    final EthHashSolver solver = new EthHashSolver(noncesToTry, new EthHasher.Light());
+    final EthHashSolver solver =
+        new EthHashSolver(noncesToTry, new EthHasher.Light(new EthHashCacheFactory()));
 
     assertThat(solver.hashesPerSecond()).isEqualTo(Optional.empty());
     assertThat(solver.getWorkDefinition()).isEqualTo(Optional.empty());
@@ -117,7 +123,7 @@ public class EthHashSolverTest {
     final EthHashSolver solver =
         new EthHashSolver(
             Lists.newArrayList(expectedFirstOutput.getNonce(), 0L, expectedSecondOutput.getNonce()),
-            new EthHasher.Light());
+            new EthHasher.Light(new EthHashCacheFactory()));
 
     EthHashSolution soln = solver.solveFor(EthHashSolverJob.createFromInputs(firstInputs));
     assertThat(soln.getMixHash()).isEqualTo(expectedFirstOutput.getMixHash());
@@ -125,4 +131,47 @@ public class EthHashSolverTest {
     soln = solver.solveFor(EthHashSolverJob.createFromInputs(secondInputs));
     assertThat(soln.getMixHash()).isEqualTo(expectedSecondOutput.getMixHash());
   }
+
+  @Test
+  public void multipleThreadsFindSolution() throws InterruptedException, ExecutionException {
+    // Only nonce 0 produces a hash that meets the target.
+    final List<Long> noncesToTry =
+        LongStream.rangeClosed(0, 1000).map(n -> 1000 - n).boxed().collect(Collectors.toList());
+    final ExecutorService workerExecutor = Executors.newCachedThreadPool();
+    try {
+      final EthHashSolver solver =
+          new EthHashSolver(noncesToTry, zeroNonceHasher(), 4, workerExecutor);
+
+      final EthHashSolverInputs inputs = new EthHashSolverInputs(UInt256.ZERO, new byte[0], 5);
+      final EthHashSolution solution = solver.solveFor(EthHashSolverJob.createFromInputs(inputs));
+
+      assertThat(solution.getNonce()).isEqualTo(0L);
+      assertThat(solver.hashesPerSecond()).isPresent();
+    } finally {
+      workerExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void multipleThreadsFailWhenNoncesAreExhausted() {
+    final List<Long> noncesToTry =
+        LongStream.rangeClosed(1, 100).boxed().collect(Collectors.toList());
+    final ExecutorService workerExecutor = Executors.newCachedThreadPool();
+    try {
+      final EthHashSolver solver =
+          new EthHashSolver(noncesToTry, zeroNonceHasher(), 4, workerExecutor);
+
+      final EthHashSolverInputs inputs = new EthHashSolverInputs(UInt256.ZERO, new byte[0], 5);
+
+      assertThatThrownBy(() -> solver.solveFor(EthHashSolverJob.createFromInputs(inputs)))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+    } finally {
+      workerExecutor.shutdownNow();
+    }
+  }
+
+  private EthHasher zeroNonceHasher() {
+    return (buffer, nonce, number, headerHash) -> buffer[63] = (byte) (nonce == 0 ? 0 : 1);
+  }
 }
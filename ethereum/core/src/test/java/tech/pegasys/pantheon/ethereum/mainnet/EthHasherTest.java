@@ -18,6 +18,9 @@ import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.util.ByteArrayUtil;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import com.google.common.io.Resources;
 import org.assertj.core.api.Assertions;
 import org.junit.Ignore;
@@ -49,4 +52,16 @@ public final class EthHasherTest {
           .isEqualTo(0);
     }
   }
+
+  @Test
+  public void discardsPartiallyGeneratedDataset() throws Exception {
+    final Path datasetFile = folder.getRoot().toPath().resolve("ethash.dataset");
+    final Path partialDatasetFile = folder.getRoot().toPath().resolve("ethash.dataset.partial");
+    Files.write(partialDatasetFile, new byte[EthHash.HASH_BYTES]);
+
+    try (final EthHasher.Full ignored = new EthHasher.Full(datasetFile)) {
+      Assertions.assertThat(partialDatasetFile).doesNotExist();
+      Assertions.assertThat(datasetFile).doesNotExist();
+    }
+  }
 }
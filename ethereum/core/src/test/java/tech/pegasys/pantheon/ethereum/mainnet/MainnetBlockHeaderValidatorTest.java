@@ -28,7 +28,8 @@ public final class MainnetBlockHeaderValidatorTest {
   @Test
   public void validHeaderFrontier() throws Exception {
     final BlockHeaderValidator<Void> headerValidator =
-        MainnetBlockHeaderValidator.create(MainnetDifficultyCalculators.FRONTIER);
+        MainnetBlockHeaderValidator.create(
+            MainnetDifficultyCalculators.FRONTIER, new EthHashCacheFactory());
     assertThat(
             headerValidator.validateHeader(
                 ValidationTestUtils.readHeader(300006),
@@ -41,7 +42,8 @@ public final class MainnetBlockHeaderValidatorTest {
   @Test
   public void validHeaderHomestead() throws Exception {
     final BlockHeaderValidator<Void> headerValidator =
-        MainnetBlockHeaderValidator.create(MainnetDifficultyCalculators.HOMESTEAD);
+        MainnetBlockHeaderValidator.create(
+            MainnetDifficultyCalculators.HOMESTEAD, new EthHashCacheFactory());
     assertThat(
             headerValidator.validateHeader(
                 ValidationTestUtils.readHeader(1200001),
@@ -54,7 +56,8 @@ public final class MainnetBlockHeaderValidatorTest {
   @Test
   public void invalidParentHash() throws Exception {
     final BlockHeaderValidator<Void> headerValidator =
-        MainnetBlockHeaderValidator.create(MainnetDifficultyCalculators.HOMESTEAD);
+        MainnetBlockHeaderValidator.create(
+            MainnetDifficultyCalculators.HOMESTEAD, new EthHashCacheFactory());
     assertThat(
             headerValidator.validateHeader(
                 ValidationTestUtils.readHeader(1200001),
@@ -67,7 +70,8 @@ public final class MainnetBlockHeaderValidatorTest {
   @Test
   public void validHeaderByzantium() throws Exception {
     final BlockHeaderValidator<Void> headerValidator =
-        MainnetBlockHeaderValidator.create(MainnetDifficultyCalculators.BYZANTIUM);
+        MainnetBlockHeaderValidator.create(
+            MainnetDifficultyCalculators.BYZANTIUM, new EthHashCacheFactory());
     assertThat(
             headerValidator.validateHeader(
                 ValidationTestUtils.readHeader(4400001),
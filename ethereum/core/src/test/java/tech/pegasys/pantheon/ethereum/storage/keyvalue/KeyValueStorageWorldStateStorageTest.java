@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage.Updater;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
@@ -186,6 +187,24 @@ public class KeyValueStorageWorldStateStorageTest {
     assertThat(emptyStorage().isWorldStateAvailable(Hash.EMPTY_TRIE_HASH)).isTrue();
   }
 
+  @Test
+  public void getNodeData_servesCachedValues() {
+    final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+    final KeyValueStorageWorldStateStorage storage =
+        new KeyValueStorageWorldStateStorage(keyValueStorage, 1024);
+    final BytesValue node = BytesValue.of(1, 2, 3);
+    final Hash hash = Hash.hash(node);
+    storage.updater().putAccountStateTrieNode(hash, node).commit();
+    assertThat(storage.getNodeData(hash)).contains(node);
+
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    transaction.remove(hash);
+    transaction.commit();
+
+    assertThat(storage.getNodeData(hash)).contains(node);
+    assertThat(storage.getAccountStateTrieNode(hash)).contains(node);
+  }
+
   private KeyValueStorageWorldStateStorage emptyStorage() {
     return new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
   }
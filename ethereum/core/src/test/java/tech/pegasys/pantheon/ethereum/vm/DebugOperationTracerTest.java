@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.core.MutableAccount;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrameLimitExceededException;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.vm.OperationTracer.ExecuteOperation;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
@@ -64,6 +65,9 @@ public class DebugOperationTracerTest {
         public void execute(final MessageFrame frame) {}
       };
 
+  private final Operation mstore = noopOperation(0x52, "MSTORE");
+  private final Operation sstore = noopOperation(0x55, "SSTORE");
+
   @Test
   public void shouldRecordProgramCounter() throws Exception {
     final MessageFrame frame = validMessageFrame();
@@ -172,6 +176,77 @@ public class DebugOperationTracerTest {
     assertThat(traceFrame.getStorage()).contains(updatedStorage);
   }
 
+  @Test
+  public void shouldShareUnchangedMemoryBetweenOperations() throws Exception {
+    final MessageFrame frame = validMessageFrame();
+    frame.writeMemory(UInt256.ZERO, UInt256.of(32), Bytes32.fromHexString("0x01"));
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, true, false));
+
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+
+    final Bytes32[] firstMemory = tracer.getTraceFrames().get(0).getMemory().get();
+    assertThat(tracer.getTraceFrames().get(1).getMemory().get()).isSameAs(firstMemory);
+  }
+
+  @Test
+  public void shouldCaptureOnlyChangedWordsAfterMemoryWrite() throws Exception {
+    final MessageFrame frame = validMessageFrame();
+    final Bytes32 word1 = Bytes32.fromHexString("0x01");
+    final Bytes32 word2 = Bytes32.fromHexString("0x02");
+    frame.writeMemory(UInt256.ZERO, UInt256.of(32), word1);
+    frame.writeMemory(UInt256.of(32), UInt256.of(32), word2);
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, true, false));
+
+    frame.setCurrentOperation(mstore);
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+    final Bytes32 word3 = Bytes32.fromHexString("0x03");
+    frame.writeMemory(UInt256.of(32), UInt256.of(32), word3);
+    frame.setCurrentOperation(anOperation);
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+
+    final Bytes32[] firstMemory = tracer.getTraceFrames().get(0).getMemory().get();
+    final Bytes32[] secondMemory = tracer.getTraceFrames().get(1).getMemory().get();
+    assertThat(firstMemory).containsExactly(word1, word2);
+    assertThat(secondMemory).containsExactly(word1, word3);
+    assertThat(secondMemory[0]).isSameAs(firstMemory[0]);
+  }
+
+  @Test
+  public void shouldShareStorageUntilStorageIsWritten() throws Exception {
+    final MessageFrame frame = validMessageFrame();
+    final Map<UInt256, UInt256> updatedStorage = setupStorageForCapture(frame);
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(true, false, false));
+
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+    updatedStorage.put(UInt256.of(2), UInt256.of(7));
+    frame.setCurrentOperation(sstore);
+    tracer.traceExecution(frame, Optional.of(Gas.of(50)), executeOperationAction);
+
+    final Map<UInt256, UInt256> firstStorage = tracer.getTraceFrames().get(0).getStorage().get();
+    assertThat(tracer.getTraceFrames().get(1).getStorage().get()).isSameAs(firstStorage);
+    assertThat(firstStorage).doesNotContainKey(UInt256.of(2));
+    assertThat(tracer.getTraceFrames().get(2).getStorage().get()).isEqualTo(updatedStorage);
+  }
+
+  @Test
+  public void shouldFailTraceWhenFrameLimitIsExceeded() throws Exception {
+    final MessageFrame frame = validMessageFrame();
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, false, false, 2));
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+
+    assertThatThrownBy(
+            () -> tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction))
+        .isInstanceOf(TraceFrameLimitExceededException.class);
+    assertThat(tracer.getTraceFrames()).hasSize(2);
+  }
+
   private TraceFrame traceFrame(final MessageFrame frame, final Gas currentGasCost)
       throws Exception {
     return traceFrame(frame, currentGasCost, new TraceOptions(false, false, false));
@@ -192,6 +267,18 @@ public class DebugOperationTracerTest {
     return frame;
   }
 
+  private static Operation noopOperation(final int opcode, final String name) {
+    return new AbstractOperation(opcode, name, 0, 0, false, 1, null) {
+      @Override
+      public Gas cost(final MessageFrame frame) {
+        return Gas.ZERO;
+      }
+
+      @Override
+      public void execute(final MessageFrame frame) {}
+    };
+  }
+
   private TraceFrame getOnlyTraceFrame(final DebugOperationTracer tracer) {
     assertThat(tracer.getTraceFrames()).hasSize(1);
     return tracer.getTraceFrames().get(0);
@@ -21,6 +21,7 @@ import static tech.pegasys.pantheon.ethereum.vm.OperationTracer.NO_TRACING;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSpecs;
 import tech.pegasys.pantheon.ethereum.mainnet.MutableProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
@@ -116,7 +117,7 @@ public class VMReferenceTest extends AbstractRetryingTest {
     final EnvironmentInformation execEnv = spec.getExec();
 
     final ProtocolSpec<Void> protocolSpec =
-        MainnetProtocolSpecs.frontierDefinition()
+        MainnetProtocolSpecs.frontierDefinition(new EthHashCacheFactory())
             .privacyParameters(PrivacyParameters.noPrivacy())
             .build(new MutableProtocolSchedule<>(CHAIN_ID));
 
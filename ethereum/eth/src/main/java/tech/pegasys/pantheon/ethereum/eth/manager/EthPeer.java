@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.Subscribers;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
@@ -55,22 +56,41 @@ public class EthPeer {
   private final ChainState chainHeadState;
   private final AtomicBoolean statusHasBeenSentToPeer = new AtomicBoolean(false);
   private final AtomicBoolean statusHasBeenReceivedFromPeer = new AtomicBoolean(false);
+  private final AtomicBoolean disconnected = new AtomicBoolean(false);
 
-  private final RequestManager headersRequestManager = new RequestManager(this);
-  private final RequestManager bodiesRequestManager = new RequestManager(this);
-  private final RequestManager receiptsRequestManager = new RequestManager(this);
-  private final RequestManager nodeDataRequestManager = new RequestManager(this);
+  private final RequestManager headersRequestManager =
+      createRequestManager(EthPV62.GET_BLOCK_HEADERS);
+  private final RequestManager bodiesRequestManager =
+      createRequestManager(EthPV62.GET_BLOCK_BODIES);
+  private final RequestManager receiptsRequestManager = createRequestManager(EthPV63.GET_RECEIPTS);
+  private final RequestManager nodeDataRequestManager = createRequestManager(EthPV63.GET_NODE_DATA);
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
+  private final PeerThroughput throughput = new PeerThroughput();
+  private final PeerServingBudget nodeDataServingBudget = new PeerServingBudget();
+  private final PeerResponseMetrics responseMetrics;
   private final Subscribers<DisconnectCallback> disconnectCallbacks = new Subscribers<>();
 
   EthPeer(
       final PeerConnection connection,
       final String protocolName,
       final Consumer<EthPeer> onStatusesExchanged) {
+    this(
+        connection,
+        protocolName,
+        onStatusesExchanged,
+        new PeerResponseMetrics(new NoOpMetricsSystem()));
+  }
+
+  EthPeer(
+      final PeerConnection connection,
+      final String protocolName,
+      final Consumer<EthPeer> onStatusesExchanged,
+      final PeerResponseMetrics responseMetrics) {
     this.connection = connection;
     this.protocolName = protocolName;
+    this.responseMetrics = responseMetrics;
     knownBlocks =
         Collections.newSetFromMap(
             Collections.synchronizedMap(
@@ -94,6 +114,8 @@ public class EthPeer {
 
   public void recordRequestTimeout(final int requestCode) {
     LOG.debug("Timed out while waiting for response from peer {}", this);
+    throughput.recordTimeout(requestCode);
+    responseMetrics.recordTimeout(requestCode);
     reputation.recordRequestTimeout(requestCode).ifPresent(this::disconnect);
   }
 
@@ -250,6 +272,7 @@ public class EthPeer {
   }
 
   void handleDisconnect() {
+    disconnected.set(true);
     headersRequestManager.close();
     bodiesRequestManager.close();
     receiptsRequestManager.close();
@@ -300,6 +323,11 @@ public class EthPeer {
     return statusHasBeenReceivedFromPeer.get();
   }
 
+  /** @return true once the connection to this peer has been closed. */
+  public boolean isDisconnected() {
+    return disconnected.get();
+  }
+
   /** @return true if we have sent a status message to this peer. */
   public boolean statusHasBeenSentToPeer() {
     return statusHasBeenSentToPeer.get();
@@ -313,6 +341,30 @@ public class EthPeer {
     return chainHeadState;
   }
 
+  public PeerThroughput throughput() {
+    return throughput;
+  }
+
+  /**
+   * The budget limiting how much world state data is read from disk to answer this peer's node
+   * data requests.
+   *
+   * @return the node data serving budget
+   */
+  public PeerServingBudget nodeDataServingBudget() {
+    return nodeDataServingBudget;
+  }
+
+  /**
+   * Estimates how long a new request would take to be answered, allowing for the requests this
+   * peer must answer first.
+   *
+   * @return the expected response time in milliseconds
+   */
+  public double expectedResponseTimeMillis() {
+    return (outstandingRequests() + 1) * throughput.averageResponseTimeMillis();
+  }
+
   public void registerHeight(final Hash blockHash, final long height) {
     chainHeadState.update(blockHash, height);
   }
@@ -324,6 +376,15 @@ public class EthPeer {
         + nodeDataRequestManager.outstandingRequests();
   }
 
+  private RequestManager createRequestManager(final int requestCode) {
+    return new RequestManager(
+        this,
+        (responseTimeMillis, bytes) -> {
+          throughput.recordResponse(requestCode, responseTimeMillis, bytes);
+          responseMetrics.recordResponse(requestCode, responseTimeMillis, bytes);
+        });
+  }
+
   public BytesValue nodeId() {
     return connection.getPeer().getNodeId();
   }
@@ -14,6 +14,8 @@ package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer.DisconnectCallback;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.Subscribers;
 
 import java.util.Collections;
@@ -38,18 +40,29 @@ public class EthPeers {
   public static final Comparator<EthPeer> LEAST_TO_MOST_BUSY =
       Comparator.comparing(EthPeer::outstandingRequests);
 
+  public static final Comparator<EthPeer> SHORTEST_EXPECTED_RESPONSE_TIME =
+      Comparator.comparingDouble(EthPeer::expectedResponseTimeMillis);
+
   private final int maxOutstandingRequests = 5;
   private final Map<PeerConnection, EthPeer> connections = new ConcurrentHashMap<>();
   private final String protocolName;
   private final Subscribers<ConnectCallback> connectCallbacks = new Subscribers<>();
   private final Subscribers<DisconnectCallback> disconnectCallbacks = new Subscribers<>();
+  private final PeerResponseMetrics responseMetrics;
 
   public EthPeers(final String protocolName) {
+    this(protocolName, new NoOpMetricsSystem());
+  }
+
+  public EthPeers(final String protocolName, final MetricsSystem metricsSystem) {
     this.protocolName = protocolName;
+    this.responseMetrics = new PeerResponseMetrics(metricsSystem);
   }
 
   void registerConnection(final PeerConnection peerConnection) {
-    final EthPeer peer = new EthPeer(peerConnection, protocolName, this::invokeConnectionCallbacks);
+    final EthPeer peer =
+        new EthPeer(
+            peerConnection, protocolName, this::invokeConnectionCallbacks, responseMetrics);
     connections.putIfAbsent(peerConnection, peer);
   }
 
@@ -94,7 +107,7 @@ public class EthPeers {
   }
 
   public Optional<EthPeer> idlePeer() {
-    return idlePeers().min(LEAST_TO_MOST_BUSY);
+    return idlePeers().min(SHORTEST_EXPECTED_RESPONSE_TIME);
   }
 
   private Stream<EthPeer> idlePeers() {
@@ -107,7 +120,9 @@ public class EthPeers {
   }
 
   public Optional<EthPeer> idlePeer(final long withBlocksUpTo) {
-    return idlePeers().filter(p -> p.chainState().getEstimatedHeight() >= withBlocksUpTo).findAny();
+    return idlePeers()
+        .filter(p -> p.chainState().getEstimatedHeight() >= withBlocksUpTo)
+        .min(SHORTEST_EXPECTED_RESPONSE_TIME);
   }
 
   @FunctionalInterface
@@ -31,6 +31,8 @@ import tech.pegasys.pantheon.ethereum.p2p.wire.Capability;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Arrays;
@@ -70,7 +72,8 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
       final int networkId,
       final boolean fastSyncEnabled,
       final int requestLimit,
-      final EthScheduler scheduler) {
+      final EthScheduler scheduler,
+      final MetricsSystem metricsSystem) {
     this.networkId = networkId;
 
     this.scheduler = scheduler;
@@ -80,7 +83,7 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     this.shutdown = new CountDownLatch(1);
     genesisHash = blockchain.getBlockHashByNumber(0L).get();
 
-    ethPeers = new EthPeers(getSupportedProtocol());
+    ethPeers = new EthPeers(getSupportedProtocol(), metricsSystem);
     ethMessages = new EthMessages();
     ethContext = new EthContext(getSupportedProtocol(), ethPeers, ethMessages, scheduler);
 
@@ -88,6 +91,23 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     new EthServer(blockchain, worldStateArchive, ethMessages, requestLimit);
   }
 
+  EthProtocolManager(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final int networkId,
+      final boolean fastSyncEnabled,
+      final int requestLimit,
+      final EthScheduler scheduler) {
+    this(
+        blockchain,
+        worldStateArchive,
+        networkId,
+        fastSyncEnabled,
+        requestLimit,
+        scheduler,
+        new NoOpMetricsSystem());
+  }
+
   EthProtocolManager(
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
@@ -96,14 +116,16 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
       final int syncWorkers,
       final int txWorkers,
       final int computationWorkers,
-      final int requestLimit) {
+      final int requestLimit,
+      final MetricsSystem metricsSystem) {
     this(
         blockchain,
         worldStateArchive,
         networkId,
         fastSyncEnabled,
         requestLimit,
-        new EthScheduler(syncWorkers, txWorkers, computationWorkers));
+        new EthScheduler(syncWorkers, txWorkers, computationWorkers),
+        metricsSystem);
   }
 
   public EthProtocolManager(
@@ -122,7 +144,28 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
         syncWorkers,
         txWorkers,
         computationWorkers,
-        DEFAULT_REQUEST_LIMIT);
+        new NoOpMetricsSystem());
+  }
+
+  public EthProtocolManager(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final int networkId,
+      final boolean fastSyncEnabled,
+      final int syncWorkers,
+      final int txWorkers,
+      final int computationWorkers,
+      final MetricsSystem metricsSystem) {
+    this(
+        blockchain,
+        worldStateArchive,
+        networkId,
+        fastSyncEnabled,
+        syncWorkers,
+        txWorkers,
+        computationWorkers,
+        DEFAULT_REQUEST_LIMIT,
+        metricsSystem);
   }
 
   public EthContext ethContext() {
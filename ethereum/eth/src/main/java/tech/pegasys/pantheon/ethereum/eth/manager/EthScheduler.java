@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
+import tech.pegasys.pantheon.ethereum.eth.sync.pipeline.Pipeline;
 import tech.pegasys.pantheon.util.ExceptionUtils;
 
 import java.time.Duration;
@@ -136,6 +137,13 @@ public class EthScheduler {
     return serviceFuture;
   }
 
+  public CompletableFuture<Void> startPipeline(final Pipeline pipeline) {
+    final CompletableFuture<Void> pipelineFuture = pipeline.start(servicesExecutor);
+    serviceFutures.add(pipelineFuture);
+    pipelineFuture.whenComplete((r, t) -> serviceFutures.remove(pipelineFuture));
+    return pipelineFuture;
+  }
+
   public <T> CompletableFuture<T> scheduleComputationTask(final Supplier<T> computation) {
     return CompletableFuture.supplyAsync(computation, computationExecutor);
   }
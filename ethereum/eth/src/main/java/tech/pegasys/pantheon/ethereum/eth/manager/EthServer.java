@@ -13,10 +13,8 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
-import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockHeadersMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
@@ -35,17 +33,18 @@ import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
-import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 class EthServer {
   private static final Logger LOG = LogManager.getLogger();
+  // Responses stop growing once they pass this size, in bytes, to keep each message small enough
+  // for the peer to receive well within its request timeout
+  static final int MAX_RESPONSE_SIZE = 2 * 1024 * 1024;
 
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
@@ -113,8 +112,12 @@ class EthServer {
   private void handleGetNodeData(final EthMessage message) {
     LOG.trace("Responding to GET_NODE_DATA request");
     try {
+      final PeerServingBudget budget = message.getPeer().nodeDataServingBudget();
+      final long maxResponseSize = Math.min(MAX_RESPONSE_SIZE, budget.available());
       final MessageData response =
-          constructGetNodeDataResponse(worldStateArchive, message.getData(), requestLimit);
+          constructGetNodeDataResponse(
+              worldStateArchive, message.getData(), requestLimit, maxResponseSize);
+      budget.consume(response.getSize());
       message.getPeer().send(response);
     } catch (final RLPException e) {
       message.getPeer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
@@ -130,95 +133,99 @@ class EthServer {
     final int skip = getHeaders.skip();
     final int maxHeaders = Math.min(requestLimit, getHeaders.maxHeaders());
     final boolean reversed = getHeaders.reverse();
-    final BlockHeader firstHeader;
+    final Optional<Hash> firstHash;
+    final Optional<Long> firstNumber;
     if (hash.isPresent()) {
-      final Hash startHash = hash.get();
-      firstHeader = blockchain.getBlockHeader(startHash).orElse(null);
+      firstHash = hash;
+      firstNumber = blockchain.getBlockHeader(hash.get()).map(BlockHeader::getNumber);
     } else {
-      final long firstNumber = getHeaders.blockNumber().getAsLong();
-      firstHeader = blockchain.getBlockHeader(firstNumber).orElse(null);
+      firstNumber = Optional.of(getHeaders.blockNumber().getAsLong());
+      firstHash = blockchain.getBlockHashByNumber(firstNumber.get());
     }
-    final Collection<BlockHeader> resp;
-    if (firstHeader == null) {
-      resp = Collections.emptyList();
-    } else {
-      resp = Lists.newArrayList(firstHeader);
+    final Optional<BytesValue> firstHeader = firstHash.flatMap(blockchain::getBlockHeaderRlp);
+    final List<BytesValue> resp = new ArrayList<>();
+    if (firstHeader.isPresent() && firstNumber.isPresent()) {
+      resp.add(firstHeader.get());
+      int responseSize = firstHeader.get().size();
       final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
-      for (int i = 1; i < maxHeaders; i++) {
-        final long blockNumber = firstHeader.getNumber() + i * numberDelta;
+      for (int i = 1; i < maxHeaders && responseSize < MAX_RESPONSE_SIZE; i++) {
+        final long blockNumber = firstNumber.get() + i * numberDelta;
         if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
           break;
         }
-        final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
+        final Optional<BytesValue> maybeHeader =
+            blockchain.getBlockHashByNumber(blockNumber).flatMap(blockchain::getBlockHeaderRlp);
         if (maybeHeader.isPresent()) {
           resp.add(maybeHeader.get());
+          responseSize += maybeHeader.get().size();
         } else {
           break;
         }
       }
     }
-    return BlockHeadersMessage.create(resp);
+    return BlockHeadersMessage.createFromRlp(resp);
   }
 
   static MessageData constructGetBodiesResponse(
       final Blockchain blockchain, final MessageData message, final int requestLimit) {
     final GetBlockBodiesMessage getBlockBodiesMessage = GetBlockBodiesMessage.readFrom(message);
     final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
-
-    final Collection<BlockBody> bodies = new ArrayList<>();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (!maybeBody.isPresent()) {
-        continue;
-      }
-      bodies.add(maybeBody.get());
-    }
-    return BlockBodiesMessage.create(bodies);
+    return BlockBodiesMessage.createFromRlp(
+        collectResponse(hashes, blockchain::getBlockBodyRlp, requestLimit, MAX_RESPONSE_SIZE));
   }
 
   static MessageData constructGetReceiptsResponse(
       final Blockchain blockchain, final MessageData message, final int requestLimit) {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
     final Iterable<Hash> hashes = getReceipts.hashes();
+    return ReceiptsMessage.createFromRlp(
+        collectResponse(hashes, blockchain::getTxReceiptsRlp, requestLimit, MAX_RESPONSE_SIZE));
+  }
 
-    final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+  /**
+   * Looks up the stored value for each requested hash until either the request limit or the maximum
+   * response size is reached. Unknown hashes still count towards the request limit but are left out
+   * of the response.
+   */
+  private static List<BytesValue> collectResponse(
+      final Iterable<Hash> hashes,
+      final Function<Hash, Optional<BytesValue>> lookup,
+      final int requestLimit,
+      final long maxResponseSize) {
+    final List<BytesValue> response = new ArrayList<>();
     int count = 0;
+    long responseSize = 0;
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (count >= requestLimit || responseSize >= maxResponseSize) {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (!maybeReceipts.isPresent()) {
+      final Optional<BytesValue> maybeValue = lookup.apply(hash);
+      if (!maybeValue.isPresent()) {
         continue;
       }
-      receipts.add(maybeReceipts.get());
+      response.add(maybeValue.get());
+      responseSize += maybeValue.get().size();
     }
-    return ReceiptsMessage.create(receipts);
+    return response;
   }
 
   static MessageData constructGetNodeDataResponse(
       final WorldStateArchive worldStateArchive,
       final MessageData message,
       final int requestLimit) {
+    return constructGetNodeDataResponse(
+        worldStateArchive, message, requestLimit, MAX_RESPONSE_SIZE);
+  }
+
+  static MessageData constructGetNodeDataResponse(
+      final WorldStateArchive worldStateArchive,
+      final MessageData message,
+      final int requestLimit,
+      final long maxResponseSize) {
     final GetNodeDataMessage getNodeDataMessage = GetNodeDataMessage.readFrom(message);
     final Iterable<Hash> hashes = getNodeDataMessage.hashes();
-
-    final List<BytesValue> nodeData = new ArrayList<>();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-
-      worldStateArchive.getNodeData(hash).ifPresent(nodeData::add);
-    }
-    return NodeDataMessage.create(nodeData);
+    return NodeDataMessage.create(
+        collectResponse(hashes, worldStateArchive::getNodeData, requestLimit, maxResponseSize));
   }
 }
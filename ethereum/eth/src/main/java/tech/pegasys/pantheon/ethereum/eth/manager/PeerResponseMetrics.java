@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV63;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+
+/** Totals for the responses received from all peers, labelled by the type of request answered. */
+class PeerResponseMetrics {
+  private final LabelledMetric<Counter> responseCounter;
+  private final LabelledMetric<Counter> responseTimeCounter;
+  private final LabelledMetric<Counter> responseBytesCounter;
+  private final LabelledMetric<Counter> timeoutCounter;
+
+  PeerResponseMetrics(final MetricsSystem metricsSystem) {
+    responseCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.PEERS,
+            "responses_total",
+            "Total number of responses received from peers",
+            "requestType");
+    responseTimeCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.PEERS,
+            "response_time_milliseconds_total",
+            "Total time spent waiting for peers to respond to requests",
+            "requestType");
+    responseBytesCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.PEERS,
+            "response_bytes_total",
+            "Total number of bytes received in responses from peers",
+            "requestType");
+    timeoutCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.PEERS,
+            "request_timeouts_total",
+            "Total number of requests that peers did not respond to in time",
+            "requestType");
+  }
+
+  void recordResponse(final int requestCode, final long responseTimeMillis, final int bytes) {
+    final String requestType = requestType(requestCode);
+    responseCounter.labels(requestType).inc();
+    responseTimeCounter.labels(requestType).inc(responseTimeMillis);
+    responseBytesCounter.labels(requestType).inc(bytes);
+  }
+
+  void recordTimeout(final int requestCode) {
+    timeoutCounter.labels(requestType(requestCode)).inc();
+  }
+
+  private static String requestType(final int requestCode) {
+    switch (requestCode) {
+      case EthPV62.GET_BLOCK_HEADERS:
+        return "headers";
+      case EthPV62.GET_BLOCK_BODIES:
+        return "bodies";
+      case EthPV63.GET_RECEIPTS:
+        return "receipts";
+      case EthPV63.GET_NODE_DATA:
+        return "node_data";
+      default:
+        return "other";
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how many bytes of data read from disk are served to a single peer. The budget refills at
+ * a fixed rate up to a maximum, so a peer can take a full response at once but a peer that keeps
+ * requesting as fast as it can only receives data at the refill rate.
+ */
+public class PeerServingBudget {
+  static final long BYTES_PER_SECOND = 2 * 1024 * 1024;
+  static final long MAX_BUDGET = 2 * EthServer.MAX_RESPONSE_SIZE;
+
+  private final long bytesPerSecond;
+  private final long maxBudget;
+  private final LongSupplier currentTimeMillis;
+  private long budget;
+  private long lastRefillTime;
+
+  public PeerServingBudget() {
+    this(BYTES_PER_SECOND, MAX_BUDGET, System::currentTimeMillis);
+  }
+
+  PeerServingBudget(
+      final long bytesPerSecond, final long maxBudget, final LongSupplier currentTimeMillis) {
+    this.bytesPerSecond = bytesPerSecond;
+    this.maxBudget = maxBudget;
+    this.currentTimeMillis = currentTimeMillis;
+    this.budget = maxBudget;
+    this.lastRefillTime = currentTimeMillis.getAsLong();
+  }
+
+  /**
+   * The number of bytes that may currently be served to the peer. This is zero or negative while
+   * the peer is still paying off responses that were larger than its remaining budget.
+   *
+   * @return the number of bytes that may be served
+   */
+  public synchronized long available() {
+    refill();
+    return budget;
+  }
+
+  /**
+   * Records that a response was served to the peer.
+   *
+   * @param bytes the size of the response
+   */
+  public synchronized void consume(final long bytes) {
+    refill();
+    budget -= bytes;
+  }
+
+  private void refill() {
+    final long now = currentTimeMillis.getAsLong();
+    final long elapsedMillis = now - lastRefillTime;
+    if (elapsedMillis > 0) {
+      budget = Math.min(maxBudget, budget + elapsedMillis * bytesPerSecond / 1000);
+      lastRefillTime = now;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates how quickly a peer answers each type of request from the time taken and the number of
+ * bytes received for its recent responses.
+ *
+ * <p>The estimates rank peers when choosing where to send a request, and shrink the requests sent
+ * to a slow peer so its responses keep arriving well within the request timeout instead of holding
+ * up the rest of the download.
+ */
+public class PeerThroughput {
+  // Weight given to the newest sample in the moving averages
+  private static final double SMOOTHING_FACTOR = 0.25;
+  static final long TARGET_RESPONSE_TIME_MILLIS = 2_000;
+  // Timeouts count as responses that took as long as the default request timeout
+  static final long TIMEOUT_RESPONSE_TIME_MILLIS = 5_000;
+  // Slow peers are still asked for at least this fraction of a full request
+  private static final int MINIMUM_REQUEST_SIZE_DIVISOR = 8;
+
+  private final Map<Integer, Estimate> estimates = new ConcurrentHashMap<>();
+
+  public void recordResponse(
+      final int requestCode, final long responseTimeMillis, final int bytes) {
+    final long sampleResponseTime = Math.max(responseTimeMillis, 1);
+    estimates.compute(
+        requestCode,
+        (code, estimate) ->
+            estimate == null
+                ? new Estimate(sampleResponseTime, bytes)
+                : estimate.update(sampleResponseTime, bytes));
+  }
+
+  public void recordTimeout(final int requestCode) {
+    recordResponse(requestCode, TIMEOUT_RESPONSE_TIME_MILLIS, 0);
+  }
+
+  public OptionalDouble responseTimeMillis(final int requestCode) {
+    final Estimate estimate = estimates.get(requestCode);
+    return estimate == null ? OptionalDouble.empty() : OptionalDouble.of(estimate.responseTime());
+  }
+
+  public OptionalDouble bytesPerSecond(final int requestCode) {
+    final Estimate estimate = estimates.get(requestCode);
+    return estimate == null ? OptionalDouble.empty() : OptionalDouble.of(estimate.bytesPerSecond());
+  }
+
+  /**
+   * The expected time for this peer to answer a request, averaged over every type of request it has
+   * answered. Peers that have not answered anything yet are expected to meet the target response
+   * time so that they are tried alongside peers that are known to be fast.
+   *
+   * @return the expected response time in milliseconds
+   */
+  public double averageResponseTimeMillis() {
+    return estimates.values().stream()
+        .mapToDouble(Estimate::responseTime)
+        .average()
+        .orElse(TARGET_RESPONSE_TIME_MILLIS);
+  }
+
+  /**
+   * Scales a request down for a peer whose responses take longer than the target response time.
+   *
+   * @param requestCode the message code of the request
+   * @param maxSize the number of items to request from a peer that responds promptly
+   * @return the number of items to request from this peer
+   */
+  public int requestSize(final int requestCode, final int maxSize) {
+    final Estimate estimate = estimates.get(requestCode);
+    if (estimate == null || estimate.responseTime() <= TARGET_RESPONSE_TIME_MILLIS) {
+      return maxSize;
+    }
+    final int scaledSize = (int) (maxSize * TARGET_RESPONSE_TIME_MILLIS / estimate.responseTime());
+    final int minimumSize = Math.max(maxSize / MINIMUM_REQUEST_SIZE_DIVISOR, 1);
+    return Math.max(scaledSize, minimumSize);
+  }
+
+  private static class Estimate {
+    // Only updated while the estimate's map entry is locked
+    private volatile double responseTime;
+    private volatile double bytesPerSecond;
+
+    Estimate(final long responseTimeMillis, final int bytes) {
+      responseTime = responseTimeMillis;
+      bytesPerSecond = sampleBytesPerSecond(responseTimeMillis, bytes);
+    }
+
+    Estimate update(final long responseTimeMillis, final int bytes) {
+      responseTime += SMOOTHING_FACTOR * (responseTimeMillis - responseTime);
+      final double sampleBytesPerSecond = sampleBytesPerSecond(responseTimeMillis, bytes);
+      bytesPerSecond += SMOOTHING_FACTOR * (sampleBytesPerSecond - bytesPerSecond);
+      return this;
+    }
+
+    double responseTime() {
+      return responseTime;
+    }
+
+    double bytesPerSecond() {
+      return bytesPerSecond;
+    }
+
+    private static double sampleBytesPerSecond(final long responseTimeMillis, final int bytes) {
+      return bytes * 1000.0 / responseTimeMillis;
+    }
+  }
+}
@@ -18,21 +18,36 @@ import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class RequestManager {
+  // Send time left in place of a request whose stream closed before its response arrived
+  private static final long EXPIRED = -1L;
+
   private final AtomicLong responseStreamId = new AtomicLong(0L);
   private final Map<Long, ResponseStream> responseStreams = new ConcurrentHashMap<>();
   private final EthPeer peer;
+  private final ResponseListener responseListener;
+  // Send times keyed by the id of the request's stream. Peers answer requests in order, so the
+  // oldest request that has not been answered is the one the next response belongs to.
+  private final NavigableMap<Long, Long> requestSendTimes = new ConcurrentSkipListMap<>();
 
   private final AtomicInteger outstandingRequests = new AtomicInteger(0);
 
   public RequestManager(final EthPeer peer) {
+    this(peer, (responseTimeMillis, bytes) -> {});
+  }
+
+  public RequestManager(final EthPeer peer, final ResponseListener responseListener) {
     this.peer = peer;
+    this.responseListener = responseListener;
   }
 
   public int outstandingRequests() {
@@ -41,14 +56,30 @@ public class RequestManager {
 
   public ResponseStream dispatchRequest(final RequestSender sender) throws PeerNotConnected {
     outstandingRequests.incrementAndGet();
-    final ResponseStream stream = createStream();
-    sender.send();
+    final long streamId = nextStreamId();
+    final ResponseStream stream = createStream(streamId);
+    // Recorded before sending so a response that arrives straight away still finds its send time
+    requestSendTimes.put(streamId, System.currentTimeMillis());
+    try {
+      sender.send();
+    } catch (final PeerNotConnected e) {
+      // Nothing was sent, so no response will arrive for this request
+      requestSendTimes.remove(streamId);
+      outstandingRequests.decrementAndGet();
+      stream.close();
+      throw e;
+    }
     return stream;
   }
 
   public void dispatchResponse(final EthMessage message) {
     final Collection<ResponseStream> streams = new ArrayList<>(responseStreams.values());
     final int count = outstandingRequests.decrementAndGet();
+    final Entry<Long, Long> sendTime = requestSendTimes.pollFirstEntry();
+    if (sendTime != null && sendTime.getValue() != EXPIRED) {
+      responseListener.onResponse(
+          System.currentTimeMillis() - sendTime.getValue(), message.getData().getSize());
+    }
 
     streams.forEach(s -> s.processMessage(message.getData()));
     if (count == 0) {
@@ -61,8 +92,7 @@ public class RequestManager {
     closeOutstandingStreams(responseStreams.values());
   }
 
-  private ResponseStream createStream() {
-    final long listenerId = nextStreamId();
+  private ResponseStream createStream(final long listenerId) {
     final ResponseStream stream = new ResponseStream(peer, () -> deregisterStream(listenerId));
     responseStreams.put(listenerId, stream);
     return stream;
@@ -75,6 +105,10 @@ public class RequestManager {
 
   private void deregisterStream(final long id) {
     responseStreams.remove(id);
+    // A request whose stream closed before its response arrived, e.g. because it timed out, has
+    // already been accounted for. Its entry is kept so that a late response is paired with it and
+    // dropped, rather than with the send time of the next request.
+    requestSendTimes.computeIfPresent(id, (streamId, sendTime) -> EXPIRED);
   }
 
   private long nextStreamId() {
@@ -86,6 +120,11 @@ public class RequestManager {
     void send() throws PeerNotConnected;
   }
 
+  @FunctionalInterface
+  public interface ResponseListener {
+    void onResponse(long responseTimeMillis, int bytes);
+  }
+
   @FunctionalInterface
   public interface ResponseCallback {
 
@@ -46,6 +46,21 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return new BlockBodiesMessage(tmp.encoded());
   }
 
+  /**
+   * Create a message from already RLP encoded block bodies, such as those read directly
+   * from storage, without decoding and re-encoding them.
+   *
+   * @param encodedBodies the RLP encoded block bodies
+   * @return the new message
+   */
+  public static BlockBodiesMessage createFromRlp(final Iterable<BytesValue> encodedBodies) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedBodies.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockBodiesMessage(tmp.encoded());
+  }
+
   private BlockBodiesMessage(final BytesValue data) {
     super(data);
   }
@@ -48,6 +48,21 @@ public final class BlockHeadersMessage extends AbstractMessageData {
     return new BlockHeadersMessage(tmp.encoded());
   }
 
+  /**
+   * Create a message from already RLP encoded block headers, such as those read directly
+   * from storage, without decoding and re-encoding them.
+   *
+   * @param encodedHeaders the RLP encoded block headers
+   * @return the new message
+   */
+  public static BlockHeadersMessage createFromRlp(final Iterable<BytesValue> encodedHeaders) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedHeaders.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockHeadersMessage(tmp.encoded());
+  }
+
   private BlockHeadersMessage(final BytesValue data) {
     super(data);
   }
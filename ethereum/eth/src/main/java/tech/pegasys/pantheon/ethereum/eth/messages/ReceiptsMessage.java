@@ -50,6 +50,21 @@ public final class ReceiptsMessage extends AbstractMessageData {
     return new ReceiptsMessage(tmp.encoded());
   }
 
+  /**
+   * Create a message from already RLP encoded lists of transaction receipts, such as those read
+   * directly from storage, without decoding and re-encoding them.
+   *
+   * @param encodedReceipts the RLP encoded lists of transaction receipts
+   * @return the new message
+   */
+  public static ReceiptsMessage createFromRlp(final Iterable<BytesValue> encodedReceipts) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedReceipts.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new ReceiptsMessage(tmp.encoded());
+  }
+
   private ReceiptsMessage(final BytesValue data) {
     super(data);
   }
@@ -47,6 +47,23 @@ public class TransactionsMessage extends AbstractMessageData {
     return new TransactionsMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from transactions that have already been RLP encoded.
+   *
+   * @param encodedTransactions the RLP encoding of each transaction to include
+   * @return the new message
+   */
+  public static TransactionsMessage createFromEncoded(
+      final Iterable<BytesValue> encodedTransactions) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    for (final BytesValue encodedTransaction : encodedTransactions) {
+      tmp.writeRLPUnsafe(encodedTransaction);
+    }
+    tmp.endList();
+    return new TransactionsMessage(tmp.encoded());
+  }
+
   private TransactionsMessage(final BytesValue data) {
     super(data);
   }
@@ -20,6 +20,15 @@ import java.util.concurrent.CompletableFuture;
 public interface BlockHandler<B> {
   CompletableFuture<List<B>> downloadBlocks(final List<BlockHeader> headers);
 
+  /**
+   * Performs any work on downloaded blocks that can be done in parallel before they are imported,
+   * such as recovering transaction senders.
+   *
+   * @param blocks the downloaded blocks
+   * @return the blocks, ready to import
+   */
+  List<B> prepareBlocks(final List<B> blocks);
+
   CompletableFuture<List<B>> validateAndImportBlocks(final List<B> blocks);
 
   long extractBlockNumber(final B block);
@@ -17,6 +17,7 @@ import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
 import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent.EventType;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.manager.AbstractPeerTask;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
@@ -30,17 +31,23 @@ import tech.pegasys.pantheon.ethereum.eth.sync.state.PendingBlocks;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.GetBlockFromPeerTask;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.PersistBlockTask;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
+import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
 import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.util.ExceptionUtils;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -152,6 +159,7 @@ public class BlockPropagationManager<C> {
       final UInt256 totalDifficulty = newBlockMessage.totalDifficulty(protocolSchedule);
 
       message.getPeer().chainState().updateForAnnouncedBlock(block.getHeader(), totalDifficulty);
+      message.getPeer().registerKnownBlock(block.getHash());
 
       // Return early if we don't care about this block
       final long localChainHeight = protocolContext.getBlockchain().getChainHeadBlockNumber();
@@ -167,7 +175,7 @@ public class BlockPropagationManager<C> {
         return;
       }
 
-      importOrSavePendingBlock(block);
+      importOrSavePendingBlock(block, Optional.of(message.getPeer()));
     } catch (final RLPException e) {
       message.getPeer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
     }
@@ -230,11 +238,19 @@ public class BlockPropagationManager<C> {
         GetBlockFromPeerTask.create(protocolSchedule, ethContext, newBlock.hash(), ethTasksTimer)
             .assignPeer(peer);
 
-    return getBlockTask.run().thenCompose((r) -> importOrSavePendingBlock(r.getResult()));
+    return getBlockTask
+        .run()
+        .thenCompose((r) -> importOrSavePendingBlock(r.getResult(), Optional.of(r.getPeer())));
   }
 
   @VisibleForTesting
   CompletableFuture<Block> importOrSavePendingBlock(final Block block) {
+    return importOrSavePendingBlock(block, Optional.empty());
+  }
+
+  @VisibleForTesting
+  CompletableFuture<Block> importOrSavePendingBlock(
+      final Block block, final Optional<EthPeer> sender) {
     // Synchronize to avoid race condition where block import event fires after the
     // blockchain.contains() check and before the block is registered, causing onBlockAdded() to be
     // invoked for the parent of this block before we are able to register it.
@@ -263,12 +279,14 @@ public class BlockPropagationManager<C> {
     }
 
     // Import block
-    final PersistBlockTask<C> importTask =
-        PersistBlockTask.create(
-            protocolSchedule, protocolContext, block, HeaderValidationMode.FULL, ethTasksTimer);
+    final boolean earlyRelay = config.blockPropagationEarlyRelay();
     return ethContext
         .getScheduler()
-        .scheduleSyncWorkerTask(importTask::run)
+        .scheduleSyncWorkerTask(
+            () -> {
+              final boolean headerValidated = earlyRelay && relayBlockIfHeaderIsValid(block);
+              return importBlock(block, headerValidated);
+            })
         .whenComplete(
             (r, t) -> {
               importingBlocks.remove(block.getHash());
@@ -277,16 +295,101 @@ public class BlockPropagationManager<C> {
                     "Failed to import announced block {} ({}).",
                     block.getHeader().getNumber(),
                     block.getHash());
+                if (earlyRelay && ExceptionUtils.rootCause(t) instanceof InvalidBlockException) {
+                  // Peers are expected to check blocks before passing them on
+                  sender.ifPresent(peer -> peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL));
+                }
               } else {
-                final double timeInMs = importTask.getTaskTimeInSec() * 1000;
-                LOG.info(
-                    String.format(
-                        "Successfully imported announced block %d (%s) in %01.3fms.",
-                        block.getHeader().getNumber(), block.getHash(), timeInMs));
+                if (earlyRelay) {
+                  announceBlock(block);
+                }
               }
             });
   }
 
+  private CompletableFuture<Block> importBlock(final Block block, final boolean headerValidated) {
+    // A header already validated in full isn't validated again, so its proof of work is only
+    // verified once
+    final HeaderValidationMode headerValidationMode =
+        headerValidated ? HeaderValidationMode.NONE : HeaderValidationMode.FULL;
+    final PersistBlockTask<C> importTask =
+        PersistBlockTask.create(
+            protocolSchedule, protocolContext, block, headerValidationMode, ethTasksTimer);
+    return importTask
+        .run()
+        .thenApply(
+            importedBlock -> {
+              final double timeInMs = importTask.getTaskTimeInSec() * 1000;
+              LOG.info(
+                  String.format(
+                      "Successfully imported announced block %d (%s) in %01.3fms.",
+                      block.getHeader().getNumber(), block.getHash(), timeInMs));
+              return importedBlock;
+            });
+  }
+
+  /**
+   * Sends the full block to a random subset of the peers that haven't seen it yet, as soon as its
+   * header, including the proof of work or seal, is valid against its parent. The block's
+   * transactions are executed afterwards, so relaying doesn't wait for import.
+   *
+   * @param block the block to relay
+   * @return true if the header was fully validated and found to be valid
+   */
+  private boolean relayBlockIfHeaderIsValid(final Block block) {
+    final Blockchain blockchain = protocolContext.getBlockchain();
+    final BlockHeader header = block.getHeader();
+    final Optional<BlockHeader> parent = blockchain.getBlockHeader(header.getParentHash());
+    final Optional<UInt256> parentTotalDifficulty =
+        blockchain.getTotalDifficultyByHash(header.getParentHash());
+    if (!parent.isPresent() || !parentTotalDifficulty.isPresent()) {
+      return false;
+    }
+    final BlockHeaderValidator<C> headerValidator =
+        protocolSchedule.getByBlockNumber(header.getNumber()).getBlockHeaderValidator();
+    if (!headerValidator.validateHeader(
+        header, parent.get(), protocolContext, HeaderValidationMode.FULL)) {
+      return false;
+    }
+
+    final List<EthPeer> peers = peersWithoutBlock(block.getHash());
+    Collections.shuffle(peers);
+    final int relayCount = (int) Math.ceil(Math.sqrt(peers.size()));
+    final NewBlockMessage newBlockMessage =
+        NewBlockMessage.create(block, parentTotalDifficulty.get().plus(header.getDifficulty()));
+    sendToPeers(peers.subList(0, relayCount), newBlockMessage, block.getHash());
+    return true;
+  }
+
+  /** Announces an imported block's hash to the peers that haven't seen it yet. */
+  private void announceBlock(final Block block) {
+    final NewBlockHashesMessage newBlockHashesMessage =
+        NewBlockHashesMessage.create(
+            Collections.singletonList(
+                new NewBlockHash(block.getHash(), block.getHeader().getNumber())));
+    sendToPeers(peersWithoutBlock(block.getHash()), newBlockHashesMessage, block.getHash());
+  }
+
+  private List<EthPeer> peersWithoutBlock(final Hash blockHash) {
+    return ethContext
+        .getEthPeers()
+        .availablePeers()
+        .filter(peer -> !peer.hasSeenBlock(blockHash))
+        .collect(Collectors.toList());
+  }
+
+  private void sendToPeers(
+      final List<EthPeer> peers, final MessageData message, final Hash blockHash) {
+    for (final EthPeer peer : peers) {
+      try {
+        peer.send(message);
+        peer.registerKnownBlock(blockHash);
+      } catch (final PeerNotConnected e) {
+        // Peers may disconnect while traversing the list, this is a normal occurrence.
+      }
+    }
+  }
+
   // Only import blocks within a certain range of our head and sync target
   private boolean shouldImportBlockAtHeight(
       final long blockNumber, final long localHeight, final long bestChainHeight) {
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.sync.pipeline.Pipeline;
+import tech.pegasys.pantheon.ethereum.eth.sync.pipeline.PipelineBuilder;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.DownloadHeaderSequenceTask;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Imports the blocks between a series of checkpoint headers using a {@link Pipeline}.
+ *
+ * <p>Headers and blocks for several checkpoint ranges are downloaded at once, and transaction
+ * senders are recovered on the computation workers. Importing is the only stage that handles one
+ * range at a time, and it is fed from a buffer of ranges that are ready to import so that it
+ * doesn't wait on the network while later ranges are still downloading.
+ *
+ * @param <C> the consensus algorithm context
+ * @param <B> the type of block handled by the {@link BlockHandler}
+ */
+public class ChainSegmentImporter<C, B> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final SynchronizerConfiguration config;
+  private final ProtocolSchedule<C> protocolSchedule;
+  private final ProtocolContext<C> protocolContext;
+  private final EthContext ethContext;
+  private final LabelledMetric<OperationTimer> ethTasksTimer;
+  private final LabelledMetric<Counter> pipelineItemCounter;
+  private final BlockHandler<B> blockHandler;
+  private final ValidationPolicy validationPolicy;
+
+  public ChainSegmentImporter(
+      final SynchronizerConfiguration config,
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> protocolContext,
+      final EthContext ethContext,
+      final LabelledMetric<OperationTimer> ethTasksTimer,
+      final LabelledMetric<Counter> pipelineItemCounter,
+      final BlockHandler<B> blockHandler,
+      final ValidationPolicy validationPolicy) {
+    this.config = config;
+    this.protocolSchedule = protocolSchedule;
+    this.protocolContext = protocolContext;
+    this.ethContext = ethContext;
+    this.ethTasksTimer = ethTasksTimer;
+    this.pipelineItemCounter = pipelineItemCounter;
+    this.blockHandler = blockHandler;
+    this.validationPolicy = validationPolicy;
+  }
+
+  /**
+   * Imports the blocks between each pair of consecutive checkpoint headers.
+   *
+   * @param checkpointHeaders the checkpoint headers, the first of which must already be imported
+   * @return a future that completes with the imported blocks once all ranges are imported
+   */
+  public CompletableFuture<List<B>> importSegment(final List<BlockHeader> checkpointHeaders) {
+    if (checkpointHeaders.size() < 2) {
+      return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+    LOG.debug(
+        "Importing chain segment from {} to {}.",
+        checkpointHeaders.get(0).getNumber(),
+        checkpointHeaders.get(checkpointHeaders.size() - 1).getNumber());
+
+    final List<B> importedBlocks = Collections.synchronizedList(new ArrayList<>());
+    final int downloaderParallelism = config.downloaderParallelism();
+    final Pipeline pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "checkpointRanges",
+                checkpointRanges(checkpointHeaders).iterator(),
+                downloaderParallelism,
+                pipelineItemCounter)
+            .thenProcessAsyncOrdered(
+                "downloadHeaders", this::downloadHeaders, downloaderParallelism)
+            .thenProcessAsyncOrdered(
+                "downloadBlocks", blockHandler::downloadBlocks, downloaderParallelism)
+            .thenProcessAsyncOrdered(
+                "prepareBlocks", this::prepareBlocks, config.computationParallelism())
+            // Only one range is imported at a time so blocks are imported in order
+            .thenProcessAsyncOrdered("importBlocks", blockHandler::validateAndImportBlocks, 1)
+            .andFinishWith("collectImportedBlocks", importedBlocks::addAll);
+
+    final CompletableFuture<List<B>> result =
+        ethContext.getScheduler().startPipeline(pipeline).thenApply(done -> importedBlocks);
+    // Stop the pipeline if the caller gives up on the import
+    result.whenComplete(
+        (r, t) -> {
+          if (t != null) {
+            pipeline.abort();
+          }
+        });
+    return result;
+  }
+
+  private List<CheckpointRange> checkpointRanges(final List<BlockHeader> checkpointHeaders) {
+    return IntStream.range(0, checkpointHeaders.size() - 1)
+        .mapToObj(i -> new CheckpointRange(checkpointHeaders.get(i), checkpointHeaders.get(i + 1)))
+        .collect(Collectors.toList());
+  }
+
+  private CompletableFuture<List<B>> prepareBlocks(final List<B> blocks) {
+    return ethContext
+        .getScheduler()
+        .scheduleComputationTask(() -> blockHandler.prepareBlocks(blocks));
+  }
+
+  private CompletableFuture<List<BlockHeader>> downloadHeaders(final CheckpointRange range) {
+    final BlockHeader start = range.getStart();
+    final BlockHeader end = range.getEnd();
+    LOG.debug("Downloading headers {} to {}", start.getNumber() + 1, end.getNumber());
+    final int segmentLength = Math.toIntExact(end.getNumber() - start.getNumber() - 1);
+    final CompletableFuture<List<BlockHeader>> headersBetween =
+        segmentLength == 0
+            ? CompletableFuture.completedFuture(Collections.emptyList())
+            : DownloadHeaderSequenceTask.endingAtHeader(
+                    protocolSchedule,
+                    protocolContext,
+                    ethContext,
+                    end,
+                    segmentLength,
+                    ethTasksTimer)
+                .run();
+    return headersBetween.thenApply(
+        headers -> {
+          final List<BlockHeader> rangeHeaders = new ArrayList<>(headers.size() + 1);
+          rangeHeaders.addAll(headers);
+          rangeHeaders.add(end);
+          checkConnectsToStart(start, rangeHeaders.get(0));
+          return rangeHeaders;
+        });
+  }
+
+  private void checkConnectsToStart(final BlockHeader start, final BlockHeader firstHeader) {
+    final BlockHeaderValidator<C> blockHeaderValidator =
+        protocolSchedule.getByBlockNumber(firstHeader.getNumber()).getBlockHeaderValidator();
+    if (!blockHeaderValidator.validateHeader(
+        firstHeader, start, protocolContext, validationPolicy.getValidationModeForNextBlock())) {
+      throw new InvalidBlockException(
+          "Provided first header does not connect to last header.",
+          start.getNumber(),
+          start.getHash());
+    }
+  }
+
+  private static class CheckpointRange {
+    private final BlockHeader start;
+    private final BlockHeader end;
+
+    CheckpointRange(final BlockHeader start, final BlockHeader end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    BlockHeader getStart() {
+      return start;
+    }
+
+    BlockHeader getEnd() {
+      return end;
+    }
+  }
+}
@@ -23,6 +23,7 @@ import tech.pegasys.pantheon.ethereum.eth.sync.state.PendingBlocks;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
@@ -44,6 +45,7 @@ public class DefaultSynchronizer<C> implements Synchronizer {
   private final EthContext ethContext;
   private final SyncState syncState;
   private final AtomicBoolean started = new AtomicBoolean(false);
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final BlockPropagationManager<C> blockPropagationManager;
   private final FullSyncDownloader<C> fullSyncDownloader;
   private final Optional<FastSynchronizer<C>> fastSynchronizer;
@@ -64,6 +66,13 @@ public class DefaultSynchronizer<C> implements Synchronizer {
     final LabelledMetric<OperationTimer> ethTasksTimer =
         metricsSystem.createLabelledTimer(
             MetricCategory.SYNCHRONIZER, "task", "Internal processing tasks", "taskName");
+    final LabelledMetric<Counter> chainDownloadPipelineCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.SYNCHRONIZER,
+            "chain_download_pipeline_processed_total",
+            "Number of items added to and removed from the queue after each chain download step",
+            "step",
+            "action");
     this.blockPropagationManager =
         new BlockPropagationManager<>(
             syncConfig,
@@ -79,7 +88,13 @@ public class DefaultSynchronizer<C> implements Synchronizer {
 
     this.fullSyncDownloader =
         new FullSyncDownloader<>(
-            syncConfig, protocolSchedule, protocolContext, ethContext, syncState, ethTasksTimer);
+            syncConfig,
+            protocolSchedule,
+            protocolContext,
+            ethContext,
+            syncState,
+            ethTasksTimer,
+            chainDownloadPipelineCounter);
 
     fastSynchronizer =
         FastSynchronizer.create(
@@ -91,6 +106,7 @@ public class DefaultSynchronizer<C> implements Synchronizer {
             ethContext,
             worldStateStorage,
             ethTasksTimer,
+            chainDownloadPipelineCounter,
             syncState);
   }
 
@@ -109,10 +125,16 @@ public class DefaultSynchronizer<C> implements Synchronizer {
 
   @Override
   public void stop() {
-    fastSynchronizer.ifPresent(FastSynchronizer::deleteFastSyncState);
+    if (stopped.compareAndSet(false, true)) {
+      fastSynchronizer.ifPresent(FastSynchronizer::stop);
+    }
   }
 
   private void handleFastSyncResult(final FastSyncState result, final Throwable error) {
+    if (stopped.get()) {
+      LOG.info("Fast sync stopped, it will resume when the node restarts.");
+      return;
+    }
 
     final Throwable rootCause = ExceptionUtils.rootCause(error);
     if (rootCause instanceof FastSyncException) {
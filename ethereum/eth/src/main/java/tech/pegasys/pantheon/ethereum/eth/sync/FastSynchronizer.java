@@ -24,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.eth.sync.worldstate.NodeDataRequest;
 import tech.pegasys.pantheon.ethereum.eth.sync.worldstate.WorldStateDownloader;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
@@ -72,6 +73,7 @@ class FastSynchronizer<C> {
       final EthContext ethContext,
       final WorldStateStorage worldStateStorage,
       final LabelledMetric<OperationTimer> ethTasksTimer,
+      final LabelledMetric<Counter> chainDownloadPipelineCounter,
       final SyncState syncState) {
     if (syncConfig.syncMode() != SyncMode.FAST) {
       return Optional.empty();
@@ -112,7 +114,8 @@ class FastSynchronizer<C> {
                     MetricCategory.SYNCHRONIZER,
                     "fast_sync_validation_mode",
                     "Number of blocks validated using light vs full validation during fast sync",
-                    "validationMode")),
+                    "validationMode"),
+                chainDownloadPipelineCounter),
             worldStateDownloader);
     return Optional.of(
         new FastSynchronizer<>(
@@ -123,13 +126,21 @@ class FastSynchronizer<C> {
     return fastSyncDownloader.start();
   }
 
-  public void deleteFastSyncState() {
-    // Make sure downloader is stopped before we start cleaning up its dependencies
+  /** Stops fast sync, keeping its progress so that it can be resumed when the node restarts. */
+  public void stop() {
+    // Make sure downloader is stopped before we close its queue
     worldStateDownloader.cancel();
     try {
       stateQueue.close();
+    } catch (final IOException e) {
+      LOG.error("Unable to close fast sync world state queue", e);
+    }
+  }
+
+  public void deleteFastSyncState() {
+    stop();
+    try {
       if (fastSyncDataDirectory.toFile().exists()) {
-        // Clean up this data for now (until fast sync resume functionality is in place)
         MoreFiles.deleteRecursively(fastSyncDataDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
       }
     } catch (final IOException e) {
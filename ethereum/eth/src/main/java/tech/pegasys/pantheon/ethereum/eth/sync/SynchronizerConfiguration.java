@@ -27,6 +27,7 @@ public class SynchronizerConfiguration {
   public static final float DEFAULT_FULL_VALIDATION_RATE = .1f;
   public static final int DEFAULT_FAST_SYNC_MINIMUM_PEERS = 5;
   private static final Duration DEFAULT_FAST_SYNC_MAXIMUM_PEER_WAIT_TIME = Duration.ofMinutes(5);
+  public static final long DEFAULT_FAST_SYNC_MAXIMUM_PIVOT_AGE = 5_000;
   private static final int DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST = 200;
   private static final int DEFAULT_WORLD_STATE_REQUEST_PARALLELISM = 10;
 
@@ -35,11 +36,13 @@ public class SynchronizerConfiguration {
   private final float fastSyncFullValidationRate;
   private final int fastSyncMinimumPeerCount;
   private final Duration fastSyncMaximumPeerWaitTime;
+  private final long fastSyncMaximumPivotAge;
   private final int worldStateHashCountPerRequest;
   private final int worldStateRequestParallelism;
 
   // Block propagation config
   private final Range<Long> blockPropagationRange;
+  private final boolean blockPropagationEarlyRelay;
 
   // General config
   private final SyncMode syncMode;
@@ -62,9 +65,11 @@ public class SynchronizerConfiguration {
       final float fastSyncFullValidationRate,
       final int fastSyncMinimumPeerCount,
       final Duration fastSyncMaximumPeerWaitTime,
+      final long fastSyncMaximumPivotAge,
       final int worldStateHashCountPerRequest,
       final int worldStateRequestParallelism,
       final Range<Long> blockPropagationRange,
+      final boolean blockPropagationEarlyRelay,
       final SyncMode syncMode,
       final long downloaderChangeTargetThresholdByHeight,
       final UInt256 downloaderChangeTargetThresholdByTd,
@@ -81,9 +86,11 @@ public class SynchronizerConfiguration {
     this.fastSyncFullValidationRate = fastSyncFullValidationRate;
     this.fastSyncMinimumPeerCount = fastSyncMinimumPeerCount;
     this.fastSyncMaximumPeerWaitTime = fastSyncMaximumPeerWaitTime;
+    this.fastSyncMaximumPivotAge = fastSyncMaximumPivotAge;
     this.worldStateHashCountPerRequest = worldStateHashCountPerRequest;
     this.worldStateRequestParallelism = worldStateRequestParallelism;
     this.blockPropagationRange = blockPropagationRange;
+    this.blockPropagationEarlyRelay = blockPropagationEarlyRelay;
     this.syncMode = syncMode;
     this.downloaderChangeTargetThresholdByHeight = downloaderChangeTargetThresholdByHeight;
     this.downloaderChangeTargetThresholdByTd = downloaderChangeTargetThresholdByTd;
@@ -122,6 +129,16 @@ public class SynchronizerConfiguration {
     return blockPropagationRange;
   }
 
+  /**
+   * Whether new blocks received from the network are relayed to some peers as soon as their header
+   * is valid, rather than only after they have been fully imported.
+   *
+   * @return true if new blocks should be relayed before they are imported
+   */
+  public boolean blockPropagationEarlyRelay() {
+    return blockPropagationEarlyRelay;
+  }
+
   /**
    * The distance from the chain head at which we should switch from fast sync to full sync.
    *
@@ -199,6 +216,17 @@ public class SynchronizerConfiguration {
     return fastSyncMaximumPeerWaitTime;
   }
 
+  /**
+   * The number of blocks a pivot block stored by an interrupted fast sync may fall behind the best
+   * peer's chain head before it is discarded. Resuming from an older pivot risks requesting world
+   * state that peers no longer serve.
+   *
+   * @return the maximum age in blocks of a pivot block that fast sync will resume from.
+   */
+  public long getFastSyncMaximumPivotAge() {
+    return fastSyncMaximumPivotAge;
+  }
+
   public int getWorldStateHashCountPerRequest() {
     return worldStateHashCountPerRequest;
   }
@@ -210,6 +238,7 @@ public class SynchronizerConfiguration {
   public static class Builder {
     private SyncMode syncMode = SyncMode.FULL;
     private Range<Long> blockPropagationRange = Range.closed(-10L, 30L);
+    private boolean blockPropagationEarlyRelay = false;
     private long downloaderChangeTargetThresholdByHeight = 20L;
     private UInt256 downloaderChangeTargetThresholdByTd = UInt256.of(1_000_000_000L);
     private int downloaderHeaderRequestSize = 10;
@@ -225,6 +254,7 @@ public class SynchronizerConfiguration {
     private float fastSyncFullValidationRate = DEFAULT_FULL_VALIDATION_RATE;
     private int fastSyncMinimumPeerCount = DEFAULT_FAST_SYNC_MINIMUM_PEERS;
     private Duration fastSyncMaximumPeerWaitTime = DEFAULT_FAST_SYNC_MAXIMUM_PEER_WAIT_TIME;
+    private long fastSyncMaximumPivotAge = DEFAULT_FAST_SYNC_MAXIMUM_PIVOT_AGE;
 
     public Builder fastSyncPivotDistance(final int distance) {
       fastSyncPivotDistance = distance;
@@ -281,6 +311,11 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder blockPropagationEarlyRelay(final boolean blockPropagationEarlyRelay) {
+      this.blockPropagationEarlyRelay = blockPropagationEarlyRelay;
+      return this;
+    }
+
     public Builder trailingPeerBlocksBehindThreshold(final long trailingPeerBlocksBehindThreshold) {
       this.trailingPeerBlocksBehindThreshold = trailingPeerBlocksBehindThreshold;
       return this;
@@ -316,15 +351,22 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder fastSyncMaximumPivotAge(final long fastSyncMaximumPivotAge) {
+      this.fastSyncMaximumPivotAge = fastSyncMaximumPivotAge;
+      return this;
+    }
+
     public SynchronizerConfiguration build() {
       return new SynchronizerConfiguration(
           fastSyncPivotDistance,
           fastSyncFullValidationRate,
           fastSyncMinimumPeerCount,
           fastSyncMaximumPeerWaitTime,
+          fastSyncMaximumPivotAge,
           DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST,
           DEFAULT_WORLD_STATE_REQUEST_PARALLELISM,
           blockPropagationRange,
+          blockPropagationEarlyRelay,
           syncMode,
           downloaderChangeTargetThresholdByHeight,
           downloaderChangeTargetThresholdByTd,
@@ -49,6 +49,7 @@ public class FastSyncActions<C> {
   private final PivotHeaderStorage pivotHeaderStorage;
   private final LabelledMetric<OperationTimer> ethTasksTimer;
   private final LabelledMetric<Counter> fastSyncValidationCounter;
+  private final LabelledMetric<Counter> chainDownloadPipelineCounter;
 
   public FastSyncActions(
       final SynchronizerConfiguration syncConfig,
@@ -58,7 +59,8 @@ public class FastSyncActions<C> {
       final SyncState syncState,
       final PivotHeaderStorage pivotHeaderStorage,
       final LabelledMetric<OperationTimer> ethTasksTimer,
-      final LabelledMetric<Counter> fastSyncValidationCounter) {
+      final LabelledMetric<Counter> fastSyncValidationCounter,
+      final LabelledMetric<Counter> chainDownloadPipelineCounter) {
     this.syncConfig = syncConfig;
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
@@ -67,6 +69,7 @@ public class FastSyncActions<C> {
     this.pivotHeaderStorage = pivotHeaderStorage;
     this.ethTasksTimer = ethTasksTimer;
     this.fastSyncValidationCounter = fastSyncValidationCounter;
+    this.chainDownloadPipelineCounter = chainDownloadPipelineCounter;
   }
 
   public CompletableFuture<Void> waitForSuitablePeers() {
@@ -137,10 +140,31 @@ public class FastSyncActions<C> {
   private Optional<CompletableFuture<FastSyncState>> loadPivotBlockFromStorage() {
     return pivotHeaderStorage
         .loadPivotBlockHeader(ScheduleBasedBlockHashFunction.create(protocolSchedule))
+        .filter(this::isRecentEnoughToResume)
         .map(
             header ->
                 completedFuture(
-                    new FastSyncState(OptionalLong.of(header.getNumber()), Optional.of(header))));
+                    new FastSyncState(
+                        OptionalLong.of(header.getNumber()), Optional.of(header), true)));
+  }
+
+  private boolean isRecentEnoughToResume(final BlockHeader pivotBlockHeader) {
+    final long pivotBlockNumber = pivotBlockHeader.getNumber();
+    final Optional<Long> pivotAge =
+        ethContext
+            .getEthPeers()
+            .bestPeer()
+            .filter(peer -> peer.chainState().hasEstimatedHeight())
+            .map(peer -> peer.chainState().getEstimatedHeight() - pivotBlockNumber);
+    if (pivotAge.isPresent() && pivotAge.get() > syncConfig.getFastSyncMaximumPivotAge()) {
+      LOG.info(
+          "Discarding stored fast sync pivot block {} which is {} blocks behind the best peer.",
+          pivotBlockNumber,
+          pivotAge.get());
+      return false;
+    }
+    LOG.info("Resuming fast sync from stored pivot block {}.", pivotBlockNumber);
+    return true;
   }
 
   private CompletableFuture<FastSyncState> selectPivotBlockFromPeers() {
@@ -200,6 +224,7 @@ public class FastSyncActions<C> {
             syncState,
             ethTasksTimer,
             fastSyncValidationCounter,
+            chainDownloadPipelineCounter,
             currentState.getPivotBlockHeader().get());
     return downloader.start();
   }
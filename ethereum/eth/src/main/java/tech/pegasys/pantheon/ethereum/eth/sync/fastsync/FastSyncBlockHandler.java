@@ -89,6 +89,12 @@ public class FastSyncBlockHandler<C> implements BlockHandler<BlockWithReceipts>
         .collect(Collectors.toList());
   }
 
+  @Override
+  public List<BlockWithReceipts> prepareBlocks(final List<BlockWithReceipts> blocks) {
+    // Fast sync doesn't execute transactions so there is nothing to prepare
+    return blocks;
+  }
+
   @Override
   public CompletableFuture<List<BlockWithReceipts>> validateAndImportBlocks(
       final List<BlockWithReceipts> blocksWithReceipts) {
@@ -97,17 +103,27 @@ public class FastSyncBlockHandler<C> implements BlockHandler<BlockWithReceipts>
         blocksWithReceipts.get(0).getHeader().getNumber(),
         blocksWithReceipts.get(blocksWithReceipts.size() - 1).getHeader().getNumber());
 
+    // Blocks are validated against each other in memory and then stored in a single batch
+    final PendingBlocksBlockchain pendingBlocks =
+        new PendingBlocksBlockchain(protocolContext.getBlockchain());
+    final ProtocolContext<C> pendingContext =
+        new ProtocolContext<>(
+            pendingBlocks,
+            protocolContext.getWorldStateArchive(),
+            protocolContext.getConsensusState());
     for (final BlockWithReceipts blockWithReceipt : blocksWithReceipts) {
       final BlockImporter<C> blockImporter = getBlockImporter(blockWithReceipt);
       final Block block = blockWithReceipt.getBlock();
       if (!blockImporter.fastImportBlock(
-          protocolContext,
+          pendingContext,
           block,
           blockWithReceipt.getReceipts(),
           validationPolicy.getValidationModeForNextBlock())) {
+        pendingBlocks.flush();
         return invalidBlockFailure(block);
       }
     }
+    pendingBlocks.flush();
     return CompletableFuture.completedFuture(blocksWithReceipts);
   }
 
@@ -19,9 +19,9 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.sync.ChainDownloader;
+import tech.pegasys.pantheon.ethereum.eth.sync.ChainSegmentImporter;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
-import tech.pegasys.pantheon.ethereum.eth.sync.tasks.ParallelImportChainSegmentTask;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.metrics.Counter;
@@ -40,6 +40,7 @@ public class FastSyncChainDownloader<C> {
   private final EthContext ethContext;
   private final LabelledMetric<OperationTimer> ethTasksTimer;
   private final LabelledMetric<Counter> fastSyncValidationCounter;
+  private final LabelledMetric<Counter> chainDownloadPipelineCounter;
 
   FastSyncChainDownloader(
       final SynchronizerConfiguration config,
@@ -49,6 +50,7 @@ public class FastSyncChainDownloader<C> {
       final SyncState syncState,
       final LabelledMetric<OperationTimer> ethTasksTimer,
       final LabelledMetric<Counter> fastSyncValidationCounter,
+      final LabelledMetric<Counter> chainDownloadPipelineCounter,
       final BlockHeader pivotBlockHeader) {
     this.config = config;
     this.protocolSchedule = protocolSchedule;
@@ -56,6 +58,7 @@ public class FastSyncChainDownloader<C> {
     this.ethContext = ethContext;
     this.ethTasksTimer = ethTasksTimer;
     this.fastSyncValidationCounter = fastSyncValidationCounter;
+    this.chainDownloadPipelineCounter = chainDownloadPipelineCounter;
     chainDownloader =
         new ChainDownloader<>(
             config,
@@ -103,23 +106,23 @@ public class FastSyncChainDownloader<C> {
             HeaderValidationMode.DETACHED_ONLY,
             fastSyncValidationCounter);
 
-    final ParallelImportChainSegmentTask<C, BlockWithReceipts> importTask =
-        ParallelImportChainSegmentTask.forCheckpoints(
+    final ChainSegmentImporter<C, BlockWithReceipts> importer =
+        new ChainSegmentImporter<>(
+            config,
             protocolSchedule,
             protocolContext,
             ethContext,
-            config.downloaderParallelism(),
             ethTasksTimer,
+            chainDownloadPipelineCounter,
             new FastSyncBlockHandler<>(
                 protocolSchedule,
                 protocolContext,
                 ethContext,
                 ethTasksTimer,
                 attachedValidationPolicy),
-            detatchedValidationPolicy,
-            checkpointHeaders);
-    return importTask
-        .run()
+            detatchedValidationPolicy);
+    return importer
+        .importSegment(checkpointHeaders)
         .thenApply(
             results ->
                 results.stream().map(BlockWithReceipts::getBlock).collect(Collectors.toList()));
@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.sync.fastsync;
 
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.eth.sync.worldstate.WorldStateDownloader;
 
 import java.util.concurrent.CompletableFuture;
@@ -41,8 +42,11 @@ public class FastSyncDownloader<C> {
 
   private CompletableFuture<FastSyncState> downloadChainAndWorldState(
       final FastSyncState currentState) {
+    final BlockHeader pivotBlockHeader = currentState.getPivotBlockHeader().get();
     final CompletableFuture<Void> worldStateFuture =
-        worldStateDownloader.run(currentState.getPivotBlockHeader().get());
+        currentState.isResumed()
+            ? worldStateDownloader.resume(pivotBlockHeader)
+            : worldStateDownloader.run(pivotBlockHeader);
     final CompletableFuture<Void> chainFuture = fastSyncActions.downloadChain(currentState);
 
     // If either download fails, cancel the other one.
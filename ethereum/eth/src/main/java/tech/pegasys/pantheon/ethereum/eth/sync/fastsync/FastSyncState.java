@@ -24,6 +24,7 @@ public class FastSyncState {
 
   private final OptionalLong pivotBlockNumber;
   private final Optional<BlockHeader> pivotBlockHeader;
+  private final boolean resumed;
 
   public FastSyncState() {
     this(OptionalLong.empty(), Optional.empty());
@@ -35,8 +36,16 @@ public class FastSyncState {
 
   public FastSyncState(
       final OptionalLong pivotBlockNumber, final Optional<BlockHeader> pivotBlockHeader) {
+    this(pivotBlockNumber, pivotBlockHeader, false);
+  }
+
+  public FastSyncState(
+      final OptionalLong pivotBlockNumber,
+      final Optional<BlockHeader> pivotBlockHeader,
+      final boolean resumed) {
     this.pivotBlockNumber = pivotBlockNumber;
     this.pivotBlockHeader = pivotBlockHeader;
+    this.resumed = resumed;
   }
 
   public OptionalLong getPivotBlockNumber() {
@@ -47,6 +56,16 @@ public class FastSyncState {
     return pivotBlockHeader;
   }
 
+  /**
+   * Whether the pivot block was restored from an earlier, interrupted fast sync, in which case any
+   * world state download progress stored for it can be reused.
+   *
+   * @return true if this fast sync continues from a previously stored pivot block
+   */
+  public boolean isResumed() {
+    return resumed;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -56,13 +75,14 @@ public class FastSyncState {
       return false;
     }
     final FastSyncState that = (FastSyncState) o;
-    return Objects.equals(pivotBlockNumber, that.pivotBlockNumber)
+    return resumed == that.resumed
+        && Objects.equals(pivotBlockNumber, that.pivotBlockNumber)
         && Objects.equals(pivotBlockHeader, that.pivotBlockHeader);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(pivotBlockNumber, pivotBlockHeader);
+    return Objects.hash(pivotBlockNumber, pivotBlockHeader, resumed);
   }
 
   @Override
@@ -70,6 +90,7 @@ public class FastSyncState {
     return MoreObjects.toStringHelper(this)
         .add("pivotBlockNumber", pivotBlockNumber)
         .add("pivotBlockHeader", pivotBlockHeader)
+        .add("resumed", resumed)
         .toString();
   }
 }
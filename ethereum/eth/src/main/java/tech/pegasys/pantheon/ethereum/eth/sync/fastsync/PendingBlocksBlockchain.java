@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.fastsync;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
+import tech.pegasys.pantheon.ethereum.chain.ChainHead;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.chain.TransactionLocation;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds blocks appended during fast sync in memory, on top of the underlying blockchain, until
+ * {@link #flush()} writes them all to the underlying blockchain in a single batch.
+ *
+ * <p>Pending blocks are visible to the header, body, receipt and total difficulty lookups made
+ * while validating the blocks that follow them. Their transactions are not indexed until they are
+ * flushed.
+ */
+class PendingBlocksBlockchain implements MutableBlockchain {
+
+  private final MutableBlockchain blockchain;
+  private final List<Block> blocks = new ArrayList<>();
+  private final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+  private final List<UInt256> totalDifficulties = new ArrayList<>();
+  private final Map<Hash, Integer> indexByHash = new HashMap<>();
+
+  PendingBlocksBlockchain(final MutableBlockchain blockchain) {
+    this.blockchain = blockchain;
+  }
+
+  @Override
+  public void appendBlock(final Block block, final List<TransactionReceipt> receipts) {
+    checkArgument(
+        block.getBody().getTransactions().size() == receipts.size(),
+        "Supplied receipts do not match block transactions.");
+    final ChainHead chainHead = getChainHead();
+    if (!block.getHeader().getParentHash().equals(chainHead.getHash())) {
+      // Blocks that don't extend the chain may affect forks so are written immediately
+      flush();
+      blockchain.appendBlock(block, receipts);
+      return;
+    }
+    indexByHash.put(block.getHash(), blocks.size());
+    blocks.add(block);
+    this.receipts.add(receipts);
+    totalDifficulties.add(chainHead.getTotalDifficulty().plus(block.getHeader().getDifficulty()));
+  }
+
+  @Override
+  public void appendBlocks(
+      final List<Block> blocks, final List<List<TransactionReceipt>> receipts) {
+    checkArgument(blocks.size() == receipts.size(), "Supplied receipts do not match blocks.");
+    for (int i = 0; i < blocks.size(); i++) {
+      appendBlock(blocks.get(i), receipts.get(i));
+    }
+  }
+
+  /** Writes the pending blocks to the underlying blockchain. */
+  void flush() {
+    if (blocks.isEmpty()) {
+      return;
+    }
+    blockchain.appendBlocks(new ArrayList<>(blocks), new ArrayList<>(receipts));
+    blocks.clear();
+    receipts.clear();
+    totalDifficulties.clear();
+    indexByHash.clear();
+  }
+
+  @Override
+  public ChainHead getChainHead() {
+    if (blocks.isEmpty()) {
+      return blockchain.getChainHead();
+    }
+    final int lastIndex = blocks.size() - 1;
+    return new ChainHead(blocks.get(lastIndex).getHash(), totalDifficulties.get(lastIndex));
+  }
+
+  @Override
+  public long getChainHeadBlockNumber() {
+    return blocks.isEmpty()
+        ? blockchain.getChainHeadBlockNumber()
+        : blocks.get(blocks.size() - 1).getHeader().getNumber();
+  }
+
+  @Override
+  public Hash getChainHeadHash() {
+    return blocks.isEmpty()
+        ? blockchain.getChainHeadHash()
+        : blocks.get(blocks.size() - 1).getHash();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final long blockNumber) {
+    final Optional<Block> pendingBlock = getPendingBlock(blockNumber);
+    return pendingBlock.isPresent()
+        ? pendingBlock.map(Block::getHeader)
+        : blockchain.getBlockHeader(blockNumber);
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHeaderHash) {
+    final Integer index = indexByHash.get(blockHeaderHash);
+    return index != null
+        ? Optional.of(blocks.get(index).getHeader())
+        : blockchain.getBlockHeader(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHeaderHash) {
+    final Integer index = indexByHash.get(blockHeaderHash);
+    return index != null
+        ? Optional.of(blocks.get(index).getBody())
+        : blockchain.getBlockBody(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
+    final Integer index = indexByHash.get(blockHeaderHash);
+    return index != null
+        ? Optional.of(receipts.get(index))
+        : blockchain.getTxReceipts(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<Hash> getBlockHashByNumber(final long number) {
+    final Optional<Block> pendingBlock = getPendingBlock(number);
+    return pendingBlock.isPresent()
+        ? pendingBlock.map(Block::getHash)
+        : blockchain.getBlockHashByNumber(number);
+  }
+
+  @Override
+  public Optional<UInt256> getTotalDifficultyByHash(final Hash blockHeaderHash) {
+    final Integer index = indexByHash.get(blockHeaderHash);
+    return index != null
+        ? Optional.of(totalDifficulties.get(index))
+        : blockchain.getTotalDifficultyByHash(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return blockchain.getTransactionByHash(transactionHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return blockchain.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public long observeBlockAdded(final BlockAddedObserver observer) {
+    return blockchain.observeBlockAdded(observer);
+  }
+
+  @Override
+  public boolean removeObserver(final long observerId) {
+    return blockchain.removeObserver(observerId);
+  }
+
+  private Optional<Block> getPendingBlock(final long blockNumber) {
+    if (blocks.isEmpty()) {
+      return Optional.empty();
+    }
+    final long index = blockNumber - blocks.get(0).getHeader().getNumber();
+    return index >= 0 && index < blocks.size()
+        ? Optional.of(blocks.get((int) index))
+        : Optional.empty();
+  }
+}
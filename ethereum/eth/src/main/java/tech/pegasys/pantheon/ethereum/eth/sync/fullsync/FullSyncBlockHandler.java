@@ -68,8 +68,7 @@ public class FullSyncBlockHandler<C> implements BlockHandler<Block> {
   @Override
   public CompletableFuture<List<Block>> downloadBlocks(final List<BlockHeader> headers) {
     return CompleteBlocksTask.forHeaders(protocolSchedule, ethContext, headers, ethTasksTimer)
-        .run()
-        .thenCompose(this::extractTransactionSenders);
+        .run();
   }
 
   @Override
@@ -77,7 +76,8 @@ public class FullSyncBlockHandler<C> implements BlockHandler<Block> {
     return block.getHeader().getNumber();
   }
 
-  private CompletableFuture<List<Block>> extractTransactionSenders(final List<Block> blocks) {
+  @Override
+  public List<Block> prepareBlocks(final List<Block> blocks) {
     LOG.debug(
         "Extracting sender {} to {}",
         blocks.get(0).getHeader().getNumber(),
@@ -88,6 +88,6 @@ public class FullSyncBlockHandler<C> implements BlockHandler<Block> {
         transaction.getSender();
       }
     }
-    return CompletableFuture.completedFuture(blocks);
+    return blocks;
   }
 }
@@ -18,13 +18,14 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.eth.manager.AbstractPeerTask.PeerTaskResult;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.sync.ChainDownloader;
+import tech.pegasys.pantheon.ethereum.eth.sync.ChainSegmentImporter;
 import tech.pegasys.pantheon.ethereum.eth.sync.CheckpointHeaderManager;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.ImportBlocksTask;
-import tech.pegasys.pantheon.ethereum.eth.sync.tasks.ParallelImportChainSegmentTask;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.OperationTimer;
 
@@ -43,6 +44,7 @@ public class FullSyncDownloader<C> {
   private final ProtocolContext<C> protocolContext;
   private final EthContext ethContext;
   private final LabelledMetric<OperationTimer> ethTasksTimer;
+  private final ChainSegmentImporter<C, Block> chainSegmentImporter;
 
   public FullSyncDownloader(
       final SynchronizerConfiguration config,
@@ -50,12 +52,24 @@ public class FullSyncDownloader<C> {
       final ProtocolContext<C> protocolContext,
       final EthContext ethContext,
       final SyncState syncState,
-      final LabelledMetric<OperationTimer> ethTasksTimer) {
+      final LabelledMetric<OperationTimer> ethTasksTimer,
+      final LabelledMetric<Counter> chainDownloadPipelineCounter) {
     this.config = config;
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
     this.ethContext = ethContext;
     this.ethTasksTimer = ethTasksTimer;
+    this.chainSegmentImporter =
+        new ChainSegmentImporter<>(
+            config,
+            protocolSchedule,
+            protocolContext,
+            ethContext,
+            ethTasksTimer,
+            chainDownloadPipelineCounter,
+            new FullSyncBlockHandler<>(
+                protocolSchedule, protocolContext, ethContext, ethTasksTimer),
+            () -> HeaderValidationMode.DETACHED_ONLY);
     chainDownloader =
         new ChainDownloader<>(
             config,
@@ -93,18 +107,7 @@ public class FullSyncDownloader<C> {
               ethTasksTimer);
       importedBlocks = importTask.run().thenApply(PeerTaskResult::getResult);
     } else {
-      final ParallelImportChainSegmentTask<C, Block> importTask =
-          ParallelImportChainSegmentTask.forCheckpoints(
-              protocolSchedule,
-              protocolContext,
-              ethContext,
-              config.downloaderParallelism(),
-              ethTasksTimer,
-              new FullSyncBlockHandler<>(
-                  protocolSchedule, protocolContext, ethContext, ethTasksTimer),
-              () -> HeaderValidationMode.DETACHED_ONLY,
-              checkpointHeaders);
-      importedBlocks = importTask.run();
+      importedBlocks = chainSegmentImporter.importSegment(checkpointHeaders);
     }
     return importedBlocks;
   }
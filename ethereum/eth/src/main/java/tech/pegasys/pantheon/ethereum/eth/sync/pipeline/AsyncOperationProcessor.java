@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Starts an asynchronous operation for each input, keeping up to a fixed number in progress at
+ * once. Results are written in the order the inputs were read, regardless of the order in which
+ * the operations complete.
+ */
+class AsyncOperationProcessor<I, O> implements Processor<I, O> {
+  private static final long WAIT_MILLIS = 100;
+
+  private final Function<I, CompletableFuture<O>> operation;
+  private final int maxConcurrency;
+  private final Deque<CompletableFuture<O>> inProgress = new ArrayDeque<>();
+
+  AsyncOperationProcessor(
+      final Function<I, CompletableFuture<O>> operation, final int maxConcurrency) {
+    this.operation = operation;
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  @Override
+  public void processNextInput(final Pipe<I> inputPipe, final Pipe<O> outputPipe) {
+    if (inProgress.size() < maxConcurrency) {
+      // Only wait for input when there are no results to hand on in the meantime
+      final I value = inProgress.isEmpty() ? inputPipe.get() : inputPipe.poll();
+      if (value != null) {
+        inProgress.addLast(operation.apply(value));
+      } else if (!inProgress.isEmpty()) {
+        waitForNextResult(inputPipe);
+      }
+    } else {
+      waitForNextResult(inputPipe);
+    }
+    outputCompletedResults(outputPipe);
+  }
+
+  @Override
+  public void finish(final Pipe<O> outputPipe) {
+    while (!inProgress.isEmpty() && outputPipe.isOpen()) {
+      outputPipe.put(inProgress.removeFirst().join());
+    }
+  }
+
+  @Override
+  public void abort() {
+    inProgress.forEach(future -> future.cancel(true));
+    inProgress.clear();
+  }
+
+  private void outputCompletedResults(final Pipe<O> outputPipe) {
+    // Operation failures are thrown from here and abort the pipeline
+    while (!inProgress.isEmpty() && inProgress.peekFirst().isDone()) {
+      outputPipe.put(inProgress.removeFirst().join());
+    }
+  }
+
+  private void waitForNextResult(final Pipe<I> inputPipe) {
+    try {
+      inProgress.peekFirst().get(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException | ExecutionException e) {
+      // Failures are reported when the result is output
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      inputPipe.abort();
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import java.util.function.Consumer;
+
+class CompleterStage<T> implements Stage {
+
+  private final String name;
+  private final Pipe<T> inputPipe;
+  private final Consumer<T> completer;
+
+  CompleterStage(final String name, final Pipe<T> inputPipe, final Consumer<T> completer) {
+    this.name = name;
+    this.inputPipe = inputPipe;
+    this.completer = completer;
+  }
+
+  @Override
+  public void run() {
+    while (inputPipe.hasMore()) {
+      final T value = inputPipe.get();
+      if (value != null) {
+        completer.accept(value);
+      }
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+}
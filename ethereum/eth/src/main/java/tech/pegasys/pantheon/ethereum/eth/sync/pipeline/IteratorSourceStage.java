@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import java.util.Iterator;
+
+class IteratorSourceStage<T> implements Stage {
+
+  private final String name;
+  private final Iterator<T> source;
+  private final Pipe<T> outputPipe;
+
+  IteratorSourceStage(final String name, final Iterator<T> source, final Pipe<T> outputPipe) {
+    this.name = name;
+    this.source = source;
+    this.outputPipe = outputPipe;
+  }
+
+  @Override
+  public void run() {
+    while (outputPipe.isOpen() && source.hasNext()) {
+      outputPipe.put(source.next());
+    }
+    outputPipe.close();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+}
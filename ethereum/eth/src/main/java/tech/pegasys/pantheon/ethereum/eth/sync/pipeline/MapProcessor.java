@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import java.util.function.Function;
+
+class MapProcessor<I, O> implements Processor<I, O> {
+
+  private final Function<I, O> function;
+
+  MapProcessor(final Function<I, O> function) {
+    this.function = function;
+  }
+
+  @Override
+  public void processNextInput(final Pipe<I> inputPipe, final Pipe<O> outputPipe) {
+    final I value = inputPipe.get();
+    if (value != null) {
+      outputPipe.put(function.apply(value));
+    }
+  }
+
+  @Override
+  public void finish(final Pipe<O> outputPipe) {}
+
+  @Override
+  public void abort() {}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import tech.pegasys.pantheon.metrics.Counter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded queue connecting two stages of a {@link Pipeline}.
+ *
+ * <p>Writing to a full pipe blocks, so a fast stage can't run further ahead of the stage after it
+ * than the capacity of the pipe between them. Closing the pipe tells the reading stage that no
+ * more items will arrive. Aborting it discards any remaining items and releases stages blocked on
+ * either end.
+ *
+ * @param <T> the type of item passed through the pipe
+ */
+public class Pipe<T> {
+  private static final long WAIT_MILLIS = 100;
+
+  private final BlockingQueue<T> queue;
+  private final Counter inputCounter;
+  private final Counter outputCounter;
+  private volatile boolean closed = false;
+  private volatile boolean aborted = false;
+
+  public Pipe(final int capacity, final Counter inputCounter, final Counter outputCounter) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.inputCounter = inputCounter;
+    this.outputCounter = outputCounter;
+  }
+
+  /** @return true if items can still be written to the pipe */
+  public boolean isOpen() {
+    return !closed && !aborted;
+  }
+
+  public boolean isAborted() {
+    return aborted;
+  }
+
+  /** @return true if there may be more items to read, waiting if necessary for them to arrive */
+  public boolean hasMore() {
+    return !aborted && (!closed || !queue.isEmpty());
+  }
+
+  /**
+   * Adds an item to the pipe, waiting for space to become available. The item is discarded if the
+   * pipe is closed or aborted before it can be added.
+   *
+   * @param value the item to add
+   */
+  public void put(final T value) {
+    while (isOpen()) {
+      try {
+        if (queue.offer(value, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+          inputCounter.inc();
+          return;
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        abort();
+      }
+    }
+  }
+
+  /**
+   * Waits briefly for the next item.
+   *
+   * @return the next item or null if none arrived while waiting
+   */
+  public T get() {
+    try {
+      return recordOutput(aborted ? null : queue.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      abort();
+      return null;
+    }
+  }
+
+  /** @return the next item or null if there isn't one available now */
+  public T poll() {
+    return recordOutput(aborted ? null : queue.poll());
+  }
+
+  public void close() {
+    closed = true;
+  }
+
+  public void abort() {
+    aborted = true;
+    queue.clear();
+  }
+
+  private T recordOutput(final T value) {
+    if (value != null) {
+      outputCounter.inc();
+    }
+    return value;
+  }
+}
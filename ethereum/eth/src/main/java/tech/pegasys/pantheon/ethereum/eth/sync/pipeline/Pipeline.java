@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import tech.pegasys.pantheon.util.ExceptionUtils;
+
+import java.util.Collection;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A series of stages connected by bounded {@link Pipe}s, each running on its own thread. Created
+ * with a {@link PipelineBuilder}.
+ *
+ * <p>The pipeline completes once the final stage has consumed every item. If any stage fails, or
+ * the future returned by {@link #start(ExecutorService)} is cancelled, every pipe is aborted so
+ * the remaining stages stop promptly.
+ */
+public class Pipeline {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Collection<Stage> stages;
+  private final Stage completerStage;
+  private final Collection<Pipe<?>> pipes;
+  private final AtomicBoolean started = new AtomicBoolean(false);
+  private final CompletableFuture<Void> overallFuture = new CompletableFuture<>();
+
+  Pipeline(
+      final Collection<Stage> stages, final Stage completerStage, final Collection<Pipe<?>> pipes) {
+    this.stages = stages;
+    this.completerStage = completerStage;
+    this.pipes = pipes;
+  }
+
+  /**
+   * Starts every stage of the pipeline.
+   *
+   * @param executorService the executor to run the stages on. It must be able to run all stages
+   *     at once as each stage blocks while waiting for its input.
+   * @return a future that completes when the pipeline has finished
+   */
+  public CompletableFuture<Void> start(final ExecutorService executorService) {
+    if (!started.compareAndSet(false, true)) {
+      return overallFuture;
+    }
+    overallFuture.whenComplete(
+        (result, error) -> {
+          if (error != null) {
+            pipes.forEach(Pipe::abort);
+          }
+        });
+    stages.forEach(stage -> startStage(executorService, stage, () -> {}));
+    startStage(executorService, completerStage, this::completeIfNotAborted);
+    return overallFuture;
+  }
+
+  /** Stops the pipeline, discarding any items that have not reached the final stage. */
+  public void abort() {
+    abort(new CancellationException("Pipeline aborted"));
+  }
+
+  private void startStage(
+      final ExecutorService executorService, final Stage stage, final Runnable onCompletion) {
+    executorService.submit(
+        () -> {
+          try {
+            stage.run();
+            onCompletion.run();
+          } catch (final Throwable t) {
+            LOG.debug("Pipeline stage {} failed: {}", stage.getName(), t.toString());
+            abort(ExceptionUtils.rootCause(t));
+          }
+        });
+  }
+
+  private void completeIfNotAborted() {
+    // A stage that was interrupted aborts its pipes rather than failing
+    if (pipes.stream().anyMatch(Pipe::isAborted)) {
+      abort();
+    } else {
+      overallFuture.complete(null);
+    }
+  }
+
+  private void abort(final Throwable error) {
+    overallFuture.completeExceptionally(error);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Builds a {@link Pipeline} one stage at a time, starting from a source of items and ending with a
+ * stage that consumes the results.
+ *
+ * <p>Each stage writes to a pipe holding at most {@code bufferSize} items, which is how far it may
+ * run ahead of the next stage. The number of items added to and removed from each pipe is counted
+ * with the pipe labelled by the stage that writes to it, so the difference is the backlog waiting
+ * for the following stage.
+ *
+ * @param <T> the type of item output by the last stage added so far
+ */
+public class PipelineBuilder<T> {
+
+  private final Collection<Stage> stages;
+  private final Collection<Pipe<?>> pipes;
+  private final Pipe<T> pipeEnd;
+  private final int bufferSize;
+  private final LabelledMetric<Counter> itemCounter;
+
+  private PipelineBuilder(
+      final Collection<Stage> stages,
+      final Collection<Pipe<?>> pipes,
+      final Pipe<T> pipeEnd,
+      final int bufferSize,
+      final LabelledMetric<Counter> itemCounter) {
+    this.stages = stages;
+    this.pipes = pipes;
+    this.pipeEnd = pipeEnd;
+    this.bufferSize = bufferSize;
+    this.itemCounter = itemCounter;
+  }
+
+  /**
+   * Starts a pipeline that processes each item from an iterator in turn.
+   *
+   * @param sourceName the name of the source stage, used in metrics
+   * @param source the items to process
+   * @param bufferSize the maximum number of items held between two stages
+   * @param itemCounter counter labelled by stage name and {@code added} or {@code removed}
+   * @param <T> the type of item provided by the source
+   * @return a builder for the rest of the pipeline
+   */
+  public static <T> PipelineBuilder<T> createPipelineFrom(
+      final String sourceName,
+      final Iterator<T> source,
+      final int bufferSize,
+      final LabelledMetric<Counter> itemCounter) {
+    checkArgument(bufferSize > 0, "Buffer size must be positive");
+    final Pipe<T> pipe = createPipe(sourceName, bufferSize, itemCounter);
+    final List<Stage> stages = new ArrayList<>();
+    final List<Pipe<?>> pipes = new ArrayList<>();
+    stages.add(new IteratorSourceStage<>(sourceName, source, pipe));
+    pipes.add(pipe);
+    return new PipelineBuilder<>(stages, pipes, pipe, bufferSize, itemCounter);
+  }
+
+  /**
+   * Adds a stage that applies a function to each item in turn on the stage's own thread.
+   *
+   * @param stageName the name of the stage, used in metrics
+   * @param processor the function to apply
+   * @param <O> the type of item output by the stage
+   * @return a builder for the rest of the pipeline
+   */
+  public <O> PipelineBuilder<O> thenProcess(
+      final String stageName, final Function<T, O> processor) {
+    return addStage(stageName, new MapProcessor<>(processor));
+  }
+
+  /**
+   * Adds a stage that starts an asynchronous operation for each item, keeping up to {@code
+   * maxConcurrency} in progress at once. Results are passed on in the order the items arrived.
+   *
+   * @param stageName the name of the stage, used in metrics
+   * @param operation the asynchronous operation to start for each item
+   * @param maxConcurrency the maximum number of operations in progress at once
+   * @param <O> the type of item output by the stage
+   * @return a builder for the rest of the pipeline
+   */
+  public <O> PipelineBuilder<O> thenProcessAsyncOrdered(
+      final String stageName,
+      final Function<T, CompletableFuture<O>> operation,
+      final int maxConcurrency) {
+    checkArgument(maxConcurrency > 0, "Maximum concurrency must be positive");
+    return addStage(stageName, new AsyncOperationProcessor<>(operation, maxConcurrency));
+  }
+
+  /**
+   * Ends the pipeline with a stage that consumes each item in turn.
+   *
+   * @param stageName the name of the stage
+   * @param completer the consumer to pass each item to
+   * @return the completed pipeline, ready to start
+   */
+  public Pipeline andFinishWith(final String stageName, final Consumer<T> completer) {
+    return new Pipeline(stages, new CompleterStage<>(stageName, pipeEnd, completer), pipes);
+  }
+
+  private <O> PipelineBuilder<O> addStage(
+      final String stageName, final Processor<T, O> processor) {
+    final Pipe<O> outputPipe = createPipe(stageName, bufferSize, itemCounter);
+    stages.add(new ProcessingStage<>(stageName, pipeEnd, outputPipe, processor));
+    pipes.add(outputPipe);
+    return new PipelineBuilder<>(stages, pipes, outputPipe, bufferSize, itemCounter);
+  }
+
+  private static <O> Pipe<O> createPipe(
+      final String stageName, final int bufferSize, final LabelledMetric<Counter> itemCounter) {
+    return new Pipe<>(
+        bufferSize,
+        itemCounter.labels(stageName, "added"),
+        itemCounter.labels(stageName, "removed"));
+  }
+}
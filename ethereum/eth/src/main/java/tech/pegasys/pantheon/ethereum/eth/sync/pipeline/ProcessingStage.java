@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+class ProcessingStage<I, O> implements Stage {
+
+  private final String name;
+  private final Pipe<I> inputPipe;
+  private final Pipe<O> outputPipe;
+  private final Processor<I, O> processor;
+
+  ProcessingStage(
+      final String name,
+      final Pipe<I> inputPipe,
+      final Pipe<O> outputPipe,
+      final Processor<I, O> processor) {
+    this.name = name;
+    this.inputPipe = inputPipe;
+    this.outputPipe = outputPipe;
+    this.processor = processor;
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (inputPipe.hasMore() && outputPipe.isOpen()) {
+        processor.processNextInput(inputPipe, outputPipe);
+      }
+      if (!inputPipe.isAborted() && !outputPipe.isAborted()) {
+        processor.finish(outputPipe);
+        outputPipe.close();
+        return;
+      }
+    } catch (final RuntimeException e) {
+      processor.abort();
+      throw e;
+    }
+    // Pass the abort on in both directions so neighbouring stages stop too
+    processor.abort();
+    inputPipe.abort();
+    outputPipe.abort();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+}
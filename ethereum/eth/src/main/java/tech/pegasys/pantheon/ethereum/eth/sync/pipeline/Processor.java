@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+/**
+ * Transforms the items read by a {@link ProcessingStage} into the items it writes.
+ *
+ * @param <I> the type of input item
+ * @param <O> the type of output item
+ */
+interface Processor<I, O> {
+
+  /**
+   * Reads at most one item from the input pipe and writes any results that are ready.
+   *
+   * @param inputPipe the pipe to read from
+   * @param outputPipe the pipe to write results to
+   */
+  void processNextInput(Pipe<I> inputPipe, Pipe<O> outputPipe);
+
+  /**
+   * Writes any results still outstanding once the input pipe has been drained.
+   *
+   * @param outputPipe the pipe to write results to
+   */
+  void finish(Pipe<O> outputPipe);
+
+  /** Abandons any work in progress because the pipeline has been aborted. */
+  void abort();
+}
@@ -22,6 +22,7 @@ import tech.pegasys.pantheon.ethereum.eth.manager.AbstractPeerTask.PeerTaskResul
 import tech.pegasys.pantheon.ethereum.eth.manager.AbstractRetryingPeerTask;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
 import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
@@ -143,7 +144,12 @@ public class DownloadHeaderSequenceTask<C> extends AbstractRetryingPeerTask<List
     final BlockHeader referenceHeaderForNextRequest =
         partiallyFilled ? headers[lastFilledHeaderIndex] : referenceHeader;
     final Hash referenceHash = referenceHeaderForNextRequest.getHash();
-    final int count = partiallyFilled ? lastFilledHeaderIndex : segmentLength;
+    final int remaining = partiallyFilled ? lastFilledHeaderIndex : segmentLength;
+    // Slow peers are asked for fewer headers, leaving the rest of the segment to later requests
+    final int count =
+        assignedPeer
+            .map(peer -> peer.throughput().requestSize(EthPV62.GET_BLOCK_HEADERS, remaining))
+            .orElse(remaining);
 
     return executeSubTask(
         () -> {
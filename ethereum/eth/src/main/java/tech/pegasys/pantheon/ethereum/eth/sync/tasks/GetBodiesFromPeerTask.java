@@ -85,8 +85,13 @@ public class GetBodiesFromPeerTask<C> extends AbstractPeerRequestTask<List<Block
 
   @Override
   protected ResponseStream sendRequest(final EthPeer peer) throws PeerNotConnected {
+    // Slow peers are asked for fewer bodies; any left over are requested again by the caller
+    final int requestSize = peer.throughput().requestSize(EthPV62.GET_BLOCK_BODIES, headers.size());
     final List<Hash> blockHashes =
-        headers.stream().map(BlockHeader::getHash).collect(Collectors.toList());
+        headers.stream()
+            .limit(requestSize)
+            .map(BlockHeader::getHash)
+            .collect(Collectors.toList());
     LOG.debug("Requesting {} bodies from peer {}.", blockHashes.size(), peer);
     return peer.getBodies(blockHashes);
   }
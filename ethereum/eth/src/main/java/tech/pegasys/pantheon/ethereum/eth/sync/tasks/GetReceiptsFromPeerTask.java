@@ -72,9 +72,13 @@ public class GetReceiptsFromPeerTask
   protected ResponseStream sendRequest(final EthPeer peer) throws PeerNotConnected {
     LOG.debug("Requesting {} receipts from peer {}.", blockHeaders.size(), peer);
     // Since we have to match up the data by receipt root, we only need to request receipts
-    // for one of the headers with each unique receipt root.
+    // for one of the headers with each unique receipt root. Slow peers are asked for fewer
+    // receipts; any left over are requested again by the caller.
+    final int requestSize =
+        peer.throughput().requestSize(EthPV63.GET_RECEIPTS, headersByReceiptsRoot.size());
     final List<Hash> blockHashes =
         headersByReceiptsRoot.values().stream()
+            .limit(requestSize)
             .map(headers -> headers.get(0).getHash())
             .collect(toList());
     return peer.getReceipts(blockHashes);
@@ -17,6 +17,7 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.manager.AbstractPeerTask.PeerTaskResult;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV63;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.GetNodeDataFromPeerTask;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.WaitForPeerTask;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
@@ -31,6 +32,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,10 +49,12 @@ public class WorldStateDownloader {
   private static final Logger LOG = LogManager.getLogger();
   private final Counter completedRequestsCounter;
   private final Counter retriedRequestsTotal;
+  private final Counter deduplicatedRequestsTotal;
 
   private enum Status {
     IDLE,
     RUNNING,
+    CANCELLED,
     DONE
   }
 
@@ -62,6 +66,7 @@ public class WorldStateDownloader {
   private final LabelledMetric<OperationTimer> ethTasksTimer;
   private final WorldStateStorage worldStateStorage;
   private final AtomicBoolean sendingRequests = new AtomicBoolean(false);
+  private final Map<Hash, NodeDataRequest> inFlightRequests = new HashMap<>();
   private volatile CompletableFuture<Void> future;
   private volatile Status status = Status.IDLE;
   private volatile BytesValue rootNode;
@@ -96,6 +101,11 @@ public class WorldStateDownloader {
             MetricCategory.SYNCHRONIZER,
             "world_state_retried_requests_total",
             "Total number of node data requests repeated as part of fast sync world state download");
+    deduplicatedRequestsTotal =
+        metricsSystem.createCounter(
+            MetricCategory.SYNCHRONIZER,
+            "world_state_deduplicated_requests_total",
+            "Total number of world state nodes not requested because they were stored or in flight");
   }
 
   public CompletableFuture<Void> run(final BlockHeader header) {
@@ -103,8 +113,28 @@ public class WorldStateDownloader {
         "Begin downloading world state from peers for block {} ({})",
         header.getNumber(),
         header.getHash());
+    return download(header, false);
+  }
+
+  /**
+   * Continues a download for the given block that was interrupted, keeping any requests still
+   * pending from the earlier run.
+   *
+   * @param header the block whose world state is downloaded
+   * @return a future completed once the world state for the block is available
+   */
+  public CompletableFuture<Void> resume(final BlockHeader header) {
+    LOG.info(
+        "Resume downloading world state from peers for block {} ({}) with {} pending requests",
+        header.getNumber(),
+        header.getHash(),
+        pendingRequests.size());
+    return download(header, true);
+  }
+
+  private CompletableFuture<Void> download(final BlockHeader header, final boolean resume) {
     synchronized (this) {
-      if (status == Status.DONE || status == Status.RUNNING) {
+      if (status != Status.IDLE) {
         return future;
       }
       status = Status.RUNNING;
@@ -116,6 +146,13 @@ public class WorldStateDownloader {
       // If we're requesting data for an existing world state, we're already done
       markDone();
     } else {
+      if (!resume) {
+        // Anything left in the queue was requested for a different block
+        pendingRequests.clear();
+      }
+      // Always start from the root. Nodes stored by an earlier run are read back from local
+      // storage rather than requested again, and walking through them finds any requests that
+      // were in flight when that run stopped.
       pendingRequests.enqueue(NodeDataRequest.createAccountDataRequest(stateRoot));
       requestNodeData(header);
     }
@@ -123,51 +160,105 @@ public class WorldStateDownloader {
     return future;
   }
 
-  public void cancel() {
-    // TODO
+  /**
+   * Stops the download, returning requests that are still waiting on a peer to the queue so they
+   * are sent again when the download is resumed.
+   */
+  public synchronized void cancel() {
+    if (status != Status.RUNNING) {
+      return;
+    }
+    status = Status.CANCELLED;
+    future.cancel(false);
+    pendingRequests.enqueueAll(inFlightRequests.values());
+    inFlightRequests.clear();
   }
 
   private void requestNodeData(final BlockHeader header) {
-    if (sendingRequests.compareAndSet(false, true)) {
-      while (shouldRequestNodeData()) {
-        Optional<EthPeer> maybePeer = ethContext.getEthPeers().idlePeer(header.getNumber());
-
-        if (!maybePeer.isPresent()) {
-          // If no peer is available, wait and try again
-          waitForNewPeer().whenComplete((r, t) -> requestNodeData(header));
-          break;
-        } else {
-          EthPeer peer = maybePeer.get();
-
-          // Collect data to be requested
-          List<NodeDataRequest> toRequest = new ArrayList<>();
-          for (int i = 0; i < hashCountPerRequest; i++) {
-            NodeDataRequest pendingRequest = pendingRequests.dequeue();
-            if (pendingRequest == null) {
-              break;
-            }
-            toRequest.add(pendingRequest);
-          }
-
-          // Request and process node data
-          outstandingRequests.incrementAndGet();
-          sendAndProcessRequests(peer, toRequest, header)
-              .whenComplete(
-                  (res, error) -> {
-                    if (outstandingRequests.decrementAndGet() == 0 && pendingRequests.isEmpty()) {
-                      // We're done
-                      final Updater updater = worldStateStorage.updater();
-                      updater.putAccountStateTrieNode(header.getStateRoot(), rootNode);
-                      updater.commit();
-                      markDone();
-                    } else {
-                      // Send out additional requests
-                      requestNodeData(header);
-                    }
-                  });
-        }
+    while (sendingRequests.compareAndSet(false, true)) {
+      final boolean waitingForPeer;
+      try {
+        waitingForPeer = sendRequests(header);
+      } finally {
+        sendingRequests.set(false);
+      }
+      // Requests may have been queued by a thread that found the flag set, so check again
+      if (waitingForPeer || !shouldRequestNodeData()) {
+        break;
+      }
+    }
+    completeIfFinished(header);
+  }
+
+  private boolean sendRequests(final BlockHeader header) {
+    while (shouldRequestNodeData()) {
+      Optional<EthPeer> maybePeer = ethContext.getEthPeers().idlePeer(header.getNumber());
+
+      if (!maybePeer.isPresent()) {
+        // If no peer is available, wait and try again
+        waitForNewPeer().whenComplete((r, t) -> requestNodeData(header));
+        return true;
+      }
+
+      // Collect data to be requested, asking slow peers for fewer nodes
+      final EthPeer peer = maybePeer.get();
+      final int requestSize =
+          peer.throughput().requestSize(EthPV63.GET_NODE_DATA, hashCountPerRequest);
+      final List<NodeDataRequest> toRequest = claimRequests(requestSize);
+      if (toRequest.isEmpty()) {
+        // Everything claimed was already available locally
+        continue;
       }
-      sendingRequests.set(false);
+
+      // Request and process node data
+      outstandingRequests.incrementAndGet();
+      sendAndProcessRequests(peer, toRequest, header)
+          .whenComplete(
+              (res, error) -> {
+                outstandingRequests.decrementAndGet();
+                // Send out additional requests
+                requestNodeData(header);
+              });
+    }
+    return false;
+  }
+
+  private synchronized List<NodeDataRequest> claimRequests(final int requestSize) {
+    if (future.isDone()) {
+      return Collections.emptyList();
+    }
+    final List<NodeDataRequest> toRequest = new ArrayList<>();
+    final List<NodeDataRequest> childRequests = new ArrayList<>();
+    for (final NodeDataRequest pendingRequest : pendingRequests.dequeueBatch(requestSize)) {
+      final Optional<BytesValue> storedData =
+          worldStateStorage.getNodeData(pendingRequest.getHash());
+      if (storedData.isPresent()) {
+        // Stored nodes may head an incomplete subtree, so their children are still walked
+        completedRequestsCounter.inc();
+        deduplicatedRequestsTotal.inc();
+        collectChildRequests(pendingRequest.setData(storedData.get()), childRequests);
+      } else if (inFlightRequests.containsKey(pendingRequest.getHash())) {
+        // Reached through another parent, the outstanding request stores it and queues its children
+        deduplicatedRequestsTotal.inc();
+      } else {
+        inFlightRequests.put(pendingRequest.getHash(), pendingRequest);
+        toRequest.add(pendingRequest);
+      }
+    }
+    pendingRequests.enqueueAll(childRequests);
+    return toRequest;
+  }
+
+  private synchronized void completeIfFinished(final BlockHeader header) {
+    if (status == Status.RUNNING
+        && !future.isDone()
+        && inFlightRequests.isEmpty()
+        && pendingRequests.isEmpty()) {
+      // We're done
+      final Updater updater = worldStateStorage.updater();
+      updater.putAccountStateTrieNode(header.getStateRoot(), rootNode);
+      updater.commit();
+      markDone();
     }
   }
 
@@ -181,8 +272,9 @@ public class WorldStateDownloader {
     status = Status.DONE;
   }
 
-  private boolean shouldRequestNodeData() {
-    return !future.isDone()
+  private synchronized boolean shouldRequestNodeData() {
+    return status == Status.RUNNING
+        && !future.isDone()
         && outstandingRequests.get() < maxOutstandingRequests
         && !pendingRequests.isEmpty();
   }
@@ -202,34 +294,48 @@ public class WorldStateDownloader {
         .run()
         .thenApply(PeerTaskResult::getResult)
         .thenApply(this::mapNodeDataByHash)
-        .whenComplete(
-            (data, err) -> {
-              boolean requestFailed = err != null;
-              Updater storageUpdater = worldStateStorage.updater();
-              for (NodeDataRequest request : requests) {
-                BytesValue matchingData = requestFailed ? null : data.get(request.getHash());
-                if (matchingData == null) {
-                  retriedRequestsTotal.inc();
-                  pendingRequests.enqueue(request);
-                } else {
-                  completedRequestsCounter.inc();
-                  // Persist request data
-                  request.setData(matchingData);
-                  if (isRootState(blockHeader, request)) {
-                    rootNode = request.getData();
-                  } else {
-                    request.persist(storageUpdater);
-                  }
-
-                  // Queue child requests
-                  request
-                      .getChildRequests()
-                      .filter(this::filterChildRequests)
-                      .forEach(pendingRequests::enqueue);
-                }
-              }
-              storageUpdater.commit();
-            });
+        .whenComplete((data, err) -> processResponse(requests, data, err, blockHeader));
+  }
+
+  private synchronized void processResponse(
+      final List<NodeDataRequest> requests,
+      final Map<Hash, BytesValue> data,
+      final Throwable err,
+      final BlockHeader blockHeader) {
+    if (status != Status.RUNNING || future.isDone()) {
+      // Requests still in flight when the download was cancelled were returned to the queue
+      return;
+    }
+    boolean requestFailed = err != null;
+    Updater storageUpdater = worldStateStorage.updater();
+    final List<NodeDataRequest> requestsToQueue = new ArrayList<>();
+    for (NodeDataRequest request : requests) {
+      BytesValue matchingData = requestFailed ? null : data.get(request.getHash());
+      if (matchingData == null) {
+        retriedRequestsTotal.inc();
+        requestsToQueue.add(request);
+      } else {
+        completedRequestsCounter.inc();
+        // Persist request data
+        request.setData(matchingData);
+        if (isRootState(blockHeader, request)) {
+          rootNode = request.getData();
+        } else {
+          request.persist(storageUpdater);
+        }
+
+        collectChildRequests(request, requestsToQueue);
+      }
+      inFlightRequests.remove(request.getHash());
+    }
+    // Queue child requests before their parent is stored so none are lost if the node stops
+    pendingRequests.enqueueAll(requestsToQueue);
+    storageUpdater.commit();
+  }
+
+  private void collectChildRequests(
+      final NodeDataRequest request, final List<NodeDataRequest> childRequests) {
+    request.getChildRequests().filter(this::filterChildRequests).forEach(childRequests::add);
   }
 
   private boolean isRootState(final BlockHeader blockHeader, final NodeDataRequest request) {
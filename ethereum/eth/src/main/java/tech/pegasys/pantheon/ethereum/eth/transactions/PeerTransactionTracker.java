@@ -13,67 +13,78 @@
 package tech.pegasys.pantheon.ethereum.eth.transactions;
 
 import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
 
-import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer.DisconnectCallback;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 class PeerTransactionTracker implements DisconnectCallback {
-  private static final int MAX_TRACKED_SEEN_TRANSACTIONS = 30_000;
-  private final Map<EthPeer, Set<Hash>> seenTransactions = new ConcurrentHashMap<>();
-  private final Map<EthPeer, Set<Transaction>> transactionsToSend = new ConcurrentHashMap<>();
+  private static final int SEEN_TRANSACTIONS_GENERATION_SIZE = 15_000;
+  private final Map<EthPeer, SeenTransactionsFilter> seenTransactions = new ConcurrentHashMap<>();
+  private final Map<EthPeer, Queue<Transaction>> transactionsToSend = new ConcurrentHashMap<>();
 
-  public synchronized void markTransactionsAsSeen(
+  public void markTransactionsAsSeen(
       final EthPeer peer, final Collection<Transaction> transactions) {
-    final Set<Hash> seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
+    if (peer.isDisconnected()) {
+      return;
+    }
+    final SeenTransactionsFilter seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
     transactions.stream().map(Transaction::hash).forEach(seenTransactionsForPeer::add);
+    removeIfDisconnected(peer);
   }
 
-  public synchronized void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
-    if (!hasPeerSeenTransaction(peer, transaction)) {
-      transactionsToSend.computeIfAbsent(peer, key -> createTransactionsSet()).add(transaction);
+  public void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
+    if (peer.isDisconnected()) {
+      return;
+    }
+    // Transactions are marked as seen when queued so they are never queued twice for a peer.
+    if (getOrCreateSeenTransactionsForPeer(peer).add(transaction.hash())) {
+      transactionsToSend
+          .computeIfAbsent(peer, key -> new ConcurrentLinkedQueue<>())
+          .add(transaction);
     }
+    removeIfDisconnected(peer);
   }
 
   public Iterable<EthPeer> getEthPeersWithUnsentTransactions() {
-    return transactionsToSend.keySet();
+    return transactionsToSend.entrySet().stream()
+        .filter(entry -> !entry.getValue().isEmpty())
+        .map(Map.Entry::getKey)
+        .collect(toList());
   }
 
-  public synchronized Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
-    final Set<Transaction> transactionsToSend = this.transactionsToSend.remove(peer);
-    if (transactionsToSend != null) {
-      markTransactionsAsSeen(peer, transactionsToSend);
-      return transactionsToSend;
-    } else {
+  public Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
+    final Queue<Transaction> transactionsToSend = this.transactionsToSend.get(peer);
+    if (transactionsToSend == null) {
       return emptySet();
     }
+    final Set<Transaction> claimedTransactions = new LinkedHashSet<>();
+    Transaction transaction;
+    while ((transaction = transactionsToSend.poll()) != null) {
+      claimedTransactions.add(transaction);
+    }
+    return claimedTransactions;
   }
 
-  private Set<Hash> getOrCreateSeenTransactionsForPeer(final EthPeer peer) {
-    return seenTransactions.computeIfAbsent(peer, key -> createTransactionsSet());
-  }
-
-  private boolean hasPeerSeenTransaction(final EthPeer peer, final Transaction transaction) {
-    final Set<Hash> seenTransactionsForPeer = seenTransactions.get(peer);
-    return seenTransactionsForPeer != null && seenTransactionsForPeer.contains(transaction.hash());
+  private SeenTransactionsFilter getOrCreateSeenTransactionsForPeer(final EthPeer peer) {
+    return seenTransactions.computeIfAbsent(
+        peer, key -> new SeenTransactionsFilter(SEEN_TRANSACTIONS_GENERATION_SIZE));
   }
 
-  private <T> Set<T> createTransactionsSet() {
-    return Collections.newSetFromMap(
-        new LinkedHashMap<T, Boolean>(1 << 4, 0.75f, true) {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<T, Boolean> eldest) {
-            return size() > MAX_TRACKED_SEEN_TRANSACTIONS;
-          }
-        });
+  // The peer may have disconnected after it was checked, once its entries were already removed
+  private void removeIfDisconnected(final EthPeer peer) {
+    if (peer.isDisconnected()) {
+      onDisconnect(peer);
+    }
   }
 
   @Override
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+
+/**
+ * Remembers roughly the most recent transaction hashes seen by a peer using two rotating bloom
+ * filters. Once the current generation holds {@code generationSize} hashes it becomes the previous
+ * generation and the oldest one is dropped, so memory use is fixed regardless of traffic.
+ *
+ * <p>False positives only mean a transaction is not re-announced to a peer, which is harmless as
+ * the peer will still receive it from other peers.
+ *
+ * <p>Checking and recording a hash is a single step, so a hash added concurrently by two threads
+ * is only reported as new once, including while the generations rotate.
+ */
+class SeenTransactionsFilter {
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.0001;
+  private static final Funnel<Hash> HASH_FUNNEL =
+      (hash, sink) -> sink.putBytes(hash.getArrayUnsafe());
+
+  private final int generationSize;
+  private int currentGenerationCount;
+  private Generations generations;
+
+  SeenTransactionsFilter(final int generationSize) {
+    this.generationSize = generationSize;
+    this.generations = new Generations(createFilter(), createFilter());
+  }
+
+  synchronized boolean mightContain(final Hash hash) {
+    return generations.current.mightContain(hash) || generations.previous.mightContain(hash);
+  }
+
+  /**
+   * Records the hash as seen.
+   *
+   * @param hash the transaction hash
+   * @return true if the hash had not already been seen
+   */
+  synchronized boolean add(final Hash hash) {
+    if (mightContain(hash)) {
+      return false;
+    }
+    final boolean added = generations.current.put(hash);
+    if (added && ++currentGenerationCount == generationSize) {
+      rotate();
+    }
+    return added;
+  }
+
+  private void rotate() {
+    generations = new Generations(createFilter(), generations.current);
+    currentGenerationCount = 0;
+  }
+
+  private BloomFilter<Hash> createFilter() {
+    return BloomFilter.create(HASH_FUNNEL, generationSize, FALSE_POSITIVE_PROBABILITY);
+  }
+
+  private static class Generations {
+    private final BloomFilter<Hash> current;
+    private final BloomFilter<Hash> previous;
+
+    private Generations(final BloomFilter<Hash> current, final BloomFilter<Hash> previous) {
+      this.current = current;
+      this.previous = previous;
+    }
+  }
+}
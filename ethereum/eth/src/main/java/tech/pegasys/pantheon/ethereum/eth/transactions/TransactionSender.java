@@ -16,11 +16,16 @@ import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionPool.TransactionBatchAddedListener;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 class TransactionSender implements TransactionBatchAddedListener {
 
+  private static final Duration FLUSH_INTERVAL = Duration.ofMillis(100);
   private final PeerTransactionTracker transactionTracker;
   private final TransactionsMessageSender transactionsMessageSender;
   private final EthContext ethContext;
+  private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
 
   public TransactionSender(
       final PeerTransactionTracker transactionTracker,
@@ -40,6 +45,14 @@ class TransactionSender implements TransactionBatchAddedListener {
             peer ->
                 transactions.forEach(
                     transaction -> transactionTracker.addToPeerSendQueue(peer, transaction)));
+    // Coalesce announcements that arrive close together into as few messages as possible.
+    if (flushScheduled.compareAndSet(false, true)) {
+      ethContext.getScheduler().scheduleFutureTask(this::flush, FLUSH_INTERVAL);
+    }
+  }
+
+  private void flush() {
+    flushScheduled.set(false);
     ethContext
         .getScheduler()
         .scheduleSyncWorkerTask(transactionsMessageSender::sendTransactionsToPeers);
@@ -12,18 +12,20 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.transactions;
 
-import static java.util.stream.Collectors.toSet;
-
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.messages.TransactionsMessage;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 class TransactionsMessageSender {
 
   private static final int MAX_BATCH_SIZE = 10;
+  private static final int MAX_BATCH_BYTES = 100 * 1024;
   private final PeerTransactionTracker transactionTracker;
 
   public TransactionsMessageSender(final PeerTransactionTracker transactionTracker) {
@@ -35,16 +37,33 @@ class TransactionsMessageSender {
   }
 
   private void sendTransactionsToPeer(final EthPeer peer) {
-    final Set<Transaction> allTxToSend = transactionTracker.claimTransactionsToSendToPeer(peer);
-    while (!allTxToSend.isEmpty()) {
-      final Set<Transaction> subsetToSend =
-          allTxToSend.stream().limit(MAX_BATCH_SIZE).collect(toSet());
-      allTxToSend.removeAll(subsetToSend);
-      try {
-        peer.send(TransactionsMessage.create(subsetToSend));
-      } catch (final PeerNotConnected e) {
-        return;
+    final List<BytesValue> batch = new ArrayList<>();
+    int batchBytes = 0;
+    for (final Transaction transaction : transactionTracker.claimTransactionsToSendToPeer(peer)) {
+      final BytesValue encodedTransaction = RLP.encode(transaction::writeTo);
+      if (!batch.isEmpty()
+          && (batch.size() == MAX_BATCH_SIZE
+              || batchBytes + encodedTransaction.size() > MAX_BATCH_BYTES)) {
+        if (!sendBatch(peer, batch)) {
+          return;
+        }
+        batch.clear();
+        batchBytes = 0;
       }
+      batch.add(encodedTransaction);
+      batchBytes += encodedTransaction.size();
+    }
+    if (!batch.isEmpty()) {
+      sendBatch(peer, batch);
+    }
+  }
+
+  private boolean sendBatch(final EthPeer peer, final List<BytesValue> batch) {
+    try {
+      peer.send(TransactionsMessage.createFromEncoded(batch));
+      return true;
+    } catch (final PeerNotConnected e) {
+      return false;
     }
   }
 }
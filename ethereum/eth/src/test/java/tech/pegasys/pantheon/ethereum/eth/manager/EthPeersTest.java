@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.eth.manager;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import org.junit.Before;
@@ -73,4 +74,18 @@ public class EthPeersTest {
     assertThat(EthPeers.BEST_CHAIN.compare(peerA, peerA)).isEqualTo(0);
     assertThat(EthPeers.BEST_CHAIN.compare(peerB, peerB)).isEqualTo(0);
   }
+
+  @Test
+  public void comparesPeersWithExpectedResponseTime() {
+    final EthPeer peerA =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, UInt256.of(100), 0).getEthPeer();
+    final EthPeer peerB =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, UInt256.of(100), 0).getEthPeer();
+    peerA.throughput().recordResponse(EthPV62.GET_BLOCK_HEADERS, 3000, 1000);
+    peerB.throughput().recordResponse(EthPV62.GET_BLOCK_HEADERS, 500, 1000);
+
+    assertThat(EthPeers.SHORTEST_EXPECTED_RESPONSE_TIME.compare(peerA, peerB)).isGreaterThan(0);
+    assertThat(EthPeers.SHORTEST_EXPECTED_RESPONSE_TIME.compare(peerB, peerA)).isLessThan(0);
+    assertThat(ethProtocolManager.ethContext().getEthPeers().idlePeer()).contains(peerB);
+  }
 }
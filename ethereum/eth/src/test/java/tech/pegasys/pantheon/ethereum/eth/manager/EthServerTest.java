@@ -13,19 +13,29 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.GetNodeDataMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetReceiptsMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NodeDataMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.ReceiptsMessage;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -42,9 +52,13 @@ public class EthServerTest {
   private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
   private final EthPeer ethPeer = mock(EthPeer.class);
   private final EthMessages ethMessages = new EthMessages();
+  private final AtomicLong currentTime = new AtomicLong();
+  private final PeerServingBudget servingBudget =
+      new PeerServingBudget(1000, 1000, currentTime::get);
 
   @Before
   public void setUp() {
+    when(ethPeer.nodeDataServingBudget()).thenReturn(servingBudget);
     new EthServer(blockchain, worldStateArchive, ethMessages, 2);
   }
 
@@ -87,4 +101,45 @@ public class EthServerTest {
 
     verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
   }
+
+  @Test
+  public void shouldLimitNodeDataResponsesToPeerServingBudget() throws Exception {
+    final BytesValue largeValue = BytesValue.wrap(new byte[1500]);
+    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(largeValue));
+    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.of(VALUE2));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(NodeDataMessage.create(singletonList(largeValue)));
+    assertThat(servingBudget.available()).isNegative();
+
+    ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2))));
+    verify(ethPeer).send(NodeDataMessage.create(emptyList()));
+
+    currentTime.addAndGet(1000);
+    ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(singletonList(HASH2))));
+    verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE2)));
+  }
+
+  @Test
+  public void shouldRespondToBlockBodiesRequestsWithStoredRlp() throws Exception {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockBody body1 = gen.block().getBody();
+    final BlockBody body2 = gen.block().getBody();
+    when(blockchain.getBlockBodyRlp(HASH1)).thenReturn(Optional.of(RLP.encode(body1::writeTo)));
+    when(blockchain.getBlockBodyRlp(HASH2)).thenReturn(Optional.of(RLP.encode(body2::writeTo)));
+    ethMessages.dispatch(
+        new EthMessage(ethPeer, GetBlockBodiesMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(BlockBodiesMessage.create(asList(body1, body2)));
+  }
+
+  @Test
+  public void shouldStopAddingReceiptsOnceResponseReachesMaximumSize() throws Exception {
+    final BytesValue largeValue = BytesValue.wrap(new byte[EthServer.MAX_RESPONSE_SIZE]);
+    when(blockchain.getTxReceiptsRlp(HASH1)).thenReturn(Optional.of(largeValue));
+    when(blockchain.getTxReceiptsRlp(HASH2)).thenReturn(Optional.of(VALUE2));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetReceiptsMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(ReceiptsMessage.createFromRlp(singletonList(largeValue)));
+  }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class PeerServingBudgetTest {
+
+  private final AtomicLong currentTime = new AtomicLong(10_000);
+  private final PeerServingBudget budget = new PeerServingBudget(1000, 5000, currentTime::get);
+
+  @Test
+  public void shouldStartWithFullBudget() {
+    assertThat(budget.available()).isEqualTo(5000);
+  }
+
+  @Test
+  public void shouldRefillAtConfiguredRate() {
+    budget.consume(3000);
+    assertThat(budget.available()).isEqualTo(2000);
+
+    currentTime.addAndGet(500);
+    assertThat(budget.available()).isEqualTo(2500);
+  }
+
+  @Test
+  public void shouldNotRefillBeyondMaximumBudget() {
+    budget.consume(1000);
+    currentTime.addAndGet(60_000);
+
+    assertThat(budget.available()).isEqualTo(5000);
+  }
+
+  @Test
+  public void shouldRepayOverspentBudgetBeforeServingMore() {
+    budget.consume(7000);
+    assertThat(budget.available()).isEqualTo(-2000);
+
+    currentTime.addAndGet(2000);
+    assertThat(budget.available()).isEqualTo(0);
+
+    currentTime.addAndGet(1000);
+    assertThat(budget.available()).isEqualTo(1000);
+  }
+}
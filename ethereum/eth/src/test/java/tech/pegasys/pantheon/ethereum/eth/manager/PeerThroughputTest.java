@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.eth.manager.PeerThroughput.TARGET_RESPONSE_TIME_MILLIS;
+import static tech.pegasys.pantheon.ethereum.eth.manager.PeerThroughput.TIMEOUT_RESPONSE_TIME_MILLIS;
+import static tech.pegasys.pantheon.ethereum.eth.messages.EthPV62.GET_BLOCK_BODIES;
+import static tech.pegasys.pantheon.ethereum.eth.messages.EthPV62.GET_BLOCK_HEADERS;
+
+import org.junit.Test;
+
+public class PeerThroughputTest {
+
+  private final PeerThroughput throughput = new PeerThroughput();
+
+  @Test
+  public void shouldHaveNoEstimatesBeforeFirstResponse() {
+    assertThat(throughput.responseTimeMillis(GET_BLOCK_HEADERS)).isEmpty();
+    assertThat(throughput.bytesPerSecond(GET_BLOCK_HEADERS)).isEmpty();
+    assertThat(throughput.averageResponseTimeMillis()).isEqualTo(TARGET_RESPONSE_TIME_MILLIS);
+    assertThat(throughput.requestSize(GET_BLOCK_HEADERS, 192)).isEqualTo(192);
+  }
+
+  @Test
+  public void shouldUseFirstResponseAsEstimate() {
+    throughput.recordResponse(GET_BLOCK_HEADERS, 500, 1000);
+
+    assertThat(throughput.responseTimeMillis(GET_BLOCK_HEADERS)).hasValue(500);
+    assertThat(throughput.bytesPerSecond(GET_BLOCK_HEADERS)).hasValue(2000);
+  }
+
+  @Test
+  public void shouldSmoothSubsequentResponses() {
+    throughput.recordResponse(GET_BLOCK_HEADERS, 1000, 1000);
+    throughput.recordResponse(GET_BLOCK_HEADERS, 2000, 0);
+
+    assertThat(throughput.responseTimeMillis(GET_BLOCK_HEADERS)).hasValue(1250);
+    assertThat(throughput.bytesPerSecond(GET_BLOCK_HEADERS)).hasValue(750);
+  }
+
+  @Test
+  public void shouldTrackRequestTypesSeparately() {
+    throughput.recordResponse(GET_BLOCK_HEADERS, 1000, 1000);
+    throughput.recordResponse(GET_BLOCK_BODIES, 3000, 1000);
+
+    assertThat(throughput.responseTimeMillis(GET_BLOCK_HEADERS)).hasValue(1000);
+    assertThat(throughput.responseTimeMillis(GET_BLOCK_BODIES)).hasValue(3000);
+    assertThat(throughput.averageResponseTimeMillis()).isEqualTo(2000);
+  }
+
+  @Test
+  public void shouldCountTimeoutsAsSlowResponses() {
+    throughput.recordTimeout(GET_BLOCK_BODIES);
+
+    assertThat(throughput.responseTimeMillis(GET_BLOCK_BODIES))
+        .hasValue(TIMEOUT_RESPONSE_TIME_MILLIS);
+    assertThat(throughput.bytesPerSecond(GET_BLOCK_BODIES)).hasValue(0);
+  }
+
+  @Test
+  public void shouldRequestFullSizeFromPromptPeers() {
+    throughput.recordResponse(GET_BLOCK_BODIES, TARGET_RESPONSE_TIME_MILLIS, 1000);
+
+    assertThat(throughput.requestSize(GET_BLOCK_BODIES, 128)).isEqualTo(128);
+  }
+
+  @Test
+  public void shouldScaleRequestSizeForSlowPeers() {
+    throughput.recordResponse(GET_BLOCK_BODIES, TARGET_RESPONSE_TIME_MILLIS * 2, 1000);
+
+    assertThat(throughput.requestSize(GET_BLOCK_BODIES, 128)).isEqualTo(64);
+    assertThat(throughput.requestSize(GET_BLOCK_HEADERS, 128)).isEqualTo(128);
+  }
+
+  @Test
+  public void shouldNotScaleRequestSizeBelowMinimum() {
+    throughput.recordResponse(GET_BLOCK_BODIES, TARGET_RESPONSE_TIME_MILLIS * 100, 0);
+
+    assertThat(throughput.requestSize(GET_BLOCK_BODIES, 128)).isEqualTo(16);
+    assertThat(throughput.requestSize(GET_BLOCK_BODIES, 4)).isEqualTo(1);
+  }
+}
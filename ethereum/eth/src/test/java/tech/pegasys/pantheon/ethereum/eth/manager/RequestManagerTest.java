@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.RequestSender;
@@ -20,6 +21,7 @@ import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseCallbac
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseStream;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection;
+import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.wire.Capability;
 import tech.pegasys.pantheon.ethereum.p2p.wire.RawMessage;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -211,6 +213,67 @@ public class RequestManagerTest {
     assertThat(closedCountB.get()).isEqualTo(1);
   }
 
+  @Test
+  public void doesNotRecordResponseTimeForRequestsThatFailedToSend() throws Exception {
+    final EthPeer peer = createPeer();
+    final List<Long> responseTimes = new ArrayList<>();
+    final RequestManager requestManager =
+        new RequestManager(
+            peer, (responseTimeMillis, bytes) -> responseTimes.add(responseTimeMillis));
+
+    final RequestSender failingSender =
+        () -> {
+          throw new PeerNotConnected("Disconnected");
+        };
+    assertThatThrownBy(() -> requestManager.dispatchRequest(failingSender))
+        .isInstanceOf(PeerNotConnected.class);
+    assertThat(requestManager.outstandingRequests()).isEqualTo(0);
+
+    requestManager.dispatchResponse(mockMessage(peer));
+    assertThat(responseTimes).isEmpty();
+  }
+
+  @Test
+  public void doesNotRecordResponseTimeForRequestsThatWereClosed() throws Exception {
+    final EthPeer peer = createPeer();
+    final List<Long> responseTimes = new ArrayList<>();
+    final RequestManager requestManager =
+        new RequestManager(
+            peer, (responseTimeMillis, bytes) -> responseTimes.add(responseTimeMillis));
+
+    // A request that times out closes its stream before the response arrives
+    final ResponseStream timedOutStream = requestManager.dispatchRequest(() -> {});
+    timedOutStream.close();
+    requestManager.dispatchResponse(mockMessage(peer));
+    assertThat(responseTimes).isEmpty();
+
+    requestManager.dispatchRequest(() -> {});
+    requestManager.dispatchResponse(mockMessage(peer));
+    assertThat(responseTimes).hasSize(1);
+  }
+
+  @Test
+  public void doesNotPairLateResponseWithNextRequest() throws Exception {
+    final EthPeer peer = createPeer();
+    final List<Long> responseTimes = new ArrayList<>();
+    final RequestManager requestManager =
+        new RequestManager(
+            peer, (responseTimeMillis, bytes) -> responseTimes.add(responseTimeMillis));
+
+    // The first request times out while the second is still outstanding
+    final ResponseStream timedOutStream = requestManager.dispatchRequest(() -> {});
+    requestManager.dispatchRequest(() -> {});
+    timedOutStream.close();
+
+    // The late response to the first request is dropped
+    requestManager.dispatchResponse(mockMessage(peer));
+    assertThat(responseTimes).isEmpty();
+
+    // The response to the second request is still recorded
+    requestManager.dispatchResponse(mockMessage(peer));
+    assertThat(responseTimes).hasSize(1);
+  }
+
   private EthMessage mockMessage(final EthPeer peer) {
     return new EthMessage(peer, new RawMessage(1, BytesValue.EMPTY));
   }
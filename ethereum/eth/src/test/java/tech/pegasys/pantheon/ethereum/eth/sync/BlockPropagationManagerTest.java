@@ -24,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
@@ -35,6 +36,7 @@ import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.manager.RespondingEthPeer;
 import tech.pegasys.pantheon.ethereum.eth.manager.RespondingEthPeer.Responder;
 import tech.pegasys.pantheon.ethereum.eth.manager.ethtaskutils.BlockchainSetupUtil;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
 import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockHashesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockHashesMessage.NewBlockHash;
 import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockMessage;
@@ -46,7 +48,9 @@ import tech.pegasys.pantheon.metrics.OperationTimer;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
@@ -535,6 +539,74 @@ public class BlockPropagationManagerTest {
         .isEqualTo(parentTotalDifficulty);
   }
 
+  @Test
+  public void relaysNewBlocksToSubsetOfPeersBeforeImportWhenEarlyRelayEnabled() {
+    final BlockPropagationManager<Void> relayingManager = createEarlyRelayManager();
+    blockchainUtil.importFirstBlocks(2);
+    final Block nextBlock = blockchainUtil.getBlock(2);
+    relayingManager.start();
+
+    final RespondingEthPeer sender = EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 0);
+    final List<RespondingEthPeer> otherPeers = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      otherPeers.add(EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 0));
+    }
+    final NewBlockMessage announcement =
+        NewBlockMessage.create(
+            nextBlock, fullBlockchain.getTotalDifficultyByHash(nextBlock.getHash()).get());
+    EthProtocolManagerTestUtil.broadcastMessage(ethProtocolManager, sender, announcement);
+
+    assertThat(blockchain.contains(nextBlock.getHash())).isTrue();
+    assertThat(sender.hasOutstandingRequests()).isFalse();
+    // Three of the five peers receive the full block, the rest are sent its hash after import
+    assertThat(countMessages(otherPeers, EthPV62.NEW_BLOCK)).isEqualTo(3);
+    assertThat(countMessages(otherPeers, EthPV62.NEW_BLOCK_HASHES)).isEqualTo(2);
+  }
+
+  @Test
+  public void disconnectsPeerThatSentInvalidBlockWhenEarlyRelayEnabled() {
+    final BlockPropagationManager<Void> relayingManager = createEarlyRelayManager();
+    blockchainUtil.importFirstBlocks(2);
+    final Block nextBlock = blockchainUtil.getBlock(2);
+    final Block invalidBlock =
+        new Block(
+            nextBlock.getHeader(),
+            new BlockBody(
+                nextBlock.getBody().getTransactions(),
+                Collections.singletonList(blockchainUtil.getBlock(1).getHeader())));
+    relayingManager.start();
+
+    final RespondingEthPeer sender = EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 0);
+    final NewBlockMessage announcement =
+        NewBlockMessage.create(
+            invalidBlock, fullBlockchain.getTotalDifficultyByHash(nextBlock.getHash()).get());
+    EthProtocolManagerTestUtil.broadcastMessage(ethProtocolManager, sender, announcement);
+
+    assertThat(blockchain.contains(nextBlock.getHash())).isFalse();
+    assertThat(sender.getPeerConnection().isDisconnected()).isTrue();
+  }
+
+  private BlockPropagationManager<Void> createEarlyRelayManager() {
+    return new BlockPropagationManager<>(
+        SynchronizerConfiguration.builder()
+            .blockPropagationRange(-3, 5)
+            .blockPropagationEarlyRelay(true)
+            .build(),
+        protocolSchedule,
+        protocolContext,
+        ethProtocolManager.ethContext(),
+        syncState,
+        pendingBlocks,
+        ethTasksTimer);
+  }
+
+  private long countMessages(final List<RespondingEthPeer> peers, final int code) {
+    return peers.stream()
+        .flatMap(RespondingEthPeer::pendingOutgoingRequests)
+        .filter(message -> message.getCode() == code)
+        .count();
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void shouldNotImportBlocksThatAreAlreadyBeingImported() {
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_COUNTER;
+import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_TIMER;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthMessages;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChainSegmentImporterTest {
+  private static final String PROTOCOL_NAME = "ETH";
+
+  @SuppressWarnings("unchecked")
+  private final ProtocolSchedule<Void> protocolSchedule = mock(ProtocolSchedule.class);
+
+  @SuppressWarnings("unchecked")
+  private final ProtocolSpec<Void> protocolSpec = mock(ProtocolSpec.class);
+
+  @SuppressWarnings("unchecked")
+  private final BlockHeaderValidator<Void> blockHeaderValidator = mock(BlockHeaderValidator.class);
+
+  @SuppressWarnings("unchecked")
+  private final ProtocolContext<Void> protocolContext = mock(ProtocolContext.class);
+
+  private final EthScheduler ethScheduler = new EthScheduler(1, 1, 2);
+  private final EthContext ethContext =
+      new EthContext(PROTOCOL_NAME, new EthPeers(PROTOCOL_NAME), new EthMessages(), ethScheduler);
+  private final TestBlockHandler blockHandler = new TestBlockHandler();
+  private final List<BlockHeader> checkpointHeaders = headers(0, 5);
+
+  private final ChainSegmentImporter<Void, BlockHeader> importer =
+      new ChainSegmentImporter<>(
+          SynchronizerConfiguration.builder().build(),
+          protocolSchedule,
+          protocolContext,
+          ethContext,
+          NO_OP_LABELLED_TIMER,
+          NO_OP_LABELLED_COUNTER,
+          blockHandler,
+          () -> null);
+
+  @Before
+  public void setUp() {
+    when(protocolSchedule.getByBlockNumber(anyLong())).thenReturn(protocolSpec);
+    when(protocolSpec.getBlockHeaderValidator()).thenReturn(blockHeaderValidator);
+    when(blockHeaderValidator.validateHeader(any(), any(), any(), any())).thenReturn(true);
+  }
+
+  @After
+  public void tearDown() {
+    ethScheduler.stop();
+  }
+
+  @Test
+  public void shouldImportRangesInOrderWhenDownloadsCompleteOutOfOrder() throws Exception {
+    final CompletableFuture<List<BlockHeader>> result = importer.importSegment(checkpointHeaders);
+
+    for (int i = 5; i > 0; i--) {
+      blockHandler.completeDownload(checkpointHeaders.get(i));
+    }
+
+    final List<BlockHeader> expectedBlocks = checkpointHeaders.subList(1, 6);
+    assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(expectedBlocks);
+    assertThat(blockHandler.importedBlocks).isEqualTo(expectedBlocks);
+  }
+
+  @Test
+  public void shouldStopImportingAndFailWhenARangeFailsToImport() {
+    blockHandler.failImportOf(2);
+    final CompletableFuture<List<BlockHeader>> result = importer.importSegment(checkpointHeaders);
+
+    for (int i = 1; i <= 5; i++) {
+      blockHandler.completeDownload(checkpointHeaders.get(i));
+    }
+
+    assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(InvalidBlockException.class);
+    assertThat(blockHandler.importedBlocks).isEqualTo(checkpointHeaders.subList(1, 3));
+  }
+
+  @Test
+  public void shouldImportNothingWhenThereIsOnlyOneCheckpoint() throws Exception {
+    final CompletableFuture<List<BlockHeader>> result =
+        importer.importSegment(checkpointHeaders.subList(0, 1));
+
+    assertThat(result.get(5, TimeUnit.SECONDS)).isEmpty();
+    assertThat(blockHandler.importedBlocks).isEmpty();
+  }
+
+  private static List<BlockHeader> headers(final long from, final long to) {
+    return LongStream.rangeClosed(from, to)
+        .mapToObj(number -> new BlockHeaderTestFixture().number(number).buildHeader())
+        .collect(Collectors.toList());
+  }
+
+  private static class TestBlockHandler implements BlockHandler<BlockHeader> {
+    private final Map<Long, CompletableFuture<List<BlockHeader>>> downloads =
+        new ConcurrentHashMap<>();
+    private final List<BlockHeader> importedBlocks =
+        Collections.synchronizedList(new ArrayList<>());
+    private volatile long failingBlockNumber = -1;
+
+    void completeDownload(final BlockHeader checkpointHeader) {
+      // Consecutive checkpoints give each range a single block, the checkpoint header itself
+      download(checkpointHeader.getNumber()).complete(Collections.singletonList(checkpointHeader));
+    }
+
+    void failImportOf(final long blockNumber) {
+      failingBlockNumber = blockNumber;
+    }
+
+    private CompletableFuture<List<BlockHeader>> download(final long blockNumber) {
+      return downloads.computeIfAbsent(blockNumber, number -> new CompletableFuture<>());
+    }
+
+    @Override
+    public CompletableFuture<List<BlockHeader>> downloadBlocks(final List<BlockHeader> headers) {
+      return download(headers.get(headers.size() - 1).getNumber());
+    }
+
+    @Override
+    public List<BlockHeader> prepareBlocks(final List<BlockHeader> blocks) {
+      return blocks;
+    }
+
+    @Override
+    public CompletableFuture<List<BlockHeader>> validateAndImportBlocks(
+        final List<BlockHeader> blocks) {
+      importedBlocks.addAll(blocks);
+      final CompletableFuture<List<BlockHeader>> result = new CompletableFuture<>();
+      final BlockHeader lastBlock = blocks.get(blocks.size() - 1);
+      if (lastBlock.getNumber() == failingBlockNumber) {
+        result.completeExceptionally(
+            new InvalidBlockException(
+                "Failed to import block", lastBlock.getNumber(), lastBlock.getHash()));
+      } else {
+        result.complete(blocks);
+      }
+      return result;
+    }
+
+    @Override
+    public long extractBlockNumber(final BlockHeader block) {
+      return block.getNumber();
+    }
+  }
+}
@@ -85,6 +85,7 @@ public class FastSyncActionsTest {
             new SyncState(blockchain, ethContext.getEthPeers()),
             pivotHeaderStorage,
             ethTasksTimer,
+            NO_OP_LABELLED_COUNTER,
             NO_OP_LABELLED_COUNTER);
   }
 
@@ -123,7 +124,22 @@ public class FastSyncActionsTest {
 
     final CompletableFuture<FastSyncState> result = fastSyncActions.selectPivotBlock();
     final FastSyncState expected =
-        new FastSyncState(OptionalLong.of(pivotHeader.getNumber()), Optional.of(pivotHeader));
+        new FastSyncState(
+            OptionalLong.of(pivotHeader.getNumber()), Optional.of(pivotHeader), true);
+    assertThat(result).isCompletedWithValue(expected);
+  }
+
+  @Test
+  public void selectPivotBlockShouldDiscardPivotBlockFromStorageIfTooOld() {
+    final BlockHeader pivotHeader = new BlockHeaderTestFixture().number(1024).buildHeader();
+    when(pivotHeaderStorage.loadPivotBlockHeader(any(BlockHashFunction.class)))
+        .thenReturn(Optional.of(pivotHeader));
+    final long chainHeight = 1024 + syncConfig.getFastSyncMaximumPivotAge() + 1;
+    EthProtocolManagerTestUtil.createPeer(ethProtocolManager, chainHeight);
+
+    final CompletableFuture<FastSyncState> result = fastSyncActions.selectPivotBlock();
+    final FastSyncState expected =
+        new FastSyncState(OptionalLong.of(chainHeight - syncConfig.fastSyncPivotDistance()));
     assertThat(result).isCompletedWithValue(expected);
   }
 
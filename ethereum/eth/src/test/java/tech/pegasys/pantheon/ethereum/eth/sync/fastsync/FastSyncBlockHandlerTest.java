@@ -16,7 +16,9 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -26,6 +28,7 @@ import static tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode.LIGHT_
 import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_TIMER;
 
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.chain.ChainHead;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
@@ -43,6 +46,7 @@ import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -102,7 +106,7 @@ public class FastSyncBlockHandlerTest {
 
   @Test
   public void shouldFastImportBlocks() {
-    when(blockImporter.fastImportBlock(protocolContext, BLOCK, emptyList(), VALIDATION_MODE))
+    when(blockImporter.fastImportBlock(any(), eq(BLOCK), eq(emptyList()), eq(VALIDATION_MODE)))
         .thenReturn(true);
     final List<BlockWithReceipts> blocksWithReceipts =
         singletonList(new BlockWithReceipts(BLOCK, emptyList()));
@@ -111,12 +115,12 @@ public class FastSyncBlockHandlerTest {
         blockHandler.validateAndImportBlocks(blocksWithReceipts);
 
     assertThat(result).isCompleted();
-    verify(blockImporter).fastImportBlock(protocolContext, BLOCK, emptyList(), VALIDATION_MODE);
+    verify(blockImporter).fastImportBlock(any(), eq(BLOCK), eq(emptyList()), eq(VALIDATION_MODE));
   }
 
   @Test
   public void shouldReturnExceptionallyCompletedFutureWhenBlockImportFails() {
-    when(blockImporter.fastImportBlock(protocolContext, BLOCK, emptyList(), VALIDATION_MODE))
+    when(blockImporter.fastImportBlock(any(), eq(BLOCK), eq(emptyList()), eq(VALIDATION_MODE)))
         .thenReturn(false);
 
     final CompletableFuture<List<BlockWithReceipts>> result =
@@ -128,9 +132,9 @@ public class FastSyncBlockHandlerTest {
 
   @Test
   public void shouldNotContinueImportingBlocksAfterValidationFailure() {
-    when(blockImporter.fastImportBlock(protocolContext, BLOCK, emptyList(), VALIDATION_MODE))
+    when(blockImporter.fastImportBlock(any(), eq(BLOCK), eq(emptyList()), eq(VALIDATION_MODE)))
         .thenReturn(true);
-    when(blockImporter.fastImportBlock(protocolContext, BLOCK2, emptyList(), VALIDATION_MODE))
+    when(blockImporter.fastImportBlock(any(), eq(BLOCK2), eq(emptyList()), eq(VALIDATION_MODE)))
         .thenReturn(false);
 
     final CompletableFuture<List<BlockWithReceipts>> result =
@@ -142,9 +146,38 @@ public class FastSyncBlockHandlerTest {
 
     assertThat(result).isCompletedExceptionally();
 
-    verify(blockImporter).fastImportBlock(protocolContext, BLOCK, emptyList(), VALIDATION_MODE);
-    verify(blockImporter).fastImportBlock(protocolContext, BLOCK2, emptyList(), VALIDATION_MODE);
+    verify(blockImporter).fastImportBlock(any(), eq(BLOCK), eq(emptyList()), eq(VALIDATION_MODE));
+    verify(blockImporter).fastImportBlock(any(), eq(BLOCK2), eq(emptyList()), eq(VALIDATION_MODE));
     verify(blockImporter, never())
-        .fastImportBlock(protocolContext, BLOCK3, emptyList(), VALIDATION_MODE);
+        .fastImportBlock(any(), eq(BLOCK3), eq(emptyList()), eq(VALIDATION_MODE));
+  }
+
+  @Test
+  public void shouldStoreImportedBlocksInSingleBatch() {
+    final Block block1 =
+        new Block(new BlockHeaderTestFixture().number(1).buildHeader(), EMPTY_BODY);
+    final Block block2 =
+        new Block(
+            new BlockHeaderTestFixture().number(2).parentHash(block1.getHash()).buildHeader(),
+            EMPTY_BODY);
+    when(blockchain.getChainHead())
+        .thenReturn(new ChainHead(block1.getHeader().getParentHash(), UInt256.ZERO));
+    when(blockImporter.fastImportBlock(any(), any(), any(), eq(VALIDATION_MODE)))
+        .thenAnswer(
+            invocation -> {
+              final ProtocolContext<Void> context = invocation.getArgument(0);
+              context.getBlockchain().appendBlock(invocation.getArgument(1), emptyList());
+              return true;
+            });
+
+    final CompletableFuture<List<BlockWithReceipts>> result =
+        blockHandler.validateAndImportBlocks(
+            asList(
+                new BlockWithReceipts(block1, emptyList()),
+                new BlockWithReceipts(block2, emptyList())));
+
+    assertThat(result).isCompleted();
+    verify(blockchain).appendBlocks(asList(block1, block2), asList(emptyList(), emptyList()));
+    verify(blockchain, never()).appendBlock(any(), any());
   }
 }
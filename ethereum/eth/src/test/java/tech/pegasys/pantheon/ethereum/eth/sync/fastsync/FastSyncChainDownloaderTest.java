@@ -84,6 +84,7 @@ public class FastSyncChainDownloaderTest {
         syncState,
         NoOpMetricsSystem.NO_OP_LABELLED_TIMER,
         NoOpMetricsSystem.NO_OP_LABELLED_COUNTER,
+        NoOpMetricsSystem.NO_OP_LABELLED_COUNTER,
         otherBlockchain.getBlockHeader(pivotBlockNumber).get());
   }
 
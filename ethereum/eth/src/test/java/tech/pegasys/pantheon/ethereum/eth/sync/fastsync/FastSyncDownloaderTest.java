@@ -69,6 +69,25 @@ public class FastSyncDownloaderTest {
     assertThat(result).isCompletedWithValue(downloadPivotBlockHeaderState);
   }
 
+  @Test
+  public void shouldResumeWorldStateDownloadWhenPivotBlockWasRestored() {
+    final BlockHeader pivotBlockHeader = new BlockHeaderTestFixture().number(50).buildHeader();
+    final FastSyncState resumedState =
+        new FastSyncState(OptionalLong.of(50), Optional.of(pivotBlockHeader), true);
+    when(fastSyncActions.waitForSuitablePeers()).thenReturn(COMPLETE);
+    when(fastSyncActions.selectPivotBlock()).thenReturn(completedFuture(resumedState));
+    when(fastSyncActions.downloadPivotBlockHeader(resumedState))
+        .thenReturn(completedFuture(resumedState));
+    when(fastSyncActions.downloadChain(resumedState)).thenReturn(COMPLETE);
+    when(worldStateDownloader.resume(pivotBlockHeader)).thenReturn(COMPLETE);
+
+    final CompletableFuture<FastSyncState> result = downloader.start();
+
+    verify(worldStateDownloader).resume(pivotBlockHeader);
+    verifyNoMoreInteractions(worldStateDownloader);
+    assertThat(result).isCompletedWithValue(resumedState);
+  }
+
   @Test
   public void shouldAbortIfWaitForSuitablePeersFails() {
     when(fastSyncActions.waitForSuitablePeers())
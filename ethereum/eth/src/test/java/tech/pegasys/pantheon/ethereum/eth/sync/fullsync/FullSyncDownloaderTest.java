@@ -97,7 +97,13 @@ public class FullSyncDownloaderTest {
 
   private FullSyncDownloader<?> downloader(final SynchronizerConfiguration syncConfig) {
     return new FullSyncDownloader<>(
-        syncConfig, protocolSchedule, protocolContext, ethContext, syncState, ethTashsTimer);
+        syncConfig,
+        protocolSchedule,
+        protocolContext,
+        ethContext,
+        syncState,
+        ethTashsTimer,
+        NoOpMetricsSystem.NO_OP_LABELLED_COUNTER);
   }
 
   private FullSyncDownloader<?> downloader() {
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_COUNTER;
+
+import org.junit.Test;
+
+public class PipeTest {
+
+  private final Pipe<String> pipe =
+      new Pipe<>(2, NO_OP_LABELLED_COUNTER.labels(), NO_OP_LABELLED_COUNTER.labels());
+
+  @Test
+  public void shouldReturnItemsInOrder() {
+    pipe.put("a");
+    pipe.put("b");
+
+    assertThat(pipe.get()).isEqualTo("a");
+    assertThat(pipe.poll()).isEqualTo("b");
+    assertThat(pipe.poll()).isNull();
+  }
+
+  @Test
+  public void shouldHaveMoreUntilClosedAndEmpty() {
+    pipe.put("a");
+    assertThat(pipe.hasMore()).isTrue();
+
+    pipe.close();
+    assertThat(pipe.isOpen()).isFalse();
+    assertThat(pipe.hasMore()).isTrue();
+
+    assertThat(pipe.get()).isEqualTo("a");
+    assertThat(pipe.hasMore()).isFalse();
+  }
+
+  @Test
+  public void shouldNotAcceptItemsAfterClose() {
+    pipe.close();
+    pipe.put("a");
+
+    assertThat(pipe.get()).isNull();
+  }
+
+  @Test
+  public void shouldDiscardItemsWhenAborted() {
+    pipe.put("a");
+    pipe.abort();
+
+    assertThat(pipe.isAborted()).isTrue();
+    assertThat(pipe.hasMore()).isFalse();
+    assertThat(pipe.get()).isNull();
+  }
+
+  @Test
+  public void shouldStopWaitingToPutWhenAborted() throws Exception {
+    pipe.put("a");
+    pipe.put("b");
+
+    final Thread writer = new Thread(() -> pipe.put("c"));
+    writer.start();
+    pipe.abort();
+    writer.join(5000);
+
+    assertThat(writer.isAlive()).isFalse();
+  }
+}
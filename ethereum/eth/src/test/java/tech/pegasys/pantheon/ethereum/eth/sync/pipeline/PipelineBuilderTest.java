@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_COUNTER;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class PipelineBuilderTest {
+
+  private static final int TIMEOUT_SECONDS = 10;
+
+  private final ExecutorService executorService = Executors.newCachedThreadPool();
+  private final List<Integer> output = Collections.synchronizedList(new ArrayList<>());
+
+  @After
+  public void tearDown() throws Exception {
+    executorService.shutdownNow();
+    executorService.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void shouldProcessItemsThroughEachStage() throws Exception {
+    final Pipeline pipeline =
+        PipelineBuilder.createPipelineFrom("source", numbers(5), 2, NO_OP_LABELLED_COUNTER)
+            .thenProcess("double", value -> value * 2)
+            .thenProcess("increment", value -> value + 1)
+            .andFinishWith("collect", output::add);
+
+    pipeline.start(executorService).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertThat(output).containsExactly(3, 5, 7, 9, 11);
+  }
+
+  @Test
+  public void shouldOutputAsyncResultsInInputOrder() throws Exception {
+    final List<CompletableFuture<Integer>> futures =
+        Collections.synchronizedList(new ArrayList<>());
+    final Pipeline pipeline =
+        PipelineBuilder.createPipelineFrom("source", numbers(3), 3, NO_OP_LABELLED_COUNTER)
+            .thenProcessAsyncOrdered(
+                "async",
+                value -> {
+                  final CompletableFuture<Integer> future = new CompletableFuture<>();
+                  futures.add(future);
+                  return future;
+                },
+                3)
+            .andFinishWith("collect", output::add);
+
+    final CompletableFuture<Void> result = pipeline.start(executorService);
+    waitForSize(futures, 3);
+    futures.get(2).complete(30);
+    futures.get(1).complete(20);
+    futures.get(0).complete(10);
+    result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertThat(output).containsExactly(10, 20, 30);
+  }
+
+  @Test
+  public void shouldLimitAsyncOperationsInProgress() throws Exception {
+    final AtomicInteger inProgress = new AtomicInteger();
+    final AtomicInteger maxInProgress = new AtomicInteger();
+    final Pipeline pipeline =
+        PipelineBuilder.createPipelineFrom("source", numbers(20), 2, NO_OP_LABELLED_COUNTER)
+            .thenProcessAsyncOrdered(
+                "async",
+                value -> {
+                  maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+                  return CompletableFuture.supplyAsync(
+                      () -> {
+                        inProgress.decrementAndGet();
+                        return value;
+                      },
+                      executorService);
+                },
+                3)
+            .andFinishWith("collect", output::add);
+
+    pipeline.start(executorService).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertThat(output).isEqualTo(numberList(20));
+    assertThat(maxInProgress.get()).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  public void shouldFailWhenAStageThrows() {
+    final Pipeline pipeline =
+        PipelineBuilder.createPipelineFrom("source", numbers(5), 2, NO_OP_LABELLED_COUNTER)
+            .thenProcess(
+                "fail",
+                value -> {
+                  if (value == 3) {
+                    throw new IllegalStateException("Bad value");
+                  }
+                  return value;
+                })
+            .andFinishWith("collect", output::add);
+
+    final CompletableFuture<Void> result = pipeline.start(executorService);
+
+    assertThatThrownBy(() -> result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasRootCauseInstanceOf(IllegalStateException.class);
+    assertThat(output).doesNotContain(3, 4, 5);
+  }
+
+  @Test
+  public void shouldFailWhenAnAsyncOperationFails() {
+    final Pipeline pipeline =
+        PipelineBuilder.createPipelineFrom("source", numbers(5), 2, NO_OP_LABELLED_COUNTER)
+            .thenProcessAsyncOrdered(
+                "fail",
+                value -> {
+                  final CompletableFuture<Integer> future = new CompletableFuture<>();
+                  future.completeExceptionally(new IllegalStateException("Bad value"));
+                  return future;
+                },
+                2)
+            .andFinishWith("collect", output::add);
+
+    final CompletableFuture<Void> result = pipeline.start(executorService);
+
+    assertThatThrownBy(() -> result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasRootCauseInstanceOf(IllegalStateException.class);
+    assertThat(output).isEmpty();
+  }
+
+  @Test
+  public void shouldStopAllStagesWhenAborted() throws Exception {
+    final CompletableFuture<Integer> neverCompletes = new CompletableFuture<>();
+    final Pipeline pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "source", IntStream.iterate(1, i -> i + 1).iterator(), 2, NO_OP_LABELLED_COUNTER)
+            .thenProcessAsyncOrdered("async", value -> neverCompletes, 2)
+            .andFinishWith("collect", output::add);
+
+    final CompletableFuture<Void> result = pipeline.start(executorService);
+    pipeline.abort();
+
+    assertThat(result).isCompletedExceptionally();
+    executorService.shutdown();
+    assertThat(executorService.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(neverCompletes).isCancelled();
+    assertThat(output).isEmpty();
+  }
+
+  private static Iterator<Integer> numbers(final int count) {
+    return numberList(count).iterator();
+  }
+
+  private static List<Integer> numberList(final int count) {
+    return IntStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+  }
+
+  private static void waitForSize(final List<?> list, final int size) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+    while (list.size() < size && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(list).hasSize(size);
+  }
+}
@@ -21,8 +21,10 @@ import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.WorldState;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.eth.manager.DeterministicEthScheduler.TimeoutPolicy;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManager;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManagerTestUtil;
@@ -321,7 +323,7 @@ public class WorldStateDownloaderTest {
   }
 
   @Test
-  public void doesRequestKnownAccountTrieNodesFromNetwork() {
+  public void doesNotRequestKnownAccountTrieNodesFromNetwork() {
     BlockDataGenerator dataGen = new BlockDataGenerator(1);
     final EthProtocolManager ethProtocolManager = EthProtocolManagerTestUtil.create();
 
@@ -349,7 +351,8 @@ public class WorldStateDownloaderTest {
     WorldStateStorage localStorage =
         new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
 
-    // Seed local storage with some trie node values
+    // Seed local storage with the top of the trie but none of the nodes below it, as left behind
+    // by an interrupted download
     Map<Bytes32, BytesValue> knownTrieNodes =
         collectTrieNodesToBeRequested(remoteStorage, remoteWorldState.rootHash(), 5);
     assertThat(knownTrieNodes.size()).isGreaterThan(0); // Sanity check
@@ -382,7 +385,7 @@ public class WorldStateDownloaderTest {
       }
     }
 
-    // Check that known trie nodes were requested
+    // Check that known trie nodes were not requested
     List<Bytes32> requestedHashes =
         sentMessages.stream()
             .filter(m -> m.getCode() == EthPV63.GET_NODE_DATA)
@@ -390,7 +393,7 @@ public class WorldStateDownloaderTest {
             .flatMap(m -> StreamSupport.stream(m.hashes().spliterator(), true))
             .collect(Collectors.toList());
     assertThat(requestedHashes.size()).isGreaterThan(0);
-    assertThat(requestedHashes).containsAll(knownTrieNodes.keySet());
+    assertThat(requestedHashes).doesNotContainAnyElementsOf(knownTrieNodes.keySet());
 
     // Check that all expected account data was downloaded
     WorldStateArchive localWorldStateArchive = new WorldStateArchive(localStorage);
@@ -400,7 +403,7 @@ public class WorldStateDownloaderTest {
   }
 
   @Test
-  public void doesRequestKnownStorageTrieNodesFromNetwork() {
+  public void doesNotRequestKnownStorageTrieNodesFromNetwork() {
     BlockDataGenerator dataGen = new BlockDataGenerator(1);
     final EthProtocolManager ethProtocolManager = EthProtocolManagerTestUtil.create();
 
@@ -478,7 +481,7 @@ public class WorldStateDownloaderTest {
     // World state should be available by the time the result is complete
     assertThat(localStorage.isWorldStateAvailable(stateRoot)).isTrue();
 
-    // Check that known trie nodes were requested
+    // Check that known trie nodes were not requested
     List<Bytes32> requestedHashes =
         sentMessages.stream()
             .filter(m -> m.getCode() == EthPV63.GET_NODE_DATA)
@@ -486,7 +489,7 @@ public class WorldStateDownloaderTest {
             .flatMap(m -> StreamSupport.stream(m.hashes().spliterator(), true))
             .collect(Collectors.toList());
     assertThat(requestedHashes.size()).isGreaterThan(0);
-    assertThat(requestedHashes).containsAll(knownTrieNodes.keySet());
+    assertThat(requestedHashes).doesNotContainAnyElementsOf(knownTrieNodes.keySet());
 
     // Check that all expected account data was downloaded
     WorldStateArchive localWorldStateArchive = new WorldStateArchive(localStorage);
@@ -495,6 +498,147 @@ public class WorldStateDownloaderTest {
     assertAccountsMatch(localWorldState, accounts);
   }
 
+  @Test
+  public void resumesDownloadAfterCancellation() {
+    BlockDataGenerator dataGen = new BlockDataGenerator(1);
+    final EthProtocolManager ethProtocolManager = EthProtocolManagerTestUtil.create();
+
+    // Setup "remote" state
+    final WorldStateStorage remoteStorage =
+        new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
+    final WorldStateArchive remoteWorldStateArchive = new WorldStateArchive(remoteStorage);
+    final MutableWorldState remoteWorldState = remoteWorldStateArchive.getMutable();
+
+    // Generate accounts and save corresponding state root
+    final List<Account> accounts = dataGen.createRandomAccounts(remoteWorldState, 20);
+    final Hash stateRoot = remoteWorldState.rootHash();
+    final BlockHeader header =
+        dataGen.block(BlockOptions.create().setStateRoot(stateRoot).setBlockNumber(10)).getHeader();
+
+    // Create some peers
+    List<RespondingEthPeer> peers =
+        Stream.generate(
+                () -> EthProtocolManagerTestUtil.createPeer(ethProtocolManager, header.getNumber()))
+            .limit(5)
+            .collect(Collectors.toList());
+
+    BigQueue<NodeDataRequest> queue = new InMemoryBigQueue<>();
+    WorldStateStorage localStorage =
+        new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
+    Responder responder =
+        RespondingEthPeer.blockchainResponder(mock(Blockchain.class), remoteWorldStateArchive);
+
+    // Download the root node only, then stop with its children still outstanding
+    WorldStateDownloader downloader = createDownloader(ethProtocolManager, localStorage, queue);
+    CompletableFuture<Void> result = downloader.run(header);
+    RespondingEthPeer.respondOnce(responder, peers);
+    assertThat(result).isNotDone();
+    downloader.cancel();
+
+    assertThat(result).isCancelled();
+    // Requests that were waiting on peers are returned to the queue
+    assertThat(queue.isEmpty()).isFalse();
+
+    // A new downloader picks up where the first one stopped
+    WorldStateDownloader resumedDownloader =
+        createDownloader(ethProtocolManager, localStorage, queue);
+    CompletableFuture<Void> resumedResult = resumedDownloader.resume(header);
+    while (!resumedResult.isDone()) {
+      for (RespondingEthPeer peer : peers) {
+        peer.respond(responder);
+      }
+    }
+
+    // Check that all expected account data was downloaded
+    WorldStateArchive localWorldStateArchive = new WorldStateArchive(localStorage);
+    final WorldState localWorldState = localWorldStateArchive.get(stateRoot).get();
+    assertThat(resumedResult).isDone();
+    assertAccountsMatch(localWorldState, accounts);
+  }
+
+  @Test
+  public void requestsNodesSharedByAccountsOnlyOnce() {
+    BlockDataGenerator dataGen = new BlockDataGenerator(1);
+    final EthProtocolManager ethProtocolManager = EthProtocolManagerTestUtil.create();
+
+    // Setup "remote" state
+    final WorldStateStorage remoteStorage =
+        new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
+    final WorldStateArchive remoteWorldStateArchive = new WorldStateArchive(remoteStorage);
+    final MutableWorldState remoteWorldState = remoteWorldStateArchive.getMutable();
+
+    // Generate contract accounts with identical code and storage
+    final BytesValue code = dataGen.bytesValue(5, 50);
+    final WorldUpdater updater = remoteWorldState.updater();
+    final List<Account> accounts = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final MutableAccount account = updater.getOrCreate(dataGen.address());
+      account.setCode(code);
+      for (int key = 1; key <= 20; key++) {
+        account.setStorageValue(UInt256.of(key), UInt256.of(key));
+      }
+      accounts.add(account);
+    }
+    updater.commit();
+    remoteWorldState.persist();
+    final Hash stateRoot = remoteWorldState.rootHash();
+    final BlockHeader header =
+        dataGen.block(BlockOptions.create().setStateRoot(stateRoot).setBlockNumber(10)).getHeader();
+
+    // Create some peers
+    List<RespondingEthPeer> peers =
+        Stream.generate(
+                () -> EthProtocolManagerTestUtil.createPeer(ethProtocolManager, header.getNumber()))
+            .limit(5)
+            .collect(Collectors.toList());
+
+    WorldStateStorage localStorage =
+        new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
+    CompletableFuture<Void> result =
+        createDownloader(ethProtocolManager, localStorage, new InMemoryBigQueue<>()).run(header);
+
+    // Respond to node data requests
+    List<MessageData> sentMessages = new ArrayList<>();
+    Responder blockChainResponder =
+        RespondingEthPeer.blockchainResponder(mock(Blockchain.class), remoteWorldStateArchive);
+    Responder responder =
+        RespondingEthPeer.wrapResponderWithCollector(blockChainResponder, sentMessages);
+    while (!result.isDone()) {
+      for (RespondingEthPeer peer : peers) {
+        peer.respond(responder);
+      }
+    }
+
+    // Check that the shared code and storage nodes were requested once
+    List<Bytes32> requestedHashes =
+        sentMessages.stream()
+            .filter(m -> m.getCode() == EthPV63.GET_NODE_DATA)
+            .map(GetNodeDataMessage::readFrom)
+            .flatMap(m -> StreamSupport.stream(m.hashes().spliterator(), true))
+            .collect(Collectors.toList());
+    assertThat(requestedHashes).contains(Hash.hash(code));
+    assertThat(requestedHashes).doesNotHaveDuplicates();
+
+    // Check that all expected account data was downloaded
+    WorldStateArchive localWorldStateArchive = new WorldStateArchive(localStorage);
+    final WorldState localWorldState = localWorldStateArchive.get(stateRoot).get();
+    assertAccountsMatch(localWorldState, accounts);
+  }
+
+  private WorldStateDownloader createDownloader(
+      final EthProtocolManager ethProtocolManager,
+      final WorldStateStorage localStorage,
+      final BigQueue<NodeDataRequest> queue) {
+    return new WorldStateDownloader(
+        ethProtocolManager.ethContext(),
+        localStorage,
+        queue,
+        10,
+        1,
+        NoOpMetricsSystem.NO_OP_LABELLED_TIMER,
+        new NoOpMetricsSystem());
+  }
+
   /**
    * Walks through trie represented by the given rootHash and returns hash-node pairs that would
    * need to be requested from the network in order to reconstruct this trie.
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.eth.transactions;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
@@ -70,6 +71,18 @@ public class PeerTransactionTrackerTest {
     assertThat(tracker.claimTransactionsToSendToPeer(ethPeer2)).containsOnly(transaction3);
   }
 
+  @Test
+  public void shouldNotQueueTheSameTransactionTwice() {
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction1);
+
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+
+    assertThat(tracker.getEthPeersWithUnsentTransactions()).isEmpty();
+  }
+
   @Test
   public void shouldClearDataWhenPeerDisconnects() {
     tracker.markTransactionsAsSeen(ethPeer1, ImmutableSet.of(transaction1));
@@ -88,4 +101,16 @@ public class PeerTransactionTrackerTest {
     assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction1);
     assertThat(tracker.claimTransactionsToSendToPeer(ethPeer2)).containsOnly(transaction3);
   }
+
+  @Test
+  public void shouldNotTrackTransactionsForDisconnectedPeer() {
+    when(ethPeer1.isDisconnected()).thenReturn(true);
+    tracker.onDisconnect(ethPeer1);
+
+    tracker.markTransactionsAsSeen(ethPeer1, ImmutableSet.of(transaction1));
+    tracker.addToPeerSendQueue(ethPeer1, transaction2);
+
+    assertThat(tracker.getEthPeersWithUnsentTransactions()).isEmpty();
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).isEmpty();
+  }
 }
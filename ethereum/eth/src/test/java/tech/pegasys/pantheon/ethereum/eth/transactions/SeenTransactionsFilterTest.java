@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class SeenTransactionsFilterTest {
+
+  private final SeenTransactionsFilter filter = new SeenTransactionsFilter(2);
+
+  @Test
+  public void shouldReportNewHashesAsAdded() {
+    assertThat(filter.add(hash(1))).isTrue();
+    assertThat(filter.add(hash(1))).isFalse();
+    assertThat(filter.mightContain(hash(1))).isTrue();
+    assertThat(filter.mightContain(hash(2))).isFalse();
+  }
+
+  @Test
+  public void shouldRememberPreviousGenerationAfterRotating() {
+    filter.add(hash(1));
+    filter.add(hash(2));
+    filter.add(hash(3));
+
+    assertThat(filter.mightContain(hash(1))).isTrue();
+    assertThat(filter.mightContain(hash(2))).isTrue();
+    assertThat(filter.mightContain(hash(3))).isTrue();
+  }
+
+  @Test
+  public void shouldForgetOldestGeneration() {
+    filter.add(hash(1));
+    filter.add(hash(2));
+    filter.add(hash(3));
+    filter.add(hash(4));
+
+    assertThat(filter.mightContain(hash(1))).isFalse();
+    assertThat(filter.mightContain(hash(2))).isFalse();
+    assertThat(filter.mightContain(hash(3))).isTrue();
+    assertThat(filter.mightContain(hash(4))).isTrue();
+  }
+
+  @Test
+  public void shouldReportEachHashAsAddedAtMostOnceWhenAddedConcurrently() throws Exception {
+    final int threads = 4;
+    final int hashes = 1000;
+    // The current generation fills up and rotates once while the hashes are being added
+    final SeenTransactionsFilter filter = new SeenTransactionsFilter(hashes);
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final AtomicInteger added = new AtomicInteger();
+    final CountDownLatch start = new CountDownLatch(1);
+    try {
+      final List<Future<?>> results = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < hashes; i++) {
+                    if (filter.add(hash(i))) {
+                      added.incrementAndGet();
+                    }
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (final Future<?> result : results) {
+        result.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(added.get()).isLessThanOrEqualTo(hashes);
+    for (int i = 0; i < hashes; i++) {
+      assertThat(filter.mightContain(hash(i))).isTrue();
+    }
+  }
+
+  private Hash hash(final int value) {
+    return Hash.hash(Hash.fromHexStringLenient(Integer.toHexString(value)));
+  }
+}
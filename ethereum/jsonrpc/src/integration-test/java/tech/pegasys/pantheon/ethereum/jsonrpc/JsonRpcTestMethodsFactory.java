@@ -28,6 +28,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterRepository;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
@@ -79,6 +80,10 @@ public class JsonRpcTestMethodsFactory {
         new FilterManager(
             blockchainQueries, transactionPool, new FilterIdGenerator(), new FilterRepository());
     final EthHashMiningCoordinator miningCoordinator = mock(EthHashMiningCoordinator.class);
+    final GasPriceOracle gasPriceOracle =
+        new GasPriceOracle(
+            blockchain, GasPriceOracle.DEFAULT_BLOCKS, GasPriceOracle.DEFAULT_PERCENTILE);
+    gasPriceOracle.initialize();
     final MetricsSystem metricsSystem = new NoOpMetricsSystem();
     final Optional<AccountWhitelistController> accountWhitelistController =
         Optional.of(mock(AccountWhitelistController.class));
@@ -95,6 +100,7 @@ public class JsonRpcTestMethodsFactory {
             filterManager,
             transactionPool,
             miningCoordinator,
+            gasPriceOracle,
             metricsSystem,
             new HashSet<>(),
             accountWhitelistController,
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * Writes compact JSON to a Vert.x write stream in bounded chunks, so that large responses are
+ * streamed as they are serialised instead of being held in memory as a single string.
+ *
+ * <p>Vert.x queues writes without limit. When the stream's write queue is full, a streamer used off
+ * the event loop waits for the stream's drain handler before writing the next chunk, so at most a
+ * chunk is queued beyond the stream's limit. If the queue doesn't drain within {@code
+ * drainTimeoutMillis}, the client is considered to have stopped reading and writes fail with an
+ * {@link IOException}. The event loop can't wait for its own writes to drain, so a streamer used on
+ * the event loop never waits and its caller must limit what it writes.
+ */
+public class JsonResponseStreamer extends OutputStream {
+
+  public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+  public static final long DEFAULT_DRAIN_TIMEOUT_MILLIS = 30_000;
+
+  private final WriteStream<Buffer> stream;
+  private final byte[] chunk;
+  private final long drainTimeoutMillis;
+  private int position;
+  private long bytesWritten;
+  private boolean closed;
+
+  public JsonResponseStreamer(final WriteStream<Buffer> stream) {
+    this(stream, DEFAULT_CHUNK_SIZE);
+  }
+
+  public JsonResponseStreamer(final WriteStream<Buffer> stream, final int chunkSize) {
+    this(stream, chunkSize, DEFAULT_DRAIN_TIMEOUT_MILLIS);
+  }
+
+  public JsonResponseStreamer(
+      final WriteStream<Buffer> stream, final int chunkSize, final long drainTimeoutMillis) {
+    checkArgument(chunkSize > 0, "Chunk size must be positive");
+    checkArgument(drainTimeoutMillis > 0, "Drain timeout must be positive");
+    this.stream = stream;
+    this.chunk = new byte[chunkSize];
+    this.drainTimeoutMillis = drainTimeoutMillis;
+  }
+
+  /**
+   * Creates a generator writing compact JSON to the given stream. Closing the generator writes the
+   * last chunk but does not end the stream.
+   *
+   * @param stream the stream to write the JSON to
+   * @return the generator
+   * @throws IOException if the generator can't be created
+   */
+  public static JsonGenerator createGenerator(final WriteStream<Buffer> stream) throws IOException {
+    return createGenerator(new JsonResponseStreamer(stream));
+  }
+
+  /**
+   * Creates a generator writing compact JSON to the given streamer, so that the caller can also
+   * find out how much has been written through it.
+   *
+   * @param streamer the streamer to write the JSON to
+   * @return the generator
+   * @throws IOException if the generator can't be created
+   */
+  public static JsonGenerator createGenerator(final JsonResponseStreamer streamer)
+      throws IOException {
+    final JsonGenerator generator = Json.mapper.getFactory().createGenerator(streamer);
+    // Chunks are only written when full or when the generator is closed
+    generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    return generator;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    ensureOpen();
+    chunk[position++] = (byte) b;
+    bytesWritten++;
+    if (position == chunk.length) {
+      writeChunk();
+    }
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+    ensureOpen();
+    int written = 0;
+    while (written < length) {
+      final int count = Math.min(length - written, chunk.length - position);
+      System.arraycopy(bytes, offset + written, chunk, position, count);
+      position += count;
+      written += count;
+      bytesWritten += count;
+      if (position == chunk.length) {
+        writeChunk();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of bytes written to this stream, including those not yet passed on to the
+   * underlying stream in a chunk.
+   *
+   * @return the number of bytes written
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    if (position > 0) {
+      writeChunk();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      flush();
+      closed = true;
+    }
+  }
+
+  private void writeChunk() throws IOException {
+    if (stream.writeQueueFull() && !Context.isOnEventLoopThread()) {
+      awaitDrain();
+    }
+    stream.write(Buffer.buffer(Arrays.copyOf(chunk, position)));
+    position = 0;
+  }
+
+  private void awaitDrain() throws IOException {
+    final CountDownLatch drained = new CountDownLatch(1);
+    stream.drainHandler(ignored -> drained.countDown());
+    try {
+      // The queue may have drained before the handler was set
+      if (stream.writeQueueFull() && !drained.await(drainTimeoutMillis, MILLISECONDS)) {
+        closed = true;
+        throw new IOException("Client stopped reading the response");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      closed = true;
+      throw new InterruptedIOException("Interrupted while waiting for the client to read");
+    } finally {
+      stream.drainHandler(null);
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Response stream is closed");
+    }
+  }
+}
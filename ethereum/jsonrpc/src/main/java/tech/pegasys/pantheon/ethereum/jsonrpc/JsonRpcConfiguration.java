@@ -15,14 +15,32 @@ package tech.pegasys.pantheon.ethereum.jsonrpc;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 
 public class JsonRpcConfiguration {
   private static final String DEFAULT_JSON_RPC_HOST = "127.0.0.1";
   public static final int DEFAULT_JSON_RPC_PORT = 8545;
+  public static final int DEFAULT_EXECUTION_THREADS = 20;
+  public static final int DEFAULT_MAX_QUEUED_REQUESTS = 1_000;
+  public static final int DEFAULT_MAX_REQUESTS_PER_CLIENT = 256;
+  public static final Map<String, Integer> DEFAULT_METHOD_CONCURRENCY_LIMITS =
+      ImmutableMap.<String, Integer>builder()
+          .put("eth_getLogs", 4)
+          .put("eth_getFilterLogs", 4)
+          .put("eth_call", 8)
+          .put("eth_estimateGas", 8)
+          .put("debug_traceTransaction", 2)
+          .put("debug_storageRangeAt", 2)
+          .put("debug_traceBlock", 1)
+          .build();
+  public static final long DEFAULT_RESPONSE_CACHE_SIZE = 32 * 1024 * 1024;
+  public static final long DEFAULT_RESPONSE_CACHE_CONFIRMATIONS = 12;
+  public static final long DEFAULT_SLOW_REQUEST_THRESHOLD_MILLIS = 0;
 
   private boolean enabled;
   private int port;
@@ -32,6 +50,13 @@ public class JsonRpcConfiguration {
   private Collection<String> hostsWhitelist = Collections.singletonList("localhost");
   private boolean authenticationEnabled = false;
   private String authenticationCredentialsFile;
+  private int executionThreads = DEFAULT_EXECUTION_THREADS;
+  private int maxQueuedRequests = DEFAULT_MAX_QUEUED_REQUESTS;
+  private int maxRequestsPerClient = DEFAULT_MAX_REQUESTS_PER_CLIENT;
+  private Map<String, Integer> methodConcurrencyLimits = DEFAULT_METHOD_CONCURRENCY_LIMITS;
+  private long responseCacheSize = DEFAULT_RESPONSE_CACHE_SIZE;
+  private long responseCacheConfirmations = DEFAULT_RESPONSE_CACHE_CONFIRMATIONS;
+  private long slowRequestThresholdMillis = DEFAULT_SLOW_REQUEST_THRESHOLD_MILLIS;
 
   public static JsonRpcConfiguration createDefault() {
     final JsonRpcConfiguration config = new JsonRpcConfiguration();
@@ -99,6 +124,62 @@ public class JsonRpcConfiguration {
     this.hostsWhitelist = hostsWhitelist;
   }
 
+  public int getExecutionThreads() {
+    return executionThreads;
+  }
+
+  public void setExecutionThreads(final int executionThreads) {
+    this.executionThreads = executionThreads;
+  }
+
+  public int getMaxQueuedRequests() {
+    return maxQueuedRequests;
+  }
+
+  public void setMaxQueuedRequests(final int maxQueuedRequests) {
+    this.maxQueuedRequests = maxQueuedRequests;
+  }
+
+  public int getMaxRequestsPerClient() {
+    return maxRequestsPerClient;
+  }
+
+  public void setMaxRequestsPerClient(final int maxRequestsPerClient) {
+    this.maxRequestsPerClient = maxRequestsPerClient;
+  }
+
+  public Map<String, Integer> getMethodConcurrencyLimits() {
+    return methodConcurrencyLimits;
+  }
+
+  public void setMethodConcurrencyLimits(final Map<String, Integer> methodConcurrencyLimits) {
+    this.methodConcurrencyLimits = methodConcurrencyLimits;
+  }
+
+  public long getResponseCacheSize() {
+    return responseCacheSize;
+  }
+
+  public void setResponseCacheSize(final long responseCacheSize) {
+    this.responseCacheSize = responseCacheSize;
+  }
+
+  public long getResponseCacheConfirmations() {
+    return responseCacheConfirmations;
+  }
+
+  public void setResponseCacheConfirmations(final long responseCacheConfirmations) {
+    this.responseCacheConfirmations = responseCacheConfirmations;
+  }
+
+  public long getSlowRequestThresholdMillis() {
+    return slowRequestThresholdMillis;
+  }
+
+  public void setSlowRequestThresholdMillis(final long slowRequestThresholdMillis) {
+    this.slowRequestThresholdMillis = slowRequestThresholdMillis;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -110,6 +191,13 @@ public class JsonRpcConfiguration {
         .add("rpcApis", rpcApis)
         .add("authenticationEnabled", authenticationEnabled)
         .add("authenticationCredentialsFile", authenticationCredentialsFile)
+        .add("executionThreads", executionThreads)
+        .add("maxQueuedRequests", maxQueuedRequests)
+        .add("maxRequestsPerClient", maxRequestsPerClient)
+        .add("methodConcurrencyLimits", methodConcurrencyLimits)
+        .add("responseCacheSize", responseCacheSize)
+        .add("responseCacheConfirmations", responseCacheConfirmations)
+        .add("slowRequestThresholdMillis", slowRequestThresholdMillis)
         .toString();
   }
 
@@ -129,12 +217,32 @@ public class JsonRpcConfiguration {
             Lists.newArrayList(corsAllowedDomains), Lists.newArrayList(that.corsAllowedDomains))
         && Objects.equal(
             Lists.newArrayList(hostsWhitelist), Lists.newArrayList(that.hostsWhitelist))
-        && Objects.equal(Lists.newArrayList(rpcApis), Lists.newArrayList(that.rpcApis));
+        && Objects.equal(Lists.newArrayList(rpcApis), Lists.newArrayList(that.rpcApis))
+        && executionThreads == that.executionThreads
+        && maxQueuedRequests == that.maxQueuedRequests
+        && maxRequestsPerClient == that.maxRequestsPerClient
+        && Objects.equal(methodConcurrencyLimits, that.methodConcurrencyLimits)
+        && responseCacheSize == that.responseCacheSize
+        && responseCacheConfirmations == that.responseCacheConfirmations
+        && slowRequestThresholdMillis == that.slowRequestThresholdMillis;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(enabled, port, host, corsAllowedDomains, hostsWhitelist, rpcApis);
+    return Objects.hashCode(
+        enabled,
+        port,
+        host,
+        corsAllowedDomains,
+        hostsWhitelist,
+        rpcApis,
+        executionThreads,
+        maxQueuedRequests,
+        maxRequestsPerClient,
+        methodConcurrencyLimits,
+        responseCacheSize,
+        responseCacheConfirmations,
+        slowRequestThresholdMillis);
   }
 
   public boolean isAuthenticationEnabled() {
@@ -14,9 +14,11 @@ package tech.pegasys.pantheon.ethereum.jsonrpc;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Streams.stream;
-import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static tech.pegasys.pantheon.util.NetworkUtility.urlForSocketAddress;
 
+import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcRequestMonitor.MonitoredRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.authentication.AuthenticatedUser;
 import tech.pegasys.pantheon.ethereum.jsonrpc.authentication.AuthenticationService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequestId;
@@ -34,22 +36,26 @@ import tech.pegasys.pantheon.metrics.OperationTimer;
 import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
 import tech.pegasys.pantheon.util.NetworkUtility;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.CompositeFuture;
-import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
@@ -60,6 +66,7 @@ import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -76,12 +83,16 @@ public class JsonRpcHttpService {
   private static final String APPLICATION_JSON = "application/json";
   private static final JsonRpcResponse NO_RESPONSE = new JsonRpcNoResponse();
   private static final String EMPTY_RESPONSE = "";
+  private static final String UNKNOWN_METHOD = "unknown";
 
   private final Vertx vertx;
   private final JsonRpcConfiguration config;
   private final Map<String, JsonRpcMethod> jsonRpcMethods;
+  private final Map<String, List<String>> methodPermissions;
   private final Path dataDir;
   private final LabelledMetric<OperationTimer> requestTimer;
+  private final JsonRpcRequestScheduler requestScheduler;
+  private final JsonRpcRequestMonitor requestMonitor;
 
   @VisibleForTesting public final Optional<AuthenticationService> authenticationService;
 
@@ -126,9 +137,20 @@ public class JsonRpcHttpService {
             "Time taken to process a JSON-RPC request",
             "methodName");
     validateConfig(config);
+    this.requestScheduler = new JsonRpcRequestScheduler(config, metricsSystem);
+    this.requestMonitor = new JsonRpcRequestMonitor(config, metricsSystem);
     this.config = config;
     this.vertx = vertx;
     this.jsonRpcMethods = methods;
+    // Permissions are only checked when authentication is enabled, so only then resolve them once
+    this.methodPermissions =
+        authenticationService.isPresent()
+            ? methods.entrySet().stream()
+                .collect(
+                    toMap(
+                        Map.Entry::getKey,
+                        e -> ImmutableList.copyOf(e.getValue().getPermissions())))
+            : Collections.emptyMap();
     this.authenticationService = authenticationService;
   }
 
@@ -236,57 +258,59 @@ public class JsonRpcHttpService {
 
   @VisibleForTesting
   public boolean isPermitted(final Optional<User> optionalUser, final JsonRpcMethod jsonRpcMethod) {
+    if (!optionalUser.isPresent()) {
+      // Without an auth provider anything is permitted, with one nothing is without a user
+      return !authenticationService.isPresent();
+    }
 
-    AtomicBoolean foundMatchingPermission = new AtomicBoolean();
-
-    if (optionalUser.isPresent()) {
-      User user = optionalUser.get();
-      for (String perm : jsonRpcMethod.getPermissions()) {
-        user.isAuthorized(
-            perm,
-            (authed) -> {
-              if (authed.result()) {
-                LOG.trace(
-                    "user {} authorized : {} via permission {}",
-                    user,
-                    jsonRpcMethod.getName(),
-                    perm);
-                foundMatchingPermission.set(true);
-              }
-            });
+    final User user = optionalUser.get();
+    final Set<String> userPermissions = AuthenticatedUser.permissionsOf(user);
+    List<String> requiredPermissions = methodPermissions.get(jsonRpcMethod.getName());
+    if (requiredPermissions == null) {
+      requiredPermissions = jsonRpcMethod.getPermissions();
+    }
+    for (final String perm : requiredPermissions) {
+      if (userPermissions.contains(perm)) {
+        LOG.trace(
+            "user {} authorized : {} via permission {}", user, jsonRpcMethod.getName(), perm);
+        return true;
       }
-    } else {
-      // no user means no auth provider configured thus anything is permitted
-      foundMatchingPermission.set(true);
     }
 
-    if (!foundMatchingPermission.get()) {
-      LOG.trace("user NOT authorized : {}", jsonRpcMethod.getName());
-    }
-    return foundMatchingPermission.get();
+    LOG.trace("user NOT authorized : {}", jsonRpcMethod.getName());
+    return false;
   }
 
   private String getToken(final RoutingContext routingContext) {
     return routingContext.request().getHeader("Bearer");
   }
 
-  private void getUser(final String token, final Handler<Optional<User>> handler) {
+  private void getUser(
+      final RoutingContext routingContext,
+      final String token,
+      final Handler<Optional<User>> handler) {
+    if (!authenticationService.isPresent()) {
+      handler.handle(Optional.empty());
+      return;
+    }
+    final AtomicBoolean authenticated = new AtomicBoolean();
+    final Handler<Optional<User>> authenticatedHandler =
+        user -> {
+          authenticated.set(true);
+          if (user.isPresent()) {
+            handler.handle(user);
+          } else {
+            // An invalid or expired token must not fall back to running unauthenticated
+            handleJsonRpcUnauthorizedError(routingContext, null, JsonRpcError.UNAUTHORIZED);
+          }
+        };
     try {
-      if (!authenticationService.isPresent()) {
-        handler.handle(Optional.empty());
-      } else {
-        authenticationService
-            .get()
-            .getJwtAuthProvider()
-            .authenticate(
-                new JsonObject().put("jwt", token),
-                (r) -> {
-                  final User user = r.result();
-                  handler.handle(Optional.of(user));
-                });
+      authenticationService.get().authenticate(token, authenticatedHandler);
+    } catch (final Exception e) {
+      LOG.debug("Unable to authenticate JSON-RPC request", e);
+      if (!authenticated.get()) {
+        authenticatedHandler.handle(Optional.empty());
       }
-    } catch (Exception e) {
-      handler.handle(Optional.empty());
     }
   }
 
@@ -315,6 +339,7 @@ public class JsonRpcHttpService {
     final CompletableFuture<?> resultFuture = new CompletableFuture<>();
     httpServer.close(
         res -> {
+          requestScheduler.stop();
           if (res.failed()) {
             resultFuture.completeExceptionally(res.cause());
           } else {
@@ -352,6 +377,7 @@ public class JsonRpcHttpService {
         final String json = routingContext.getBodyAsString().trim();
         if (!json.isEmpty() && json.charAt(0) == '{') {
           getUser(
+              routingContext,
               token,
               user -> {
                 handleJsonSingleRequest(routingContext, new JsonObject(json), user);
@@ -363,6 +389,7 @@ public class JsonRpcHttpService {
             return;
           }
           getUser(
+              routingContext,
               token,
               user -> {
                 handleJsonBatchRequest(routingContext, array, user);
@@ -382,25 +409,68 @@ public class JsonRpcHttpService {
   private void handleJsonSingleRequest(
       final RoutingContext routingContext, final JsonObject request, final Optional<User> user) {
     final HttpServerResponse response = routingContext.response();
-    vertx.executeBlocking(
-        future -> {
-          final JsonRpcResponse jsonRpcResponse = process(request, user);
-          future.complete(jsonRpcResponse);
-        },
-        false,
+    final String method = methodName(request);
+    final MonitoredRequest monitoredRequest =
+        requestMonitor.requestReceived(method, request, routingContext.getBody().length());
+    requestScheduler.<JsonRpcResponse>execute(
+        client(routingContext),
+        method,
+        () -> monitoredRequest.execute(() -> process(request, user)),
         (res) -> {
-          if (res.failed()) {
+          final JsonRpcResponse jsonRpcResponse;
+          if (res.succeeded()) {
+            jsonRpcResponse = res.result();
+            response.setStatusCode(status(jsonRpcResponse).code());
+          } else if (res.cause() instanceof RejectedExecutionException) {
+            jsonRpcResponse =
+                errorResponse(requestId(request), JsonRpcError.REQUEST_LIMIT_EXCEEDED);
+            response.setStatusCode(HttpResponseStatus.TOO_MANY_REQUESTS.code());
+          } else {
             response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+            monitoredRequest.failed();
             return;
           }
 
-          final JsonRpcResponse jsonRpcResponse = (JsonRpcResponse) res.result();
-          response.setStatusCode(status(jsonRpcResponse).code());
           response.putHeader("Content-Type", APPLICATION_JSON);
-          response.end(serialise(jsonRpcResponse));
+          if (jsonRpcResponse.getType() == JsonRpcResponseType.NONE) {
+            response.end(EMPTY_RESPONSE);
+            monitoredRequest.responded(jsonRpcResponse, 0);
+            return;
+          }
+
+          response.setChunked(true);
+          // Serialised off the event loop, so that it can wait for the client to read each chunk
+          vertx.<Long>executeBlocking(
+              future -> {
+                try {
+                  future.complete(writeResponse(response, jsonRpcResponse));
+                } catch (final IOException e) {
+                  future.fail(e);
+                }
+              },
+              false,
+              written -> {
+                if (written.succeeded()) {
+                  monitoredRequest.responded(jsonRpcResponse, written.result());
+                } else {
+                  LOG.error("Failed to serialise JSON-RPC response", written.cause());
+                  response.close();
+                  monitoredRequest.failed();
+                }
+              });
         });
   }
 
+  private long writeResponse(final HttpServerResponse response, final JsonRpcResponse result)
+      throws IOException {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response);
+    try (final JsonGenerator generator = JsonResponseStreamer.createGenerator(streamer)) {
+      generator.writeObject(result);
+    }
+    response.end();
+    return streamer.getBytesWritten();
+  }
+
   private HttpResponseStatus status(final JsonRpcResponse response) {
 
     switch (response.getType()) {
@@ -413,62 +483,78 @@ public class JsonRpcHttpService {
     }
   }
 
-  private String serialise(final JsonRpcResponse response) {
-
-    if (response.getType() == JsonRpcResponseType.NONE) {
-      return EMPTY_RESPONSE;
+  private void handleJsonBatchRequest(
+      final RoutingContext routingContext, final JsonArray jsonArray, final Optional<User> user) {
+    final HttpServerResponse response = routingContext.response();
+    response.setChunked(true);
+    response.putHeader("Content-Type", APPLICATION_JSON);
+    final String client = client(routingContext);
+    final BatchResponseWriter writer;
+    try {
+      writer = new BatchResponseWriter(response, jsonArray.size());
+    } catch (final IOException e) {
+      LOG.error("Failed to serialise JSON-RPC batch response", e);
+      response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+      return;
     }
+    requestMonitor.batchReceived(jsonArray.size());
+    // Only the size of the whole batch is known, so it is shared evenly between its elements
+    final long elementBytes = routingContext.getBody().length() / jsonArray.size();
+
+    // Each response is serialised as soon as it completes, in completion order
+    jsonArray.forEach(
+        obj -> {
+          if (!(obj instanceof JsonObject)) {
+            writer.write(errorResponse(null, JsonRpcError.INVALID_REQUEST), written -> {});
+            return;
+          }
 
-    return Json.encodePrettily(response);
+          final JsonObject req = (JsonObject) obj;
+          final String method = methodName(req);
+          final MonitoredRequest monitoredRequest =
+              requestMonitor.requestReceived(method, req, elementBytes);
+          requestScheduler.<JsonRpcResponse>execute(
+              client,
+              method,
+              () -> monitoredRequest.execute(() -> process(req, user)),
+              ar -> {
+                final JsonRpcResponse elementResponse;
+                if (ar.succeeded()) {
+                  elementResponse = ar.result();
+                } else if (ar.cause() instanceof RejectedExecutionException) {
+                  elementResponse =
+                      errorResponse(requestId(req), JsonRpcError.REQUEST_LIMIT_EXCEEDED);
+                } else {
+                  LOG.error("Failed to process JSON-RPC batch request element", ar.cause());
+                  elementResponse = errorResponse(requestId(req), JsonRpcError.INTERNAL_ERROR);
+                }
+                writer.write(
+                    elementResponse,
+                    written -> monitoredRequest.responded(elementResponse, written));
+              });
+        });
   }
 
-  @SuppressWarnings("rawtypes")
-  private void handleJsonBatchRequest(
-      final RoutingContext routingContext, final JsonArray jsonArray, final Optional<User> user) {
-    // Interpret json as rpc request
-    final List<Future> responses =
-        jsonArray.stream()
-            .map(
-                obj -> {
-                  if (!(obj instanceof JsonObject)) {
-                    return Future.succeededFuture(
-                        errorResponse(null, JsonRpcError.INVALID_REQUEST));
-                  }
-
-                  final JsonObject req = (JsonObject) obj;
-                  final Future<JsonRpcResponse> fut = Future.future();
-                  vertx.executeBlocking(
-                      future -> future.complete(process(req, user)),
-                      false,
-                      ar -> {
-                        if (ar.failed()) {
-                          fut.fail(ar.cause());
-                        } else {
-                          fut.complete((JsonRpcResponse) ar.result());
-                        }
-                      });
-                  return fut;
-                })
-            .collect(toList());
-
-    CompositeFuture.all(responses)
-        .setHandler(
-            (res) -> {
-              if (res.failed()) {
-                routingContext
-                    .response()
-                    .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
-                    .end();
-                return;
-              }
-              final JsonRpcResponse[] completed =
-                  res.result().list().stream()
-                      .map(JsonRpcResponse.class::cast)
-                      .filter(this::isNonEmptyResponses)
-                      .toArray(JsonRpcResponse[]::new);
+  private String client(final RoutingContext routingContext) {
+    final SocketAddress address = routingContext.request().remoteAddress();
+    return address == null ? "" : address.host();
+  }
 
-              routingContext.response().end(Json.encode(completed));
-            });
+  // Only registered method names select a lane and label metrics, to bound their cardinality
+  private String methodName(final JsonObject requestJson) {
+    final Object method = requestJson.getValue("method");
+    if (method instanceof String && jsonRpcMethods.containsKey(method)) {
+      return (String) method;
+    }
+    return UNKNOWN_METHOD;
+  }
+
+  private Object requestId(final JsonObject requestJson) {
+    try {
+      return new JsonRpcRequestId(requestJson.getValue("id")).getValue();
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
   }
 
   private boolean isNonEmptyResponses(final JsonRpcResponse result) {
@@ -542,4 +628,61 @@ public class JsonRpcHttpService {
       return stringJoiner.toString();
     }
   }
+
+  /** Streams the elements of a batch response as they complete, then ends the response. */
+  private class BatchResponseWriter {
+    private final HttpServerResponse response;
+    private final JsonResponseStreamer streamer;
+    private final JsonGenerator generator;
+    private int remaining;
+    private boolean failed;
+
+    private BatchResponseWriter(final HttpServerResponse response, final int size)
+        throws IOException {
+      this.response = response;
+      this.streamer = new JsonResponseStreamer(response);
+      this.generator = JsonResponseStreamer.createGenerator(streamer);
+      this.remaining = size;
+      generator.writeStartArray();
+    }
+
+    /**
+     * Serialises an element off the event loop, so that the writer can wait for the client to read
+     * each chunk, then hands the number of bytes written to the handler on the event loop.
+     */
+    private void write(final JsonRpcResponse elementResponse, final Handler<Long> writtenHandler) {
+      vertx.<Long>executeBlocking(
+          future -> future.complete(writeElement(elementResponse)),
+          false,
+          written -> writtenHandler.handle(written.result()));
+    }
+
+    // Elements are serialised on worker threads, one at a time
+    private synchronized long writeElement(final JsonRpcResponse elementResponse) {
+      remaining--;
+      if (failed) {
+        return 0;
+      }
+      long elementBytes = 0;
+      try {
+        if (isNonEmptyResponses(elementResponse)) {
+          final long writtenBefore = streamer.getBytesWritten();
+          generator.writeObject(elementResponse);
+          // Hands what the generator has buffered to the streamer, which still writes whole chunks
+          generator.flush();
+          elementBytes = streamer.getBytesWritten() - writtenBefore;
+        }
+        if (remaining == 0) {
+          generator.writeEndArray();
+          generator.close();
+          response.end();
+        }
+      } catch (final IOException e) {
+        LOG.error("Failed to serialise JSON-RPC batch response", e);
+        failed = true;
+        response.close();
+      }
+      return elementBytes;
+    }
+  }
 }
@@ -12,6 +12,9 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
 import tech.pegasys.pantheon.ethereum.blockcreation.MiningCoordinator;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.Synchronizer;
@@ -21,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.AdminAddPeer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.AdminPeers;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugMetrics;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugStorageRangeAt;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceBlock;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceTransaction;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.EthAccounts;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.EthBlockNumber;
@@ -79,10 +83,13 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.privacy.EeaSendRa
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockReplay;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionGasEstimator;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessor;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.BlockResultFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHashFunction;
 import tech.pegasys.pantheon.ethereum.p2p.api.P2PNetwork;
 import tech.pegasys.pantheon.ethereum.p2p.wire.Capability;
 import tech.pegasys.pantheon.ethereum.permissioning.AccountWhitelistController;
@@ -95,11 +102,28 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 public class JsonRpcMethodsFactory {
 
   private final BlockResultFactory blockResult = new BlockResultFactory();
   private final JsonRpcParameter parameter = new JsonRpcParameter();
+  private final int gasEstimationProbes;
+
+  public JsonRpcMethodsFactory() {
+    this(1);
+  }
+
+  /**
+   * Creates a factory whose eth_estimateGas may try several gas limits at once.
+   *
+   * @param gasEstimationProbes how many gas limits eth_estimateGas tries at once while searching,
+   *     each on its own thread of the common fork join pool when more than one
+   */
+  public JsonRpcMethodsFactory(final int gasEstimationProbes) {
+    checkArgument(gasEstimationProbes > 0, "Must run at least one gas estimation probe at a time");
+    this.gasEstimationProbes = gasEstimationProbes;
+  }
 
   public Map<String, JsonRpcMethod> methods(
       final String clientVersion,
@@ -110,6 +134,7 @@ public class JsonRpcMethodsFactory {
       final TransactionPool transactionPool,
       final ProtocolSchedule<?> protocolSchedule,
       final MiningCoordinator miningCoordinator,
+      final GasPriceOracle gasPriceOracle,
       final MetricsSystem metricsSystem,
       final Set<Capability> supportedCapabilities,
       final Collection<RpcApi> rpcApis,
@@ -127,6 +152,7 @@ public class JsonRpcMethodsFactory {
         filterManager,
         transactionPool,
         miningCoordinator,
+        gasPriceOracle,
         metricsSystem,
         supportedCapabilities,
         accountsWhitelistController,
@@ -143,6 +169,7 @@ public class JsonRpcMethodsFactory {
       final FilterManager filterManager,
       final TransactionPool transactionPool,
       final MiningCoordinator miningCoordinator,
+      final GasPriceOracle gasPriceOracle,
       final MetricsSystem metricsSystem,
       final Set<Capability> supportedCapabilities,
       final Optional<AccountWhitelistController> accountsWhitelistController,
@@ -191,15 +218,19 @@ public class JsonRpcMethodsFactory {
           new EthSendRawTransaction(transactionPool, parameter),
           new EthEstimateGas(
               blockchainQueries,
-              new TransientTransactionProcessor(
-                  blockchainQueries.getBlockchain(),
+              new TransientTransactionGasEstimator(
                   blockchainQueries.getWorldStateArchive(),
-                  protocolSchedule),
+                  new TransientTransactionProcessor(
+                      blockchainQueries.getBlockchain(),
+                      blockchainQueries.getWorldStateArchive(),
+                      protocolSchedule),
+                  gasEstimationProbes > 1 ? ForkJoinPool.commonPool() : directExecutor(),
+                  gasEstimationProbes),
               parameter),
           new EthMining(miningCoordinator),
           new EthCoinbase(miningCoordinator),
           new EthProtocolVersion(supportedCapabilities),
-          new EthGasPrice(miningCoordinator),
+          new EthGasPrice(miningCoordinator, gasPriceOracle),
           new EthGetWork(miningCoordinator),
           new EthHashrate(miningCoordinator),
           new EthChainId(protocolSchedule.getChainId()));
@@ -210,10 +241,14 @@ public class JsonRpcMethodsFactory {
               protocolSchedule,
               blockchainQueries.getBlockchain(),
               blockchainQueries.getWorldStateArchive());
+      final TransactionTracer transactionTracer = new TransactionTracer(blockReplay);
       addMethods(
           enabledMethods,
-          new DebugTraceTransaction(
-              blockchainQueries, new TransactionTracer(blockReplay), parameter),
+          new DebugTraceTransaction(blockchainQueries, transactionTracer, parameter),
+          new DebugTraceBlock(
+              parameter,
+              transactionTracer,
+              ScheduleBasedBlockHashFunction.create(protocolSchedule)),
           new DebugStorageRangeAt(parameter, blockchainQueries, blockReplay),
           new DebugMetrics(metricsSystem));
     }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponseType;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Records per-method metrics of JSON-RPC requests, and logs the requests that take longer than the
+ * configured threshold along with the time spent in each phase of handling them.
+ */
+public class JsonRpcRequestMonitor {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int MAX_SUMMARISED_PARAMS = 8;
+  // Long enough for addresses, hashes and block numbers but not for transactions or call data
+  private static final int MAX_SHOWN_STRING_LENGTH = 66;
+  private static final Pattern SHOWN_STRING =
+      Pattern.compile("0x\\p{XDigit}*|latest|earliest|pending");
+
+  private final long slowRequestThresholdNanos;
+  private final LabelledMetric<Counter> requestCounter;
+  private final LabelledMetric<Counter> errorCounter;
+  private final LabelledMetric<Counter> requestBytesCounter;
+  private final LabelledMetric<Counter> responseBytesCounter;
+  private final Counter batchRequestCounter;
+  private final Counter batchElementCounter;
+
+  public JsonRpcRequestMonitor(
+      final JsonRpcConfiguration config, final MetricsSystem metricsSystem) {
+    checkArgument(
+        config.getSlowRequestThresholdMillis() >= 0, "Slow request threshold must not be negative");
+    this.slowRequestThresholdNanos =
+        TimeUnit.MILLISECONDS.toNanos(config.getSlowRequestThresholdMillis());
+    this.requestCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "requests_total",
+            "Number of JSON-RPC requests received",
+            "methodName");
+    this.errorCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "errors_total",
+            "Number of JSON-RPC requests answered with an error",
+            "methodName");
+    this.requestBytesCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "request_bytes_total",
+            "Total size in bytes of JSON-RPC requests received",
+            "methodName");
+    this.responseBytesCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "response_bytes_total",
+            "Total size in bytes of JSON-RPC responses sent",
+            "methodName");
+    this.batchRequestCounter =
+        metricsSystem.createCounter(
+            MetricCategory.RPC,
+            "batch_requests_total",
+            "Number of JSON-RPC batch requests received");
+    this.batchElementCounter =
+        metricsSystem.createCounter(
+            MetricCategory.RPC,
+            "batch_request_elements_total",
+            "Number of requests received within JSON-RPC batch requests");
+  }
+
+  /**
+   * Records a batch request. Each of its elements is then monitored as a request of its own.
+   *
+   * @param size the number of elements in the batch
+   */
+  public void batchReceived(final int size) {
+    batchRequestCounter.inc();
+    batchElementCounter.inc(size);
+  }
+
+  /**
+   * Starts monitoring a request as it is received.
+   *
+   * @param method the name of the requested method, which labels metrics
+   * @param request the request
+   * @param requestBytes the size of the request in bytes
+   * @return the monitored request, to be completed once it has been responded to
+   */
+  public MonitoredRequest requestReceived(
+      final String method, final JsonObject request, final long requestBytes) {
+    requestCounter.labels(method).inc();
+    requestBytesCounter.labels(method).inc(requestBytes);
+    return new MonitoredRequest(method, request);
+  }
+
+  @VisibleForTesting
+  static String summariseParams(final JsonObject request) {
+    final Object params = request.getValue("params");
+    if (!(params instanceof JsonArray)) {
+      return summarise(params);
+    }
+    final JsonArray paramArray = (JsonArray) params;
+    final StringJoiner summary = new StringJoiner(", ", "[", "]");
+    for (int i = 0; i < Math.min(paramArray.size(), MAX_SUMMARISED_PARAMS); i++) {
+      summary.add(summarise(paramArray.getValue(i)));
+    }
+    if (paramArray.size() > MAX_SUMMARISED_PARAMS) {
+      summary.add("...");
+    }
+    return summary.toString();
+  }
+
+  // Only values identifying what was requested are shown, never data such as signed transactions
+  private static String summarise(final Object param) {
+    if (param instanceof String) {
+      final String value = (String) param;
+      return value.length() <= MAX_SHOWN_STRING_LENGTH && SHOWN_STRING.matcher(value).matches()
+          ? value
+          : "string(" + value.length() + ")";
+    } else if (param instanceof JsonObject) {
+      return "{" + String.join(", ", ((JsonObject) param).fieldNames()) + "}";
+    } else if (param instanceof JsonArray) {
+      return "array(" + ((JsonArray) param).size() + ")";
+    }
+    return String.valueOf(param);
+  }
+
+  private static long millis(final long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  /**
+   * A request being handled. It is executed on a scheduler thread and responded to on the event
+   * loop, which the scheduler hands its result back to.
+   */
+  public class MonitoredRequest {
+    private final String method;
+    private final JsonObject request;
+    private final long receivedAt = System.nanoTime();
+    private boolean executed;
+    private long executionStartedAt;
+    private long executionFinishedAt;
+
+    private MonitoredRequest(final String method, final JsonObject request) {
+      this.method = method;
+      this.request = request;
+    }
+
+    /**
+     * Executes the request, timing its execution.
+     *
+     * @param execution produces the response to the request
+     * @param <T> the type of the response
+     * @return the response
+     */
+    public <T> T execute(final Supplier<T> execution) {
+      executionStartedAt = System.nanoTime();
+      try {
+        return execution.get();
+      } finally {
+        executionFinishedAt = System.nanoTime();
+        executed = true;
+      }
+    }
+
+    /**
+     * Completes the request once its response has been written.
+     *
+     * @param response the response sent
+     * @param responseBytes the size of the response in bytes
+     */
+    public void responded(final JsonRpcResponse response, final long responseBytes) {
+      responseBytesCounter.labels(method).inc(responseBytes);
+      completed(response.getType() == JsonRpcResponseType.ERROR, responseBytes);
+    }
+
+    /** Completes a request that failed without a response being written. */
+    public void failed() {
+      completed(true, 0);
+    }
+
+    private void completed(final boolean error, final long responseBytes) {
+      final long completedAt = System.nanoTime();
+      if (error) {
+        errorCounter.labels(method).inc();
+      }
+      final long totalNanos = completedAt - receivedAt;
+      if (slowRequestThresholdNanos > 0 && totalNanos >= slowRequestThresholdNanos) {
+        // A request rejected by the scheduler spent all of its time before execution
+        final long executionStart = executed ? executionStartedAt : completedAt;
+        final long executionEnd = executed ? executionFinishedAt : completedAt;
+        LOG.info(
+            "Slow JSON-RPC request {} {} took {} ms (queued {} ms, executing {} ms, responding {} ms, {} bytes)",
+            method,
+            summariseParams(request),
+            millis(totalNanos),
+            millis(executionStart - receivedAt),
+            millis(executionEnd - executionStart),
+            millis(completedAt - executionEnd),
+            responseBytes);
+      }
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Runs JSON-RPC requests on dedicated, bounded thread pools instead of the shared Vert.x worker
+ * pool.
+ *
+ * <p>Each method with a concurrency limit gets its own lane with as many threads as its limit, so
+ * expensive methods can never occupy the threads serving cheap ones. All other methods share the
+ * default lane. A lane queues a bounded number of requests, and a client may only have a bounded
+ * number of requests queued or running. Requests beyond either bound are rejected immediately with
+ * a {@link RejectedExecutionException}.
+ */
+public class JsonRpcRequestScheduler {
+
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+  private final ThreadPoolExecutor defaultLane;
+  private final Map<String, ThreadPoolExecutor> methodLanes = new HashMap<>();
+  private final int maxRequestsPerClient;
+  private final ConcurrentMap<String, Integer> requestsByClient = new ConcurrentHashMap<>();
+  private final LabelledMetric<OperationTimer> queueTimer;
+  private final LabelledMetric<Counter> rejectedRequestsCounter;
+
+  public JsonRpcRequestScheduler(
+      final JsonRpcConfiguration config, final MetricsSystem metricsSystem) {
+    checkArgument(config.getMaxRequestsPerClient() > 0, "Requests per client must be positive");
+    this.defaultLane =
+        createLane("default", config.getExecutionThreads(), config.getMaxQueuedRequests());
+    config
+        .getMethodConcurrencyLimits()
+        .forEach(
+            (method, limit) ->
+                methodLanes.put(method, createLane(method, limit, config.getMaxQueuedRequests())));
+    this.maxRequestsPerClient = config.getMaxRequestsPerClient();
+    this.queueTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.RPC,
+            "request_queue_time",
+            "Time a JSON-RPC request waits before it starts executing",
+            "methodName");
+    this.rejectedRequestsCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "rejected_requests_total",
+            "Number of JSON-RPC requests rejected because a queue or client limit was reached",
+            "methodName");
+  }
+
+  private static ThreadPoolExecutor createLane(
+      final String name, final int threads, final int maxQueuedRequests) {
+    checkArgument(threads > 0, "Lane %s must have at least one thread", name);
+    checkArgument(maxQueuedRequests > 0, "Queued requests must be positive");
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            IDLE_THREAD_TIMEOUT_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(maxQueuedRequests),
+            new ThreadFactoryBuilder()
+                .setNameFormat("rpc-" + name + "-%d")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Schedules a request on the lane of its method. The result handler runs on the calling Vert.x
+   * context, like the result handler of {@link Vertx#executeBlocking(Handler, boolean, Handler)}.
+   *
+   * @param client the address of the client sending the request
+   * @param method the name of the requested method, which selects the lane and labels metrics
+   * @param request the request to run
+   * @param resultHandler receives the result of the request, or a failure holding a {@link
+   *     RejectedExecutionException} if the request was rejected
+   * @param <T> the type of the result
+   */
+  public <T> void execute(
+      final String client,
+      final String method,
+      final Supplier<T> request,
+      final Handler<AsyncResult<T>> resultHandler) {
+    final Context context = Vertx.currentContext();
+    if (!tryAcquire(client)) {
+      reject(method, "Too many requests from client " + client, context, resultHandler);
+      return;
+    }
+
+    final TimingContext queueTiming = queueTimer.labels(method).startTimer();
+    try {
+      methodLanes
+          .getOrDefault(method, defaultLane)
+          .execute(
+              () -> {
+                queueTiming.stopTimer();
+                AsyncResult<T> result;
+                try {
+                  result = Future.succeededFuture(request.get());
+                } catch (final Throwable t) {
+                  result = Future.failedFuture(t);
+                } finally {
+                  release(client);
+                }
+                complete(context, resultHandler, result);
+              });
+    } catch (final RejectedExecutionException e) {
+      release(client);
+      reject(method, "Too many queued " + method + " requests", context, resultHandler);
+    }
+  }
+
+  public void stop() {
+    defaultLane.shutdownNow();
+    methodLanes.values().forEach(ThreadPoolExecutor::shutdownNow);
+  }
+
+  private boolean tryAcquire(final String client) {
+    if (requestsByClient.merge(client, 1, Integer::sum) > maxRequestsPerClient) {
+      release(client);
+      return false;
+    }
+    return true;
+  }
+
+  private void release(final String client) {
+    requestsByClient.computeIfPresent(client, (key, count) -> count == 1 ? null : count - 1);
+  }
+
+  private <T> void reject(
+      final String method,
+      final String reason,
+      final Context context,
+      final Handler<AsyncResult<T>> resultHandler) {
+    rejectedRequestsCounter.labels(method).inc();
+    complete(context, resultHandler, Future.failedFuture(new RejectedExecutionException(reason)));
+  }
+
+  private <T> void complete(
+      final Context context,
+      final Handler<AsyncResult<T>> resultHandler,
+      final AsyncResult<T> result) {
+    if (context == null) {
+      resultHandler.handle(result);
+    } else {
+      context.runOnContext(ignored -> resultHandler.handle(result));
+    }
+  }
+}
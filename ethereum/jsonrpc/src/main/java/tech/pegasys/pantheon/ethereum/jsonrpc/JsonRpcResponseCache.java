@@ -0,0 +1,303 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent.EventType;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.chain.TransactionLocation;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.BlockParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.UnsignedIntParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponseType;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.SerialisedResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import io.vertx.core.json.Json;
+
+/**
+ * Caches the serialised results of JSON-RPC queries that can never change once their block is
+ * final: lookups by block or transaction hash, and code at a fixed block number.
+ *
+ * <p>A result is only cached when its block is canonical and at least the configured number of
+ * confirmations below the chain head. Entries are keyed by method and canonical parameters,
+ * bounded by their approximate size in bytes, and dropped when a chain reorg removes their block
+ * from the canonical chain.
+ */
+public class JsonRpcResponseCache implements BlockAddedObserver {
+
+  public static final Set<String> CACHEABLE_METHODS =
+      ImmutableSet.of(
+          "eth_getBlockByHash",
+          "eth_getBlockTransactionCountByHash",
+          "eth_getUncleByBlockHashAndIndex",
+          "eth_getTransactionByHash",
+          "eth_getTransactionReceipt",
+          "eth_getCode");
+
+  // Rough per-entry cost of the cache structures, on top of the key and result characters
+  private static final int ENTRY_OVERHEAD = 128;
+
+  private final Blockchain blockchain;
+  private final long confirmations;
+  private final JsonRpcParameter parameters = new JsonRpcParameter();
+  private final Cache<String, CachedResult> results;
+
+  /**
+   * Create a response cache.
+   *
+   * @param blockchain the chain the cached results are read from
+   * @param maxSizeInBytes the approximate maximum memory used by cached results
+   * @param confirmations how far below the chain head a block must be for results from it to be
+   *     cached
+   */
+  public JsonRpcResponseCache(
+      final Blockchain blockchain, final long maxSizeInBytes, final long confirmations) {
+    checkArgument(maxSizeInBytes > 0, "Response cache size must be positive");
+    checkArgument(confirmations >= 0, "Response cache confirmations must not be negative");
+    this.blockchain = blockchain;
+    this.confirmations = confirmations;
+    this.results =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeInBytes)
+            .weigher((String key, CachedResult result) -> result.weight(key))
+            .build();
+  }
+
+  /**
+   * Wrap the cacheable methods of a method map so that their results are served from this cache.
+   *
+   * @param methods the methods to wrap
+   * @return a copy of the methods, with the cacheable ones replaced by caching wrappers
+   */
+  public Map<String, JsonRpcMethod> cacheResults(final Map<String, JsonRpcMethod> methods) {
+    final Map<String, JsonRpcMethod> cachingMethods = new HashMap<>(methods);
+    methods.forEach(
+        (name, method) -> {
+          if (CACHEABLE_METHODS.contains(name)) {
+            cachingMethods.put(name, new CachingMethod(method));
+          }
+        });
+    return cachingMethods;
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    if (event.getEventType() != EventType.CHAIN_REORG) {
+      return;
+    }
+
+    // Walk down the cached blocks until one is still canonical: everything below it is too
+    final List<CachedResult> byDescendingNumber = new ArrayList<>(results.asMap().values());
+    byDescendingNumber.sort((a, b) -> Long.compare(b.blockNumber, a.blockNumber));
+    final Set<Hash> removedBlocks = new HashSet<>();
+    for (final CachedResult result : byDescendingNumber) {
+      if (removedBlocks.contains(result.blockHash)) {
+        continue;
+      }
+      if (isCanonical(result.blockNumber, result.blockHash)) {
+        break;
+      }
+      removedBlocks.add(result.blockHash);
+    }
+
+    if (!removedBlocks.isEmpty()) {
+      results.asMap().values().removeIf(result -> removedBlocks.contains(result.blockHash));
+    }
+  }
+
+  @VisibleForTesting
+  long size() {
+    return results.size();
+  }
+
+  private JsonRpcResponse response(final JsonRpcMethod method, final JsonRpcRequest request) {
+    final Optional<CacheableRequest> cacheable = cacheableRequest(request);
+    if (!cacheable.isPresent()) {
+      return method.response(request);
+    }
+
+    final String key = cacheable.get().key;
+    final CachedResult cached = results.getIfPresent(key);
+    if (cached != null) {
+      return new JsonRpcSuccessResponse(request.getId(), cached.result);
+    }
+
+    final JsonRpcResponse response = method.response(request);
+    if (response.getType() != JsonRpcResponseType.SUCCESS
+        || ((JsonRpcSuccessResponse) response).getResult() == null) {
+      return response;
+    }
+    final Optional<BlockHeader> block =
+        cacheable.get().blockHash.get().flatMap(blockchain::getBlockHeader);
+    if (!block.isPresent() || !isFinal(block.get())) {
+      return response;
+    }
+
+    final SerialisedResult result =
+        new SerialisedResult(Json.encode(((JsonRpcSuccessResponse) response).getResult()));
+    results.put(key, new CachedResult(block.get().getNumber(), block.get().getHash(), result));
+    // A reorg may have removed the block while its result was being computed
+    if (!isCanonical(block.get().getNumber(), block.get().getHash())) {
+      results.invalidate(key);
+    }
+    return new JsonRpcSuccessResponse(request.getId(), result);
+  }
+
+  private Optional<CacheableRequest> cacheableRequest(final JsonRpcRequest request) {
+    final Object[] params = request.getParams();
+    final String method = request.getMethod();
+    try {
+      switch (method) {
+        case "eth_getBlockByHash":
+          {
+            final Hash hash = parameters.required(params, 0, Hash.class);
+            final Boolean complete = parameters.required(params, 1, Boolean.class);
+            return cacheable(() -> Optional.of(hash), method, hash, complete);
+          }
+        case "eth_getBlockTransactionCountByHash":
+          {
+            final Hash hash = parameters.required(params, 0, Hash.class);
+            return cacheable(() -> Optional.of(hash), method, hash);
+          }
+        case "eth_getUncleByBlockHashAndIndex":
+          {
+            final Hash hash = parameters.required(params, 0, Hash.class);
+            final int index =
+                parameters.required(params, 1, UnsignedIntParameter.class).getValue();
+            return cacheable(() -> Optional.of(hash), method, hash, index);
+          }
+        case "eth_getTransactionByHash":
+        case "eth_getTransactionReceipt":
+          {
+            final Hash hash = parameters.required(params, 0, Hash.class);
+            return cacheable(() -> transactionBlockHash(hash), method, hash);
+          }
+        case "eth_getCode":
+          {
+            final Address address = parameters.required(params, 0, Address.class);
+            final BlockParameter blockParameter =
+                parameters.required(params, 1, BlockParameter.class);
+            if (!blockParameter.isNumeric() && !blockParameter.isEarliest()) {
+              return Optional.empty();
+            }
+            final long number = blockParameter.getNumber().getAsLong();
+            return cacheable(
+                () -> blockchain.getBlockHashByNumber(number), method, address, number);
+          }
+        default:
+          return Optional.empty();
+      }
+    } catch (final InvalidJsonRpcParameters | IllegalArgumentException e) {
+      // Let the method itself report the invalid parameters
+      return Optional.empty();
+    }
+  }
+
+  private Optional<CacheableRequest> cacheable(
+      final Supplier<Optional<Hash>> blockHash, final String method, final Object... params) {
+    final StringBuilder key = new StringBuilder(method);
+    for (final Object param : params) {
+      key.append(':').append(param);
+    }
+    return Optional.of(new CacheableRequest(key.toString(), blockHash));
+  }
+
+  private Optional<Hash> transactionBlockHash(final Hash hash) {
+    return blockchain.getTransactionLocation(hash).map(TransactionLocation::getBlockHash);
+  }
+
+  private boolean isFinal(final BlockHeader header) {
+    return blockchain.getChainHeadBlockNumber() - header.getNumber() >= confirmations
+        && isCanonical(header.getNumber(), header.getHash());
+  }
+
+  private boolean isCanonical(final long number, final Hash hash) {
+    return blockchain.getBlockHashByNumber(number).map(hash::equals).orElse(false);
+  }
+
+  private static class CacheableRequest {
+    private final String key;
+    // Resolved only on a cache miss, as it may need to read storage
+    private final Supplier<Optional<Hash>> blockHash;
+
+    private CacheableRequest(final String key, final Supplier<Optional<Hash>> blockHash) {
+      this.key = key;
+      this.blockHash = blockHash;
+    }
+  }
+
+  private static class CachedResult {
+    private final long blockNumber;
+    private final Hash blockHash;
+    private final SerialisedResult result;
+
+    private CachedResult(
+        final long blockNumber, final Hash blockHash, final SerialisedResult result) {
+      this.blockNumber = blockNumber;
+      this.blockHash = blockHash;
+      this.result = result;
+    }
+
+    private int weight(final String key) {
+      final long chars = (long) key.length() + result.getJson().length();
+      return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + Character.BYTES * chars);
+    }
+  }
+
+  private class CachingMethod implements JsonRpcMethod {
+    private final JsonRpcMethod method;
+
+    private CachingMethod(final JsonRpcMethod method) {
+      this.method = method;
+    }
+
+    @Override
+    public String getName() {
+      return method.getName();
+    }
+
+    @Override
+    public JsonRpcResponse response(final JsonRpcRequest request) {
+      return JsonRpcResponseCache.this.response(method, request);
+    }
+
+    @Override
+    public List<String> getPermissions() {
+      return method.getPermissions();
+    }
+  }
+}
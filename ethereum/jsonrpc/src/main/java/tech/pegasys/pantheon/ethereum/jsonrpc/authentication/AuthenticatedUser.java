@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.authentication;
+
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.User;
+
+/**
+ * A user whose JWT has already been verified, with the permissions from its token resolved once so
+ * they can be checked synchronously.
+ */
+public class AuthenticatedUser extends AbstractUser {
+  static final String PERMISSIONS_CLAIM = "permissions";
+  private static final String EXPIRY_CLAIM = "exp";
+
+  private final User user;
+  private final Set<String> permissions;
+  private final long expiresAtMillis;
+
+  AuthenticatedUser(final User user) {
+    this.user = user;
+    this.permissions = permissionsOf(user);
+    final JsonObject principal = user.principal();
+    this.expiresAtMillis =
+        principal != null && principal.getValue(EXPIRY_CLAIM) instanceof Number
+            ? principal.getLong(EXPIRY_CLAIM) * 1000
+            : Long.MAX_VALUE;
+  }
+
+  /**
+   * Resolves the permissions granted to a user by the permissions claim of its token.
+   *
+   * @param user the user to resolve permissions for
+   * @return the permissions granted to the user
+   */
+  public static Set<String> permissionsOf(final User user) {
+    if (user instanceof AuthenticatedUser) {
+      return ((AuthenticatedUser) user).permissions;
+    }
+    final JsonObject principal = user.principal();
+    final JsonArray granted = principal == null ? null : principal.getJsonArray(PERMISSIONS_CLAIM);
+    if (granted == null) {
+      return ImmutableSet.of();
+    }
+    final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+    granted.forEach(permission -> builder.add(String.valueOf(permission)));
+    return builder.build();
+  }
+
+  boolean isExpired(final long nowMillis) {
+    return nowMillis >= expiresAtMillis;
+  }
+
+  @Override
+  protected void doIsPermitted(
+      final String permission, final Handler<AsyncResult<Boolean>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(permissions.contains(permission)));
+  }
+
+  @Override
+  public JsonObject principal() {
+    return user.principal();
+  }
+
+  @Override
+  public void setAuthProvider(final AuthProvider authProvider) {
+    user.setAuthProvider(authProvider);
+  }
+
+  @Override
+  public String toString() {
+    return user.toString();
+  }
+}
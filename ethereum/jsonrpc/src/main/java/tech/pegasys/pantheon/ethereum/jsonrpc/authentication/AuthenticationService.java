@@ -20,10 +20,14 @@ import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
@@ -37,9 +41,19 @@ import io.vertx.ext.web.RoutingContext;
 
 /** Provides authentication handlers for use in the http and websocket services */
 public class AuthenticationService {
+  private static final int MAX_CACHED_TOKENS = 1024;
+  // Cached tokens are verified again after this long, so tokens without an expiry claim are not
+  // trusted indefinitely
+  private static final long MAX_CACHED_TOKEN_MINUTES = 5;
+
   private final JWTAuth jwtAuthProvider;
   @VisibleForTesting public final JWTAuthOptions jwtAuthOptions;
   private final AuthProvider credentialAuthProvider;
+  private final Cache<String, AuthenticatedUser> authenticatedUsers =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_TOKENS)
+          .expireAfterWrite(MAX_CACHED_TOKEN_MINUTES, TimeUnit.MINUTES)
+          .build();
 
   private AuthenticationService(
       final JWTAuth jwtAuthProvider,
@@ -131,7 +145,7 @@ public class AuthenticationService {
 
       final JWTAuthOptions jwtAuthOptions =
           new JWTAuthOptions()
-              .setPermissionsClaimKey("permissions")
+              .setPermissionsClaimKey(AuthenticatedUser.PERMISSIONS_CLAIM)
               .addPubSecKey(
                   new PubSecKeyOptions()
                       .setAlgorithm("RS256")
@@ -222,6 +236,42 @@ public class AuthenticationService {
         });
   }
 
+  /**
+   * Authenticates a JWT, reusing the result of an earlier verification of the same token until the
+   * token expires or for at most five minutes
+   *
+   * @param token The JWT presented with the request
+   * @param handler Called with the authenticated user, or empty if the token could not be verified
+   */
+  public void authenticate(final String token, final Handler<Optional<User>> handler) {
+    final AuthenticatedUser cachedUser = authenticatedUsers.getIfPresent(token);
+    if (cachedUser != null) {
+      if (!cachedUser.isExpired(System.currentTimeMillis())) {
+        handler.handle(Optional.of(cachedUser));
+        return;
+      }
+      authenticatedUsers.invalidate(token);
+    }
+
+    jwtAuthProvider.authenticate(
+        new JsonObject().put("jwt", token),
+        (r) -> {
+          if (r.failed()) {
+            handler.handle(Optional.empty());
+            return;
+          }
+          final AuthenticatedUser user = new AuthenticatedUser(r.result());
+          authenticatedUsers.put(token, user);
+          handler.handle(Optional.of(user));
+        });
+  }
+
+  @VisibleForTesting
+  long cachedTokenCount() {
+    authenticatedUsers.cleanUp();
+    return authenticatedUsers.size();
+  }
+
   public JWTAuth getJwtAuthProvider() {
     return jwtAuthProvider;
   }
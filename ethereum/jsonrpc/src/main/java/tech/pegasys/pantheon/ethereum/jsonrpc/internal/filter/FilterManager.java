@@ -25,7 +25,10 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.vertx.core.AbstractVerticle;
@@ -133,22 +136,40 @@ public class FilterManager extends AbstractVerticle {
           }
         });
 
-    checkBlockchainForMatchingLogsForFilters();
+    checkBlockchainForMatchingLogsForFilters(event);
   }
 
-  private void checkBlockchainForMatchingLogsForFilters() {
+  private void checkBlockchainForMatchingLogsForFilters(final BlockAddedEvent event) {
     final Collection<LogFilter> logFilters = filterRepository.getFiltersOfType(LogFilter.class);
-    logFilters.forEach(
-        (filter) -> {
-          final long headBlockNumber = blockchainQueries.headBlockNumber();
-          final long toBlockNumber =
-              filter.getToBlock().getNumber().orElse(blockchainQueries.headBlockNumber());
-          final List<LogWithMetadata> logs =
-              blockchainQueries.matchingLogs(headBlockNumber, toBlockNumber, filter.getLogsQuery());
-          filter.addLog(logs);
+    if (logFilters.isEmpty()) {
+      return;
+    }
+
+    final LogsQueryIndex<LogFilter> filterIndex = new LogsQueryIndex<>();
+    logFilters.forEach(filter -> filterIndex.add(filter.getLogsQuery(), filter));
+
+    // The event's logs are decoded once and handed to every filter they match
+    final Map<LogFilter, List<LogWithMetadata>> matchingLogs = new LinkedHashMap<>();
+    for (final LogWithMetadata log : blockchainQueries.logsOfBlockAddedEvent(event)) {
+      for (final LogFilter filter : filterIndex.matching(log.getAddress(), log.getTopics())) {
+        if (isBeforeToBlock(filter, log.getBlockNumber())) {
+          matchingLogs.computeIfAbsent(filter, key -> new ArrayList<>()).add(log);
+        }
+      }
+    }
+    matchingLogs.forEach(
+        (filter, logs) -> {
+          synchronized (filter) {
+            filter.addLog(logs);
+          }
         });
   }
 
+  private boolean isBeforeToBlock(final LogFilter filter, final long blockNumber) {
+    final OptionalLong toBlockNumber = filter.getToBlock().getNumber();
+    return !toBlockNumber.isPresent() || blockNumber <= toBlockNumber.getAsLong();
+  }
+
   @VisibleForTesting
   void recordPendingTransactionEvent(final Transaction transaction) {
     final Collection<PendingTransactionFilter> pendingTransactionFilters =
@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.TopicsParameter;
 
 import java.util.Arrays;
@@ -33,7 +34,38 @@ public class LogsQuery {
   }
 
   public boolean matches(final Log log) {
-    return matchesAddresses(log.getLogger()) && matchesTopics(log.getTopics());
+    return matches(log.getLogger(), log.getTopics());
+  }
+
+  public boolean matches(final Address logger, final List<LogTopic> topics) {
+    return matchesAddresses(logger) && matchesTopics(topics);
+  }
+
+  /**
+   * Checks a block's logs bloom to decide whether the block could hold matching logs, without
+   * loading its receipts.
+   *
+   * @param bloom the logs bloom of the block
+   * @return false if no log of the block can match this query
+   */
+  public boolean couldMatch(final LogsBloomFilter bloom) {
+    if (!queryAddresses.isEmpty() && queryAddresses.stream().noneMatch(bloom::couldContain)) {
+      return false;
+    }
+    for (final List<LogTopic> criteria : queryTopics) {
+      if (!criteria.contains(null) && criteria.stream().noneMatch(bloom::couldContain)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public List<Address> getAddresses() {
+    return queryAddresses;
+  }
+
+  public List<List<LogTopic>> getTopics() {
+    return queryTopics;
   }
 
   private boolean matchesAddresses(final Address address) {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes log queries by the addresses they require or, for queries without addresses, by the
+ * topics they require in first position. A log is then only checked against the queries that
+ * could match it, instead of against every installed query.
+ *
+ * @param <T> the type of the values, such as filters or subscriptions, the queries belong to
+ */
+public class LogsQueryIndex<T> {
+
+  private final Map<Address, List<Entry<T>>> byAddress = new HashMap<>();
+  private final Map<LogTopic, List<Entry<T>>> byFirstTopic = new HashMap<>();
+  private final List<Entry<T>> unindexed = new ArrayList<>();
+
+  public void add(final LogsQuery query, final T value) {
+    final Entry<T> entry = new Entry<>(query, value);
+    if (!query.getAddresses().isEmpty()) {
+      for (final Address address : new LinkedHashSet<>(query.getAddresses())) {
+        byAddress.computeIfAbsent(address, key -> new ArrayList<>()).add(entry);
+      }
+    } else if (!query.getTopics().isEmpty() && !query.getTopics().get(0).contains(null)) {
+      for (final LogTopic topic : new LinkedHashSet<>(query.getTopics().get(0))) {
+        byFirstTopic.computeIfAbsent(topic, key -> new ArrayList<>()).add(entry);
+      }
+    } else {
+      unindexed.add(entry);
+    }
+  }
+
+  /**
+   * Returns the values whose query matches the given log.
+   *
+   * @param logger the address of the contract that emitted the log
+   * @param topics the topics of the log
+   * @return the values whose query matches the log
+   */
+  public List<T> matching(final Address logger, final List<LogTopic> topics) {
+    final List<T> matches = new ArrayList<>();
+    addMatches(byAddress.getOrDefault(logger, Collections.emptyList()), logger, topics, matches);
+    if (!topics.isEmpty()) {
+      addMatches(
+          byFirstTopic.getOrDefault(topics.get(0), Collections.emptyList()),
+          logger,
+          topics,
+          matches);
+    }
+    addMatches(unindexed, logger, topics, matches);
+    return matches;
+  }
+
+  private void addMatches(
+      final List<Entry<T>> candidates,
+      final Address logger,
+      final List<LogTopic> topics,
+      final List<T> matches) {
+    for (final Entry<T> candidate : candidates) {
+      if (candidate.query.matches(logger, topics)) {
+        matches.add(candidate.value);
+      }
+    }
+  }
+
+  private static class Entry<T> {
+    private final LogsQuery query;
+    private final T value;
+
+    private Entry(final LogsQuery query, final T value) {
+      this.query = query;
+      this.value = value;
+    }
+  }
+}
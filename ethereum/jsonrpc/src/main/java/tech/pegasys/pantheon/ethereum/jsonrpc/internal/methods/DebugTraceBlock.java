@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHashFunction;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrameLimitExceededException;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceParams;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class DebugTraceBlock implements JsonRpcMethod {
+
+  private final JsonRpcParameter parameters;
+  private final TransactionTracer transactionTracer;
+  private final BlockHashFunction blockHashFunction;
+
+  public DebugTraceBlock(
+      final JsonRpcParameter parameters,
+      final TransactionTracer transactionTracer,
+      final BlockHashFunction blockHashFunction) {
+    this.parameters = parameters;
+    this.transactionTracer = transactionTracer;
+    this.blockHashFunction = blockHashFunction;
+  }
+
+  @Override
+  public String getName() {
+    return "debug_traceBlock";
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequest request) {
+    final String input = parameters.required(request.getParams(), 0, String.class);
+    final Block block;
+    try {
+      block = Block.readFrom(RLP.input(BytesValue.fromHexString(input)), blockHashFunction);
+    } catch (final IllegalArgumentException | RLPException e) {
+      throw new InvalidJsonRpcParameters("Invalid block RLP", e);
+    }
+    final TraceOptions traceOptions =
+        parameters
+            .optional(request.getParams(), 1, TransactionTraceParams.class)
+            .map(TransactionTraceParams::traceOptions)
+            .orElse(TraceOptions.DEFAULT);
+
+    try {
+      return transactionTracer
+          .traceBlock(block, traceOptions)
+          .<JsonRpcResponse>map(
+              traces -> new JsonRpcSuccessResponse(request.getId(), results(traces)))
+          .orElse(new JsonRpcErrorResponse(request.getId(), JsonRpcError.PARENT_BLOCK_NOT_FOUND));
+    } catch (final TraceFrameLimitExceededException e) {
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.TRACE_FRAME_LIMIT_EXCEEDED);
+    }
+  }
+
+  private static List<DebugTraceTransactionResult> results(final List<TransactionTrace> traces) {
+    return traces.stream().map(DebugTraceTransactionResult::new).collect(Collectors.toList());
+  }
+}
@@ -16,8 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.CallParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessingResult;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessor;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionGasEstimator;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
@@ -30,15 +29,15 @@ import java.util.function.Function;
 public class EthEstimateGas implements JsonRpcMethod {
 
   private final BlockchainQueries blockchainQueries;
-  private final TransientTransactionProcessor transientTransactionProcessor;
+  private final TransientTransactionGasEstimator transientTransactionGasEstimator;
   private final JsonRpcParameter parameters;
 
   public EthEstimateGas(
       final BlockchainQueries blockchainQueries,
-      final TransientTransactionProcessor transientTransactionProcessor,
+      final TransientTransactionGasEstimator transientTransactionGasEstimator,
       final JsonRpcParameter parameters) {
     this.blockchainQueries = blockchainQueries;
-    this.transientTransactionProcessor = transientTransactionProcessor;
+    this.transientTransactionGasEstimator = transientTransactionGasEstimator;
     this.parameters = parameters;
   }
 
@@ -60,8 +59,8 @@ public class EthEstimateGas implements JsonRpcMethod {
     final CallParameter modifiedCallParams =
         overrideGasLimitAndPrice(callParams, blockHeader.getGasLimit());
 
-    return transientTransactionProcessor
-        .process(modifiedCallParams, blockHeader.getNumber())
+    return transientTransactionGasEstimator
+        .estimate(modifiedCallParams, blockHeader)
         .map(gasEstimateResponse(request))
         .orElse(errorResponse(request));
   }
@@ -82,10 +81,8 @@ public class EthEstimateGas implements JsonRpcMethod {
         callParams.getPayload() != null ? callParams.getPayload().toString() : null);
   }
 
-  private Function<TransientTransactionProcessingResult, JsonRpcResponse> gasEstimateResponse(
-      final JsonRpcRequest request) {
-    return result ->
-        new JsonRpcSuccessResponse(request.getId(), Quantity.create(result.getGasEstimate()));
+  private Function<Long, JsonRpcResponse> gasEstimateResponse(final JsonRpcRequest request) {
+    return gasEstimate -> new JsonRpcSuccessResponse(request.getId(), Quantity.create(gasEstimate));
   }
 
   private JsonRpcErrorResponse errorResponse(final JsonRpcRequest request) {
@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
 import tech.pegasys.pantheon.ethereum.blockcreation.MiningCoordinator;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.Quantity;
@@ -22,9 +23,12 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.Quantity;
 public class EthGasPrice implements JsonRpcMethod {
 
   private final MiningCoordinator miningCoordinator;
+  private final GasPriceOracle gasPriceOracle;
 
-  public EthGasPrice(final MiningCoordinator miningCoordinator) {
+  public EthGasPrice(
+      final MiningCoordinator miningCoordinator, final GasPriceOracle gasPriceOracle) {
     this.miningCoordinator = miningCoordinator;
+    this.gasPriceOracle = gasPriceOracle;
   }
 
   @Override
@@ -34,12 +38,21 @@ public class EthGasPrice implements JsonRpcMethod {
 
   @Override
   public JsonRpcResponse response(final JsonRpcRequest req) {
-    final Wei gasPrice;
+    final Wei minGasPrice = miningCoordinator.getMinTransactionGasPrice();
+    // Never suggest a price this node would not accept for mining.
+    final Wei gasPrice =
+        gasPriceOracle
+            .getGasPrice()
+            .filter(suggestedGasPrice -> isAbove(suggestedGasPrice, minGasPrice))
+            .orElse(minGasPrice);
     Object result = null;
-    gasPrice = miningCoordinator.getMinTransactionGasPrice();
     if (gasPrice != null) {
       result = Quantity.create(gasPrice.toLong());
     }
     return new JsonRpcSuccessResponse(req.getId(), result);
   }
+
+  private boolean isAbove(final Wei gasPrice, final Wei minGasPrice) {
+    return minGasPrice == null || gasPrice.compareTo(minGasPrice) > 0;
+  }
 }
@@ -13,17 +13,22 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class BlockReplay {
@@ -53,12 +58,7 @@ public class BlockReplay {
     }
     final ProtocolSpec<?> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
     final TransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
-    final BlockHeader previous = blockchain.getBlockHeader(header.getParentHash()).orElse(null);
-    if (previous == null) {
-      return Optional.empty();
-    }
-    final MutableWorldState mutableWorldState =
-        worldStateArchive.getMutable(previous.getStateRoot()).orElse(null);
+    final MutableWorldState mutableWorldState = parentWorldState(header).orElse(null);
     if (mutableWorldState == null) {
       return Optional.empty();
     }
@@ -69,33 +69,77 @@ public class BlockReplay {
             action.performAction(
                 transaction, header, blockchain, mutableWorldState, transactionProcessor));
       } else {
-        final ProtocolSpec<?> spec = protocolSchedule.getByBlockNumber(header.getNumber());
+        final WorldUpdater updater = mutableWorldState.updater();
         transactionProcessor.processTransaction(
-            blockchain,
-            mutableWorldState.updater(),
-            header,
-            transaction,
-            spec.getMiningBeneficiaryCalculator().calculateBeneficiary(header),
-            blockHashLookup);
+            blockchain, updater, header, transaction, miningBeneficiary(header), blockHashLookup);
+        updater.commit();
       }
     }
     return Optional.empty();
   }
 
+  /**
+   * Replays every transaction of a block once, in order, performing the action for each on top of
+   * the state left by the transactions before it. Each action must commit the changes its
+   * transaction makes to the world state for the next transaction to see them.
+   *
+   * @param block the block to replay, which need not be part of the chain
+   * @param action the action performed for, and responsible for processing, each transaction
+   * @param <T> the type of result of each action
+   * @return the result of each transaction's action, or empty if the parent state is unavailable
+   */
+  public <T> Optional<List<T>> block(final Block block, final Action<T> action) {
+    final BlockHeader header = block.getHeader();
+    final MutableWorldState mutableWorldState = parentWorldState(header).orElse(null);
+    if (mutableWorldState == null) {
+      return Optional.empty();
+    }
+    final TransactionProcessor transactionProcessor =
+        protocolSchedule.getByBlockNumber(header.getNumber()).getTransactionProcessor();
+    final List<T> results = new ArrayList<>();
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      results.add(
+          action.performAction(
+              transaction, header, blockchain, mutableWorldState, transactionProcessor));
+    }
+    return Optional.of(results);
+  }
+
+  /**
+   * Returns the account credited with the fees of the block's transactions, which isn't the
+   * coinbase for every consensus mechanism.
+   *
+   * @param header the header of the block being replayed
+   * @return the mining beneficiary of the block
+   */
+  public Address miningBeneficiary(final BlockHeader header) {
+    return protocolSchedule
+        .getByBlockNumber(header.getNumber())
+        .getMiningBeneficiaryCalculator()
+        .calculateBeneficiary(header);
+  }
+
+  private Optional<MutableWorldState> parentWorldState(final BlockHeader header) {
+    return blockchain
+        .getBlockHeader(header.getParentHash())
+        .flatMap(previous -> worldStateArchive.getMutable(previous.getStateRoot()));
+  }
+
   public <T> Optional<T> afterTransactionInBlock(
       final Hash blockHash, final Hash transactionHash, final Action<T> action) {
     return beforeTransactionInBlock(
         blockHash,
         transactionHash,
         (transaction, blockHeader, blockchain, worldState, transactionProcessor) -> {
-          final ProtocolSpec<?> spec = protocolSchedule.getByBlockNumber(blockHeader.getNumber());
+          final WorldUpdater updater = worldState.updater();
           transactionProcessor.processTransaction(
               blockchain,
-              worldState.updater(),
+              updater,
               blockHeader,
               transaction,
-              spec.getMiningBeneficiaryCalculator().calculateBeneficiary(blockHeader),
+              miningBeneficiary(blockHeader),
               new BlockHashLookup(blockHeader, blockchain));
+          updater.commit();
           return action.performAction(
               transaction, blockHeader, blockchain, worldState, transactionProcessor);
         });
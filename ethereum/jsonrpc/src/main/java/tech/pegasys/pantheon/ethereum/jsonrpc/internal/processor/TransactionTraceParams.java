@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.exception.InvalidJsonRpcParameters;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -24,18 +25,34 @@ public class TransactionTraceParams {
   private final boolean disableStorage;
   private final boolean disableMemory;
   private final boolean disableStack;
+  private final Integer maxFrames;
 
   @JsonCreator()
   public TransactionTraceParams(
       @JsonProperty("disableStorage") final boolean disableStorage,
       @JsonProperty("disableMemory") final boolean disableMemory,
-      @JsonProperty("disableStack") final boolean disableStack) {
+      @JsonProperty("disableStack") final boolean disableStack,
+      @JsonProperty("maxFrames") final Integer maxFrames) {
     this.disableStorage = disableStorage;
     this.disableMemory = disableMemory;
     this.disableStack = disableStack;
+    this.maxFrames = maxFrames;
   }
 
+  /**
+   * The options to trace with. A requested frame limit may lower, but never raise, the default
+   * limit.
+   *
+   * @return the trace options
+   */
   public TraceOptions traceOptions() {
-    return new TraceOptions(!disableStorage, !disableMemory, !disableStack);
+    if (maxFrames != null && maxFrames < 1) {
+      throw new InvalidJsonRpcParameters("maxFrames must be positive");
+    }
+    final int frameLimit =
+        maxFrames == null
+            ? TraceOptions.DEFAULT_MAX_FRAMES
+            : Math.min(maxFrames, TraceOptions.DEFAULT_MAX_FRAMES);
+    return new TraceOptions(!disableStorage, !disableMemory, !disableStack, frameLimit);
   }
 }
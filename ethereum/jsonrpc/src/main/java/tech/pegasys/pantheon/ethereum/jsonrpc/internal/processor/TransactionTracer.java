@@ -12,11 +12,20 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 
+import java.util.List;
 import java.util.Optional;
 
 /** Used to produce debug traces of transactions */
@@ -33,17 +42,51 @@ public class TransactionTracer {
     return blockReplay.beforeTransactionInBlock(
         blockHash,
         transactionHash,
-        (transaction, header, blockchain, mutableWorldState, transactionProcessor) -> {
-          final Result result =
-              transactionProcessor.processTransaction(
-                  blockchain,
-                  mutableWorldState.updater(),
-                  header,
-                  transaction,
-                  header.getCoinbase(),
-                  tracer,
-                  new BlockHashLookup(header, blockchain));
-          return new TransactionTrace(transaction, result, tracer.getTraceFrames());
-        });
+        (transaction, header, blockchain, mutableWorldState, transactionProcessor) ->
+            trace(
+                transaction, header, blockchain, mutableWorldState, transactionProcessor, tracer));
+  }
+
+  /**
+   * Traces every transaction of a block, replaying the block only once.
+   *
+   * @param block the block to trace
+   * @param options the trace options used for each transaction
+   * @return a trace per transaction, or empty if the parent state of the block is unavailable
+   */
+  public Optional<List<TransactionTrace>> traceBlock(
+      final Block block, final TraceOptions options) {
+    return blockReplay.block(
+        block,
+        (transaction, header, blockchain, mutableWorldState, transactionProcessor) ->
+            trace(
+                transaction,
+                header,
+                blockchain,
+                mutableWorldState,
+                transactionProcessor,
+                new DebugOperationTracer(options)));
+  }
+
+  private TransactionTrace trace(
+      final Transaction transaction,
+      final BlockHeader header,
+      final Blockchain blockchain,
+      final MutableWorldState mutableWorldState,
+      final TransactionProcessor transactionProcessor,
+      final DebugOperationTracer tracer) {
+    final WorldUpdater updater = mutableWorldState.updater();
+    final Result result =
+        transactionProcessor.processTransaction(
+            blockchain,
+            updater,
+            header,
+            transaction,
+            blockReplay.miningBeneficiary(header),
+            tracer,
+            new BlockHashLookup(header, blockchain));
+    // Later transactions of a traced block run on top of this one's changes
+    updater.commit();
+    return new TransactionTrace(transaction, result, tracer.getTraceFrames());
   }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.CallParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.Quantity;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Estimates the smallest gas limit a call succeeds with.
+ *
+ * <p>Executing once at the block gas limit and reporting the gas used underestimates calls that
+ * receive refunds or branch on the remaining gas, so the limit is found by searching between the
+ * gas used and the block gas limit. Each probe runs against a world state view that is loaded once
+ * per estimate, so trie nodes read by one probe are reused by the next.
+ *
+ * <p>When more than one parallel probe is configured each round splits the remaining range into
+ * that many points, each evaluated on its own world state view, which takes fewer rounds at the
+ * cost of one world state view per probe.
+ */
+public class TransientTransactionGasEstimator {
+
+  private final WorldStateArchive worldStateArchive;
+  private final TransientTransactionProcessor transientTransactionProcessor;
+  private final Executor probeExecutor;
+  private final int parallelProbes;
+
+  public TransientTransactionGasEstimator(
+      final WorldStateArchive worldStateArchive,
+      final TransientTransactionProcessor transientTransactionProcessor) {
+    this(worldStateArchive, transientTransactionProcessor, MoreExecutors.directExecutor(), 1);
+  }
+
+  public TransientTransactionGasEstimator(
+      final WorldStateArchive worldStateArchive,
+      final TransientTransactionProcessor transientTransactionProcessor,
+      final Executor probeExecutor,
+      final int parallelProbes) {
+    checkArgument(parallelProbes > 0, "Must run at least one probe at a time");
+    this.worldStateArchive = worldStateArchive;
+    this.transientTransactionProcessor = transientTransactionProcessor;
+    this.probeExecutor = probeExecutor;
+    this.parallelProbes = parallelProbes;
+  }
+
+  public Optional<Long> estimate(final CallParameter callParams, final BlockHeader header) {
+    final List<MutableWorldState> worldStates = new ArrayList<>(parallelProbes);
+    for (int i = 0; i < parallelProbes; i++) {
+      final Optional<MutableWorldState> worldState =
+          worldStateArchive.getMutable(header.getStateRoot());
+      if (!worldState.isPresent()) {
+        return Optional.empty();
+      }
+      worldStates.add(worldState.get());
+    }
+
+    final long gasCap = header.getGasLimit();
+    final TransientTransactionProcessingResult capResult =
+        transientTransactionProcessor.process(
+            withGasLimit(callParams, gasCap), header, worldStates.get(0));
+    final long gasUsed = capResult.getGasEstimate();
+    if (!capResult.isSuccessful() || gasUsed >= gasCap) {
+      return Optional.of(gasUsed);
+    }
+    // Most calls need no more gas than they end up using, so check that before searching.
+    if (isSuccessful(callParams, gasUsed, header, worldStates.get(0))) {
+      return Optional.of(gasUsed);
+    }
+    return Optional.of(search(callParams, header, worldStates, gasUsed, gasCap));
+  }
+
+  private long search(
+      final CallParameter callParams,
+      final BlockHeader header,
+      final List<MutableWorldState> worldStates,
+      final long failingGasLimit,
+      final long successfulGasLimit) {
+    long lowerBound = failingGasLimit;
+    long upperBound = successfulGasLimit;
+    while (upperBound - lowerBound > 1) {
+      final int probeCount = (int) Math.min(parallelProbes, upperBound - lowerBound - 1);
+      final long step = (upperBound - lowerBound) / (probeCount + 1);
+      final long[] gasLimits = new long[probeCount];
+      final List<CompletableFuture<Boolean>> probes = new ArrayList<>(probeCount);
+      for (int i = 0; i < probeCount; i++) {
+        final long gasLimit = lowerBound + step * (i + 1);
+        final MutableWorldState worldState = worldStates.get(i);
+        gasLimits[i] = gasLimit;
+        probes.add(
+            CompletableFuture.supplyAsync(
+                () -> isSuccessful(callParams, gasLimit, header, worldState), probeExecutor));
+      }
+      // Wait for every probe so no world state is still in use when the next round starts.
+      CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0])).join();
+      for (int i = 0; i < probeCount; i++) {
+        if (probes.get(i).join()) {
+          upperBound = gasLimits[i];
+          break;
+        }
+        lowerBound = gasLimits[i];
+      }
+    }
+    return upperBound;
+  }
+
+  private boolean isSuccessful(
+      final CallParameter callParams,
+      final long gasLimit,
+      final BlockHeader header,
+      final MutableWorldState worldState) {
+    return transientTransactionProcessor
+        .process(withGasLimit(callParams, gasLimit), header, worldState)
+        .isSuccessful();
+  }
+
+  private CallParameter withGasLimit(final CallParameter callParams, final long gasLimit) {
+    return new CallParameter(
+        callParams.getFrom() != null ? callParams.getFrom().toString() : null,
+        callParams.getTo() != null ? callParams.getTo().toString() : null,
+        Quantity.create(gasLimit),
+        callParams.getGasPrice() != null ? Quantity.create(callParams.getGasPrice()) : null,
+        callParams.getValue() != null ? Quantity.create(callParams.getValue()) : null,
+        callParams.getPayload() != null ? callParams.getPayload().toString() : null);
+  }
+}
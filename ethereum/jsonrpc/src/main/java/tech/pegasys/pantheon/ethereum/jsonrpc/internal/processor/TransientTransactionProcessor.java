@@ -71,7 +71,22 @@ public class TransientTransactionProcessor {
     if (worldState == null) {
       return Optional.empty();
     }
+    return Optional.of(process(callParams, header, worldState));
+  }
 
+  /**
+   * Processes the call against the supplied world state. Changes are never committed, so the same
+   * world state can be reused to process multiple calls.
+   *
+   * @param callParams the call parameters
+   * @param header the header of the block the call is executed in
+   * @param worldState the world state at the end of the block
+   * @return the result of processing the call
+   */
+  public TransientTransactionProcessingResult process(
+      final CallParameter callParams,
+      final BlockHeader header,
+      final MutableWorldState worldState) {
     final Address senderAddress =
         callParams.getFrom() != null ? callParams.getFrom() : DEFAULT_FROM;
     final Account sender = worldState.get(senderAddress);
@@ -108,6 +123,6 @@ public class TransientTransactionProcessor {
             protocolSpec.getMiningBeneficiaryCalculator().calculateBeneficiary(header),
             new BlockHashLookup(header, blockchain));
 
-    return Optional.of(new TransientTransactionProcessingResult(transaction, result));
+    return new TransientTransactionProcessingResult(transaction, result);
   }
 }
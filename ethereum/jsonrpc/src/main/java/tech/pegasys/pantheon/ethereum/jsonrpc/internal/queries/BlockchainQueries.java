@@ -14,6 +14,8 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent.EventType;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.chain.TransactionLocation;
 import tech.pegasys.pantheon.ethereum.core.Account;
@@ -22,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
@@ -33,7 +36,11 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -44,10 +51,20 @@ public class BlockchainQueries {
 
   private final WorldStateArchive worldStateArchive;
   private final Blockchain blockchain;
+  private final Optional<BloomBitsIndex> bloomBitsIndex;
+  private volatile EventLogs lastEventLogs;
 
   public BlockchainQueries(final Blockchain blockchain, final WorldStateArchive worldStateArchive) {
+    this(blockchain, worldStateArchive, Optional.empty());
+  }
+
+  public BlockchainQueries(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<BloomBitsIndex> bloomBitsIndex) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
+    this.bloomBitsIndex = bloomBitsIndex;
   }
 
   public Blockchain getBlockchain() {
@@ -485,26 +502,49 @@ public class BlockchainQueries {
     if (fromBlockNumber > toBlockNumber || toBlockNumber > headBlockNumber()) {
       return Lists.newArrayList();
     }
-    List<LogWithMetadata> matchingLogs = Lists.newArrayList();
-    for (long blockNumber = fromBlockNumber; blockNumber <= toBlockNumber; blockNumber++) {
-      final Hash blockhash = blockchain.getBlockHashByNumber(blockNumber).get();
-      final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
-      final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
-      final List<Transaction> transaction =
-          blockchain.getBlockBody(blockhash).get().getTransactions();
-      matchingLogs =
-          generateLogWithMetadata(
-              receipts,
-              blockNumber,
-              query,
-              blockhash,
-              matchingLogs,
-              transaction,
-              logHasBeenRemoved);
+    final List<LogWithMetadata> matchingLogs = Lists.newArrayList();
+    long blockNumber = fromBlockNumber;
+    while (blockNumber <= toBlockNumber) {
+      final Optional<BitSet> candidates = indexedCandidates(blockNumber, query);
+      if (candidates.isPresent()) {
+        // Only blocks whose bloom bits match are read from the indexed section
+        final int sectionSize = bloomBitsIndex.get().getSectionSize();
+        final long sectionStart = blockNumber - blockNumber % sectionSize;
+        final long sectionEnd = Math.min(sectionStart + sectionSize - 1, toBlockNumber);
+        for (int offset = candidates.get().nextSetBit((int) (blockNumber - sectionStart));
+            offset >= 0 && sectionStart + offset <= sectionEnd;
+            offset = candidates.get().nextSetBit(offset + 1)) {
+          addMatchingLogs(sectionStart + offset, query, matchingLogs);
+        }
+        blockNumber = sectionEnd + 1;
+      } else {
+        addMatchingLogs(blockNumber, query, matchingLogs);
+        blockNumber++;
+      }
     }
     return matchingLogs;
   }
 
+  private Optional<BitSet> indexedCandidates(final long blockNumber, final LogsQuery query) {
+    return bloomBitsIndex.flatMap(
+        index -> index.candidateBlocks(blockNumber / index.getSectionSize(), query));
+  }
+
+  private void addMatchingLogs(
+      final long blockNumber, final LogsQuery query, final List<LogWithMetadata> matchingLogs) {
+    final Hash blockhash = blockchain.getBlockHashByNumber(blockNumber).get();
+    // The header's logs bloom rules out most blocks before their receipts and body are read
+    if (!query.couldMatch(blockchain.getBlockHeader(blockhash).get().getLogsBloom())) {
+      return;
+    }
+    final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
+    final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
+    final List<Transaction> transaction =
+        blockchain.getBlockBody(blockhash).get().getTransactions();
+    generateLogWithMetadata(
+        receipts, blockNumber, query, blockhash, matchingLogs, transaction, logHasBeenRemoved);
+  }
+
   public List<LogWithMetadata> matchingLogs(final Hash blockhash, final LogsQuery query) {
     final List<LogWithMetadata> matchingLogs = Lists.newArrayList();
     Optional<BlockHeader> blockHeader = blockchain.getBlockHeader(blockhash);
@@ -520,6 +560,93 @@ public class BlockchainQueries {
         receipts, number, query, blockhash, matchingLogs, transaction, logHasBeenRemoved);
   }
 
+  /**
+   * Returns every log added or removed by a block added event. The receipts and body of each
+   * affected block are read once, and the logs of the latest event are kept so that all filters
+   * and subscriptions observing the chain share them.
+   *
+   * @param event the block added event
+   * @return the logs of the added transactions followed by the logs of the removed transactions,
+   *     which are flagged as removed
+   */
+  public List<LogWithMetadata> logsOfBlockAddedEvent(final BlockAddedEvent event) {
+    final EventLogs cached = lastEventLogs;
+    if (cached != null && cached.event == event) {
+      return cached.logs;
+    }
+    final List<LogWithMetadata> logs = new ArrayList<>();
+    if (event.getEventType() == EventType.HEAD_ADVANCED) {
+      final Block block = event.getBlock();
+      final List<Transaction> transactions = block.getBody().getTransactions();
+      blockchain
+          .getTxReceipts(block.getHash())
+          .ifPresent(
+              receipts -> {
+                for (int index = 0; index < receipts.size(); ++index) {
+                  addLogs(block.getHeader(), transactions, receipts, index, false, logs);
+                }
+              });
+    } else {
+      addLogsOfTransactions(event.getAddedTransactions(), false, logs);
+      addLogsOfTransactions(event.getRemovedTransactions(), true, logs);
+    }
+    final List<LogWithMetadata> eventLogs = Collections.unmodifiableList(logs);
+    lastEventLogs = new EventLogs(event, eventLogs);
+    return eventLogs;
+  }
+
+  private void addLogsOfTransactions(
+      final List<Transaction> transactions,
+      final boolean removed,
+      final List<LogWithMetadata> logs) {
+    // Group the transactions by block so each block's receipts and body are read once
+    final Map<Hash, List<Integer>> indexesByBlock = new LinkedHashMap<>();
+    for (final Transaction transaction : transactions) {
+      blockchain
+          .getTransactionLocation(transaction.hash())
+          .ifPresent(
+              location ->
+                  indexesByBlock
+                      .computeIfAbsent(location.getBlockHash(), hash -> new ArrayList<>())
+                      .add(location.getTransactionIndex()));
+    }
+    indexesByBlock.forEach(
+        (blockhash, indexes) -> {
+          final BlockHeader header = blockchain.getBlockHeader(blockhash).get();
+          final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
+          final List<Transaction> blockTransactions =
+              blockchain.getBlockBody(blockhash).get().getTransactions();
+          for (final int index : indexes) {
+            addLogs(header, blockTransactions, receipts, index, removed, logs);
+          }
+        });
+  }
+
+  private void addLogs(
+      final BlockHeader header,
+      final List<Transaction> transactions,
+      final List<TransactionReceipt> receipts,
+      final int transactionIndex,
+      final boolean removed,
+      final List<LogWithMetadata> logs) {
+    final Hash transactionHash = transactions.get(transactionIndex).hash();
+    final List<Log> receiptLogs = receipts.get(transactionIndex).getLogs();
+    for (int logIndex = 0; logIndex < receiptLogs.size(); ++logIndex) {
+      final Log log = receiptLogs.get(logIndex);
+      logs.add(
+          LogWithMetadata.create(
+              logIndex,
+              header.getNumber(),
+              header.getHash(),
+              transactionHash,
+              transactionIndex,
+              log.getLogger(),
+              log.getData(),
+              log.getTopics(),
+              removed));
+    }
+  }
+
   private List<LogWithMetadata> generateLogWithMetadata(
       final List<TransactionReceipt> receipts,
       final long number,
@@ -593,4 +720,14 @@ public class BlockchainQueries {
   private boolean withinValidRange(final long blockNumber) {
     return blockNumber <= headBlockNumber() && blockNumber >= BlockHeader.GENESIS_BLOCK_NUMBER;
   }
+
+  private static class EventLogs {
+    private final BlockAddedEvent event;
+    private final List<LogWithMetadata> logs;
+
+    private EventLogs(final BlockAddedEvent event, final List<LogWithMetadata> logs) {
+      this.event = event;
+      this.logs = logs;
+    }
+  }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.LogsQuery;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A persistent, bit-sliced index of the logs blooms of canonical blocks.
+ *
+ * <p>The chain is split into sections of consecutive blocks. Once a section is final enough, the
+ * logs blooms of its blocks are rotated into one bit vector per bloom bit, where bit {@code i} of
+ * vector {@code b} is set if bloom bit {@code b} is set in the {@code i}th block of the section.
+ * Each section is stored in its own file, so a query only reads the few vectors for the bloom bits
+ * of the addresses and topics it asks for and ANDs them into the set of candidate blocks.
+ *
+ * <p>Each section file starts with the hash of the section's last block. A section is only used
+ * while that block is still canonical, and is indexed again if a reorg has replaced it.
+ */
+public class BloomBitsIndex implements BlockAddedObserver {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_SECTION_SIZE = 4096;
+  // Sections are only indexed once their last block is this deep, to stay clear of reorgs
+  public static final long DEFAULT_CONFIRMATIONS = 256;
+  private static final int HEADER_SIZE = Bytes32.SIZE;
+
+  private final Blockchain blockchain;
+  private final Path directory;
+  private final int sectionSize;
+  private final long confirmations;
+  private final Executor executor;
+  private final AtomicBoolean indexing = new AtomicBoolean(false);
+
+  private final AtomicLong indexedSections = new AtomicLong();
+
+  public BloomBitsIndex(final Blockchain blockchain, final Path directory) {
+    this(
+        blockchain,
+        directory,
+        DEFAULT_SECTION_SIZE,
+        DEFAULT_CONFIRMATIONS,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("bloom-bits-%d").build()));
+  }
+
+  BloomBitsIndex(
+      final Blockchain blockchain,
+      final Path directory,
+      final int sectionSize,
+      final long confirmations,
+      final Executor executor) {
+    checkArgument(
+        sectionSize > 0 && sectionSize % Byte.SIZE == 0,
+        "Section size must be a positive multiple of %s",
+        Byte.SIZE);
+    this.blockchain = blockchain;
+    this.directory = directory;
+    this.sectionSize = sectionSize;
+    this.confirmations = confirmations;
+    this.executor = executor;
+  }
+
+  /**
+   * Picks up the sections indexed by a previous run that still match the canonical chain and starts
+   * indexing new sections as blocks are added.
+   *
+   * @throws IOException if the index directory cannot be created
+   */
+  public void start() throws IOException {
+    Files.createDirectories(directory);
+    long section = 0;
+    while (Files.isRegularFile(sectionFile(section)) && isCanonical(section)) {
+      section++;
+    }
+    // Later sections are overwritten as they are indexed again
+    indexedSections.set(section);
+    blockchain.observeBlockAdded(this);
+    scheduleIndexing();
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    scheduleIndexing();
+  }
+
+  public int getSectionSize() {
+    return sectionSize;
+  }
+
+  public boolean isIndexed(final long section) {
+    return section < indexedSections.get();
+  }
+
+  /**
+   * Returns the blocks of a section whose logs bloom could match the query, as offsets from the
+   * first block of the section.
+   *
+   * @param section the section to query
+   * @param query the logs query
+   * @return the candidate blocks, or empty if the section is not indexed, cannot be read or no
+   *     longer matches the canonical chain
+   */
+  public Optional<BitSet> candidateBlocks(final long section, final LogsQuery query) {
+    if (!isIndexed(section)) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(sectionFile(section))) {
+      if (!lastBlockHash(section).equals(readHeader(channel))) {
+        LOG.debug("Bloom bits section {} was replaced by a reorg, indexing it again", section);
+        indexedSections.accumulateAndGet(section, Math::min);
+        scheduleIndexing();
+        return Optional.empty();
+      }
+      final BitSet candidates = new BitSet(sectionSize);
+      candidates.set(0, sectionSize);
+      if (!query.getAddresses().isEmpty()) {
+        candidates.and(anyOf(channel, query.getAddresses()));
+      }
+      for (final List<LogTopic> topics : query.getTopics()) {
+        if (!topics.contains(null)) {
+          candidates.and(anyOf(channel, topics));
+        }
+      }
+      return Optional.of(candidates);
+    } catch (final IOException e) {
+      LOG.warn("Unable to read bloom bits for section {}", section, e);
+      return Optional.empty();
+    }
+  }
+
+  private BitSet anyOf(final FileChannel channel, final List<? extends BytesValue> logItems)
+      throws IOException {
+    final BitSet result = new BitSet(sectionSize);
+    for (final BytesValue logItem : logItems) {
+      final BitSet itemBlocks = new BitSet(sectionSize);
+      itemBlocks.set(0, sectionSize);
+      for (final int bit : LogsBloomFilter.bitIndexes(logItem)) {
+        itemBlocks.and(readVector(channel, bit));
+      }
+      result.or(itemBlocks);
+    }
+    return result;
+  }
+
+  private BitSet readVector(final FileChannel channel, final int bit) throws IOException {
+    final int vectorSize = sectionSize / Byte.SIZE;
+    final ByteBuffer buffer = ByteBuffer.allocate(vectorSize);
+    readFully(channel, buffer, HEADER_SIZE + (long) bit * vectorSize);
+    return BitSet.valueOf(buffer.array());
+  }
+
+  private static Hash readHeader(final FileChannel channel) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+    readFully(channel, buffer, 0);
+    return Hash.wrap(Bytes32.wrap(buffer.array()));
+  }
+
+  private static void readFully(
+      final FileChannel channel, final ByteBuffer buffer, final long start) throws IOException {
+    long position = start;
+    while (buffer.hasRemaining()) {
+      final int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Truncated bloom bits section file");
+      }
+      position += read;
+    }
+  }
+
+  private boolean isCanonical(final long section) {
+    try (final FileChannel channel = FileChannel.open(sectionFile(section))) {
+      return lastBlockHash(section).equals(readHeader(channel));
+    } catch (final IOException e) {
+      LOG.warn("Unable to read bloom bits for section {}", section, e);
+      return false;
+    }
+  }
+
+  private Hash lastBlockHash(final long section) {
+    // A block that is missing, e.g. after the chain was rolled back, never matches a section
+    return blockchain.getBlockHashByNumber((section + 1) * sectionSize - 1).orElse(Hash.ZERO);
+  }
+
+  private void scheduleIndexing() {
+    if (indexing.compareAndSet(false, true)) {
+      executor.execute(
+          () -> {
+            try {
+              indexSections();
+            } catch (final Exception e) {
+              LOG.error("Failed to index bloom bits", e);
+            } finally {
+              indexing.set(false);
+            }
+          });
+    }
+  }
+
+  private void indexSections() throws IOException {
+    long section = indexedSections.get();
+    while ((section + 1) * sectionSize - 1 + confirmations
+        <= blockchain.getChainHeadBlockNumber()) {
+      writeSection(section);
+      // A query may have found an earlier section replaced by a reorg in the meantime
+      indexedSections.compareAndSet(section, section + 1);
+      section = indexedSections.get();
+    }
+  }
+
+  private void writeSection(final long section) throws IOException {
+    final int vectorSize = sectionSize / Byte.SIZE;
+    final byte[] contents = new byte[HEADER_SIZE + LogsBloomFilter.BIT_SIZE * vectorSize];
+    final long firstBlock = section * sectionSize;
+    BlockHeader header = null;
+    for (int i = 0; i < sectionSize; i++) {
+      final long blockNumber = firstBlock + i;
+      header =
+          blockchain
+              .getBlockHeader(blockNumber)
+              .orElseThrow(
+                  () -> new IllegalStateException("Missing header for block " + blockNumber));
+      final LogsBloomFilter bloom = header.getLogsBloom();
+      for (int bit = 0; bit < LogsBloomFilter.BIT_SIZE; bit++) {
+        if (bloom.isBitSet(bit)) {
+          contents[HEADER_SIZE + bit * vectorSize + i / Byte.SIZE] |= (byte) (1 << (i % Byte.SIZE));
+        }
+      }
+    }
+    header.getHash().copyTo(contents, 0, 0);
+    // Written aside and moved in place so a partially written section is never read
+    final Path file = sectionFile(section);
+    final Path tmpFile = directory.resolve(file.getFileName() + ".tmp");
+    Files.write(tmpFile, contents);
+    Files.move(
+        tmpFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    LOG.debug("Indexed bloom bits for blocks {} to {}", firstBlock, firstBlock + sectionSize - 1);
+  }
+
+  private Path sectionFile(final long section) {
+    return directory.resolve(String.format("section-%08d.bits", section));
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent.EventType;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Suggests a gas price from the transactions included in the most recent canonical blocks.
+ *
+ * <p>For each block the configured percentile of its transaction gas prices is recorded when the
+ * block is added, and the suggestion is the same percentile over the recorded window. The window is
+ * repaired from the blockchain when a reorg replaces blocks it covers, so answering a query never
+ * requires reading block bodies.
+ */
+public class GasPriceOracle implements BlockAddedObserver {
+
+  public static final int DEFAULT_BLOCKS = 20;
+  public static final int DEFAULT_PERCENTILE = 60;
+
+  private final Blockchain blockchain;
+  private final int blocks;
+  private final int percentile;
+  private final Deque<BlockGasPrice> window = new ArrayDeque<>();
+  private volatile Optional<Wei> gasPrice = Optional.empty();
+
+  public GasPriceOracle(final Blockchain blockchain, final int blocks, final int percentile) {
+    checkArgument(blocks > 0, "Gas price oracle must sample at least one block");
+    checkArgument(
+        percentile >= 0 && percentile <= 100, "Gas price percentile must be between 0 and 100");
+    this.blockchain = blockchain;
+    this.blocks = blocks;
+    this.percentile = percentile;
+  }
+
+  /** Populates the window from the current canonical chain. */
+  public synchronized void initialize() {
+    resynchronize();
+    updateGasPrice();
+  }
+
+  public Optional<Wei> getGasPrice() {
+    return gasPrice;
+  }
+
+  @Override
+  public synchronized void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    if (event.getEventType() == EventType.FORK) {
+      return;
+    }
+    final Block block = event.getBlock();
+    if (event.getEventType() == EventType.HEAD_ADVANCED && extendsWindow(block)) {
+      append(block);
+    } else {
+      resynchronize();
+    }
+    updateGasPrice();
+  }
+
+  private boolean extendsWindow(final Block block) {
+    return window.isEmpty()
+        || window.peekLast().getHash().equals(block.getHeader().getParentHash());
+  }
+
+  private void append(final Block block) {
+    window.addLast(
+        new BlockGasPrice(
+            block.getHeader().getNumber(),
+            block.getHash(),
+            percentileOf(
+                block.getBody().getTransactions().stream()
+                    .map(Transaction::getGasPrice)
+                    .collect(Collectors.toList()))));
+    while (window.size() > blocks) {
+      window.removeFirst();
+    }
+  }
+
+  private void resynchronize() {
+    // Discard entries the canonical chain no longer contains, then refill up to the chain head.
+    while (!window.isEmpty() && !isCanonical(window.peekLast())) {
+      window.removeLast();
+    }
+    final long chainHeadNumber = blockchain.getChainHeadBlockNumber();
+    final long oldestNumber = Math.max(0, chainHeadNumber - blocks + 1);
+    final long firstNumber =
+        window.isEmpty() ? oldestNumber : Math.max(oldestNumber, window.peekLast().getNumber() + 1);
+    for (long number = firstNumber; number <= chainHeadNumber; number++) {
+      final Optional<Block> block = canonicalBlock(number);
+      if (!block.isPresent()) {
+        break;
+      }
+      append(block.get());
+    }
+  }
+
+  private boolean isCanonical(final BlockGasPrice blockGasPrice) {
+    return blockchain
+        .getBlockHashByNumber(blockGasPrice.getNumber())
+        .map(blockGasPrice.getHash()::equals)
+        .orElse(false);
+  }
+
+  private Optional<Block> canonicalBlock(final long number) {
+    return blockchain
+        .getBlockHashByNumber(number)
+        .flatMap(
+            hash ->
+                blockchain
+                    .getBlockHeader(hash)
+                    .flatMap(
+                        header ->
+                            blockchain.getBlockBody(hash).map(body -> new Block(header, body))));
+  }
+
+  private void updateGasPrice() {
+    gasPrice =
+        percentileOf(
+            window.stream()
+                .map(BlockGasPrice::getGasPrice)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList()));
+  }
+
+  private Optional<Wei> percentileOf(final List<Wei> gasPrices) {
+    if (gasPrices.isEmpty()) {
+      return Optional.empty();
+    }
+    gasPrices.sort(Comparator.naturalOrder());
+    final int index = (gasPrices.size() - 1) * percentile / 100;
+    return Optional.of(gasPrices.get(index));
+  }
+
+  private static class BlockGasPrice {
+    private final long number;
+    private final Hash hash;
+    private final Optional<Wei> gasPrice;
+
+    private BlockGasPrice(final long number, final Hash hash, final Optional<Wei> gasPrice) {
+      this.number = number;
+      this.hash = hash;
+      this.gasPrice = gasPrice;
+    }
+
+    private long getNumber() {
+      return number;
+    }
+
+    private Hash getHash() {
+      return hash;
+    }
+
+    private Optional<Wei> getGasPrice() {
+      return gasPrice;
+    }
+  }
+}
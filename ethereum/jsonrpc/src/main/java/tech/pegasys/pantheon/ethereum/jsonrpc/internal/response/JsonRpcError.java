@@ -80,6 +80,13 @@ public enum JsonRpcError {
   // Permissioning/Authorization errors
   UNAUTHORIZED(-40100, "Unauthorized"),
 
+  // Request scheduling errors
+  REQUEST_LIMIT_EXCEEDED(-32000, "Request limit exceeded, try again later"),
+
+  // Debug failures
+  PARENT_BLOCK_NOT_FOUND(-32000, "Parent block not found"),
+  TRACE_FRAME_LIMIT_EXCEEDED(-32000, "Trace exceeded the maximum number of frames"),
+
   // Private transaction errors
   ENCLAVE_IS_DOWN(-32000, "Enclave is down");
 
@@ -16,10 +16,10 @@ import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.google.common.collect.Lists;
 
 @JsonPropertyOrder({"gas", "failed", "returnValue", "structLogs"})
 public class DebugTraceTransactionResult {
@@ -32,10 +32,11 @@ public class DebugTraceTransactionResult {
   public DebugTraceTransactionResult(final TransactionTrace transactionTrace) {
     gas = transactionTrace.getGas();
     returnValue = transactionTrace.getResult().getOutput().toString().substring(2);
+    // Struct logs are created as they are serialised so only one is held in memory at a time;
+    // trace frames share unchanged memory and storage, which the struct logs would not
     structLogs =
-        transactionTrace.getTraceFrames().stream()
-            .map(DebugTraceTransactionResult::createStructLog)
-            .collect(Collectors.toList());
+        Lists.transform(
+            transactionTrace.getTraceFrames(), DebugTraceTransactionResult::createStructLog);
     failed = !transactionTrace.getResult().isSuccessful();
   }
 
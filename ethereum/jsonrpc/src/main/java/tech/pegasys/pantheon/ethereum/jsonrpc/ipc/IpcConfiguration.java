@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.ipc;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
+import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApis;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+
+public class IpcConfiguration {
+  public static final String DEFAULT_IPC_FILE = "pantheon.ipc";
+  public static final Collection<RpcApi> DEFAULT_IPC_APIS =
+      Arrays.asList(RpcApis.ETH, RpcApis.NET, RpcApis.WEB3);
+  public static final int DEFAULT_MAX_PIPELINED_REQUESTS = 128;
+  public static final int DEFAULT_MAX_REQUEST_SIZE = 5 * 1024 * 1024;
+
+  private boolean enabled;
+  private Path path;
+  private Collection<RpcApi> rpcApis;
+  private int maxPipelinedRequests;
+  private int maxRequestSize;
+
+  public static IpcConfiguration createDefault() {
+    final IpcConfiguration config = new IpcConfiguration();
+    config.setEnabled(false);
+    config.setRpcApis(DEFAULT_IPC_APIS);
+    config.setMaxPipelinedRequests(DEFAULT_MAX_PIPELINED_REQUESTS);
+    config.setMaxRequestSize(DEFAULT_MAX_REQUEST_SIZE);
+    return config;
+  }
+
+  private IpcConfiguration() {}
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public void setPath(final Path path) {
+    this.path = path;
+  }
+
+  public Collection<RpcApi> getRpcApis() {
+    return rpcApis;
+  }
+
+  public void setRpcApis(final Collection<RpcApi> rpcApis) {
+    this.rpcApis = rpcApis;
+  }
+
+  public void addRpcApi(final RpcApi rpcApi) {
+    this.rpcApis = new ArrayList<>(rpcApis);
+    rpcApis.add(rpcApi);
+  }
+
+  public int getMaxPipelinedRequests() {
+    return maxPipelinedRequests;
+  }
+
+  public void setMaxPipelinedRequests(final int maxPipelinedRequests) {
+    this.maxPipelinedRequests = maxPipelinedRequests;
+  }
+
+  public int getMaxRequestSize() {
+    return maxRequestSize;
+  }
+
+  public void setMaxRequestSize(final int maxRequestSize) {
+    this.maxRequestSize = maxRequestSize;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("enabled", enabled)
+        .add("path", path)
+        .add("rpcApis", rpcApis)
+        .add("maxPipelinedRequests", maxPipelinedRequests)
+        .add("maxRequestSize", maxRequestSize)
+        .toString();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final IpcConfiguration that = (IpcConfiguration) o;
+    return enabled == that.enabled
+        && maxPipelinedRequests == that.maxPipelinedRequests
+        && maxRequestSize == that.maxRequestSize
+        && Objects.equal(path, that.path)
+        && Objects.equal(Lists.newArrayList(rpcApis), Lists.newArrayList(that.rpcApis));
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(enabled, path, rpcApis, maxPipelinedRequests, maxRequestSize);
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.ipc;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.JsonResponseStreamer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcNoResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponseType;
+import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.methods.WebSocketRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.SubscriptionManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.parsetools.RecordParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A single IPC client connection.
+ *
+ * <p>Each line received is a request or a batch of requests. Requests are pipelined: they run
+ * concurrently and each response is written as soon as it completes, so responses may arrive out
+ * of order and clients match them by id. Reading stops while too many requests are in flight or
+ * the socket's write queue is full, and resumes once they drain.
+ */
+class IpcConnection {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final String DELIMITER = "\n";
+  private static final JsonRpcResponse NO_RESPONSE = new JsonRpcNoResponse();
+
+  private final Vertx vertx;
+  private final NetSocket socket;
+  private final Map<String, JsonRpcMethod> methods;
+  private final int maxPipelinedRequests;
+  private final RecordParser parser;
+  // Subscriptions deliver their notifications to this event bus address
+  private final String connectionId = "ipc-" + UUID.randomUUID();
+
+  private MessageConsumer<String> notificationConsumer;
+  private int pendingRequests;
+  private boolean closed;
+
+  IpcConnection(
+      final Vertx vertx,
+      final NetSocket socket,
+      final Map<String, JsonRpcMethod> methods,
+      final IpcConfiguration configuration) {
+    this.vertx = vertx;
+    this.socket = socket;
+    this.methods = methods;
+    this.maxPipelinedRequests = configuration.getMaxPipelinedRequests();
+    this.parser =
+        RecordParser.newDelimited(DELIMITER, socket)
+            .maxRecordSize(configuration.getMaxRequestSize());
+  }
+
+  void start() {
+    LOG.debug("IPC connection opened ({})", connectionId);
+    notificationConsumer =
+        vertx.eventBus().localConsumer(connectionId, message -> writeNotification(message.body()));
+
+    parser.handler(this::handleLine);
+    parser.exceptionHandler(
+        t -> {
+          LOG.debug("Unrecoverable error on IPC connection: {} ({})", t.getMessage(), connectionId);
+          socket.close();
+        });
+    socket.drainHandler(v -> updateReading());
+    socket.closeHandler(
+        v -> {
+          LOG.debug("IPC connection closed ({})", connectionId);
+          closed = true;
+          notificationConsumer.unregister();
+          vertx
+              .eventBus()
+              .publish(SubscriptionManager.EVENTBUS_REMOVE_SUBSCRIPTIONS_ADDRESS, connectionId);
+        });
+  }
+
+  private void handleLine(final Buffer line) {
+    final String json = line.toString().trim();
+    if (json.isEmpty()) {
+      return;
+    }
+
+    pendingRequests++;
+    updateReading();
+    vertx.<Optional<Object>>executeBlocking(
+        future -> future.complete(process(json)),
+        false,
+        result -> {
+          pendingRequests--;
+          if (result.succeeded()) {
+            result.result().ifPresent(this::writeResponse);
+          } else {
+            LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), result.cause());
+            writeResponse(new JsonRpcErrorResponse(null, JsonRpcError.INTERNAL_ERROR));
+          }
+          updateReading();
+        });
+  }
+
+  private Optional<Object> process(final String json) {
+    try {
+      if (json.charAt(0) == '[') {
+        final JsonArray batch = new JsonArray(json);
+        if (batch.isEmpty()) {
+          return Optional.of(new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST));
+        }
+        final List<JsonRpcResponse> responses =
+            batch.stream()
+                .map(this::process)
+                .filter(response -> response.getType() != JsonRpcResponseType.NONE)
+                .collect(Collectors.toList());
+        return responses.isEmpty() ? Optional.empty() : Optional.of(responses);
+      }
+
+      final JsonRpcResponse response = process(new JsonObject(json));
+      return response.getType() == JsonRpcResponseType.NONE
+          ? Optional.empty()
+          : Optional.of(response);
+    } catch (final DecodeException e) {
+      return Optional.of(new JsonRpcErrorResponse(null, JsonRpcError.PARSE_ERROR));
+    }
+  }
+
+  private JsonRpcResponse process(final Object requestJson) {
+    if (!(requestJson instanceof JsonObject)) {
+      return new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST);
+    }
+
+    final WebSocketRpcRequest request;
+    try {
+      request = ((JsonObject) requestJson).mapTo(WebSocketRpcRequest.class);
+    } catch (final IllegalArgumentException e) {
+      return new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST);
+    }
+    if (request.isNotification()) {
+      return NO_RESPONSE;
+    }
+
+    LOG.debug("IPC request -> {}", request.getMethod());
+    final JsonRpcMethod method = methods.get(request.getMethod());
+    if (method == null) {
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.METHOD_NOT_FOUND);
+    }
+
+    request.setConnectionId(connectionId);
+    try {
+      return method.response(request);
+    } catch (final InvalidJsonRpcParameters e) {
+      LOG.debug(e);
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS);
+    } catch (final RuntimeException e) {
+      LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), e);
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.INTERNAL_ERROR);
+    }
+  }
+
+  private void writeResponse(final Object response) {
+    if (closed) {
+      return;
+    }
+    try (final JsonGenerator generator = JsonResponseStreamer.createGenerator(socket)) {
+      generator.writeObject(response);
+    } catch (final IOException e) {
+      LOG.error("Failed to serialise IPC response", e);
+      socket.close();
+      return;
+    }
+    socket.write(DELIMITER);
+  }
+
+  // Notifications arrive already serialised
+  private void writeNotification(final String notification) {
+    if (!closed) {
+      socket.write(Buffer.buffer(notification).appendString(DELIMITER));
+    }
+  }
+
+  private void updateReading() {
+    if (closed) {
+      return;
+    }
+    if (pendingRequests < maxPipelinedRequests && !socket.writeQueueFull()) {
+      parser.resume();
+    } else {
+      parser.pause();
+    }
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.ipc;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.SocketAddress;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serves JSON-RPC over a Unix domain socket, for clients running on the same host. Requests and
+ * responses are newline delimited JSON, and subscriptions push their notifications over the same
+ * connection.
+ *
+ * <p>Domain sockets need the Vert.x native transport, which is only available on Linux and macOS
+ * when Vert.x prefers it and the Netty native library is on the classpath.
+ */
+public class IpcService {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final IpcConfiguration configuration;
+  private final Map<String, JsonRpcMethod> methods;
+
+  private NetServer netServer;
+
+  public IpcService(
+      final Vertx vertx,
+      final IpcConfiguration configuration,
+      final Map<String, JsonRpcMethod> methods) {
+    this.vertx = vertx;
+    this.configuration = configuration;
+    this.methods = methods;
+  }
+
+  public CompletableFuture<?> start() {
+    final Path path = configuration.getPath();
+    LOG.info("Starting IPC service on {}", path);
+
+    final CompletableFuture<?> resultFuture = new CompletableFuture<>();
+    if (!vertx.isNativeTransportEnabled()) {
+      resultFuture.completeExceptionally(
+          new IllegalStateException(
+              "IPC requires the native transport, which is not available on this platform"));
+      return resultFuture;
+    }
+
+    // The socket is bound inside a directory only the owner can enter and moved into place once
+    // its permissions are restricted, so other users can never connect to it
+    final Path bindDirectory;
+    try {
+      deleteStaleSocket(path);
+      bindDirectory =
+          Files.createTempDirectory(
+              path.toAbsolutePath().getParent(),
+              ".ipc",
+              PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    } catch (final IOException | RuntimeException e) {
+      resultFuture.completeExceptionally(e);
+      return resultFuture;
+    }
+    final Path bindPath = bindDirectory.resolve(path.getFileName());
+
+    netServer =
+        vertx
+            .createNetServer()
+            .connectHandler(
+                socket -> new IpcConnection(vertx, socket, methods, configuration).start())
+            .listen(
+                SocketAddress.domainSocketAddress(bindPath.toString()),
+                res -> {
+                  try {
+                    if (res.failed()) {
+                      resultFuture.completeExceptionally(res.cause());
+                      return;
+                    }
+                    Files.setPosixFilePermissions(
+                        bindPath, PosixFilePermissions.fromString("rw-------"));
+                    Files.move(bindPath, path, StandardCopyOption.ATOMIC_MOVE);
+                    LOG.info("IPC service started and listening on {}", path);
+                    resultFuture.complete(null);
+                  } catch (final IOException | RuntimeException e) {
+                    netServer.close();
+                    netServer = null;
+                    resultFuture.completeExceptionally(e);
+                  } finally {
+                    deleteBindDirectory(bindDirectory, bindPath);
+                  }
+                });
+
+    return resultFuture;
+  }
+
+  public CompletableFuture<?> stop() {
+    if (netServer == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final CompletableFuture<?> resultFuture = new CompletableFuture<>();
+
+    netServer.close(
+        res -> {
+          netServer = null;
+          try {
+            Files.deleteIfExists(configuration.getPath());
+          } catch (final IOException e) {
+            LOG.warn("Unable to delete IPC socket {}", configuration.getPath(), e);
+          }
+          if (res.succeeded()) {
+            resultFuture.complete(null);
+          } else {
+            resultFuture.completeExceptionally(res.cause());
+          }
+        });
+
+    return resultFuture;
+  }
+
+  public Path getPath() {
+    return configuration.getPath();
+  }
+
+  private void deleteStaleSocket(final Path path) throws IOException {
+    final BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+    } catch (final NoSuchFileException e) {
+      return;
+    }
+    // Sockets are neither regular files, directories nor links; never delete anything else
+    if (!attributes.isOther()) {
+      throw new FileAlreadyExistsException(
+          path.toString(), null, "IPC path exists and is not a socket");
+    }
+    // A socket file left behind by an unclean shutdown would prevent binding
+    Files.delete(path);
+  }
+
+  private void deleteBindDirectory(final Path bindDirectory, final Path bindPath) {
+    try {
+      Files.deleteIfExists(bindPath);
+      Files.delete(bindDirectory);
+    } catch (final IOException e) {
+      LOG.warn("Unable to delete IPC bind directory {}", bindDirectory, e);
+    }
+  }
+}
@@ -16,13 +16,16 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.authentication.AuthenticationServi
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.SubscriptionManager;
 
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerRequest;
@@ -39,6 +42,9 @@ public class WebSocketService {
 
   private static final InetSocketAddress EMPTY_SOCKET_ADDRESS = new InetSocketAddress("0.0.0.0", 0);
   private static final String APPLICATION_JSON = "application/json";
+  private static final String CONNECTION_ID_PREFIX = "ws-";
+  // How much may be written to a client that isn't reading before it is disconnected
+  @VisibleForTesting static final long MAX_UNREAD_BYTES = 16 * 1024 * 1024;
 
   private final Vertx vertx;
   private final WebSocketConfiguration configuration;
@@ -93,7 +99,12 @@ public class WebSocketService {
   private Handler<ServerWebSocket> websocketHandler() {
     return websocket -> {
       final SocketAddress socketAddress = websocket.remoteAddress();
-      final String connectionId = websocket.textHandlerID();
+      // Responses and notifications are sent to the connection through its own consumer rather
+      // than the socket's text handler, so that a client which stops reading can be dropped
+      final String connectionId = CONNECTION_ID_PREFIX + UUID.randomUUID();
+      final ConnectionWriter writer = new ConnectionWriter(websocket, socketAddress);
+      final MessageConsumer<String> consumer =
+          vertx.eventBus().localConsumer(connectionId, message -> writer.write(message.body()));
 
       LOG.debug("Websocket Connected ({})", socketAddressAsString(socketAddress));
 
@@ -110,6 +121,8 @@ public class WebSocketService {
       websocket.closeHandler(
           v -> {
             LOG.debug("Websocket Disconnected ({})", socketAddressAsString(socketAddress));
+            writer.closed();
+            consumer.unregister();
             vertx
                 .eventBus()
                 .publish(SubscriptionManager.EVENTBUS_REMOVE_SUBSCRIPTIONS_ADDRESS, connectionId);
@@ -194,7 +207,48 @@ public class WebSocketService {
     return new InetSocketAddress(configuration.getHost(), httpServer.actualPort());
   }
 
-  private String socketAddressAsString(final SocketAddress socketAddress) {
+  private static String socketAddressAsString(final SocketAddress socketAddress) {
     return String.format("host=%s, port=%d", socketAddress.host(), socketAddress.port());
   }
+
+  /**
+   * Writes messages to a websocket. Once the socket's write queue is full, messages are still
+   * written until {@link #MAX_UNREAD_BYTES} more are pending, after which the client is considered
+   * too slow and disconnected rather than buffered for without limit.
+   */
+  @VisibleForTesting
+  static class ConnectionWriter {
+    private final ServerWebSocket websocket;
+    private final SocketAddress socketAddress;
+    private long bytesWrittenWhileFull;
+    private boolean closed;
+
+    ConnectionWriter(final ServerWebSocket websocket, final SocketAddress socketAddress) {
+      this.websocket = websocket;
+      this.socketAddress = socketAddress;
+      websocket.drainHandler(v -> bytesWrittenWhileFull = 0);
+    }
+
+    void write(final String message) {
+      if (closed) {
+        return;
+      }
+      if (websocket.writeQueueFull()) {
+        bytesWrittenWhileFull += message.getBytes(StandardCharsets.UTF_8).length;
+        if (bytesWrittenWhileFull > MAX_UNREAD_BYTES) {
+          LOG.debug(
+              "Disconnecting Websocket that is not reading messages ({})",
+              socketAddressAsString(socketAddress));
+          closed = true;
+          websocket.close();
+          return;
+        }
+      }
+      websocket.writeTextMessage(message);
+    }
+
+    void closed() {
+      closed = true;
+    }
+  }
 }
@@ -19,10 +19,13 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.Sub
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.UnsubscribeRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.response.SubscriptionResponse;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -38,6 +41,10 @@ import org.apache.logging.log4j.Logger;
 /**
  * The SubscriptionManager is responsible for managing subscriptions and sending messages to the
  * clients that have an active subscription subscription.
+ *
+ * <p>Subscriptions are created and removed by request handlers while the subscription services
+ * notify them from the threads raising chain and transaction pool events, so all indexes are
+ * concurrent.
  */
 public class SubscriptionManager extends AbstractVerticle {
 
@@ -47,17 +54,23 @@ public class SubscriptionManager extends AbstractVerticle {
       "SubscriptionManager::removeSubscriptions";
 
   private final AtomicLong subscriptionCounter = new AtomicLong(0);
-  private final Map<Long, Subscription> subscriptions = new HashMap<>();
-  private final Map<String, List<Long>> connectionSubscriptionsMap = new HashMap<>();
+  private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+  private final Map<SubscriptionType, Map<Long, Subscription>> subscriptionsByType =
+      new EnumMap<>(SubscriptionType.class);
+  private final Map<Long, String> subscriptionConnections = new ConcurrentHashMap<>();
+  private final Map<String, List<Long>> connectionSubscriptionsMap = new ConcurrentHashMap<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
   private final long refreshDelay;
 
   public SubscriptionManager(final long refreshDelay) {
     this.refreshDelay = refreshDelay;
+    for (final SubscriptionType type : SubscriptionType.values()) {
+      subscriptionsByType.put(type, new ConcurrentHashMap<>());
+    }
   }
 
   public SubscriptionManager() {
-    this.refreshDelay = WebSocketConfiguration.DEFAULT_WEBSOCKET_REFRESH_DELAY;
+    this(WebSocketConfiguration.DEFAULT_WEBSOCKET_REFRESH_DELAY);
   }
 
   @Override
@@ -76,16 +89,23 @@ public class SubscriptionManager extends AbstractVerticle {
   }
 
   private void addSubscription(final Subscription subscription, final String connectionId) {
-    subscriptions.put(subscription.getId(), subscription);
+    subscriptionConnections.put(subscription.getId(), connectionId);
     mapSubscriptionToConnection(connectionId, subscription.getId());
+    subscriptions.put(subscription.getId(), subscription);
+    subscriptionsByType
+        .get(subscription.getSubscriptionType())
+        .put(subscription.getId(), subscription);
   }
 
   private void mapSubscriptionToConnection(final String connectionId, final Long subscriptionId) {
-    if (connectionSubscriptionsMap.containsKey(connectionId)) {
-      connectionSubscriptionsMap.get(connectionId).add(subscriptionId);
-    } else {
-      connectionSubscriptionsMap.put(connectionId, Lists.newArrayList(subscriptionId));
-    }
+    connectionSubscriptionsMap.compute(
+        connectionId,
+        (id, subscriptionIds) -> {
+          final List<Long> ids =
+              subscriptionIds == null ? new CopyOnWriteArrayList<>() : subscriptionIds;
+          ids.add(subscriptionId);
+          return ids;
+        });
   }
 
   public boolean unsubscribe(final UnsubscribeRequest request) {
@@ -105,25 +125,27 @@ public class SubscriptionManager extends AbstractVerticle {
   }
 
   private boolean connectionOwnsSubscription(final Long subscriptionId, final String connectionId) {
-    return connectionSubscriptionsMap.get(connectionId) != null
-        && connectionSubscriptionsMap.get(connectionId).contains(subscriptionId);
+    return connectionId != null && connectionId.equals(subscriptionConnections.get(subscriptionId));
   }
 
   private void destroySubscription(final long subscriptionId, final String connectionId) {
-    subscriptions.remove(subscriptionId);
-
-    if (connectionSubscriptionsMap.containsKey(connectionId)) {
-      removeSubscriptionToConnectionMapping(connectionId, subscriptionId);
+    final Subscription subscription = subscriptions.remove(subscriptionId);
+    if (subscription != null) {
+      subscriptionsByType.get(subscription.getSubscriptionType()).remove(subscriptionId);
     }
+    subscriptionConnections.remove(subscriptionId);
+
+    removeSubscriptionToConnectionMapping(connectionId, subscriptionId);
   }
 
   private void removeSubscriptionToConnectionMapping(
       final String connectionId, final Long subscriptionId) {
-    if (connectionSubscriptionsMap.get(connectionId).size() > 1) {
-      connectionSubscriptionsMap.get(connectionId).remove(subscriptionId);
-    } else {
-      connectionSubscriptionsMap.remove(connectionId);
-    }
+    connectionSubscriptionsMap.computeIfPresent(
+        connectionId,
+        (id, subscriptionIds) -> {
+          subscriptionIds.remove(subscriptionId);
+          return subscriptionIds.isEmpty() ? null : subscriptionIds;
+        });
   }
 
   @VisibleForTesting
@@ -131,13 +153,14 @@ public class SubscriptionManager extends AbstractVerticle {
     final String connectionId = message.body();
     if (connectionId == null || "".equals(connectionId)) {
       LOG.warn("Received invalid connectionId ({}). No subscriptions removed.");
+      return;
     }
 
     LOG.debug("Removing subscription for connectionId = {}", connectionId);
 
     final List<Long> subscriptionIds =
         Lists.newArrayList(
-            connectionSubscriptionsMap.getOrDefault(connectionId, Lists.newArrayList()));
+            connectionSubscriptionsMap.getOrDefault(connectionId, Collections.emptyList()));
     subscriptionIds.forEach(subscriptionId -> destroySubscription(subscriptionId, connectionId));
   }
 
@@ -152,21 +175,41 @@ public class SubscriptionManager extends AbstractVerticle {
   }
 
   public <T> List<T> subscriptionsOfType(final SubscriptionType type, final Class<T> clazz) {
-    return subscriptions.entrySet().stream()
-        .map(Entry::getValue)
-        .filter(subscription -> subscription.isType(type))
+    return subscriptionsByType.get(type).values().stream()
         .map(subscriptionBuilder.mapToSubscriptionClass(clazz))
         .collect(Collectors.toList());
   }
 
   public void sendMessage(final Long subscriptionId, final JsonRpcResult msg) {
-    final SubscriptionResponse response = new SubscriptionResponse(subscriptionId, msg);
+    final String connectionId = subscriptionConnections.get(subscriptionId);
+    if (connectionId != null) {
+      vertx
+          .eventBus()
+          .send(connectionId, SubscriptionResponse.encode(subscriptionId, Json.encode(msg)));
+    }
+  }
 
-    connectionSubscriptionsMap.entrySet().stream()
-        .filter(e -> e.getValue().contains(subscriptionId))
-        .map(Entry::getKey)
-        .findFirst()
-        .ifPresent(connectionId -> vertx.eventBus().send(connectionId, Json.encode(response)));
+  /**
+   * Sends the same result to many subscriptions. The result is serialised once and only the
+   * subscription id differs between the messages sent.
+   *
+   * @param subscriptions the subscriptions to notify
+   * @param msg the result to send to each of them
+   */
+  public void broadcastMessage(
+      final Collection<? extends Subscription> subscriptions, final JsonRpcResult msg) {
+    if (subscriptions.isEmpty()) {
+      return;
+    }
+    final String result = Json.encode(msg);
+    for (final Subscription subscription : subscriptions) {
+      final String connectionId = subscriptionConnections.get(subscription.getId());
+      if (connectionId != null) {
+        vertx
+            .eventBus()
+            .send(connectionId, SubscriptionResponse.encode(subscription.getId(), result));
+      }
+    }
   }
 
   public long getRefreshDelay() {
@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.blockheaders;
 
+import static java.util.stream.Collectors.partitioningBy;
+
 import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
 import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
@@ -23,6 +25,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.Subscriptio
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 
 import java.util.List;
+import java.util.Map;
 
 public class NewBlockHeadersSubscriptionService implements BlockAddedObserver {
 
@@ -44,13 +47,21 @@ public class NewBlockHeadersSubscriptionService implements BlockAddedObserver {
 
     final Hash newBlockHash = event.getBlock().getHash();
 
-    for (final NewBlockHeadersSubscription subscription : subscribers) {
-      final BlockResult newBlock =
-          subscription.getIncludeTransactions()
-              ? blockWithCompleteTransaction(newBlockHash)
-              : blockWithTransactionHash(newBlockHash);
-
-      subscriptionManager.sendMessage(subscription.getId(), newBlock);
+    // Each form of the block is built and serialised once for all subscribers wanting it
+    final Map<Boolean, List<NewBlockHeadersSubscription>> subscribersByIncludeTransactions =
+        subscribers.stream()
+            .collect(partitioningBy(NewBlockHeadersSubscription::getIncludeTransactions));
+    final List<NewBlockHeadersSubscription> completeTransactionSubscribers =
+        subscribersByIncludeTransactions.get(true);
+    if (!completeTransactionSubscribers.isEmpty()) {
+      subscriptionManager.broadcastMessage(
+          completeTransactionSubscribers, blockWithCompleteTransaction(newBlockHash));
+    }
+    final List<NewBlockHeadersSubscription> transactionHashSubscribers =
+        subscribersByIncludeTransactions.get(false);
+    if (!transactionHashSubscribers.isEmpty()) {
+      subscriptionManager.broadcastMessage(
+          transactionHashSubscribers, blockWithTransactionHash(newBlockHash));
     }
   }
 
@@ -15,16 +15,14 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.logs;
 import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
 import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
-import tech.pegasys.pantheon.ethereum.core.Log;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.LogsQueryIndex;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionReceiptWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.LogResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.SubscriptionManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 
 import java.util.List;
-import java.util.Optional;
 
 public class LogsSubscriptionService implements BlockAddedObserver {
 
@@ -46,65 +44,16 @@ public class LogsSubscriptionService implements BlockAddedObserver {
       return;
     }
 
-    event.getAddedTransactions().stream()
-        .map(tx -> blockchainQueries.transactionReceiptByTransactionHash(tx.hash()))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .forEachOrdered(
-            receiptWithMetadata -> {
-              final List<Log> logs = receiptWithMetadata.getReceipt().getLogs();
-              sendLogsToMatchingSubscriptions(logs, logsSubscriptions, receiptWithMetadata, false);
-            });
+    final LogsQueryIndex<LogsSubscription> subscriptionIndex = new LogsQueryIndex<>();
+    logsSubscriptions.forEach(
+        subscription -> subscriptionIndex.add(subscription.getLogsQuery(), subscription));
 
-    event.getRemovedTransactions().stream()
-        .map(tx -> blockchainQueries.transactionReceiptByTransactionHash(tx.hash()))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .forEachOrdered(
-            receiptWithMetadata -> {
-              final List<Log> logs = receiptWithMetadata.getReceipt().getLogs();
-              sendLogsToMatchingSubscriptions(logs, logsSubscriptions, receiptWithMetadata, true);
-            });
-  }
-
-  private void sendLogsToMatchingSubscriptions(
-      final List<Log> logs,
-      final List<LogsSubscription> logsSubscriptions,
-      final TransactionReceiptWithMetadata receiptWithMetadata,
-      final boolean removed) {
-    for (int logIndex = 0; logIndex < logs.size(); logIndex++) {
-      for (final LogsSubscription subscription : logsSubscriptions) {
-        if (subscription.getLogsQuery().matches(logs.get(logIndex))) {
-          sendLogToSubscription(receiptWithMetadata, removed, logIndex, subscription);
-        }
+    for (final LogWithMetadata log : blockchainQueries.logsOfBlockAddedEvent(event)) {
+      final List<LogsSubscription> matchingSubscriptions =
+          subscriptionIndex.matching(log.getAddress(), log.getTopics());
+      if (!matchingSubscriptions.isEmpty()) {
+        subscriptionManager.broadcastMessage(matchingSubscriptions, new LogResult(log));
       }
     }
   }
-
-  private void sendLogToSubscription(
-      final TransactionReceiptWithMetadata receiptWithMetadata,
-      final boolean removed,
-      final int logIndex,
-      final LogsSubscription subscription) {
-    final LogWithMetadata logWithMetaData = logWithMetadata(logIndex, receiptWithMetadata, removed);
-    subscriptionManager.sendMessage(subscription.getId(), new LogResult(logWithMetaData));
-  }
-
-  // @formatter:off
-  private LogWithMetadata logWithMetadata(
-      final int logIndex,
-      final TransactionReceiptWithMetadata transactionReceiptWithMetadata,
-      final boolean removed) {
-    return LogWithMetadata.create(
-        logIndex,
-        transactionReceiptWithMetadata.getBlockNumber(),
-        transactionReceiptWithMetadata.getBlockHash(),
-        transactionReceiptWithMetadata.getTransactionHash(),
-        transactionReceiptWithMetadata.getTransactionIndex(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(logIndex).getLogger(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(logIndex).getData(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(logIndex).getTopics(),
-        removed);
-  }
-  // @formatter:on
 }
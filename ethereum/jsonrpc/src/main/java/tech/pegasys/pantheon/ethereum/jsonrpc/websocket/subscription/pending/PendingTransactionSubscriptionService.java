@@ -37,10 +37,8 @@ public class PendingTransactionSubscriptionService implements PendingTransaction
   private void notifySubscribers(final Hash pendingTransaction) {
     final List<Subscription> subscriptions = pendingTransactionSubscriptions();
 
-    for (final Subscription subscription : subscriptions) {
-      subscriptionManager.sendMessage(
-          subscription.getId(), new PendingTransactionResult(pendingTransaction));
-    }
+    subscriptionManager.broadcastMessage(
+        subscriptions, new PendingTransactionResult(pendingTransaction));
   }
 
   private List<Subscription> pendingTransactionSubscriptions() {
@@ -23,6 +23,12 @@ public class SubscriptionResponse {
 
   private static final String JSON_RPC_VERSION = "2.0";
   private static final String METHOD_NAME = "eth_subscription";
+  private static final String ENCODED_PREFIX =
+      "{\"jsonrpc\":\""
+          + JSON_RPC_VERSION
+          + "\",\"method\":\""
+          + METHOD_NAME
+          + "\",\"params\":{\"subscription\":\"";
 
   private final SubscriptionResponseResult params;
 
@@ -30,6 +36,22 @@ public class SubscriptionResponse {
     this.params = new SubscriptionResponseResult(Quantity.create(subscriptionId), result);
   }
 
+  /**
+   * Creates the same JSON as serialising a response, from a result that has already been
+   * serialised, so a result sent to many subscriptions need only be serialised once.
+   *
+   * @param subscriptionId the id of the subscription being notified
+   * @param encodedResult the result serialised as JSON
+   * @return the serialised response
+   */
+  public static String encode(final long subscriptionId, final String encodedResult) {
+    return ENCODED_PREFIX
+        + Quantity.create(subscriptionId)
+        + "\",\"result\":"
+        + encodedResult
+        + "}}";
+  }
+
   @JsonGetter("jsonrpc")
   public String getJsonrpc() {
     return JSON_RPC_VERSION;
@@ -20,6 +20,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.Subscriptio
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.SubscriptionManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,22 +54,18 @@ public class SyncingSubscriptionService {
       result = new NotSynchronisingResult();
     }
 
+    final List<Subscription> subscriptionsToNotify = new ArrayList<>();
     for (final Subscription subscription : syncingSubscriptions) {
-      sendSyncingResultToSubscription((SyncingSubscription) subscription, result, syncStatusChange);
+      final SyncingSubscription syncingSubscription = (SyncingSubscription) subscription;
+      if (syncStatusChange || !syncingSubscription.isFirstMessageHasBeenSent()) {
+        subscriptionsToNotify.add(subscription);
+        syncingSubscription.setFirstMessageHasBeenSent(true);
+      }
     }
+    subscriptionManager.broadcastMessage(subscriptionsToNotify, result);
     previousSyncStatus = syncStatus;
   }
 
-  private void sendSyncingResultToSubscription(
-      final SyncingSubscription subscription,
-      final JsonRpcResult result,
-      final boolean syncStatusChange) {
-    if (syncStatusChange || !subscription.isFirstMessageHasBeenSent()) {
-      subscriptionManager.sendMessage(subscription.getId(), result);
-      subscription.setFirstMessageHasBeenSent(true);
-    }
-  }
-
   public void engageNextTimerTick() {
     if (subscriptionManager.getVertx() != null) {
       this.timerId =
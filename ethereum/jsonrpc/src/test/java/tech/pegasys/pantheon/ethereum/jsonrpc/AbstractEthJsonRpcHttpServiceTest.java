@@ -36,6 +36,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterRepository;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHashFunction;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
@@ -179,6 +180,7 @@ public abstract class AbstractEthJsonRpcHttpServiceTest {
                 filterManager,
                 transactionPoolMock,
                 miningCoordinatorMock,
+                mock(GasPriceOracle.class),
                 new NoOpMetricsSystem(),
                 supportedCapabilities,
                 Optional.empty(),
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.base.Strings;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.streams.WriteStream;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonResponseStreamerTest {
+
+  private final List<Buffer> chunks = new ArrayList<>();
+
+  @SuppressWarnings("unchecked")
+  private final WriteStream<Buffer> stream = mock(WriteStream.class);
+
+  @Before
+  public void setUp() {
+    doAnswer(
+            invocation -> {
+              chunks.add(invocation.getArgument(0));
+              return stream;
+            })
+        .when(stream)
+        .write(any());
+  }
+
+  @Test
+  public void writesCompactJson() throws IOException {
+    final JsonRpcSuccessResponse response =
+        new JsonRpcSuccessResponse(1, Collections.singletonMap("key", "value"));
+
+    try (final JsonGenerator generator = JsonResponseStreamer.createGenerator(stream)) {
+      generator.writeObject(response);
+    }
+
+    assertThat(chunks).hasSize(1);
+    assertThat(chunks.get(0).toString()).isEqualTo(Json.encode(response));
+  }
+
+  @Test
+  public void writesChunksOfBoundedSize() throws IOException {
+    final String value = Strings.repeat("a", 10_000);
+
+    try (final JsonResponseStreamer streamer = new JsonResponseStreamer(stream, 1024)) {
+      Json.mapper.writeValue(streamer, value);
+    }
+
+    assertThat(chunks).hasSize(10);
+    assertThat(chunks.subList(0, 9)).allMatch(chunk -> chunk.length() == 1024);
+    final Buffer written = Buffer.buffer();
+    chunks.forEach(written::appendBuffer);
+    assertThat(written.toString()).isEqualTo(Json.encode(value));
+  }
+
+  @Test
+  public void countsBytesWrittenIncludingThoseNotYetInAChunk() throws IOException {
+    final String value = Strings.repeat("a", 1500);
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(stream, 1024);
+    final JsonGenerator generator = JsonResponseStreamer.createGenerator(streamer);
+
+    generator.writeString(value);
+    generator.flush();
+
+    assertThat(chunks).hasSize(1);
+    assertThat(streamer.getBytesWritten()).isEqualTo(Json.encode(value).length());
+  }
+
+  @Test
+  public void failsWhenTheWriteQueueDoesNotDrain() throws IOException {
+    when(stream.writeQueueFull()).thenReturn(true);
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(stream, 1024, 10);
+
+    assertThatThrownBy(() -> streamer.write(new byte[10_000], 0, 10_000))
+        .isInstanceOf(IOException.class);
+    assertThat(chunks).isEmpty();
+    assertThatThrownBy(() -> streamer.write(1)).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void waitsForTheWriteQueueToDrain() throws Exception {
+    final AtomicBoolean queueFull = new AtomicBoolean(true);
+    when(stream.writeQueueFull()).thenAnswer(invocation -> queueFull.get());
+    final AtomicReference<Handler<Void>> drainHandler = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              final Handler<Void> handler = invocation.getArgument(0);
+              if (handler != null) {
+                drainHandler.set(handler);
+              }
+              return stream;
+            })
+        .when(stream)
+        .drainHandler(any());
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(stream, 1024, 10_000);
+
+    final CompletableFuture<Void> written =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                streamer.write(new byte[10_000], 0, 10_000);
+              } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    Handler<Void> handler;
+    while ((handler = drainHandler.get()) == null) {
+      Thread.sleep(1);
+    }
+    assertThat(written).isNotDone();
+    assertThat(chunks).isEmpty();
+
+    queueFull.set(false);
+    handler.handle(null);
+    written.get(10, TimeUnit.SECONDS);
+
+    assertThat(chunks).hasSize(9);
+  }
+
+  @Test
+  public void rejectsWritesAfterClose() throws IOException {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(stream);
+    streamer.close();
+
+    assertThatThrownBy(() -> streamer.write(1)).isInstanceOf(IOException.class);
+  }
+}
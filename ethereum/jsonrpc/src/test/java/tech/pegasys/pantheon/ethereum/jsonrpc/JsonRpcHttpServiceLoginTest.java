@@ -30,6 +30,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.NetVersion;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.Web3ClientVersion;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.Web3Sha3;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.api.P2PNetwork;
 import tech.pegasys.pantheon.ethereum.p2p.wire.Capability;
@@ -52,9 +53,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.KeyStoreOptions;
 import io.vertx.ext.auth.PubSecKeyOptions;
@@ -65,6 +68,7 @@ import io.vertx.ext.auth.jwt.JWTAuthOptions;
 import io.vertx.ext.auth.jwt.impl.JWTAuthProviderImpl;
 import io.vertx.ext.jwt.JWK;
 import io.vertx.ext.jwt.JWT;
+import io.vertx.ext.jwt.JWTOptions;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -123,6 +127,7 @@ public class JsonRpcHttpServiceLoginTest {
                     mock(FilterManager.class),
                     mock(TransactionPool.class),
                     mock(EthHashMiningCoordinator.class),
+                    mock(GasPriceOracle.class),
                     new NoOpMetricsSystem(),
                     supportedCapabilities,
                     Optional.empty(),
@@ -381,6 +386,54 @@ public class JsonRpcHttpServiceLoginTest {
   public void checkPermissionsWithEmptyUser() {
     JsonRpcMethod ethAccounts = new EthAccounts();
 
-    assertThat(service.isPermitted(Optional.empty(), ethAccounts)).isTrue();
+    assertThat(service.isPermitted(Optional.empty(), ethAccounts)).isFalse();
+  }
+
+  @Test
+  public void authenticatingSameTokenTwiceReusesVerifiedUser() {
+    final String token =
+        jwtAuth.generateToken(
+            new JsonObject().put("permissions", new JsonArray().add("eth:*")),
+            new JWTOptions().setExpiresInMinutes(5).setAlgorithm("RS256"));
+
+    final AtomicReference<Optional<User>> first = new AtomicReference<>();
+    final AtomicReference<Optional<User>> second = new AtomicReference<>();
+    service.authenticationService.get().authenticate(token, first::set);
+    service.authenticationService.get().authenticate(token, second::set);
+
+    assertThat(first.get()).isPresent();
+    assertThat(second.get().get()).isSameAs(first.get().get());
+    assertThat(service.isPermitted(second.get(), new EthAccounts())).isTrue();
+    assertThat(service.isPermitted(second.get(), new NetVersion(123))).isFalse();
+  }
+
+  @Test
+  public void requestWithInvalidTokenIsUnauthorized() throws IOException {
+    final RequestBody body =
+        RequestBody.create(
+            JSON, "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"eth_accounts\",\"params\":[]}");
+    final Request request =
+        new Request.Builder().post(body).url(baseUrl).header("Bearer", "not-a-jwt").build();
+    try (final Response resp = client.newCall(request).execute()) {
+      assertThat(resp.code()).isEqualTo(401);
+    }
+  }
+
+  @Test
+  public void batchRequestWithExpiredTokenIsUnauthorized() throws IOException {
+    final String token =
+        jwtAuth.generateToken(
+            new JsonObject()
+                .put("permissions", new JsonArray().add("eth:*"))
+                .put("exp", System.currentTimeMillis() / 1000 - 60),
+            new JWTOptions().setAlgorithm("RS256"));
+    final RequestBody body =
+        RequestBody.create(
+            JSON, "[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"eth_accounts\",\"params\":[]}]");
+    final Request request =
+        new Request.Builder().post(body).url(baseUrl).header("Bearer", token).build();
+    try (final Response resp = client.newCall(request).execute()) {
+      assertThat(resp.code()).isEqualTo(401);
+    }
   }
 }
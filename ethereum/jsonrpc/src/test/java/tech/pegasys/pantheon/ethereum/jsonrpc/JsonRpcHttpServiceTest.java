@@ -38,6 +38,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
@@ -124,6 +125,7 @@ public class JsonRpcHttpServiceTest {
                     mock(FilterManager.class),
                     mock(TransactionPool.class),
                     mock(EthHashMiningCoordinator.class),
+                    mock(GasPriceOracle.class),
                     new NoOpMetricsSystem(),
                     supportedCapabilities,
                     Optional.of(mock(AccountWhitelistController.class)),
@@ -1464,7 +1466,34 @@ public class JsonRpcHttpServiceTest {
                 + "{\"jsonrpc\":\"2.0\",\"id\":\"222\",\"method\":\"net_version\"}]");
 
     try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
-      assertThat(resp.code()).isEqualTo(500);
+      // Elements are streamed as they complete, so a failing element becomes an error response
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonArray json = new JsonArray(resp.body().string());
+      assertThat(json.size()).isEqualTo(3);
+      final Map<String, JsonObject> responses = new HashMap<>();
+      for (int i = 0; i < json.size(); ++i) {
+        final JsonObject response = json.getJsonObject(i);
+        responses.put(response.getString("id"), response);
+      }
+      final JsonRpcError expectedError = JsonRpcError.INTERNAL_ERROR;
+      testHelper.assertValidJsonRpcError(
+          responses.get("111"), "111", expectedError.getCode(), expectedError.getMessage());
+      testHelper.assertValidJsonRpcResult(responses.get("000"), "000");
+      testHelper.assertValidJsonRpcResult(responses.get("222"), "222");
+    }
+  }
+
+  @Test
+  public void responsesAreCompactAndChunked() throws Exception {
+    final RequestBody body =
+        RequestBody.create(JSON, "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"net_version\"}");
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      assertThat(resp.header("Transfer-Encoding")).isEqualTo("chunked");
+      final String respBody = resp.body().string();
+      assertThat(respBody).doesNotContain("\n").doesNotContain(": ");
+      testHelper.assertValidJsonRpcResult(new JsonObject(respBody), 1);
     }
   }
 
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcRequestMonitor.MonitoredRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.Observation;
+import tech.pegasys.pantheon.metrics.prometheus.PrometheusMetricsSystem;
+
+import com.google.common.base.Strings;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+public class JsonRpcRequestMonitorTest {
+
+  private final MetricsSystem metricsSystem = PrometheusMetricsSystem.init();
+  private final JsonRpcRequestMonitor monitor =
+      new JsonRpcRequestMonitor(JsonRpcConfiguration.createDefault(), metricsSystem);
+
+  @Test
+  public void countsRequestsErrorsAndBytesByMethod() {
+    final MonitoredRequest call = monitor.requestReceived("eth_call", request("eth_call"), 100);
+    call.execute(() -> "0x1");
+    call.responded(new JsonRpcSuccessResponse(1, "0x1"), 40);
+    final MonitoredRequest failedCall =
+        monitor.requestReceived("eth_call", request("eth_call"), 120);
+    failedCall.responded(new JsonRpcErrorResponse(1, JsonRpcError.INVALID_PARAMS), 80);
+    final MonitoredRequest blockNumber =
+        monitor.requestReceived("eth_blockNumber", request("eth_blockNumber"), 60);
+    blockNumber.failed();
+
+    assertThat(metricsSystem.getMetrics(MetricCategory.RPC))
+        .contains(
+            new Observation(MetricCategory.RPC, "requests_total", 2d, singletonList("eth_call")),
+            new Observation(
+                MetricCategory.RPC, "requests_total", 1d, singletonList("eth_blockNumber")),
+            new Observation(MetricCategory.RPC, "errors_total", 1d, singletonList("eth_call")),
+            new Observation(
+                MetricCategory.RPC, "errors_total", 1d, singletonList("eth_blockNumber")),
+            new Observation(
+                MetricCategory.RPC, "request_bytes_total", 220d, singletonList("eth_call")),
+            new Observation(
+                MetricCategory.RPC, "response_bytes_total", 120d, singletonList("eth_call")));
+  }
+
+  @Test
+  public void countsBatchesAndTheirElements() {
+    monitor.batchReceived(3);
+    monitor.batchReceived(5);
+
+    assertThat(metricsSystem.getMetrics(MetricCategory.RPC))
+        .contains(
+            new Observation(MetricCategory.RPC, "batch_requests_total", 2d, emptyList()),
+            new Observation(MetricCategory.RPC, "batch_request_elements_total", 8d, emptyList()));
+  }
+
+  @Test
+  public void summaryShowsValuesIdentifyingWhatWasRequested() {
+    final String address = "0x" + Strings.repeat("ab", 20);
+    final String hash = "0x" + Strings.repeat("cd", 32);
+    final JsonObject request =
+        request("eth_getStorageAt").put("params", new JsonArray().add(address).add(hash).add(true));
+
+    assertThat(JsonRpcRequestMonitor.summariseParams(request))
+        .isEqualTo("[" + address + ", " + hash + ", true]");
+  }
+
+  @Test
+  public void summaryHidesDataAndObjectValues() {
+    final String rawTransaction = "0x" + Strings.repeat("ef", 100);
+    final JsonObject call =
+        new JsonObject().put("to", "0x" + Strings.repeat("ab", 20)).put("data", "0x1234");
+    final JsonObject request =
+        request("eth_call")
+            .put(
+                "params",
+                new JsonArray()
+                    .add(rawTransaction)
+                    .add(call)
+                    .add("secret")
+                    .add(new JsonArray().add(1).add(2))
+                    .add("latest"));
+
+    assertThat(JsonRpcRequestMonitor.summariseParams(request))
+        .isEqualTo("[string(202), {to, data}, string(6), array(2), latest]");
+  }
+
+  @Test
+  public void summaryOfManyParamsIsTruncated() {
+    final JsonArray params = new JsonArray();
+    for (int i = 0; i < 10; i++) {
+      params.add(i);
+    }
+
+    assertThat(JsonRpcRequestMonitor.summariseParams(request("eth_test").put("params", params)))
+        .isEqualTo("[0, 1, 2, 3, 4, 5, 6, 7, ...]");
+  }
+
+  @Test
+  public void summaryOfMissingParamsIsNull() {
+    assertThat(JsonRpcRequestMonitor.summariseParams(request("eth_blockNumber")))
+        .isEqualTo("null");
+  }
+
+  private JsonObject request(final String method) {
+    return new JsonObject().put("jsonrpc", "2.0").put("id", 1).put("method", method);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.AsyncResult;
+import org.junit.After;
+import org.junit.Test;
+
+public class JsonRpcRequestSchedulerTest {
+
+  private static final String CLIENT = "10.0.0.1";
+  private static final String OTHER_CLIENT = "10.0.0.2";
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private JsonRpcRequestScheduler scheduler;
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    if (scheduler != null) {
+      scheduler.stop();
+    }
+  }
+
+  @Test
+  public void completesRequestsWithTheirResult() throws Exception {
+    scheduler = createScheduler(10, 10);
+
+    final CompletableFuture<AsyncResult<String>> result = execute(CLIENT, "eth_blockNumber");
+
+    assertThat(result.get(5, TimeUnit.SECONDS).result()).isEqualTo("eth_blockNumber");
+  }
+
+  @Test
+  public void rejectsRequestsBeyondClientLimit() throws Exception {
+    scheduler = createScheduler(10, 1);
+
+    final CompletableFuture<AsyncResult<String>> blocked = executeBlocked(CLIENT, "eth_getLogs");
+    final CompletableFuture<AsyncResult<String>> rejected = execute(CLIENT, "eth_blockNumber");
+    final CompletableFuture<AsyncResult<String>> other = execute(OTHER_CLIENT, "eth_blockNumber");
+
+    assertRejected(rejected);
+    assertThat(other.get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+
+    release.countDown();
+    assertThat(blocked.get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+    assertThat(execute(CLIENT, "eth_blockNumber").get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+  }
+
+  @Test
+  public void rejectsRequestsBeyondQueueLimitOfMethodLane() throws Exception {
+    scheduler = createScheduler(1, 10);
+
+    // One eth_getLogs request runs on the single thread of its lane and one is queued
+    final CompletableFuture<AsyncResult<String>> running = executeBlocked(CLIENT, "eth_getLogs");
+    final CompletableFuture<AsyncResult<String>> queued = executeBlocked(CLIENT, "eth_getLogs");
+    final CompletableFuture<AsyncResult<String>> rejected = execute(CLIENT, "eth_getLogs");
+
+    assertRejected(rejected);
+    // Cheap methods are served by the default lane meanwhile
+    assertThat(execute(CLIENT, "eth_blockNumber").get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+    assertThat(running.isDone()).isFalse();
+
+    release.countDown();
+    assertThat(running.get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+    assertThat(queued.get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+  }
+
+  @Test
+  public void failsRequestsThatThrow() throws Exception {
+    scheduler = createScheduler(10, 10);
+    final CompletableFuture<AsyncResult<String>> result = new CompletableFuture<>();
+
+    scheduler.<String>execute(
+        CLIENT,
+        "eth_blockNumber",
+        () -> {
+          throw new IllegalStateException("test");
+        },
+        result::complete);
+
+    assertThat(result.get(5, TimeUnit.SECONDS).cause()).isInstanceOf(IllegalStateException.class);
+  }
+
+  private JsonRpcRequestScheduler createScheduler(
+      final int maxQueuedRequests, final int maxRequestsPerClient) {
+    final JsonRpcConfiguration config = JsonRpcConfiguration.createDefault();
+    config.setExecutionThreads(2);
+    config.setMaxQueuedRequests(maxQueuedRequests);
+    config.setMaxRequestsPerClient(maxRequestsPerClient);
+    config.setMethodConcurrencyLimits(ImmutableMap.of("eth_getLogs", 1));
+    return new JsonRpcRequestScheduler(config, new NoOpMetricsSystem());
+  }
+
+  private CompletableFuture<AsyncResult<String>> execute(final String client, final String method) {
+    final CompletableFuture<AsyncResult<String>> result = new CompletableFuture<>();
+    scheduler.execute(client, method, () -> method, result::complete);
+    return result;
+  }
+
+  private CompletableFuture<AsyncResult<String>> executeBlocked(
+      final String client, final String method) {
+    final CompletableFuture<AsyncResult<String>> result = new CompletableFuture<>();
+    scheduler.execute(
+        client,
+        method,
+        () -> {
+          try {
+            release.await();
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return method;
+        },
+        result::complete);
+    return result;
+  }
+
+  private void assertRejected(final CompletableFuture<AsyncResult<String>> result)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    assertThat(result.get(5, TimeUnit.SECONDS).failed()).isTrue();
+    assertThat(result.get().cause()).isInstanceOf(RejectedExecutionException.class);
+  }
+}
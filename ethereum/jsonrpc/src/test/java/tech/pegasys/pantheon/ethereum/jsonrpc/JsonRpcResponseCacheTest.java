@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.chain.TransactionLocation;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.SerialisedResult;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonRpcResponseCacheTest {
+
+  private static final long CHAIN_HEAD = 100;
+  private static final long CONFIRMATIONS = 12;
+  private static final Hash BLOCK_HASH = Hash.hash(Hash.EMPTY);
+  private static final Hash OTHER_BLOCK_HASH = Hash.hash(BLOCK_HASH);
+  private static final Hash TRANSACTION_HASH = Hash.hash(OTHER_BLOCK_HASH);
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final JsonRpcMethod method = mock(JsonRpcMethod.class);
+  private final JsonRpcResponseCache cache =
+      new JsonRpcResponseCache(blockchain, 1024 * 1024, CONFIRMATIONS);
+
+  @Before
+  public void setUp() {
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(CHAIN_HEAD);
+    when(method.response(any())).thenReturn(new JsonRpcSuccessResponse(null, "result"));
+  }
+
+  @Test
+  public void servesResultsOfFinalBlocksFromTheCache() {
+    addCanonicalBlock(BLOCK_HASH, CHAIN_HEAD - CONFIRMATIONS);
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getBlockByHash");
+
+    final JsonRpcResponse first = cachingMethod.response(getBlockByHash(BLOCK_HASH.toString()));
+    final JsonRpcResponse second = cachingMethod.response(getBlockByHash(BLOCK_HASH.toString()));
+
+    verify(method, times(1)).response(any());
+    assertThat(first).isEqualTo(second);
+    assertThat(((JsonRpcSuccessResponse) second).getResult())
+        .isEqualTo(new SerialisedResult("\"result\""));
+  }
+
+  @Test
+  public void keysRequestsByCanonicalParameters() {
+    addCanonicalBlock(BLOCK_HASH, 1);
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getBlockByHash");
+
+    cachingMethod.response(getBlockByHash(BLOCK_HASH.toString()));
+    cachingMethod.response(getBlockByHash(BLOCK_HASH.toString().toUpperCase().replace('X', 'x')));
+
+    verify(method, times(1)).response(any());
+  }
+
+  @Test
+  public void doesNotCacheResultsOfRecentBlocks() {
+    addCanonicalBlock(BLOCK_HASH, CHAIN_HEAD - CONFIRMATIONS + 1);
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getBlockByHash");
+
+    cachingMethod.response(getBlockByHash(BLOCK_HASH.toString()));
+    cachingMethod.response(getBlockByHash(BLOCK_HASH.toString()));
+
+    verify(method, times(2)).response(any());
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void doesNotCacheResultsOfNonCanonicalBlocks() {
+    addCanonicalBlock(BLOCK_HASH, 1);
+    final BlockHeader header = header(OTHER_BLOCK_HASH, 1);
+    when(blockchain.getBlockHeader(OTHER_BLOCK_HASH)).thenReturn(Optional.of(header));
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getBlockByHash");
+
+    cachingMethod.response(getBlockByHash(OTHER_BLOCK_HASH.toString()));
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void doesNotCacheErrors() {
+    addCanonicalBlock(BLOCK_HASH, 1);
+    when(method.response(any()))
+        .thenReturn(new JsonRpcErrorResponse(null, JsonRpcError.INTERNAL_ERROR));
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getBlockByHash");
+
+    cachingMethod.response(getBlockByHash(BLOCK_HASH.toString()));
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void cachesTransactionsByTheBlockThatIncludesThem() {
+    addCanonicalBlock(BLOCK_HASH, 1);
+    when(blockchain.getTransactionLocation(TRANSACTION_HASH))
+        .thenReturn(Optional.of(new TransactionLocation(BLOCK_HASH, 0)));
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getTransactionReceipt");
+
+    cachingMethod.response(request("eth_getTransactionReceipt", TRANSACTION_HASH.toString()));
+    cachingMethod.response(request("eth_getTransactionReceipt", TRANSACTION_HASH.toString()));
+
+    verify(method, times(1)).response(any());
+  }
+
+  @Test
+  public void doesNotCachePendingTransactions() {
+    when(blockchain.getTransactionLocation(TRANSACTION_HASH)).thenReturn(Optional.empty());
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getTransactionByHash");
+
+    cachingMethod.response(request("eth_getTransactionByHash", TRANSACTION_HASH.toString()));
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void cachesCodeOnlyAtFixedBlocks() {
+    addCanonicalBlock(BLOCK_HASH, 1);
+    final String address = "0x" + BLOCK_HASH.toString().substring(26);
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getCode");
+
+    cachingMethod.response(request("eth_getCode", address, "latest"));
+    assertThat(cache.size()).isZero();
+
+    cachingMethod.response(request("eth_getCode", address, "0x1"));
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void dropsResultsOfBlocksRemovedByAReorg() {
+    addCanonicalBlock(BLOCK_HASH, 1);
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getBlockByHash");
+    cachingMethod.response(getBlockByHash(BLOCK_HASH.toString()));
+    assertThat(cache.size()).isEqualTo(1);
+
+    when(blockchain.getBlockHashByNumber(1)).thenReturn(Optional.of(OTHER_BLOCK_HASH));
+    cache.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(
+            mock(Block.class), Collections.emptyList(), Collections.emptyList()),
+        blockchain);
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void keepsResultsOfBlocksBelowAReorg() {
+    addCanonicalBlock(BLOCK_HASH, 1);
+    final JsonRpcMethod cachingMethod = cachingMethod("eth_getBlockByHash");
+    cachingMethod.response(getBlockByHash(BLOCK_HASH.toString()));
+
+    cache.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(
+            mock(Block.class), Collections.emptyList(), Collections.emptyList()),
+        blockchain);
+
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void leavesOtherMethodsUnwrapped() {
+    final JsonRpcMethod blockNumber = mock(JsonRpcMethod.class);
+
+    final Map<String, JsonRpcMethod> methods =
+        cache.cacheResults(Collections.singletonMap("eth_blockNumber", blockNumber));
+
+    assertThat(methods.get("eth_blockNumber")).isSameAs(blockNumber);
+  }
+
+  private JsonRpcMethod cachingMethod(final String name) {
+    when(method.getName()).thenReturn(name);
+    return cache.cacheResults(Collections.singletonMap(name, method)).get(name);
+  }
+
+  private void addCanonicalBlock(final Hash hash, final long number) {
+    final BlockHeader header = header(hash, number);
+    when(blockchain.getBlockHeader(hash)).thenReturn(Optional.of(header));
+    when(blockchain.getBlockHashByNumber(number)).thenReturn(Optional.of(hash));
+  }
+
+  private BlockHeader header(final Hash hash, final long number) {
+    final BlockHeader header = mock(BlockHeader.class);
+    when(header.getHash()).thenReturn(hash);
+    when(header.getNumber()).thenReturn(number);
+    return header;
+  }
+
+  private JsonRpcRequest getBlockByHash(final String hash) {
+    return new JsonRpcRequest("2.0", "eth_getBlockByHash", new Object[] {hash, false});
+  }
+
+  private JsonRpcRequest request(final String method, final Object... params) {
+    return new JsonRpcRequest("2.0", method, params);
+  }
+}
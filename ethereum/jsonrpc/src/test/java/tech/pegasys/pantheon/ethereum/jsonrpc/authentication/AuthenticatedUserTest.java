@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import org.junit.Test;
+
+public class AuthenticatedUserTest {
+
+  @Test
+  public void resolvesPermissionsFromPermissionsClaim() {
+    final JsonArray permissions = new JsonArray().add("eth:*").add("net:peerCount");
+    final AuthenticatedUser user =
+        new AuthenticatedUser(userWithPrincipal(new JsonObject().put("permissions", permissions)));
+
+    assertThat(AuthenticatedUser.permissionsOf(user)).containsExactly("eth:*", "net:peerCount");
+  }
+
+  @Test
+  public void resolvesPermissionsOfUnverifiedUser() {
+    final User user =
+        userWithPrincipal(new JsonObject().put("permissions", new JsonArray().add("web3:*")));
+
+    assertThat(AuthenticatedUser.permissionsOf(user)).containsExactly("web3:*");
+  }
+
+  @Test
+  public void missingPermissionsClaimGrantsNothing() {
+    final AuthenticatedUser user = new AuthenticatedUser(userWithPrincipal(new JsonObject()));
+
+    assertThat(AuthenticatedUser.permissionsOf(user)).isEmpty();
+  }
+
+  @Test
+  public void expiresAtExpiryClaim() {
+    final AuthenticatedUser user =
+        new AuthenticatedUser(userWithPrincipal(new JsonObject().put("exp", 1_000L)));
+
+    assertThat(user.isExpired(999_999L)).isFalse();
+    assertThat(user.isExpired(1_000_000L)).isTrue();
+  }
+
+  @Test
+  public void tokenWithoutExpiryClaimDoesNotExpire() {
+    final AuthenticatedUser user = new AuthenticatedUser(userWithPrincipal(new JsonObject()));
+
+    assertThat(user.isExpired(Long.MAX_VALUE - 1)).isFalse();
+  }
+
+  @Test
+  public void isAuthorizedUsesResolvedPermissions() {
+    final AuthenticatedUser user =
+        new AuthenticatedUser(
+            userWithPrincipal(new JsonObject().put("permissions", new JsonArray().add("eth:*"))));
+    final AtomicBoolean ethPermitted = new AtomicBoolean();
+    final AtomicBoolean netPermitted = new AtomicBoolean(true);
+
+    user.isAuthorized("eth:*", r -> ethPermitted.set(r.result()));
+    user.isAuthorized("net:*", r -> netPermitted.set(r.result()));
+
+    assertThat(ethPermitted).isTrue();
+    assertThat(netPermitted).isFalse();
+  }
+
+  private User userWithPrincipal(final JsonObject principal) {
+    final User user = mock(User.class);
+    when(user.principal()).thenReturn(principal);
+    return user;
+  }
+}
@@ -76,31 +76,39 @@ public class FilterManagerLogFilterTest {
   }
 
   @Test
-  public void shouldCheckMatchingLogsWhenRecordedNewBlockEvent() {
-    when(blockchainQueries.headBlockNumber()).thenReturn(100L);
-
+  public void shouldCheckLogsOfBlockAddedEventWhenRecordedNewBlockEvent() {
     filterManager.installLogFilter(latest(), latest(), logsQuery());
-    recordNewBlockEvent();
+    final BlockAddedEvent event = recordNewBlockEvent();
 
-    verify(blockchainQueries).matchingLogs(eq(100L), eq(100L), refEq(logsQuery()));
+    verify(blockchainQueries).logsOfBlockAddedEvent(eq(event));
   }
 
   @Test
-  public void shouldUseHeadBlockAsFromBlockNumberWhenCheckingLogsForChanges() {
-    when(blockchainQueries.headBlockNumber()).thenReturn(3L);
+  public void shouldNotCheckLogsWhenNoLogFilterIsInstalled() {
+    recordNewBlockEvent();
+
+    verify(blockchainQueries, times(0)).logsOfBlockAddedEvent(any());
+  }
 
-    filterManager.installLogFilter(blockNum(1L), blockNum(10L), logsQuery());
+  @Test
+  public void shouldNotRecordLogsFromBlocksAfterFilterToBlock() {
+    final LogWithMetadata log = logWithMetadata(3L, Address.fromHexString("0x0"));
+    final LogWithMetadata laterLog = logWithMetadata(11L, Address.fromHexString("0x0"));
+    when(blockchainQueries.logsOfBlockAddedEvent(any()))
+        .thenReturn(Lists.newArrayList(log, laterLog));
+
+    final String filterId =
+        filterManager.installLogFilter(blockNum(1L), blockNum(10L), logsQuery());
     recordNewBlockEvent();
 
-    verify(blockchainQueries).matchingLogs(eq(3L), eq(10L), refEq(logsQuery()));
+    assertThat(filterManager.logsChanges(filterId))
+        .isEqualToComparingFieldByFieldRecursively(Lists.newArrayList(log));
   }
 
   @Test
   public void shouldReturnLogWhenLogFilterMatches() {
     final LogWithMetadata log = logWithMetadata();
-    when(blockchainQueries.headBlockNumber()).thenReturn(100L);
-    when(blockchainQueries.matchingLogs(eq(100L), eq(100L), refEq(logsQuery())))
-        .thenReturn(Lists.newArrayList(log));
+    when(blockchainQueries.logsOfBlockAddedEvent(any())).thenReturn(Lists.newArrayList(log));
 
     final String filterId = filterManager.installLogFilter(latest(), latest(), logsQuery());
     recordNewBlockEvent();
@@ -111,13 +119,37 @@ public class FilterManagerLogFilterTest {
   }
 
   @Test
-  public void shouldCheckLogsForEveryLogFilter() {
-    filterManager.installLogFilter(latest(), latest(), logsQuery());
-    filterManager.installLogFilter(latest(), latest(), logsQuery());
-    filterManager.installLogFilter(latest(), latest(), logsQuery());
+  public void shouldOnlyRecordLogsMatchingLogFilterQuery() {
+    final LogWithMetadata log = logWithMetadata(100L, Address.fromHexString("0x1"));
+    when(blockchainQueries.logsOfBlockAddedEvent(any()))
+        .thenReturn(Lists.newArrayList(logWithMetadata(), log));
+
+    final String filterId =
+        filterManager.installLogFilter(
+            latest(),
+            latest(),
+            new LogsQuery.Builder().address(Address.fromHexString("0x1")).build());
     recordNewBlockEvent();
 
-    verify(blockchainQueries, times(3)).matchingLogs(anyLong(), anyLong(), any());
+    assertThat(filterManager.logsChanges(filterId))
+        .isEqualToComparingFieldByFieldRecursively(Lists.newArrayList(log));
+  }
+
+  @Test
+  public void shouldDecodeLogsOnceForEveryLogFilter() {
+    when(blockchainQueries.logsOfBlockAddedEvent(any()))
+        .thenReturn(Lists.newArrayList(logWithMetadata()));
+
+    final List<String> filterIds =
+        Lists.newArrayList(
+            filterManager.installLogFilter(latest(), latest(), logsQuery()),
+            filterManager.installLogFilter(latest(), latest(), logsQuery()),
+            filterManager.installLogFilter(latest(), latest(), logsQuery()));
+    recordNewBlockEvent();
+
+    verify(blockchainQueries, times(1)).logsOfBlockAddedEvent(any());
+    filterIds.forEach(
+        filterId -> assertThat(filterManager.logsChanges(filterId).size()).isEqualTo(1));
   }
 
   @Test
@@ -130,7 +162,7 @@ public class FilterManagerLogFilterTest {
 
   @Test
   public void shouldClearLogsAfterGettingLogChanges() {
-    when(blockchainQueries.matchingLogs(anyLong(), anyLong(), any()))
+    when(blockchainQueries.logsOfBlockAddedEvent(any()))
         .thenReturn(Lists.newArrayList(logWithMetadata()));
 
     final String filterId = filterManager.installLogFilter(latest(), latest(), logsQuery());
@@ -141,10 +173,11 @@ public class FilterManagerLogFilterTest {
     assertThat(filterManager.logsChanges(filterId).size()).isEqualTo(0);
   }
 
-  private void recordNewBlockEvent() {
-    filterManager.recordBlockEvent(
-        BlockAddedEvent.createForHeadAdvancement(new BlockDataGenerator().block()),
-        blockchainQueries.getBlockchain());
+  private BlockAddedEvent recordNewBlockEvent() {
+    final BlockAddedEvent event =
+        BlockAddedEvent.createForHeadAdvancement(new BlockDataGenerator().block());
+    filterManager.recordBlockEvent(event, blockchainQueries.getBlockchain());
+    return event;
   }
 
   @Test
@@ -186,13 +219,17 @@ public class FilterManagerLogFilterTest {
   }
 
   private LogWithMetadata logWithMetadata() {
+    return logWithMetadata(100L, Address.fromHexString("0x0"));
+  }
+
+  private LogWithMetadata logWithMetadata(final long blockNumber, final Address address) {
     return LogWithMetadata.create(
         0,
-        100L,
+        blockNumber,
         Hash.ZERO,
         Hash.ZERO,
         0,
-        Address.fromHexString("0x0"),
+        address,
         BytesValue.EMPTY,
         Lists.newArrayList(),
         false);
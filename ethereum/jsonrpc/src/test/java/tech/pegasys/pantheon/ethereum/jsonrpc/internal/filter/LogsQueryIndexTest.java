@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+public class LogsQueryIndexTest {
+
+  private static final Address ADDRESS_1 =
+      Address.fromHexString("0x1111111111111111111111111111111111111111");
+  private static final Address ADDRESS_2 =
+      Address.fromHexString("0x2222222222222222222222222222222222222222");
+  private static final LogTopic TOPIC_1 =
+      LogTopic.fromHexString("0x1111111111111111111111111111111111111111111111111111111111111111");
+  private static final LogTopic TOPIC_2 =
+      LogTopic.fromHexString("0x2222222222222222222222222222222222222222222222222222222222222222");
+
+  private final LogsQueryIndex<String> index = new LogsQueryIndex<>();
+
+  @Test
+  public void matchesQueriesByAddress() {
+    index.add(new LogsQuery.Builder().addresses(ADDRESS_1, ADDRESS_2).build(), "both");
+    index.add(new LogsQuery.Builder().address(ADDRESS_1).build(), "first");
+
+    assertThat(index.matching(ADDRESS_1, Collections.emptyList()))
+        .containsExactlyInAnyOrder("both", "first");
+    assertThat(index.matching(ADDRESS_2, Collections.emptyList())).containsExactly("both");
+  }
+
+  @Test
+  public void matchesQueriesByFirstTopic() {
+    index.add(new LogsQuery.Builder().topics(topics(TOPIC_1)).build(), "topic1");
+    index.add(new LogsQuery.Builder().topics(topics(TOPIC_2)).build(), "topic2");
+
+    assertThat(index.matching(ADDRESS_1, Lists.newArrayList(TOPIC_1, TOPIC_2)))
+        .containsExactly("topic1");
+    assertThat(index.matching(ADDRESS_1, Collections.emptyList())).isEmpty();
+  }
+
+  @Test
+  public void checksRemainingCriteriaOfIndexedQueries() {
+    index.add(new LogsQuery.Builder().address(ADDRESS_1).topics(topics(TOPIC_1)).build(), "topic1");
+
+    assertThat(index.matching(ADDRESS_1, Lists.newArrayList(TOPIC_1))).containsExactly("topic1");
+    assertThat(index.matching(ADDRESS_1, Lists.newArrayList(TOPIC_2))).isEmpty();
+  }
+
+  @Test
+  public void matchesQueriesWithoutAddressOrFirstTopicAgainstEveryLog() {
+    index.add(new LogsQuery.Builder().build(), "all");
+    final List<List<LogTopic>> anyFirstTopic =
+        Lists.newArrayList(Lists.newArrayList((LogTopic) null), Lists.newArrayList(TOPIC_2));
+    index.add(new LogsQuery.Builder().topics(anyFirstTopic).build(), "secondTopic");
+
+    assertThat(index.matching(ADDRESS_1, Lists.newArrayList(TOPIC_1, TOPIC_2)))
+        .containsExactlyInAnyOrder("all", "secondTopic");
+    assertThat(index.matching(ADDRESS_2, Lists.newArrayList(TOPIC_1))).containsExactly("all");
+  }
+
+  @Test
+  public void matchesQueryWithDuplicateAddressOnce() {
+    index.add(new LogsQuery.Builder().addresses(ADDRESS_1, ADDRESS_1).build(), "duplicate");
+
+    assertThat(index.matching(ADDRESS_1, Collections.emptyList())).containsExactly("duplicate");
+  }
+
+  private List<List<LogTopic>> topics(final LogTopic topic) {
+    return Lists.newArrayList(Lists.newArrayList(topic));
+  }
+}
@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
@@ -414,4 +415,34 @@ public class LogsQueryTest {
 
     assertThat(query.matches(log)).isTrue();
   }
+
+  @Test
+  public void bloomOfMatchingLogCouldMatch() {
+    final Address address = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final LogTopic topic =
+        LogTopic.fromHexString(
+            "0xcccccccccccccccccccccccccccccccccccccccccccccccccccccccccccccccc");
+    final Log log = new Log(address, BytesValue.fromHexString("0x0102"), Lists.newArrayList(topic));
+    final LogsBloomFilter bloom = LogsBloomFilter.compute(Lists.newArrayList(log));
+
+    final List<List<LogTopic>> topics = new ArrayList<>();
+    topics.add(Lists.newArrayList(null, topic));
+    final LogsQuery query = new LogsQuery.Builder().address(address).topics(topics).build();
+
+    assertThat(query.matches(log)).isTrue();
+    assertThat(query.couldMatch(bloom)).isTrue();
+  }
+
+  @Test
+  public void bloomWithoutQueriedAddressCannotMatch() {
+    final Address address1 = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final Address address2 = Address.fromHexString("0x2222222222222222222222222222222222222222");
+    final Log log = new Log(address2, BytesValue.fromHexString("0x0102"), Lists.newArrayList());
+    final LogsBloomFilter bloom = LogsBloomFilter.compute(Lists.newArrayList(log));
+
+    final LogsQuery query = new LogsQuery.Builder().address(address1).build();
+
+    assertThat(query.couldMatch(bloom)).isFalse();
+    assertThat(new LogsQuery.Builder().build().couldMatch(bloom)).isTrue();
+  }
 }
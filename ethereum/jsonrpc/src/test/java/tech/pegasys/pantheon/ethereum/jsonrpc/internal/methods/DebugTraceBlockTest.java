@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLog;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHashFunction;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class DebugTraceBlockTest {
+
+  private final JsonRpcParameter parameters = new JsonRpcParameter();
+  private final TransactionTracer transactionTracer = mock(TransactionTracer.class);
+  private final DebugTraceBlock debugTraceBlock =
+      new DebugTraceBlock(parameters, transactionTracer, MainnetBlockHashFunction::createHash);
+  private final Block block = new BlockDataGenerator().block();
+
+  @Test
+  public void nameShouldBeDebugTraceBlock() {
+    assertThat(debugTraceBlock.getName()).isEqualTo("debug_traceBlock");
+  }
+
+  @Test
+  public void shouldTraceEachTransactionOfTheBlock() {
+    final Transaction transaction = mock(Transaction.class);
+    final Result result = mock(Result.class);
+    final TraceFrame traceFrame =
+        new TraceFrame(
+            12,
+            "NONE",
+            Gas.of(45),
+            Optional.of(Gas.of(56)),
+            2,
+            EnumSet.noneOf(ExceptionalHaltReason.class),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty());
+    when(transaction.getGasLimit()).thenReturn(100L);
+    when(result.getGasRemaining()).thenReturn(27L);
+    when(result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
+    when(result.isSuccessful()).thenReturn(true);
+    final TransactionTrace transactionTrace =
+        new TransactionTrace(transaction, result, Collections.singletonList(traceFrame));
+    when(transactionTracer.traceBlock(eq(block), any()))
+        .thenReturn(Optional.of(Collections.singletonList(transactionTrace)));
+
+    final JsonRpcResponse response = debugTraceBlock.response(request(block.toRlp().toString()));
+
+    @SuppressWarnings("unchecked")
+    final List<DebugTraceTransactionResult> results =
+        (List<DebugTraceTransactionResult>) ((JsonRpcSuccessResponse) response).getResult();
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).getGas()).isEqualTo(73);
+    assertThat(results.get(0).failed()).isFalse();
+    assertThat(results.get(0).getStructLogs()).containsExactly(new StructLog(traceFrame));
+  }
+
+  @Test
+  public void shouldReturnErrorWhenParentBlockIsNotAvailable() {
+    when(transactionTracer.traceBlock(eq(block), any())).thenReturn(Optional.empty());
+
+    final JsonRpcResponse response = debugTraceBlock.response(request(block.toRlp().toString()));
+
+    assertThat(((JsonRpcErrorResponse) response).getError())
+        .isEqualTo(JsonRpcError.PARENT_BLOCK_NOT_FOUND);
+  }
+
+  @Test
+  public void shouldRejectInvalidBlockRlp() {
+    assertThatThrownBy(() -> debugTraceBlock.response(request("0x1234")))
+        .isInstanceOf(InvalidJsonRpcParameters.class);
+  }
+
+  private JsonRpcRequest request(final String blockRlp) {
+    return new JsonRpcRequest("2.0", "debug_traceBlock", new Object[] {blockRlp});
+  }
+}
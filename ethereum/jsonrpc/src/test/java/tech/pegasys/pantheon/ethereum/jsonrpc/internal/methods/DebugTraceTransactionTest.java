@@ -23,12 +23,15 @@ import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrameLimitExceededException;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLog;
@@ -108,4 +111,23 @@ public class DebugTraceTransactionTest {
     final List<StructLog> expectedStructLogs = Collections.singletonList(new StructLog(traceFrame));
     assertEquals(expectedStructLogs, transactionResult.getStructLogs());
   }
+
+  @Test
+  public void shouldReturnErrorWhenTraceExceedsFrameLimit() {
+    final TransactionWithMetadata transactionWithMetadata =
+        new TransactionWithMetadata(transaction, 12L, blockHash, 2);
+    final Map<String, Object> map = new HashMap<>();
+    map.put("maxFrames", 10);
+    final Object[] params = new Object[] {transactionHash, map};
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceTransaction", params);
+    when(blockchain.transactionByHash(transactionHash))
+        .thenReturn(Optional.of(transactionWithMetadata));
+    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any()))
+        .thenThrow(new TraceFrameLimitExceededException(10));
+
+    final JsonRpcErrorResponse response =
+        (JsonRpcErrorResponse) debugTraceTransaction.response(request);
+
+    assertEquals(JsonRpcError.TRACE_FRAME_LIMIT_EXCEEDED, response.getError());
+  }
 }
@@ -14,7 +14,6 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
@@ -22,8 +21,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.CallParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessingResult;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionProcessor;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransientTransactionGasEstimator;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
@@ -47,7 +45,7 @@ public class EthEstimateGasTest {
   @Mock private BlockHeader blockHeader;
   @Mock private Blockchain blockchain;
   @Mock private BlockchainQueries blockchainQueries;
-  @Mock private TransientTransactionProcessor transientTransactionProcessor;
+  @Mock private TransientTransactionGasEstimator transientTransactionGasEstimator;
 
   @Before
   public void setUp() {
@@ -55,11 +53,10 @@ public class EthEstimateGasTest {
     when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
     when(blockchain.getBlockHeader(eq(1L))).thenReturn(Optional.of(blockHeader));
     when(blockHeader.getGasLimit()).thenReturn(Long.MAX_VALUE);
-    when(blockHeader.getNumber()).thenReturn(1L);
 
     method =
         new EthEstimateGas(
-            blockchainQueries, transientTransactionProcessor, new JsonRpcParameter());
+            blockchainQueries, transientTransactionGasEstimator, new JsonRpcParameter());
   }
 
   @Test
@@ -68,9 +65,9 @@ public class EthEstimateGasTest {
   }
 
   @Test
-  public void shouldReturnErrorWhenTransientTransactionProcessorReturnsEmpty() {
+  public void shouldReturnErrorWhenGasEstimatorReturnsEmpty() {
     final JsonRpcRequest request = ethEstimateGasRequest(callParameter());
-    when(transientTransactionProcessor.process(eq(modifiedCallParameter()), eq(1L)))
+    when(transientTransactionGasEstimator.estimate(eq(modifiedCallParameter()), eq(blockHeader)))
         .thenReturn(Optional.empty());
 
     final JsonRpcResponse expectedResponse =
@@ -80,23 +77,16 @@ public class EthEstimateGasTest {
   }
 
   @Test
-  public void shouldReturnGasEstimateWhenTransientTransactionProcessorReturnsResult() {
+  public void shouldReturnGasEstimateWhenGasEstimatorReturnsResult() {
     final JsonRpcRequest request = ethEstimateGasRequest(callParameter());
-    mockTransientProcessorResultGasEstimate(1L);
+    when(transientTransactionGasEstimator.estimate(eq(modifiedCallParameter()), eq(blockHeader)))
+        .thenReturn(Optional.of(1L));
 
     final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, Quantity.create(1L));
 
     assertThat(method.response(request)).isEqualToComparingFieldByField(expectedResponse);
   }
 
-  private void mockTransientProcessorResultGasEstimate(final long gasEstimate) {
-    final TransientTransactionProcessingResult result =
-        mock(TransientTransactionProcessingResult.class);
-    when(result.getGasEstimate()).thenReturn(gasEstimate);
-    when(transientTransactionProcessor.process(eq(modifiedCallParameter()), eq(1L)))
-        .thenReturn(Optional.of(result));
-  }
-
   private CallParameter callParameter() {
     return new CallParameter("0x0", "0x0", "0x0", "0x0", "0x0", "");
   }
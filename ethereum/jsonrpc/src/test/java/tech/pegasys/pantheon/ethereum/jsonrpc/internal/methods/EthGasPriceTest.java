@@ -20,9 +20,12 @@ import static org.mockito.Mockito.when;
 import tech.pegasys.pantheon.ethereum.blockcreation.EthHashMiningCoordinator;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 
+import java.util.Optional;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -33,13 +36,14 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class EthGasPriceTest {
 
   @Mock private EthHashMiningCoordinator miningCoordinator;
+  @Mock private GasPriceOracle gasPriceOracle;
   private EthGasPrice method;
   private final String JSON_RPC_VERSION = "2.0";
   private final String ETH_METHOD = "eth_gasPrice";
 
   @Before
   public void setUp() {
-    method = new EthGasPrice(miningCoordinator);
+    method = new EthGasPrice(miningCoordinator, gasPriceOracle);
   }
 
   @Test
@@ -54,6 +58,7 @@ public class EthGasPriceTest {
     final JsonRpcResponse expectedResponse =
         new JsonRpcSuccessResponse(request.getId(), expectedWei);
     when(miningCoordinator.getMinTransactionGasPrice()).thenReturn(Wei.of(1234));
+    when(gasPriceOracle.getGasPrice()).thenReturn(Optional.empty());
 
     final JsonRpcResponse actualResponse = method.response(request);
     assertThat(actualResponse).isEqualToComparingFieldByField(expectedResponse);
@@ -61,6 +66,28 @@ public class EthGasPriceTest {
     verifyNoMoreInteractions(miningCoordinator);
   }
 
+  @Test
+  public void shouldReturnOracleGasPriceWhenAboveMinimum() {
+    final JsonRpcRequest request = requestWithParams();
+    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(request.getId(), "0x1388");
+    when(miningCoordinator.getMinTransactionGasPrice()).thenReturn(Wei.of(1234));
+    when(gasPriceOracle.getGasPrice()).thenReturn(Optional.of(Wei.of(5000)));
+
+    final JsonRpcResponse actualResponse = method.response(request);
+    assertThat(actualResponse).isEqualToComparingFieldByField(expectedResponse);
+  }
+
+  @Test
+  public void shouldReturnMinimumGasPriceWhenOracleGasPriceIsBelowIt() {
+    final JsonRpcRequest request = requestWithParams();
+    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(request.getId(), "0x4d2");
+    when(miningCoordinator.getMinTransactionGasPrice()).thenReturn(Wei.of(1234));
+    when(gasPriceOracle.getGasPrice()).thenReturn(Optional.of(Wei.of(1000)));
+
+    final JsonRpcResponse actualResponse = method.response(request);
+    assertThat(actualResponse).isEqualToComparingFieldByField(expectedResponse);
+  }
+
   private JsonRpcRequest requestWithParams(final Object... params) {
     return new JsonRpcRequest(JSON_RPC_VERSION, ETH_METHOD, params);
   }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.ExecutionContextTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockReplayTest {
+
+  private static final int CHAIN_ID = 42;
+
+  private final ExecutionContextTestFixture fixture = ExecutionContextTestFixture.create();
+  private final MutableBlockchain blockchain = fixture.getBlockchain();
+  private final KeyPair senderKeys = KeyPair.generate();
+  private final Address recipient = Address.fromHexString("0x1234");
+
+  private Transaction firstTransaction;
+  private Transaction secondTransaction;
+  private Block block;
+  private TransactionTracer transactionTracer;
+
+  @Before
+  public void setUp() {
+    final WorldStateArchive worldStateArchive = fixture.getStateArchive();
+    final MutableWorldState worldState =
+        worldStateArchive.getMutable(fixture.getGenesis().getHeader().getStateRoot()).get();
+    final WorldUpdater updater = worldState.updater();
+    updater.createAccount(
+        Address.extract(Hash.hash(senderKeys.getPublicKey().getEncodedBytes())),
+        0,
+        Wei.of(1_000_000_000_000_000_000L));
+    updater.commit();
+    worldState.persist();
+
+    final BlockHeader parentHeader =
+        new BlockHeaderTestFixture()
+            .parentHash(fixture.getGenesis().getHash())
+            .number(1)
+            .stateRoot(worldState.rootHash())
+            .gasLimit(1_000_000)
+            .buildHeader();
+    blockchain.appendBlock(
+        new Block(parentHeader, new BlockBody(Collections.emptyList(), Collections.emptyList())),
+        Collections.emptyList());
+
+    // The second transaction is only valid once the first has incremented the sender's nonce
+    firstTransaction = transfer(0);
+    secondTransaction = transfer(1);
+    block =
+        new Block(
+            new BlockHeaderTestFixture()
+                .parentHash(parentHeader.getHash())
+                .number(2)
+                .gasLimit(1_000_000)
+                .buildHeader(),
+            new BlockBody(
+                Arrays.asList(firstTransaction, secondTransaction), Collections.emptyList()));
+    final TransactionReceipt receipt =
+        new TransactionReceipt(Hash.EMPTY_TRIE_HASH, 0, Collections.emptyList());
+    blockchain.appendBlock(block, Arrays.asList(receipt, receipt));
+
+    transactionTracer =
+        new TransactionTracer(
+            new BlockReplay(fixture.getProtocolSchedule(), blockchain, worldStateArchive));
+  }
+
+  @Test
+  public void traceBlockRunsEachTransactionOnTheStateLeftByThePreviousOne() {
+    final List<TransactionTrace> traces =
+        transactionTracer.traceBlock(block, TraceOptions.DEFAULT).get();
+
+    assertThat(traces).hasSize(2);
+    assertThat(traces.get(0).getTransaction()).isEqualTo(firstTransaction);
+    assertThat(traces.get(0).getResult().isSuccessful()).isTrue();
+    assertThat(traces.get(1).getTransaction()).isEqualTo(secondTransaction);
+    assertThat(traces.get(1).getResult().isSuccessful()).isTrue();
+  }
+
+  @Test
+  public void traceTransactionRunsOnTheStateLeftByEarlierTransactions() {
+    final Optional<TransactionTrace> trace =
+        transactionTracer.traceTransaction(
+            block.getHash(),
+            secondTransaction.hash(),
+            new DebugOperationTracer(TraceOptions.DEFAULT));
+
+    assertThat(trace).isPresent();
+    assertThat(trace.get().getResult().isSuccessful()).isTrue();
+  }
+
+  private Transaction transfer(final long nonce) {
+    return Transaction.builder()
+        .nonce(nonce)
+        .gasPrice(Wei.of(1))
+        .gasLimit(21_000)
+        .to(recipient)
+        .value(Wei.of(1_000))
+        .payload(BytesValue.EMPTY)
+        .chainId(CHAIN_ID)
+        .signAndBuild(senderKeys);
+  }
+}
@@ -20,6 +20,7 @@ import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
@@ -27,6 +28,7 @@ import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
@@ -69,6 +71,8 @@ public class TransactionTracerTest {
 
   @Mock private MutableWorldState mutableWorldState;
 
+  @Mock private WorldUpdater worldUpdater;
+
   @Mock private TransactionProcessor transactionProcessor;
 
   private TransactionTracer transactionTracer;
@@ -97,6 +101,7 @@ public class TransactionTracerTest {
     when(blockHeader.getParentHash()).thenReturn(previousBlockHash);
     when(previousBlockHeader.getStateRoot()).thenReturn(Hash.ZERO);
     when(worldStateArchive.getMutable(Hash.ZERO)).thenReturn(Optional.of(mutableWorldState));
+    when(mutableWorldState.updater()).thenReturn(worldUpdater);
     when(protocolSchedule.getByBlockNumber(12)).thenReturn(protocolSpec);
     when(protocolSpec.getTransactionProcessor()).thenReturn(transactionProcessor);
     when(protocolSpec.getMiningBeneficiaryCalculator()).thenReturn(BlockHeader::getCoinbase);
@@ -151,11 +156,10 @@ public class TransactionTracerTest {
     when(blockBody.getTransactions()).thenReturn(Collections.singletonList(transaction));
     when(blockchain.getBlockBody(blockHash)).thenReturn(Optional.of(blockBody));
 
-    final WorldUpdater updater = mutableWorldState.updater();
     final Address coinbase = blockHeader.getCoinbase();
     when(transactionProcessor.processTransaction(
             eq(blockchain),
-            eq(updater),
+            eq(worldUpdater),
             eq(blockHeader),
             eq(transaction),
             eq(coinbase),
@@ -195,4 +199,32 @@ public class TransactionTracerTest {
 
     assertEquals(Optional.empty(), transactionTrace);
   }
+
+  @Test
+  public void traceBlockShouldTraceEachTransactionInOrder() {
+    final Result result = mock(Result.class);
+    when(blockchain.getBlockHeader(previousBlockHash)).thenReturn(Optional.of(previousBlockHeader));
+    when(blockBody.getTransactions()).thenReturn(Arrays.asList(otherTransaction, transaction));
+    when(transactionProcessor.processTransaction(
+            eq(blockchain), any(), eq(blockHeader), any(), any(), any(), any()))
+        .thenReturn(result);
+
+    final Optional<List<TransactionTrace>> transactionTraces =
+        transactionTracer.traceBlock(new Block(blockHeader, blockBody), TraceOptions.DEFAULT);
+
+    assertEquals(2, transactionTraces.get().size());
+    assertEquals(otherTransaction, transactionTraces.get().get(0).getTransaction());
+    assertEquals(transaction, transactionTraces.get().get(1).getTransaction());
+    assertEquals(result, transactionTraces.get().get(1).getResult());
+  }
+
+  @Test
+  public void traceBlockShouldReturnEmptyWhenParentBlockIsNotAvailable() {
+    when(blockchain.getBlockHeader(previousBlockHash)).thenReturn(Optional.empty());
+
+    final Optional<List<TransactionTrace>> transactionTraces =
+        transactionTracer.traceBlock(new Block(blockHeader, blockBody), TraceOptions.DEFAULT);
+
+    assertEquals(Optional.empty(), transactionTraces);
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogSeries;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.CallParameter;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetTransactionProcessor;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+import tech.pegasys.pantheon.ethereum.mainnet.ValidationResult;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransientTransactionGasEstimatorTest {
+
+  private static final long BLOCK_GAS_LIMIT = 8_000_000L;
+
+  private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+  private final MutableWorldState worldState = mock(MutableWorldState.class);
+  private final TransientTransactionProcessor processor = mock(TransientTransactionProcessor.class);
+  private final BlockHeader header = mock(BlockHeader.class);
+  private final ExecutorService probeExecutor = Executors.newFixedThreadPool(3);
+  private final CallParameter callParameter =
+      new CallParameter("0x0", "0x0", "0x0", "0x0", "0x0", "");
+
+  @Before
+  public void setUp() {
+    when(header.getStateRoot()).thenReturn(Hash.EMPTY_TRIE_HASH);
+    when(header.getGasLimit()).thenReturn(BLOCK_GAS_LIMIT);
+    when(worldStateArchive.getMutable(Hash.EMPTY_TRIE_HASH)).thenReturn(Optional.of(worldState));
+  }
+
+  @After
+  public void tearDown() {
+    probeExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldReturnEmptyWhenWorldStateIsUnavailable() {
+    when(worldStateArchive.getMutable(Hash.EMPTY_TRIE_HASH)).thenReturn(Optional.empty());
+
+    assertThat(sequentialEstimator().estimate(callParameter, header)).isEmpty();
+  }
+
+  @Test
+  public void shouldReturnGasUsedWhenCallSucceedsWithGasUsed() {
+    mockCallRequiring(21_000L, 21_000L);
+
+    assertThat(sequentialEstimator().estimate(callParameter, header)).contains(21_000L);
+    verify(processor, times(2)).process(any(), any(), any());
+  }
+
+  @Test
+  public void shouldReturnGasUsedWhenCallFailsAtBlockGasLimit() {
+    mockCallRequiring(BLOCK_GAS_LIMIT + 1, 50_000L);
+
+    assertThat(sequentialEstimator().estimate(callParameter, header)).contains(50_000L);
+    verify(processor, times(1)).process(any(), any(), any());
+  }
+
+  @Test
+  public void shouldFindMinimumGasLimitWhenCallIsRefunded() {
+    mockCallRequiring(53_123L, 28_123L);
+
+    assertThat(sequentialEstimator().estimate(callParameter, header)).contains(53_123L);
+  }
+
+  @Test
+  public void shouldFindMinimumGasLimitWithParallelProbes() {
+    mockCallRequiring(53_123L, 28_123L);
+
+    final TransientTransactionGasEstimator estimator =
+        new TransientTransactionGasEstimator(worldStateArchive, processor, probeExecutor, 3);
+
+    assertThat(estimator.estimate(callParameter, header)).contains(53_123L);
+  }
+
+  private TransientTransactionGasEstimator sequentialEstimator() {
+    return new TransientTransactionGasEstimator(worldStateArchive, processor);
+  }
+
+  private void mockCallRequiring(final long requiredGasLimit, final long gasUsed) {
+    when(processor.process(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final CallParameter params = invocation.getArgument(0);
+              return result(params.getGasLimit(), requiredGasLimit, gasUsed);
+            });
+  }
+
+  private TransientTransactionProcessingResult result(
+      final long gasLimit, final long requiredGasLimit, final long gasUsed) {
+    final Transaction transaction = Transaction.builder().gasLimit(gasLimit).build();
+    final Result result =
+        gasLimit >= requiredGasLimit
+            ? MainnetTransactionProcessor.Result.successful(
+                LogSeries.empty(), gasLimit - gasUsed, BytesValue.EMPTY, ValidationResult.valid())
+            : MainnetTransactionProcessor.Result.failed(0L, ValidationResult.valid());
+    return new TransientTransactionProcessingResult(transaction, result);
+  }
+}
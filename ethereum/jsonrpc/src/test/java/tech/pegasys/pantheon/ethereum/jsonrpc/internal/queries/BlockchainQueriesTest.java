@@ -20,6 +20,7 @@ import static org.junit.Assert.assertTrue;
 import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
 import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
 
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Account;
 import tech.pegasys.pantheon.ethereum.core.Address;
@@ -28,6 +29,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.core.Wei;
@@ -41,6 +43,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.junit.Before;
@@ -350,6 +353,50 @@ public class BlockchainQueriesTest {
     assertThat(logs).isEmpty();
   }
 
+  @Test
+  public void logsOfHeadAdvancedEventShouldIncludeEveryLogOfTheBlock() {
+    final BlockchainWithData data = setupBlockchain(3);
+    final BlockData targetBlockData = data.blockData.get(data.blockData.size() - 1);
+    final BlockAddedEvent event = BlockAddedEvent.createForHeadAdvancement(targetBlockData.block);
+
+    final List<LogWithMetadata> logs = data.blockchainQueries.logsOfBlockAddedEvent(event);
+
+    final List<Log> expectedLogs =
+        targetBlockData.receipts.stream()
+            .flatMap(receipt -> receipt.getLogs().stream())
+            .collect(Collectors.toList());
+    assertThat(logs).hasSize(expectedLogs.size());
+    assertThat(logs).allMatch(l -> l.getBlockHash().equals(targetBlockData.block.getHash()));
+    assertThat(logs).allMatch(l -> !l.isRemoved());
+    assertThat(logs.stream().map(LogWithMetadata::getAddress).collect(Collectors.toList()))
+        .isEqualTo(expectedLogs.stream().map(Log::getLogger).collect(Collectors.toList()));
+    assertThat(data.blockchainQueries.logsOfBlockAddedEvent(event)).isSameAs(logs);
+  }
+
+  @Test
+  public void logsOfChainReorgEventShouldIncludeLogsOfAddedTransactions() {
+    final BlockchainWithData data = setupBlockchain(3);
+    final AtomicReference<BlockAddedEvent> event = new AtomicReference<>();
+    data.blockchain.observeBlockAdded((e, blockchain) -> event.set(e));
+
+    final BlockOptions options =
+        new BlockOptions()
+            .setParentHash(data.blockchain.getBlockHashByNumber(1).get())
+            .setBlockNumber(2)
+            .setDifficulty(data.blockchain.getBlockHeader(2).get().getDifficulty().plus(10L));
+    final Block fork = gen.block(options);
+    final List<TransactionReceipt> forkReceipts = gen.receipts(fork);
+    data.blockchain.appendBlock(fork, forkReceipts);
+
+    final List<LogWithMetadata> logs = data.blockchainQueries.logsOfBlockAddedEvent(event.get());
+
+    assertThat(event.get().getEventType()).isEqualTo(BlockAddedEvent.EventType.CHAIN_REORG);
+    assertThat(logs)
+        .hasSize(forkReceipts.stream().mapToInt(receipt -> receipt.getLogs().size()).sum());
+    assertThat(logs).allMatch(l -> l.getBlockHash().equals(fork.getHash()));
+    assertThat(logs).allMatch(l -> !l.isRemoved());
+  }
+
   @Test
   public void getOmmerByBlockHashAndIndexShouldReturnEmptyWhenBlockDoesNotExist() {
     final BlockchainWithData data = setupBlockchain(3);
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
+
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Log;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.LogsQuery;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BloomBitsIndexTest {
+  private static final int SECTION_SIZE = 8;
+  private static final Address ADDRESS_A =
+      Address.fromHexString("0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+  private static final Address ADDRESS_B =
+      Address.fromHexString("0xbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb");
+  private static final LogTopic TOPIC =
+      LogTopic.fromHexString("0x1111111111111111111111111111111111111111111111111111111111111111");
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private MutableBlockchain blockchain;
+  private Path directory;
+
+  @Before
+  public void setup() throws IOException {
+    directory = folder.newFolder().toPath();
+    final BlockHeader genesisHeader =
+        new BlockHeaderTestFixture().number(0).logsBloom(LogsBloomFilter.empty()).buildHeader();
+    blockchain = createInMemoryBlockchain(new Block(genesisHeader, BlockBody.empty()));
+    // Block 3 and 12 log from A, 12 and 20 log TOPIC, every other block logs from B
+    for (long number = 1; number <= 24; number++) {
+      final Address logger = number == 3 || number == 12 ? ADDRESS_A : ADDRESS_B;
+      final List<LogTopic> topics =
+          number == 12 || number == 20 ? Collections.singletonList(TOPIC) : Collections.emptyList();
+      appendBlock(new Log(logger, BytesValue.EMPTY, topics));
+    }
+  }
+
+  @Test
+  public void indexesSectionsOnceConfirmed() throws IOException {
+    final BloomBitsIndex index = createIndex(5);
+
+    // The chain head is 24, so only sections ending at block 19 or before are confirmed
+    assertThat(index.isIndexed(0)).isTrue();
+    assertThat(index.isIndexed(1)).isTrue();
+    assertThat(index.isIndexed(2)).isFalse();
+
+    appendBlock(new Log(ADDRESS_B, BytesValue.EMPTY, Collections.emptyList()));
+    assertThat(index.isIndexed(2)).isFalse();
+    for (int i = 0; i < 4; i++) {
+      appendBlock(new Log(ADDRESS_B, BytesValue.EMPTY, Collections.emptyList()));
+    }
+    assertThat(index.isIndexed(2)).isTrue();
+  }
+
+  @Test
+  public void candidateBlocksMatchAddressesAndTopics() throws IOException {
+    final BloomBitsIndex index = createIndex(0);
+
+    final LogsQuery addressQuery = new LogsQuery.Builder().address(ADDRESS_A).build();
+    assertThat(index.candidateBlocks(0, addressQuery)).contains(bits(3));
+    assertThat(index.candidateBlocks(1, addressQuery)).contains(bits(4));
+    assertThat(index.candidateBlocks(2, addressQuery)).contains(bits());
+
+    final LogsQuery addressAndTopicQuery =
+        new LogsQuery.Builder()
+            .address(ADDRESS_A)
+            .topics(Collections.singletonList(Collections.singletonList(TOPIC)))
+            .build();
+    assertThat(index.candidateBlocks(0, addressAndTopicQuery)).contains(bits());
+    assertThat(index.candidateBlocks(1, addressAndTopicQuery)).contains(bits(4));
+    assertThat(index.candidateBlocks(2, addressAndTopicQuery)).contains(bits());
+
+    assertThat(index.candidateBlocks(3, addressQuery)).isEmpty();
+  }
+
+  @Test
+  public void picksUpSectionsIndexedByPreviousRun() throws IOException {
+    createIndex(0);
+
+    final BloomBitsIndex index =
+        new BloomBitsIndex(blockchain, directory, SECTION_SIZE, 0, runnable -> {});
+    index.start();
+
+    assertThat(index.isIndexed(2)).isTrue();
+    assertThat(index.isIndexed(3)).isFalse();
+  }
+
+  @Test
+  public void doesNotPickUpSectionsThatNoLongerMatchTheChain() throws IOException {
+    createIndex(0);
+    replaceLastBlockHash(1);
+
+    final BloomBitsIndex index =
+        new BloomBitsIndex(blockchain, directory, SECTION_SIZE, 0, runnable -> {});
+    index.start();
+
+    assertThat(index.isIndexed(0)).isTrue();
+    assertThat(index.isIndexed(1)).isFalse();
+    assertThat(index.isIndexed(2)).isFalse();
+  }
+
+  @Test
+  public void indexesSectionAgainWhenItNoLongerMatchesTheChain() throws IOException {
+    final BloomBitsIndex index = createIndex(0);
+    replaceLastBlockHash(1);
+
+    final LogsQuery addressQuery = new LogsQuery.Builder().address(ADDRESS_A).build();
+    assertThat(index.candidateBlocks(1, addressQuery)).isEmpty();
+
+    // The section was indexed again straight away as the test indexes on the calling thread
+    assertThat(index.isIndexed(1)).isTrue();
+    assertThat(index.isIndexed(2)).isTrue();
+    assertThat(index.candidateBlocks(1, addressQuery)).contains(bits(4));
+  }
+
+  @Test
+  public void matchingLogsWithIndexMatchesFullScan() throws IOException {
+    final BlockchainQueries indexedQueries =
+        new BlockchainQueries(
+            blockchain, createInMemoryWorldStateArchive(), Optional.of(createIndex(0)));
+    final BlockchainQueries unindexedQueries =
+        new BlockchainQueries(blockchain, createInMemoryWorldStateArchive());
+
+    final LogsQuery query = new LogsQuery.Builder().address(ADDRESS_A).build();
+    assertThat(blockNumbers(indexedQueries.matchingLogs(2, 24, query))).containsExactly(3L, 12L);
+    assertThat(blockNumbers(unindexedQueries.matchingLogs(2, 24, query)))
+        .containsExactly(3L, 12L);
+    assertThat(blockNumbers(indexedQueries.matchingLogs(4, 11, query))).isEmpty();
+
+    final LogsQuery topicQuery =
+        new LogsQuery.Builder()
+            .topics(Collections.singletonList(Collections.singletonList(TOPIC)))
+            .build();
+    assertThat(blockNumbers(indexedQueries.matchingLogs(0, 24, topicQuery)))
+        .containsExactly(12L, 20L);
+  }
+
+  private BloomBitsIndex createIndex(final long confirmations) throws IOException {
+    final BloomBitsIndex index =
+        new BloomBitsIndex(blockchain, directory, SECTION_SIZE, confirmations, Runnable::run);
+    index.start();
+    return index;
+  }
+
+  private void replaceLastBlockHash(final long section) throws IOException {
+    // Stands in for a section written before a reorg replaced its blocks
+    final Path sectionFile = directory.resolve(String.format("section-%08d.bits", section));
+    try (final FileChannel channel = FileChannel.open(sectionFile, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(Hash.ZERO.extractArray()), 0);
+    }
+  }
+
+  private void appendBlock(final Log log) {
+    final TransactionReceipt receipt =
+        new TransactionReceipt(Hash.EMPTY_TRIE_HASH, 21_000, Collections.singletonList(log));
+    final BlockHeader header =
+        new BlockHeaderTestFixture()
+            .number(blockchain.getChainHeadBlockNumber() + 1)
+            .parentHash(blockchain.getChainHeadHash())
+            .logsBloom(LogsBloomFilter.compute(Collections.singletonList(log)))
+            .buildHeader();
+    final BlockBody body =
+        new BlockBody(Collections.singletonList(gen.transaction()), Collections.emptyList());
+    blockchain.appendBlock(new Block(header, body), Collections.singletonList(receipt));
+  }
+
+  private static BitSet bits(final int... offsets) {
+    final BitSet bits = new BitSet(SECTION_SIZE);
+    for (final int offset : offsets) {
+      bits.set(offset);
+    }
+    return bits;
+  }
+
+  private static List<Long> blockNumbers(final List<LogWithMetadata> logs) {
+    return logs.stream().map(LogWithMetadata::getBlockNumber).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GasPriceOracleTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final KeyPair keyPair = KeyPair.generate();
+  private Block genesis;
+  private MutableBlockchain blockchain;
+
+  @Before
+  public void setUp() {
+    genesis = gen.genesisBlock();
+    blockchain = createInMemoryBlockchain(genesis);
+  }
+
+  @Test
+  public void shouldHaveNoGasPriceWhenNoTransactionsHaveBeenIncluded() {
+    final GasPriceOracle oracle = createOracle(2, 50);
+
+    assertThat(oracle.getGasPrice()).isEmpty();
+  }
+
+  @Test
+  public void shouldSampleOnlyTheMostRecentBlocks() {
+    final Block block1 = appendBlock(genesis, 1, 10, 20, 30);
+    final Block block2 = appendBlock(block1, 1, 40, 50);
+    final GasPriceOracle oracle = createOracle(2, 50);
+
+    // Block 1 contributes its median of 20 and block 2 contributes 40.
+    assertThat(oracle.getGasPrice()).contains(Wei.of(20));
+
+    appendBlock(block2, 1, 60, 70);
+
+    assertThat(oracle.getGasPrice()).contains(Wei.of(40));
+  }
+
+  @Test
+  public void shouldUseConfiguredPercentile() {
+    final Block block1 = appendBlock(genesis, 1, 10);
+    final Block block2 = appendBlock(block1, 1, 20);
+    appendBlock(block2, 1, 30);
+
+    assertThat(createOracle(3, 0).getGasPrice()).contains(Wei.of(10));
+    assertThat(createOracle(3, 100).getGasPrice()).contains(Wei.of(30));
+  }
+
+  @Test
+  public void shouldReplaceBlocksRemovedByReorg() {
+    final Block block1 = appendBlock(genesis, 1, 10);
+    final Block block2 = appendBlock(block1, 1, 100);
+    final GasPriceOracle oracle = createOracle(2, 100);
+    assertThat(oracle.getGasPrice()).contains(Wei.of(100));
+
+    appendBlock(block1, 10, 50);
+
+    assertThat(oracle.getGasPrice()).contains(Wei.of(50));
+    assertThat(blockchain.getChainHeadHash()).isNotEqualTo(block2.getHash());
+  }
+
+  @Test
+  public void shouldIgnoreForks() {
+    final Block block1 = appendBlock(genesis, 10, 10);
+    appendBlock(block1, 10, 20);
+    final GasPriceOracle oracle = createOracle(2, 100);
+
+    appendBlock(block1, 1, 500);
+
+    assertThat(oracle.getGasPrice()).contains(Wei.of(20));
+  }
+
+  private GasPriceOracle createOracle(final int blocks, final int percentile) {
+    final GasPriceOracle oracle = new GasPriceOracle(blockchain, blocks, percentile);
+    oracle.initialize();
+    blockchain.observeBlockAdded(oracle);
+    return oracle;
+  }
+
+  private Block appendBlock(final Block parent, final long difficulty, final long... gasPrices) {
+    final BlockOptions options =
+        gen.nextBlockOptions(parent).setDifficulty(UInt256.of(difficulty));
+    for (final long gasPrice : gasPrices) {
+      options.addTransaction(transaction(gasPrice));
+    }
+    final Block block = gen.block(options);
+    blockchain.appendBlock(block, gen.receipts(block));
+    return block;
+  }
+
+  private Transaction transaction(final long gasPrice) {
+    return Transaction.builder()
+        .nonce(0)
+        .gasPrice(Wei.of(gasPrice))
+        .gasLimit(21_000)
+        .to(gen.address())
+        .value(Wei.ZERO)
+        .payload(BytesValue.EMPTY)
+        .chainId(1)
+        .signAndBuild(keyPair);
+  }
+}
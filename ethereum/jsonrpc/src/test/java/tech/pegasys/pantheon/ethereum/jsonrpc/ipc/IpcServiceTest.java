@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.ipc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.Web3ClientVersion;
+import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.methods.WebSocketMethodsFactory;
+import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.SubscriptionManager;
+
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.Map;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.core.parsetools.RecordParser;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class IpcServiceTest {
+
+  private static final int VERTX_AWAIT_TIMEOUT_MILLIS = 10000;
+  private static final String CLIENT_VERSION = "TestClientVersion/0.1.0";
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private Vertx vertx;
+  private IpcConfiguration configuration;
+  private IpcService ipcService;
+  private NetClient client;
+
+  @Before
+  public void before() {
+    vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    assumeTrue(vertx.isNativeTransportEnabled());
+
+    configuration = IpcConfiguration.createDefault();
+    configuration.setEnabled(true);
+    configuration.setPath(folder.getRoot().toPath().resolve(IpcConfiguration.DEFAULT_IPC_FILE));
+
+    final Map<String, JsonRpcMethod> methods =
+        new WebSocketMethodsFactory(
+                new SubscriptionManager(),
+                Collections.singletonMap(
+                    "web3_clientVersion", new Web3ClientVersion(CLIENT_VERSION)))
+            .methods();
+    ipcService = new IpcService(vertx, configuration, methods);
+    ipcService.start().join();
+
+    client = vertx.createNetClient();
+  }
+
+  @After
+  public void after() {
+    if (ipcService != null) {
+      ipcService.stop().join();
+    }
+    vertx.close();
+  }
+
+  @Test
+  public void answersPipelinedRequests(final TestContext context) {
+    final Async async = context.async(2);
+
+    connect(
+        context,
+        socket -> {
+          RecordParser.newDelimited("\n", socket)
+              .handler(
+                  line -> {
+                    final JsonObject response = new JsonObject(line.toString());
+                    context.assertEquals(CLIENT_VERSION, response.getString("result"));
+                    async.countDown();
+                  });
+          socket.write(
+              request(1, "web3_clientVersion") + "\n" + request(2, "web3_clientVersion") + "\n");
+        });
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void answersBatchRequestsOnOneLine(final TestContext context) {
+    final Async async = context.async();
+
+    connect(
+        context,
+        socket -> {
+          RecordParser.newDelimited("\n", socket)
+              .handler(
+                  line -> {
+                    context.assertEquals(2, line.toJsonArray().size());
+                    async.complete();
+                  });
+          socket.write(
+              "[" + request(1, "web3_clientVersion") + "," + request(2, "eth_foo") + "]\n");
+        });
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void subscribesOverTheConnection(final TestContext context) {
+    final Async async = context.async();
+
+    connect(
+        context,
+        socket -> {
+          RecordParser.newDelimited("\n", socket)
+              .handler(
+                  line -> {
+                    context.assertEquals(
+                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}", line.toString());
+                    async.complete();
+                  });
+          socket.write("{\"id\": 1, \"method\": \"eth_subscribe\", \"params\": [\"syncing\"]}\n");
+        });
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void reportsParseErrors(final TestContext context) {
+    final Async async = context.async();
+
+    connect(
+        context,
+        socket -> {
+          RecordParser.newDelimited("\n", socket)
+              .handler(
+                  line -> {
+                    context.assertEquals(
+                        -32700, line.toJsonObject().getJsonObject("error").getInteger("code"));
+                    async.complete();
+                  });
+          socket.write("{\"id\": 1, \"method\"\n");
+        });
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void removesSubscriptionsWhenConnectionCloses(final TestContext context) {
+    final Async async = context.async();
+
+    vertx
+        .eventBus()
+        .consumer(SubscriptionManager.EVENTBUS_REMOVE_SUBSCRIPTIONS_ADDRESS)
+        .handler(
+            m -> {
+              context.assertNotNull(m.body());
+              async.complete();
+            })
+        .completionHandler(v -> connect(context, NetSocket::close));
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void closesConnectionsSendingOversizedRequests(final TestContext context) {
+    final Async async = context.async();
+
+    connect(
+        context,
+        socket -> {
+          socket.closeHandler(v -> async.complete());
+          socket.write(Buffer.buffer(new byte[configuration.getMaxRequestSize() + 1]));
+        });
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void socketIsOnlyAccessibleByItsOwner() throws Exception {
+    assertThat(Files.getPosixFilePermissions(configuration.getPath()))
+        .isEqualTo(PosixFilePermissions.fromString("rw-------"));
+  }
+
+  @Test
+  public void doesNotDeleteFilesThatAreNotSockets() throws Exception {
+    final Path path = folder.newFile("not-a-socket").toPath();
+    Files.write(path, new byte[] {1, 2, 3});
+    final IpcConfiguration otherConfiguration = IpcConfiguration.createDefault();
+    otherConfiguration.setEnabled(true);
+    otherConfiguration.setPath(path);
+
+    final IpcService otherService =
+        new IpcService(vertx, otherConfiguration, Collections.emptyMap());
+
+    assertThatThrownBy(() -> otherService.start().join())
+        .hasCauseInstanceOf(FileAlreadyExistsException.class);
+    assertThat(Files.readAllBytes(path)).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void replacesStaleSockets() {
+    // Closing Vert.x without stopping the service leaves the socket file behind, as an unclean
+    // shutdown would
+    ipcService = null;
+    vertx.close();
+    vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+    assertThat(configuration.getPath()).exists();
+
+    ipcService = new IpcService(vertx, configuration, Collections.emptyMap());
+    ipcService.start().join();
+
+    assertThat(configuration.getPath()).exists();
+  }
+
+  @Test
+  public void socketIsDeletedOnStop() {
+    final Path path = configuration.getPath();
+    assertThat(path).exists();
+
+    ipcService.stop().join();
+    ipcService = null;
+
+    assertThat(path).doesNotExist();
+  }
+
+  private void connect(final TestContext context, final Handler<NetSocket> socketHandler) {
+    client.connect(
+        SocketAddress.domainSocketAddress(configuration.getPath().toString()),
+        context.asyncAssertSuccess(socketHandler));
+  }
+
+  private String request(final int id, final String method) {
+    return new JsonObject()
+        .put("jsonrpc", "2.0")
+        .put("id", id)
+        .put("method", method)
+        .put("params", new JsonArray())
+        .encode();
+  }
+}
@@ -13,8 +13,13 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.websocket;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.methods.WebSocketMethodsFactory;
@@ -24,13 +29,16 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.google.common.base.Strings;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.http.WebSocketBase;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -175,4 +183,41 @@ public class WebSocketServiceTest {
     request.putHeader("Content-Type", "application/json; charset=utf-8");
     request.end("{\"username\":\"user\",\"password\":\"pass\"}");
   }
+
+  @Test
+  public void disconnectsClientThatStopsReadingOnceMaxUnreadBytesAreWritten() {
+    final ServerWebSocket websocket = mock(ServerWebSocket.class);
+    when(websocket.writeQueueFull()).thenReturn(true);
+    final WebSocketService.ConnectionWriter writer =
+        new WebSocketService.ConnectionWriter(websocket, mock(SocketAddress.class));
+    final String message = Strings.repeat("a", 1024 * 1024);
+    final long messagesWithinLimit = WebSocketService.MAX_UNREAD_BYTES / message.length();
+
+    for (int i = 0; i < messagesWithinLimit; i++) {
+      writer.write(message);
+    }
+    verify(websocket, never()).close();
+
+    writer.write(message);
+    writer.write(message);
+    verify(websocket).close();
+    verify(websocket, times((int) messagesWithinLimit)).writeTextMessage(message);
+  }
+
+  @Test
+  public void countsUnreadMessagesInEncodedBytes() {
+    final ServerWebSocket websocket = mock(ServerWebSocket.class);
+    when(websocket.writeQueueFull()).thenReturn(true);
+    final WebSocketService.ConnectionWriter writer =
+        new WebSocketService.ConnectionWriter(websocket, mock(SocketAddress.class));
+    // Each character encodes to two bytes, so this is within the limit in characters only
+    final String message =
+        Strings.repeat("\u00e9", (int) WebSocketService.MAX_UNREAD_BYTES / 2 + 1);
+
+    writer.write(message);
+
+    verify(websocket).close();
+    verify(websocket, never()).writeTextMessage(message);
+  }
 }
+
@@ -15,7 +15,9 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription;
 import static junit.framework.TestCase.fail;
 import static org.mockito.Mockito.mock;
 
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.JsonRpcResult;
+import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.pending.PendingTransactionResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscribeRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.response.SubscriptionResponse;
@@ -95,4 +97,49 @@ public class SubscriptionManagerSendMessageTest {
 
     async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
   }
+
+  @Test
+  public void shouldBroadcastMessageToTheConnectionOfEachSubscription(final TestContext context) {
+    final String connectionId1 = UUID.randomUUID().toString();
+    final String connectionId2 = UUID.randomUUID().toString();
+    final Long subscriptionId1 =
+        subscriptionManager.subscribe(
+            new SubscribeRequest(
+                SubscriptionType.NEW_PENDING_TRANSACTIONS, null, null, connectionId1));
+    final Long subscriptionId2 =
+        subscriptionManager.subscribe(
+            new SubscribeRequest(
+                SubscriptionType.NEW_PENDING_TRANSACTIONS, null, null, connectionId2));
+
+    final JsonRpcResult result = new PendingTransactionResult(Hash.ZERO);
+
+    final Async async = context.async(2);
+
+    vertx
+        .eventBus()
+        .consumer(connectionId1)
+        .handler(
+            msg -> {
+              context.assertEquals(
+                  Json.encode(new SubscriptionResponse(subscriptionId1, result)), msg.body());
+              async.countDown();
+            });
+    vertx
+        .eventBus()
+        .consumer(connectionId2)
+        .handler(
+            msg -> {
+              context.assertEquals(
+                  Json.encode(new SubscriptionResponse(subscriptionId2, result)), msg.body());
+              async.countDown();
+            })
+        .completionHandler(
+            v ->
+                subscriptionManager.broadcastMessage(
+                    subscriptionManager.subscriptionsOfType(
+                        SubscriptionType.NEW_PENDING_TRANSACTIONS, Subscription.class),
+                    result));
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
 }
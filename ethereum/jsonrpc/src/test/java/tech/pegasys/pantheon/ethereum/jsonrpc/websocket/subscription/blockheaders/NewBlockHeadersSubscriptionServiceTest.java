@@ -54,7 +54,7 @@ public class NewBlockHeadersSubscriptionServiceTest {
 
   private NewBlockHeadersSubscriptionService newBlockHeadersSubscriptionService;
 
-  @Captor ArgumentCaptor<Long> subscriptionIdCaptor;
+  @Captor ArgumentCaptor<List<NewBlockHeadersSubscription>> subscriptionsCaptor;
   @Captor ArgumentCaptor<JsonRpcResult> responseCaptor;
 
   @Mock private SubscriptionManager subscriptionManager;
@@ -85,14 +85,13 @@ public class NewBlockHeadersSubscriptionServiceTest {
     simulateAddingBlock();
 
     verify(subscriptionManager)
-        .sendMessage(subscriptionIdCaptor.capture(), responseCaptor.capture());
-    final Long actualSubscriptionId = subscriptionIdCaptor.getValue();
+        .broadcastMessage(subscriptionsCaptor.capture(), responseCaptor.capture());
     final Object actualBlock = responseCaptor.getValue();
 
-    assertThat(actualSubscriptionId).isEqualTo(subscription.getId());
+    assertThat(subscriptionsCaptor.getValue()).containsExactly(subscription);
     assertThat(actualBlock).isEqualToComparingFieldByFieldRecursively(expectedNewBlock);
 
-    verify(subscriptionManager, times(1)).sendMessage(any(), any());
+    verify(subscriptionManager, times(1)).broadcastMessage(any(), any());
   }
 
   @Test
@@ -109,17 +108,16 @@ public class NewBlockHeadersSubscriptionServiceTest {
     simulateAddingBlock();
 
     verify(subscriptionManager)
-        .sendMessage(subscriptionIdCaptor.capture(), responseCaptor.capture());
-    final Long actualSubscriptionId = subscriptionIdCaptor.getValue();
+        .broadcastMessage(subscriptionsCaptor.capture(), responseCaptor.capture());
     final Object actualBlock = responseCaptor.getValue();
 
-    assertThat(actualSubscriptionId).isEqualTo(subscription.getId());
+    assertThat(subscriptionsCaptor.getValue()).containsExactly(subscription);
     assertThat(actualBlock).isInstanceOf(BlockResult.class);
     final BlockResult actualBlockResult = (BlockResult) actualBlock;
     assertThat(actualBlockResult.getTransactions()).hasSize(txHashList.size());
     assertThat(actualBlock).isEqualToComparingFieldByFieldRecursively(expectedNewBlock);
 
-    verify(subscriptionManager, times(1)).sendMessage(any(), any());
+    verify(subscriptionManager, times(1)).broadcastMessage(any(), any());
     verify(blockchainQueries, times(1)).blockByHashWithTxHashes(any());
     verify(blockchainQueries, times(0)).blockByHash(any());
   }
@@ -140,21 +138,53 @@ public class NewBlockHeadersSubscriptionServiceTest {
     simulateAddingBlock();
 
     verify(subscriptionManager)
-        .sendMessage(subscriptionIdCaptor.capture(), responseCaptor.capture());
-    final Long actualSubscriptionId = subscriptionIdCaptor.getValue();
+        .broadcastMessage(subscriptionsCaptor.capture(), responseCaptor.capture());
     final Object actualBlock = responseCaptor.getValue();
 
-    assertThat(actualSubscriptionId).isEqualTo(subscription.getId());
+    assertThat(subscriptionsCaptor.getValue()).containsExactly(subscription);
     assertThat(actualBlock).isInstanceOf(BlockResult.class);
     final BlockResult actualBlockResult = (BlockResult) actualBlock;
     assertThat(actualBlockResult.getTransactions()).hasSize(txHashList.size());
     assertThat(actualBlock).isEqualToComparingFieldByFieldRecursively(expectedNewBlock);
 
-    verify(subscriptionManager, times(1)).sendMessage(any(), any());
+    verify(subscriptionManager, times(1)).broadcastMessage(any(), any());
     verify(blockchainQueries, times(0)).blockByHashWithTxHashes(any());
     verify(blockchainQueries, times(1)).blockByHash(any());
   }
 
+  @Test
+  public void shouldBuildEachBlockFormOnceForAllSubscribers() {
+    final NewBlockHeadersSubscription hashSubscription1 =
+        new NewBlockHeadersSubscription(1L, false);
+    final NewBlockHeadersSubscription hashSubscription2 =
+        new NewBlockHeadersSubscription(2L, false);
+    final NewBlockHeadersSubscription completeSubscription =
+        new NewBlockHeadersSubscription(3L, true);
+    when(subscriptionManager.subscriptionsOfType(any(), any()))
+        .thenReturn(Lists.newArrayList(hashSubscription1, completeSubscription, hashSubscription2));
+    final BlockWithMetadata<Hash, Hash> blockWithTxHashes =
+        new BlockWithMetadata<>(
+            blockHeader, transactionsWithHashOnly(), Collections.emptyList(), UInt256.ONE, 1);
+    final BlockWithMetadata<TransactionWithMetadata, Hash> blockWithTransactions =
+        new BlockWithMetadata<>(
+            blockHeader, transactionsWithMetadata(), Collections.emptyList(), UInt256.ONE, 1);
+    when(blockchainQueries.blockByHashWithTxHashes(blockHeader.getHash()))
+        .thenReturn(Optional.of(blockWithTxHashes));
+    when(blockchainQueries.blockByHash(blockHeader.getHash()))
+        .thenReturn(Optional.of(blockWithTransactions));
+
+    simulateAddingBlock();
+
+    verify(subscriptionManager, times(2))
+        .broadcastMessage(subscriptionsCaptor.capture(), responseCaptor.capture());
+    assertThat(subscriptionsCaptor.getAllValues())
+        .containsExactlyInAnyOrder(
+            Lists.newArrayList(completeSubscription),
+            Lists.newArrayList(hashSubscription1, hashSubscription2));
+    verify(blockchainQueries, times(1)).blockByHashWithTxHashes(any());
+    verify(blockchainQueries, times(1)).blockByHash(any());
+  }
+
   private void simulateAddingBlock() {
     final BlockBody blockBody = new BlockBody(Collections.emptyList(), Collections.emptyList());
     final Block testBlock = new Block(blockHeader, blockBody);
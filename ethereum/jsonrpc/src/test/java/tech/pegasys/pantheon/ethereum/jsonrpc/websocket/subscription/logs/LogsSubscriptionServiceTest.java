@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.logs;
 
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
@@ -27,15 +29,13 @@ import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
-import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Log;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
-import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.FilterParameter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionReceiptWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.LogResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.SubscriptionManager;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -43,12 +43,14 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -64,6 +66,7 @@ public class LogsSubscriptionServiceTest {
   @Mock private SubscriptionManager subscriptionManager;
   @Mock private BlockchainQueries blockchainQueries;
   @Mock private Blockchain blockchain;
+  @Captor private ArgumentCaptor<List<LogsSubscription>> subscriptionsCaptor;
 
   @Before
   public void before() {
@@ -75,12 +78,12 @@ public class LogsSubscriptionServiceTest {
     final Address address = Address.fromHexString("0x0");
     final LogsSubscription subscription = createSubscription(address);
     final Transaction transaction = createTransaction();
-    final Log log = createLog(address);
-    final LogResult expectedLogResult = createLogResult(transaction, log, false);
+    final LogWithMetadata log = createLogWithMetadata(transaction, createLog(address), false);
 
-    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
+    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(log), blockchain);
 
-    verify(subscriptionManager).sendMessage(eq(subscription.getId()), refEq(expectedLogResult));
+    verify(subscriptionManager)
+        .broadcastMessage(eq(singletonList(subscription)), refEq(new LogResult(log)));
   }
 
   @Test
@@ -88,12 +91,12 @@ public class LogsSubscriptionServiceTest {
     final Address address = Address.fromHexString("0x0");
     final LogsSubscription subscription = createSubscription(address);
     final Transaction transaction = createTransaction();
-    final Log log = createLog(address);
-    final LogResult expectedLogResult = createLogResult(transaction, log, true);
+    final LogWithMetadata log = createLogWithMetadata(transaction, createLog(address), true);
 
-    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(null, transaction), blockchain);
+    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(log), blockchain);
 
-    verify(subscriptionManager).sendMessage(eq(subscription.getId()), refEq(expectedLogResult));
+    verify(subscriptionManager)
+        .broadcastMessage(eq(singletonList(subscription)), refEq(new LogResult(log)));
   }
 
   @Test
@@ -101,15 +104,14 @@ public class LogsSubscriptionServiceTest {
     final Address address = Address.fromHexString("0x0");
     final Log log = createLog(address);
     final LogsSubscription subscription = createSubscription(address);
-    final List<Transaction> addedTransactions = createTransactionsWithLog(log);
-    final List<Transaction> removedTransactions = createTransactionsWithLog(log);
-
-    logsSubscriptionService.onBlockAdded(
-        createBlockAddedEvent(addedTransactions, removedTransactions), blockchain);
+    final List<LogWithMetadata> logs = new ArrayList<>();
+    logs.addAll(createLogsWithMetadata(log, false));
+    logs.addAll(createLogsWithMetadata(log, true));
 
-    final int totalOfLogs = addedTransactions.size() + removedTransactions.size();
+    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(logs), blockchain);
 
-    verify(subscriptionManager, times(totalOfLogs)).sendMessage(eq(subscription.getId()), any());
+    verify(subscriptionManager, times(logs.size()))
+        .broadcastMessage(eq(singletonList(subscription)), any());
   }
 
   @Test
@@ -117,13 +119,33 @@ public class LogsSubscriptionServiceTest {
     final Address address = Address.fromHexString("0x0");
     final List<LogsSubscription> subscriptions = createSubscriptions(address);
     final Transaction transaction = createTransaction();
-    final Log log = createLog(address);
-    final LogResult expectedLogResult = createLogResult(transaction, log, false);
+    final LogWithMetadata log = createLogWithMetadata(transaction, createLog(address), false);
+
+    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(log), blockchain);
+
+    verify(subscriptionManager)
+        .broadcastMessage(subscriptionsCaptor.capture(), refEq(new LogResult(log)));
+    assertThat(subscriptionsCaptor.getValue()).containsExactlyInAnyOrderElementsOf(subscriptions);
+  }
+
+  @Test
+  public void shouldOnlySendLogMessageToSubscriptionsMatchingTopics() {
+    final LogTopic topic = LogTopic.fromHexString("0x" + Strings.repeat("ab", 32));
+    final LogTopic otherTopic = LogTopic.fromHexString("0x" + Strings.repeat("cd", 32));
+    final LogsSubscription topicSubscription = createTopicSubscription(1L, topic);
+    final LogsSubscription otherTopicSubscription = createTopicSubscription(2L, otherTopic);
+    when(subscriptionManager.subscriptionsOfType(any(), any()))
+        .thenReturn(Lists.newArrayList(topicSubscription, otherTopicSubscription));
+    final Log log =
+        new Log(Address.fromHexString("0x0"), BytesValue.EMPTY, Lists.newArrayList(topic));
+    final LogWithMetadata logWithMetadata = createLogWithMetadata(createTransaction(), log, false);
 
-    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
+    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(logWithMetadata), blockchain);
 
-    verify(subscriptionManager, times(subscriptions.size()))
-        .sendMessage(any(), refEq(expectedLogResult));
+    verify(subscriptionManager)
+        .broadcastMessage(
+            eq(singletonList(topicSubscription)), refEq(new LogResult(logWithMetadata)));
+    verify(subscriptionManager, times(1)).broadcastMessage(any(), any());
   }
 
   @Test
@@ -132,23 +154,35 @@ public class LogsSubscriptionServiceTest {
     createSubscription(address);
 
     logsSubscriptionService.onBlockAdded(
-        createBlockAddedEvent(Collections.emptyList(), Collections.emptyList()), blockchain);
+        createBlockAddedEvent(Collections.emptyList()), blockchain);
 
     verify(subscriptionManager).subscriptionsOfType(any(), any());
-    verify(subscriptionManager, times(0)).sendMessage(any(), any());
+    verify(subscriptionManager, times(0)).broadcastMessage(any(), any());
   }
 
   @Test
   public void shouldNotSendLogMessageWhenLogsDoNotMatchAnySubscription() {
     createSubscription(Address.fromHexString("0x0"));
     final Transaction transaction = createTransaction();
-    final Log log = createLog(Address.fromHexString("0x1"));
-    createLogResult(transaction, log, false);
+    final LogWithMetadata log =
+        createLogWithMetadata(transaction, createLog(Address.fromHexString("0x1")), false);
 
-    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
+    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(log), blockchain);
 
     verify(subscriptionManager).subscriptionsOfType(any(), any());
-    verify(subscriptionManager, times(0)).sendMessage(any(), any());
+    verify(subscriptionManager, times(0)).broadcastMessage(any(), any());
+  }
+
+  @Test
+  public void shouldNotDecodeLogsWhenThereAreNoSubscriptions() {
+    when(subscriptionManager.subscriptionsOfType(any(), any())).thenReturn(Lists.newArrayList());
+
+    logsSubscriptionService.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(
+            mock(Block.class), Collections.emptyList(), Collections.emptyList()),
+        blockchain);
+
+    verify(blockchainQueries, times(0)).logsOfBlockAddedEvent(any());
   }
 
   private Transaction createTransaction() {
@@ -168,6 +202,13 @@ public class LogsSubscriptionServiceTest {
     return logsSubscription;
   }
 
+  private LogsSubscription createTopicSubscription(final long id, final LogTopic topic) {
+    final FilterParameter filterParameter =
+        new FilterParameter(
+            null, null, null, Lists.newArrayList(Lists.newArrayList(topic.toString())), null);
+    return new LogsSubscription(id, filterParameter);
+  }
+
   private List<LogsSubscription> createSubscriptions(final Address address) {
     final List<LogsSubscription> subscriptions = new ArrayList<>();
     for (int i = 0; i < 3; i++) {
@@ -180,75 +221,38 @@ public class LogsSubscriptionServiceTest {
     return subscriptions;
   }
 
-  private LogResult createLogResult(
-      final Transaction transaction, final Log log, final boolean removed) {
-    final TransactionReceiptWithMetadata txReceiptWithMetadata =
-        createTransactionWithLog(transaction, log);
-    final LogWithMetadata logWithMetadata = createLogWithMetadata(txReceiptWithMetadata, removed);
-    return new LogResult(logWithMetadata);
-  }
-
-  private TransactionReceiptWithMetadata createTransactionWithLog(
-      final Transaction transaction, final Log log) {
-    final BlockHeader blockHeader = blockHeaderTestFixture.buildHeader();
-    final TransactionReceipt transactionReceipt =
-        new TransactionReceipt(Hash.ZERO, 1L, Lists.newArrayList(log));
-    final TransactionReceiptWithMetadata transactionReceiptWithMetadata =
-        TransactionReceiptWithMetadata.create(
-            transactionReceipt,
-            transaction,
-            transaction.hash(),
-            0,
-            1L,
-            blockHeader.getHash(),
-            blockHeader.getNumber());
-
-    when(blockchainQueries.transactionReceiptByTransactionHash(eq(transaction.hash())))
-        .thenReturn(Optional.of(transactionReceiptWithMetadata));
-
-    return transactionReceiptWithMetadata;
-  }
-
-  private BlockAddedEvent createBlockAddedEvent(
-      final Transaction addedTransaction, final Transaction removedTransaction) {
-    final Block block = mock(Block.class);
-    return BlockAddedEvent.createForChainReorg(
-        block,
-        addedTransaction != null ? Lists.newArrayList(addedTransaction) : Collections.emptyList(),
-        removedTransaction != null
-            ? Lists.newArrayList(removedTransaction)
-            : Collections.emptyList());
+  private BlockAddedEvent createBlockAddedEvent(final LogWithMetadata log) {
+    return createBlockAddedEvent(Lists.newArrayList(log));
   }
 
-  private BlockAddedEvent createBlockAddedEvent(
-      final List<Transaction> addedTransactions, final List<Transaction> removedTransactions) {
+  private BlockAddedEvent createBlockAddedEvent(final List<LogWithMetadata> logs) {
     final Block block = mock(Block.class);
-    return BlockAddedEvent.createForChainReorg(
-        block,
-        addedTransactions != null ? Lists.newArrayList(addedTransactions) : Collections.emptyList(),
-        removedTransactions != null
-            ? Lists.newArrayList(removedTransactions)
-            : Collections.emptyList());
+    final BlockAddedEvent event =
+        BlockAddedEvent.createForChainReorg(
+            block, Collections.emptyList(), Collections.emptyList());
+    when(blockchainQueries.logsOfBlockAddedEvent(event)).thenReturn(logs);
+    return event;
   }
 
-  private List<Transaction> createTransactionsWithLog(final Log log) {
-    final ArrayList<Transaction> transactions =
-        Lists.newArrayList(createTransaction(), createTransaction(), createTransaction());
-    transactions.forEach(tx -> createTransactionWithLog(tx, log));
-    return transactions;
+  private List<LogWithMetadata> createLogsWithMetadata(final Log log, final boolean removed) {
+    return Lists.newArrayList(
+        createLogWithMetadata(createTransaction(), log, removed),
+        createLogWithMetadata(createTransaction(), log, removed),
+        createLogWithMetadata(createTransaction(), log, removed));
   }
 
   private LogWithMetadata createLogWithMetadata(
-      final TransactionReceiptWithMetadata transactionReceiptWithMetadata, final boolean removed) {
+      final Transaction transaction, final Log log, final boolean removed) {
+    final BlockHeader blockHeader = blockHeaderTestFixture.buildHeader();
     return LogWithMetadata.create(
         0,
-        transactionReceiptWithMetadata.getBlockNumber(),
-        transactionReceiptWithMetadata.getBlockHash(),
-        transactionReceiptWithMetadata.getTransactionHash(),
-        transactionReceiptWithMetadata.getTransactionIndex(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(0).getLogger(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(0).getData(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(0).getTopics(),
+        blockHeader.getNumber(),
+        blockHeader.getHash(),
+        transaction.hash(),
+        0,
+        log.getLogger(),
+        log.getData(),
+        log.getTopics(),
         removed);
   }
 }
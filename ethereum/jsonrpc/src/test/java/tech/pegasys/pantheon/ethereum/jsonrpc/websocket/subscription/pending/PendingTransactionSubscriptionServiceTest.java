@@ -12,8 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.pending;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -30,13 +30,14 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.Subscriptio
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.request.SubscriptionType;
 
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -49,6 +50,7 @@ public class PendingTransactionSubscriptionServiceTest {
   @Mock private SubscriptionManager subscriptionManager;
   @Mock private Blockchain blockchain;
   @Mock private Block block;
+  @Captor private ArgumentCaptor<List<Subscription>> subscriptionsCaptor;
 
   private PendingTransactionSubscriptionService service;
 
@@ -67,32 +69,23 @@ public class PendingTransactionSubscriptionServiceTest {
 
     verifyZeroInteractions(block);
     verifyZeroInteractions(blockchain);
-    verifySubscriptionMangerInteractions(messages(TX_ONE, subscriptionIds));
+    verifySubscriptionMangerInteractions(TX_ONE, subscriptionIds);
   }
 
-  private void verifySubscriptionMangerInteractions(final Map<Long, Hash> expected) {
+  private void verifySubscriptionMangerInteractions(
+      final Hash result, final long... subscriptionIds) {
     verify(subscriptionManager)
         .subscriptionsOfType(SubscriptionType.NEW_PENDING_TRANSACTIONS, Subscription.class);
 
-    for (final Map.Entry<Long, Hash> message : expected.entrySet()) {
-      verify(subscriptionManager)
-          .sendMessage(
-              eq(message.getKey()), refEq(new PendingTransactionResult(message.getValue())));
-    }
+    verify(subscriptionManager)
+        .broadcastMessage(
+            subscriptionsCaptor.capture(), refEq(new PendingTransactionResult(result)));
+    assertThat(subscriptionsCaptor.getValue().stream().mapToLong(Subscription::getId).toArray())
+        .containsExactlyInAnyOrder(subscriptionIds);
 
     verifyNoMoreInteractions(subscriptionManager);
   }
 
-  private Map<Long, Hash> messages(final Hash result, final long... subscriptionIds) {
-    final Map<Long, Hash> messages = new HashMap<>();
-
-    for (final long subscriptionId : subscriptionIds) {
-      messages.put(subscriptionId, result);
-    }
-
-    return messages;
-  }
-
   private Transaction transaction(final Hash hash) {
     final Transaction tx = mock(Transaction.class);
     when(tx.hash()).thenReturn(hash);
@@ -18,6 +18,7 @@ import static picocli.CommandLine.defaultExceptionHandler;
 import tech.pegasys.pantheon.cli.PantheonCommand;
 import tech.pegasys.pantheon.cli.PantheonControllerBuilder;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 
 import picocli.CommandLine.RunLast;
@@ -32,6 +33,7 @@ public final class Pantheon {
         new PantheonCommand(
             getLogger(),
             new BlockImporter(),
+            new BlockExporter(),
             new RunnerBuilder(),
             new PantheonControllerBuilder(),
             new SynchronizerConfiguration.Builder());
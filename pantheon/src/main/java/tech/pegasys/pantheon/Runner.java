@@ -14,6 +14,7 @@ package tech.pegasys.pantheon;
 
 import tech.pegasys.pantheon.controller.PantheonController;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcHttpService;
+import tech.pegasys.pantheon.ethereum.jsonrpc.ipc.IpcService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketService;
 import tech.pegasys.pantheon.ethereum.p2p.NetworkRunner;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsService;
@@ -42,6 +43,7 @@ public class Runner implements AutoCloseable {
   private final NetworkRunner networkRunner;
   private final Optional<JsonRpcHttpService> jsonRpc;
   private final Optional<WebSocketService> websocketRpc;
+  private final Optional<IpcService> ipcRpc;
   private final Optional<MetricsService> metrics;
 
   private final PantheonController<?> pantheonController;
@@ -52,6 +54,7 @@ public class Runner implements AutoCloseable {
       final NetworkRunner networkRunner,
       final Optional<JsonRpcHttpService> jsonRpc,
       final Optional<WebSocketService> websocketRpc,
+      final Optional<IpcService> ipcRpc,
       final Optional<MetricsService> metrics,
       final PantheonController<?> pantheonController,
       final Path dataDir) {
@@ -59,6 +62,7 @@ public class Runner implements AutoCloseable {
     this.networkRunner = networkRunner;
     this.jsonRpc = jsonRpc;
     this.websocketRpc = websocketRpc;
+    this.ipcRpc = ipcRpc;
     this.metrics = metrics;
     this.pantheonController = pantheonController;
     this.dataDir = dataDir;
@@ -73,6 +77,7 @@ public class Runner implements AutoCloseable {
       }
       jsonRpc.ifPresent(service -> service.start().join());
       websocketRpc.ifPresent(service -> service.start().join());
+      ipcRpc.ifPresent(service -> service.start().join());
       metrics.ifPresent(service -> service.start().join());
       LOG.info("Ethereum main loop is up.");
       writePantheonPortsToFile();
@@ -98,6 +103,7 @@ public class Runner implements AutoCloseable {
     try {
       jsonRpc.ifPresent(service -> service.stop().join());
       websocketRpc.ifPresent(service -> service.stop().join());
+      ipcRpc.ifPresent(service -> service.stop().join());
       metrics.ifPresent(service -> service.stop().join());
     } finally {
       try {
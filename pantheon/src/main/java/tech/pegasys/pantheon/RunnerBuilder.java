@@ -23,12 +23,17 @@ import tech.pegasys.pantheon.ethereum.core.TransactionPool;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcHttpService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcMethodsFactory;
+import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcResponseCache;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterIdGenerator;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterRepository;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BloomBitsIndex;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
+import tech.pegasys.pantheon.ethereum.jsonrpc.ipc.IpcConfiguration;
+import tech.pegasys.pantheon.ethereum.jsonrpc.ipc.IpcService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketRequestHandler;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketService;
@@ -55,12 +60,12 @@ import tech.pegasys.pantheon.ethereum.p2p.wire.SubProtocol;
 import tech.pegasys.pantheon.ethereum.permissioning.AccountWhitelistController;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionHandler;
-import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsService;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
@@ -70,10 +75,14 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import io.vertx.core.Vertx;
 
 public class RunnerBuilder {
 
+  private static final String BLOOM_BITS_PATH = "caches/bloom-bits";
+
   private Vertx vertx;
   private PantheonController<?> pantheonController;
   private boolean p2pEnabled = true;
@@ -84,6 +93,10 @@ public class RunnerBuilder {
   private int maxPeers;
   private JsonRpcConfiguration jsonRpcConfiguration;
   private WebSocketConfiguration webSocketConfiguration;
+  private IpcConfiguration ipcConfiguration = IpcConfiguration.createDefault();
+  private int gasPriceOracleBlocks = GasPriceOracle.DEFAULT_BLOCKS;
+  private int gasPriceOraclePercentile = GasPriceOracle.DEFAULT_PERCENTILE;
+  private int gasEstimationProbes = 1;
   private Path dataDir;
   private Collection<String> bannedNodeIds;
   private MetricsConfiguration metricsConfiguration;
@@ -140,6 +153,26 @@ public class RunnerBuilder {
     return this;
   }
 
+  public RunnerBuilder ipcConfiguration(final IpcConfiguration ipcConfiguration) {
+    this.ipcConfiguration = ipcConfiguration;
+    return this;
+  }
+
+  public RunnerBuilder gasPriceOracleBlocks(final int gasPriceOracleBlocks) {
+    this.gasPriceOracleBlocks = gasPriceOracleBlocks;
+    return this;
+  }
+
+  public RunnerBuilder gasPriceOraclePercentile(final int gasPriceOraclePercentile) {
+    this.gasPriceOraclePercentile = gasPriceOraclePercentile;
+    return this;
+  }
+
+  public RunnerBuilder gasEstimationProbes(final int gasEstimationProbes) {
+    this.gasEstimationProbes = gasEstimationProbes;
+    return this;
+  }
+
   public RunnerBuilder permissioningConfiguration(
       final PermissioningConfiguration permissioningConfiguration) {
     this.permissioningConfiguration = Optional.of(permissioningConfiguration);
@@ -257,19 +290,25 @@ public class RunnerBuilder {
     final PrivateTransactionHandler privateTransactionHandler =
         new PrivateTransactionHandler(privacyParameters);
 
-    final FilterManager filterManager = createFilterManager(vertx, context, transactionPool);
+    final BlockchainQueries blockchainQueries = createBlockchainQueries(context);
+    final FilterManager filterManager =
+        createFilterManager(vertx, blockchainQueries, transactionPool);
+    // Only built once an RPC service needs it, as it follows every block added to the chain
+    final Supplier<GasPriceOracle> gasPriceOracle =
+        Suppliers.memoize(() -> createGasPriceOracle(context.getBlockchain()));
 
     Optional<JsonRpcHttpService> jsonRpcHttpService = Optional.empty();
     if (jsonRpcConfiguration.isEnabled()) {
       final Map<String, JsonRpcMethod> jsonRpcMethods =
           jsonRpcMethods(
-              context,
+              blockchainQueries,
               protocolSchedule,
               pantheonController,
               networkRunner.getNetwork(),
               synchronizer,
               transactionPool,
               miningCoordinator,
+              gasPriceOracle.get(),
               metricsSystem,
               supportedCapabilities,
               jsonRpcConfiguration.getRpcApis(),
@@ -279,20 +318,40 @@ public class RunnerBuilder {
       jsonRpcHttpService =
           Optional.of(
               new JsonRpcHttpService(
-                  vertx, dataDir, jsonRpcConfiguration, metricsSystem, jsonRpcMethods));
+                  vertx,
+                  dataDir,
+                  jsonRpcConfiguration,
+                  metricsSystem,
+                  cacheResponses(context.getBlockchain(), jsonRpcMethods)));
+    }
+
+    // Subscriptions are shared by the WebSocket and IPC services
+    Optional<SubscriptionManager> subscriptionManager = Optional.empty();
+    if (webSocketConfiguration.isEnabled() || ipcConfiguration.isEnabled()) {
+      subscriptionManager =
+          Optional.of(
+              createSubscriptionManager(
+                  vertx, transactionPool, webSocketConfiguration.getRefreshDelay()));
+
+      createLogsSubscriptionService(blockchainQueries, subscriptionManager.get());
+
+      createNewBlockHeadersSubscriptionService(blockchainQueries, subscriptionManager.get());
+
+      createSyncingSubscriptionService(synchronizer, subscriptionManager.get());
     }
 
     Optional<WebSocketService> webSocketService = Optional.empty();
     if (webSocketConfiguration.isEnabled()) {
       final Map<String, JsonRpcMethod> webSocketsJsonRpcMethods =
           jsonRpcMethods(
-              context,
+              blockchainQueries,
               protocolSchedule,
               pantheonController,
               networkRunner.getNetwork(),
               synchronizer,
               transactionPool,
               miningCoordinator,
+              gasPriceOracle.get(),
               metricsSystem,
               supportedCapabilities,
               webSocketConfiguration.getRpcApis(),
@@ -300,22 +359,41 @@ public class RunnerBuilder {
               accountWhitelistController,
               privateTransactionHandler);
 
-      final SubscriptionManager subscriptionManager =
-          createSubscriptionManager(
-              vertx, transactionPool, webSocketConfiguration.getRefreshDelay());
-
-      createLogsSubscriptionService(
-          context.getBlockchain(), context.getWorldStateArchive(), subscriptionManager);
-
-      createNewBlockHeadersSubscriptionService(
-          context.getBlockchain(), context.getWorldStateArchive(), subscriptionManager);
-
-      createSyncingSubscriptionService(synchronizer, subscriptionManager);
-
       webSocketService =
           Optional.of(
               createWebsocketService(
-                  vertx, webSocketConfiguration, subscriptionManager, webSocketsJsonRpcMethods));
+                  vertx,
+                  webSocketConfiguration,
+                  subscriptionManager.get(),
+                  webSocketsJsonRpcMethods));
+    }
+
+    Optional<IpcService> ipcService = Optional.empty();
+    if (ipcConfiguration.isEnabled()) {
+      final Map<String, JsonRpcMethod> ipcJsonRpcMethods =
+          jsonRpcMethods(
+              blockchainQueries,
+              protocolSchedule,
+              pantheonController,
+              networkRunner.getNetwork(),
+              synchronizer,
+              transactionPool,
+              miningCoordinator,
+              gasPriceOracle.get(),
+              metricsSystem,
+              supportedCapabilities,
+              ipcConfiguration.getRpcApis(),
+              filterManager,
+              accountWhitelistController,
+              privateTransactionHandler);
+
+      ipcService =
+          Optional.of(
+              new IpcService(
+                  vertx,
+                  ipcConfiguration,
+                  new WebSocketMethodsFactory(subscriptionManager.get(), ipcJsonRpcMethods)
+                      .methods()));
     }
 
     Optional<MetricsService> metricsService = Optional.empty();
@@ -328,16 +406,37 @@ public class RunnerBuilder {
         networkRunner,
         jsonRpcHttpService,
         webSocketService,
+        ipcService,
         metricsService,
         pantheonController,
         dataDir);
   }
 
+  private BlockchainQueries createBlockchainQueries(final ProtocolContext<?> context) {
+    Optional<BloomBitsIndex> bloomBitsIndex = Optional.empty();
+    if (jsonRpcConfiguration.isEnabled()
+        || webSocketConfiguration.isEnabled()
+        || ipcConfiguration.isEnabled()) {
+      final BloomBitsIndex index =
+          new BloomBitsIndex(context.getBlockchain(), dataDir.resolve(BLOOM_BITS_PATH));
+      try {
+        index.start();
+      } catch (final IOException e) {
+        throw new IllegalStateException("Unable to create the bloom bits index", e);
+      }
+      bloomBitsIndex = Optional.of(index);
+    }
+    return new BlockchainQueries(
+        context.getBlockchain(), context.getWorldStateArchive(), bloomBitsIndex);
+  }
+
   private FilterManager createFilterManager(
-      final Vertx vertx, final ProtocolContext<?> context, final TransactionPool transactionPool) {
+      final Vertx vertx,
+      final BlockchainQueries blockchainQueries,
+      final TransactionPool transactionPool) {
     final FilterManager filterManager =
         new FilterManager(
-            new BlockchainQueries(context.getBlockchain(), context.getWorldStateArchive()),
+            blockchainQueries,
             transactionPool,
             new FilterIdGenerator(),
             new FilterRepository());
@@ -345,14 +444,37 @@ public class RunnerBuilder {
     return filterManager;
   }
 
+  private GasPriceOracle createGasPriceOracle(final Blockchain blockchain) {
+    final GasPriceOracle gasPriceOracle =
+        new GasPriceOracle(blockchain, gasPriceOracleBlocks, gasPriceOraclePercentile);
+    gasPriceOracle.initialize();
+    blockchain.observeBlockAdded(gasPriceOracle);
+    return gasPriceOracle;
+  }
+
+  private Map<String, JsonRpcMethod> cacheResponses(
+      final Blockchain blockchain, final Map<String, JsonRpcMethod> methods) {
+    if (jsonRpcConfiguration.getResponseCacheSize() == 0) {
+      return methods;
+    }
+    final JsonRpcResponseCache responseCache =
+        new JsonRpcResponseCache(
+            blockchain,
+            jsonRpcConfiguration.getResponseCacheSize(),
+            jsonRpcConfiguration.getResponseCacheConfirmations());
+    blockchain.observeBlockAdded(responseCache);
+    return responseCache.cacheResults(methods);
+  }
+
   private Map<String, JsonRpcMethod> jsonRpcMethods(
-      final ProtocolContext<?> context,
+      final BlockchainQueries blockchainQueries,
       final ProtocolSchedule<?> protocolSchedule,
       final PantheonController<?> pantheonController,
       final P2PNetwork network,
       final Synchronizer synchronizer,
       final TransactionPool transactionPool,
       final MiningCoordinator miningCoordinator,
+      final GasPriceOracle gasPriceOracle,
       final MetricsSystem metricsSystem,
       final Set<Capability> supportedCapabilities,
       final Collection<RpcApi> jsonRpcApis,
@@ -360,21 +482,21 @@ public class RunnerBuilder {
       final Optional<AccountWhitelistController> accountWhitelistController,
       final PrivateTransactionHandler privateTransactionHandler) {
     final Map<String, JsonRpcMethod> methods =
-        new JsonRpcMethodsFactory()
+        new JsonRpcMethodsFactory(gasEstimationProbes)
             .methods(
                 PantheonInfo.version(),
                 network,
-                context.getBlockchain(),
-                context.getWorldStateArchive(),
+                blockchainQueries,
                 synchronizer,
-                transactionPool,
                 protocolSchedule,
+                filterManager,
+                transactionPool,
                 miningCoordinator,
+                gasPriceOracle,
                 metricsSystem,
                 supportedCapabilities,
-                jsonRpcApis,
-                filterManager,
                 accountWhitelistController,
+                jsonRpcApis,
                 privateTransactionHandler);
     methods.putAll(pantheonController.getAdditionalJsonRpcMethods(jsonRpcApis));
     return methods;
@@ -392,14 +514,11 @@ public class RunnerBuilder {
   }
 
   private void createLogsSubscriptionService(
-      final Blockchain blockchain,
-      final WorldStateArchive worldStateArchive,
-      final SubscriptionManager subscriptionManager) {
+      final BlockchainQueries blockchainQueries, final SubscriptionManager subscriptionManager) {
     final LogsSubscriptionService logsSubscriptionService =
-        new LogsSubscriptionService(
-            subscriptionManager, new BlockchainQueries(blockchain, worldStateArchive));
+        new LogsSubscriptionService(subscriptionManager, blockchainQueries);
 
-    blockchain.observeBlockAdded(logsSubscriptionService);
+    blockchainQueries.getBlockchain().observeBlockAdded(logsSubscriptionService);
   }
 
   private void createSyncingSubscriptionService(
@@ -408,14 +527,11 @@ public class RunnerBuilder {
   }
 
   private void createNewBlockHeadersSubscriptionService(
-      final Blockchain blockchain,
-      final WorldStateArchive worldStateArchive,
-      final SubscriptionManager subscriptionManager) {
+      final BlockchainQueries blockchainQueries, final SubscriptionManager subscriptionManager) {
     final NewBlockHeadersSubscriptionService newBlockHeadersSubscriptionService =
-        new NewBlockHeadersSubscriptionService(
-            subscriptionManager, new BlockchainQueries(blockchain, worldStateArchive));
+        new NewBlockHeadersSubscriptionService(subscriptionManager, blockchainQueries);
 
-    blockchain.observeBlockAdded(newBlockHeadersSubscriptionService);
+    blockchainQueries.getBlockchain().observeBlockAdded(newBlockHeadersSubscriptionService);
   }
 
   private WebSocketService createWebsocketService(
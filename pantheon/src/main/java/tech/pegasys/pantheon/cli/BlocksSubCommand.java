@@ -15,10 +15,14 @@ package tech.pegasys.pantheon.cli;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static tech.pegasys.pantheon.cli.BlocksSubCommand.COMMAND_NAME;
 import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_FILE_FORMAT_HELP;
+import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP;
+import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_PATH_FORMAT_HELP;
 
+import tech.pegasys.pantheon.cli.BlocksSubCommand.ExportSubCommand;
 import tech.pegasys.pantheon.cli.BlocksSubCommand.ImportSubCommand;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsService;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 
 import java.io.File;
@@ -44,7 +48,7 @@ import picocli.CommandLine.Spec;
     name = COMMAND_NAME,
     description = "This command provides blocks related actions.",
     mixinStandardHelpOptions = true,
-    subcommands = {ImportSubCommand.class})
+    subcommands = {ImportSubCommand.class, ExportSubCommand.class})
 class BlocksSubCommand implements Runnable {
   private static final Logger LOG = LogManager.getLogger();
 
@@ -59,10 +63,13 @@ class BlocksSubCommand implements Runnable {
   private CommandSpec spec; // Picocli injects reference to command spec
 
   private final BlockImporter blockImporter;
+  private final BlockExporter blockExporter;
   private final PrintStream out;
 
-  BlocksSubCommand(final BlockImporter blockImporter, final PrintStream out) {
+  BlocksSubCommand(
+      final BlockImporter blockImporter, final BlockExporter blockExporter, final PrintStream out) {
     this.blockImporter = blockImporter;
+    this.blockExporter = blockExporter;
     this.out = out;
   }
 
@@ -89,10 +96,27 @@ class BlocksSubCommand implements Runnable {
         names = "--from",
         required = true,
         paramLabel = MANDATORY_FILE_FORMAT_HELP,
-        description = "File containing blocks to import",
+        description = "File or export directory containing blocks to import",
         arity = "1..1")
     private final File blocksImportFile = null;
 
+    @Option(
+        names = "--pipeline-depth",
+        paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+        description =
+            "Maximum number of blocks validated ahead of the block being imported "
+                + "(default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private final Integer pipelineDepth = BlockImporter.DEFAULT_PIPELINE_DEPTH;
+
+    @Option(
+        names = "--trusted-source",
+        description =
+            "Store blocks and receipts from an export without executing transactions. "
+                + "World state is not rebuilt for these blocks, so the world state of the last "
+                + "exported block must already be present (default: ${DEFAULT-VALUE})")
+    private final Boolean trustedSource = false;
+
     @Override
     public void run() {
       LOG.info("Runs import sub command with blocksImportFile : {}", blocksImportFile);
@@ -122,7 +146,7 @@ class BlocksSubCommand implements Runnable {
         final Path path = blocksImportFile.toPath();
 
         parentCommand.blockImporter.importBlockchain(
-            path, parentCommand.parentCommand.buildController());
+            path, parentCommand.parentCommand.buildController(), pipelineDepth, trustedSource);
       } catch (final FileNotFoundException e) {
         throw new ExecutionException(
             new CommandLine(this), "Could not find file to import: " + blocksImportFile);
@@ -134,4 +158,80 @@ class BlocksSubCommand implements Runnable {
       }
     }
   }
+
+  /**
+   * blocks export sub-command
+   *
+   * <p>Exports canonical blocks from the database into numbered chunk files
+   */
+  @Command(
+      name = "export",
+      description = "This command exports blocks from the database into chunk files.",
+      mixinStandardHelpOptions = true)
+  static class ExportSubCommand implements Runnable {
+    @SuppressWarnings("unused")
+    @ParentCommand
+    private BlocksSubCommand parentCommand; // Picocli injects reference to parent command
+
+    @Option(
+        names = "--to",
+        required = true,
+        paramLabel = MANDATORY_PATH_FORMAT_HELP,
+        description = "Directory to write the exported chunk files and index to",
+        arity = "1..1")
+    private final File exportDirectory = null;
+
+    @Option(
+        names = "--start-block",
+        paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+        description = "Number of the first block to export (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private final Long startBlock = 0L;
+
+    @Option(
+        names = "--end-block",
+        paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+        description = "Number of the last block to export (default: chain head)",
+        arity = "1")
+    private final Long endBlock = null;
+
+    @Option(
+        names = "--chunk-size",
+        paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+        description = "Maximum number of blocks per chunk file (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private final Integer chunkSize = BlockExporter.DEFAULT_CHUNK_SIZE;
+
+    @Option(
+        names = "--include-receipts",
+        description =
+            "Export transaction receipts alongside the blocks (default: ${DEFAULT-VALUE})")
+    private final Boolean includeReceipts = false;
+
+    @Override
+    public void run() {
+      LOG.info("Runs export sub command with exportDirectory : {}", exportDirectory);
+
+      checkNotNull(parentCommand);
+      checkNotNull(parentCommand.parentCommand);
+      checkNotNull(parentCommand.blockExporter);
+
+      try {
+        // As exportDirectory is mandatory, PicoCLI always injects it
+        //noinspection ConstantConditions
+        final Path path = exportDirectory.toPath();
+
+        parentCommand.blockExporter.exportBlockchain(
+            path,
+            parentCommand.parentCommand.buildController(),
+            startBlock,
+            Optional.ofNullable(endBlock),
+            chunkSize,
+            includeReceipts);
+      } catch (final IOException e) {
+        throw new ExecutionException(
+            new CommandLine(this), "Unable to export blocks to " + exportDirectory, e);
+      }
+    }
+  }
 }
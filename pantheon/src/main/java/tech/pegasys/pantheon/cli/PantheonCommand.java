@@ -45,12 +45,15 @@ import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApis;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.GasPriceOracle;
+import tech.pegasys.pantheon.ethereum.jsonrpc.ipc.IpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfigurationBuilder;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.PrometheusMetricsSystem;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
 import tech.pegasys.pantheon.util.PermissioningConfigurationValidator;
@@ -67,12 +70,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import com.google.common.io.Resources;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.json.DecodeException;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
@@ -130,6 +135,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   }
 
   private final BlockImporter blockImporter;
+  private final BlockExporter blockExporter;
 
   private final PantheonControllerBuilder controllerBuilder;
   private final SynchronizerConfiguration.Builder synchronizerConfigurationBuilder;
@@ -205,6 +211,13 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           "Synchronization mode (Value can be one of ${COMPLETION-CANDIDATES}, default: ${DEFAULT-VALUE})")
   private final SyncMode syncMode = DEFAULT_SYNC_MODE;
 
+  @Option(
+      names = {"--block-propagation-early-relay-enabled"},
+      description =
+          "Set if new blocks should be relayed to some peers as soon as their header is valid, "
+              + "before their transactions are executed (default: ${DEFAULT-VALUE})")
+  private final Boolean isBlockPropagationEarlyRelayEnabled = false;
+
   @Option(
       names = {"--network"},
       paramLabel = MANDATORY_NETWORK_FORMAT_HELP,
@@ -285,6 +298,89 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       converter = RpcAuthConverter.class)
   private String rpcHttpAuthenticationCredentialsFile = null;
 
+  @Option(
+      names = {"--rpc-http-execution-threads"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of threads executing JSON-RPC methods that don't have their own execution lane (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer rpcHttpExecutionThreads = JsonRpcConfiguration.DEFAULT_EXECUTION_THREADS;
+
+  @Option(
+      names = {"--rpc-http-max-queued-requests"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Maximum number of JSON-RPC requests queued per execution lane before new ones are rejected (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer rpcHttpMaxQueuedRequests = JsonRpcConfiguration.DEFAULT_MAX_QUEUED_REQUESTS;
+
+  @Option(
+      names = {"--rpc-http-max-requests-per-client"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Maximum number of JSON-RPC requests a client may have queued or running (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer rpcHttpMaxRequestsPerClient =
+      JsonRpcConfiguration.DEFAULT_MAX_REQUESTS_PER_CLIENT;
+
+  @Option(
+      names = {"--rpc-http-method-concurrency-limits"},
+      paramLabel = "<METHOD=LIMIT>",
+      split = ",",
+      description =
+          "Comma separated JSON-RPC methods that run on their own execution lane, with the number of requests of each that may run concurrently (default: eth_getLogs=4, eth_getFilterLogs=4, eth_call=8, eth_estimateGas=8, debug_traceTransaction=2, debug_storageRangeAt=2, debug_traceBlock=1)")
+  private final Map<String, Integer> rpcHttpMethodConcurrencyLimits = null;
+
+  @Option(
+      names = {"--rpc-http-response-cache-size"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Maximum size in bytes of the cache of immutable JSON-RPC results, 0 to disable it (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long rpcHttpResponseCacheSize = JsonRpcConfiguration.DEFAULT_RESPONSE_CACHE_SIZE;
+
+  @Option(
+      names = {"--rpc-http-response-cache-confirmations"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of blocks below the chain head a block must be before JSON-RPC results from it are cached (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long rpcHttpResponseCacheConfirmations =
+      JsonRpcConfiguration.DEFAULT_RESPONSE_CACHE_CONFIRMATIONS;
+
+  @Option(
+      names = {"--rpc-http-slow-request-threshold"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Time in milliseconds after which a JSON-RPC request is logged as slow, with a summary of its parameters and of where the time was spent, 0 to disable (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long rpcHttpSlowRequestThreshold =
+      JsonRpcConfiguration.DEFAULT_SLOW_REQUEST_THRESHOLD_MILLIS;
+
+  @Option(
+      names = {"--rpc-gas-price-blocks"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of recent blocks sampled to suggest a gas price for eth_gasPrice (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer rpcGasPriceBlocks = GasPriceOracle.DEFAULT_BLOCKS;
+
+  @Option(
+      names = {"--rpc-gas-price-percentile"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Percentile of sampled transaction gas prices suggested by eth_gasPrice (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer rpcGasPricePercentile = GasPriceOracle.DEFAULT_PERCENTILE;
+
+  @Option(
+      names = {"--rpc-gas-estimation-probes"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of gas limits eth_estimateGas tries at once while searching for the lowest that succeeds (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer rpcGasEstimationProbes = 1;
+
   @Option(
       names = {"--rpc-ws-enabled"},
       description =
@@ -354,6 +450,29 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       hidden = true)
   private String rpcWsAuthenticationCredentialsFile = null;
 
+  @Option(
+      names = {"--rpc-ipc-enabled"},
+      description =
+          "Set if the IPC JSON-RPC service should be started on a Unix domain socket (default: ${DEFAULT-VALUE})")
+  private final Boolean isRpcIpcEnabled = false;
+
+  @Option(
+      names = {"--rpc-ipc-path"},
+      paramLabel = MANDATORY_PATH_FORMAT_HELP,
+      description =
+          "Path of the Unix domain socket for IPC JSON-RPC (default: pantheon.ipc in the data directory)",
+      arity = "1")
+  private final Path rpcIpcPath = null;
+
+  @Option(
+      names = {"--rpc-ipc-api", "--rpc-ipc-apis"},
+      paramLabel = "<api name>",
+      split = ",",
+      arity = "1..*",
+      converter = RpcApisConverter.class,
+      description = "Comma separated APIs to enable on the IPC channel. default: ${DEFAULT-VALUE}")
+  private final Collection<RpcApi> rpcIpcApis = DEFAULT_JSON_RPC_APIS;
+
   @Option(
       names = {"--metrics-enabled"},
       description = "Set if the metrics exporter should be started (default: ${DEFAULT-VALUE})")
@@ -451,6 +570,22 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final BytesValue extraData = DEFAULT_EXTRA_DATA;
 
+  @Option(
+      names = {"--miner-threads"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "the number of threads used to search for a proof of work solution "
+              + "(default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer minerThreads = 1;
+
+  @Option(
+      names = {"--miner-full-dataset-enabled"},
+      description =
+          "set if mining should use the full EthHash dataset, which is built in the data "
+              + "directory once per epoch (default: ${DEFAULT-VALUE})")
+  private final Boolean isMinerFullDatasetEnabled = false;
+
   @Option(
       names = {"--permissions-nodes-enabled"},
       description = "Set if node level permissions should be enabled (default: ${DEFAULT-VALUE})")
@@ -492,11 +627,13 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   public PantheonCommand(
       final Logger logger,
       final BlockImporter blockImporter,
+      final BlockExporter blockExporter,
       final RunnerBuilder runnerBuilder,
       final PantheonControllerBuilder controllerBuilder,
       final SynchronizerConfiguration.Builder synchronizerConfigurationBuilder) {
     this.logger = logger;
     this.blockImporter = blockImporter;
+    this.blockExporter = blockExporter;
     this.runnerBuilder = runnerBuilder;
     this.controllerBuilder = controllerBuilder;
     this.synchronizerConfigurationBuilder = synchronizerConfigurationBuilder;
@@ -520,7 +657,8 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     }
 
     commandLine.addSubcommand(
-        BlocksSubCommand.COMMAND_NAME, new BlocksSubCommand(blockImporter, resultHandler.out()));
+        BlocksSubCommand.COMMAND_NAME,
+        new BlocksSubCommand(blockImporter, blockExporter, resultHandler.out()));
     commandLine.addSubcommand(
         PublicKeySubCommand.COMMAND_NAME, new PublicKeySubCommand(resultHandler.out()));
     commandLine.addSubcommand(
@@ -567,7 +705,12 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
         commandLine,
         "--miner-enabled",
         !isMiningEnabled,
-        Arrays.asList("--miner-coinbase", "--min-gas-price", "--miner-extra-data"));
+        Arrays.asList(
+            "--miner-coinbase",
+            "--min-gas-price",
+            "--miner-extra-data",
+            "--miner-threads",
+            "--miner-full-dataset-enabled"));
 
     //noinspection ConstantConditions
     if (isMiningEnabled && coinbase == null) {
@@ -577,6 +720,29 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
               + "or specify the beneficiary of mining (via --miner-coinbase <Address>)");
     }
 
+    if (minerThreads < 1) {
+      throw new ParameterException(
+          new CommandLine(this), "Unable to mine with less than one thread (--miner-threads)");
+    }
+
+    if (rpcGasPriceBlocks < 1) {
+      throw new ParameterException(
+          new CommandLine(this),
+          "Unable to suggest a gas price from less than one block (--rpc-gas-price-blocks)");
+    }
+
+    if (rpcGasPricePercentile < 0 || rpcGasPricePercentile > 100) {
+      throw new ParameterException(
+          new CommandLine(this),
+          "Gas price percentile must be between 0 and 100 (--rpc-gas-price-percentile)");
+    }
+
+    if (rpcGasEstimationProbes < 1) {
+      throw new ParameterException(
+          new CommandLine(this),
+          "Unable to estimate gas with less than one probe (--rpc-gas-estimation-probes)");
+    }
+
     final EthNetworkConfig ethNetworkConfig = updateNetworkConfig(getNetwork());
     try {
       final Optional<PermissioningConfiguration> permissioningConfiguration =
@@ -594,6 +760,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           p2pPort,
           jsonRpcConfiguration(),
           webSocketConfiguration(),
+          ipcConfiguration(),
           metricsConfiguration(),
           permissioningConfiguration);
     } catch (Exception e) {
@@ -625,7 +792,13 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           .ethNetworkConfig(updateNetworkConfig(getNetwork()))
           .syncWithOttoman(false) // ottoman feature is still there but it's now removed from CLI
           .miningParameters(
-              new MiningParameters(coinbase, minTransactionGasPrice, extraData, isMiningEnabled))
+              new MiningParameters(
+                  coinbase,
+                  minTransactionGasPrice,
+                  extraData,
+                  isMiningEnabled,
+                  minerThreads,
+                  isMinerFullDatasetEnabled))
           .devMode(NetworkName.DEV.equals(getNetwork()))
           .nodePrivateKeyFile(nodePrivateKeyFile())
           .metricsSystem(metricsSystem)
@@ -661,7 +834,14 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
             "--rpc-http-host",
             "--rpc-http-port",
             "--rpc-http-authentication-enabled",
-            "--rpc-http-authentication-credentials-file"));
+            "--rpc-http-authentication-credentials-file",
+            "--rpc-http-execution-threads",
+            "--rpc-http-max-queued-requests",
+            "--rpc-http-max-requests-per-client",
+            "--rpc-http-method-concurrency-limits",
+            "--rpc-http-response-cache-size",
+            "--rpc-http-response-cache-confirmations",
+            "--rpc-http-slow-request-threshold"));
 
     CommandLineUtils.checkOptionDependencies(
         logger,
@@ -670,6 +850,12 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
         !isRpcHttpAuthenticationEnabled,
         Collections.singletonList("--rpc-http-authentication-credentials-file"));
 
+    if (rpcHttpSlowRequestThreshold < 0) {
+      throw new ParameterException(
+          new CommandLine(this),
+          "Slow request threshold must not be negative (--rpc-http-slow-request-threshold)");
+    }
+
     final JsonRpcConfiguration jsonRpcConfiguration = JsonRpcConfiguration.createDefault();
     jsonRpcConfiguration.setEnabled(isRpcHttpEnabled);
     jsonRpcConfiguration.setHost(rpcHttpHost);
@@ -679,6 +865,15 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     jsonRpcConfiguration.setHostsWhitelist(hostsWhitelist);
     jsonRpcConfiguration.setAuthenticationEnabled(isRpcHttpAuthenticationEnabled);
     jsonRpcConfiguration.setAuthenticationCredentialsFile(rpcHttpAuthenticationCredentialsFile);
+    jsonRpcConfiguration.setExecutionThreads(rpcHttpExecutionThreads);
+    jsonRpcConfiguration.setMaxQueuedRequests(rpcHttpMaxQueuedRequests);
+    jsonRpcConfiguration.setMaxRequestsPerClient(rpcHttpMaxRequestsPerClient);
+    if (rpcHttpMethodConcurrencyLimits != null) {
+      jsonRpcConfiguration.setMethodConcurrencyLimits(rpcHttpMethodConcurrencyLimits);
+    }
+    jsonRpcConfiguration.setResponseCacheSize(rpcHttpResponseCacheSize);
+    jsonRpcConfiguration.setResponseCacheConfirmations(rpcHttpResponseCacheConfirmations);
+    jsonRpcConfiguration.setSlowRequestThresholdMillis(rpcHttpSlowRequestThreshold);
     return jsonRpcConfiguration;
   }
 
@@ -716,6 +911,23 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     return webSocketConfiguration;
   }
 
+  private IpcConfiguration ipcConfiguration() {
+
+    CommandLineUtils.checkOptionDependencies(
+        logger,
+        commandLine,
+        "--rpc-ipc-enabled",
+        !isRpcIpcEnabled,
+        Arrays.asList("--rpc-ipc-path", "--rpc-ipc-api", "--rpc-ipc-apis"));
+
+    final IpcConfiguration ipcConfiguration = IpcConfiguration.createDefault();
+    ipcConfiguration.setEnabled(isRpcIpcEnabled);
+    ipcConfiguration.setPath(
+        rpcIpcPath != null ? rpcIpcPath : dataDir().resolve(IpcConfiguration.DEFAULT_IPC_FILE));
+    ipcConfiguration.setRpcApis(rpcIpcApis);
+    return ipcConfiguration;
+  }
+
   MetricsConfiguration metricsConfiguration() {
     if (isMetricsEnabled && isMetricsPushEnabled) {
       throw new ParameterException(
@@ -793,6 +1005,8 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
 
   private SynchronizerConfiguration buildSyncConfig() {
     synchronizerConfigurationBuilder.syncMode(syncMode);
+    synchronizerConfigurationBuilder.blockPropagationEarlyRelay(
+        isBlockPropagationEarlyRelayEnabled);
     synchronizerConfigurationBuilder.maxTrailingPeers(MAX_TRAILING_PEERS);
     return synchronizerConfigurationBuilder.build();
   }
@@ -808,6 +1022,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       final int discoveryPort,
       final JsonRpcConfiguration jsonRpcConfiguration,
       final WebSocketConfiguration webSocketConfiguration,
+      final IpcConfiguration ipcConfiguration,
       final MetricsConfiguration metricsConfiguration,
       final Optional<PermissioningConfiguration> permissioningConfiguration) {
 
@@ -817,7 +1032,9 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
 
     final Runner runner =
         runnerBuilder
-            .vertx(Vertx.vertx())
+            .vertx(
+                Vertx.vertx(
+                    new VertxOptions().setPreferNativeTransport(ipcConfiguration.isEnabled())))
             .pantheonController(controller)
             .p2pEnabled(p2pEnabled)
             .discovery(peerDiscoveryEnabled)
@@ -827,6 +1044,10 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
             .maxPeers(maxPeers)
             .jsonRpcConfiguration(jsonRpcConfiguration)
             .webSocketConfiguration(webSocketConfiguration)
+            .ipcConfiguration(ipcConfiguration)
+            .gasPriceOracleBlocks(rpcGasPriceBlocks)
+            .gasPriceOraclePercentile(rpcGasPricePercentile)
+            .gasEstimationProbes(rpcGasEstimationProbes)
             .dataDir(dataDir())
             .bannedNodeIds(bannedNodeIds)
             .metricsSystem(metricsSystem)
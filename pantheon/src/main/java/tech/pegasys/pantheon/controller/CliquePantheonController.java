@@ -143,7 +143,8 @@ public class CliquePantheonController implements PantheonController<CliqueContex
             fastSyncEnabled,
             syncConfig.downloaderParallelism(),
             syncConfig.transactionsParallelism(),
-            syncConfig.computationParallelism());
+            syncConfig.computationParallelism(),
+            metricsSystem);
     final SyncState syncState =
         new SyncState(blockchain, ethProtocolManager.ethContext().getEthPeers());
     final Synchronizer synchronizer =
@@ -146,7 +146,8 @@ public class IbftLegacyPantheonController implements PantheonController<IbftCont
               fastSyncEnabled,
               syncConfig.downloaderParallelism(),
               syncConfig.transactionsParallelism(),
-              syncConfig.computationParallelism());
+              syncConfig.computationParallelism(),
+              metricsSystem);
     }
 
     final SyncState syncState =
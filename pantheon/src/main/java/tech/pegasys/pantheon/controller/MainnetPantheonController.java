@@ -32,6 +32,8 @@ import tech.pegasys.pantheon.ethereum.eth.sync.SyncMode;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPoolFactory;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHasher;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
@@ -40,9 +42,11 @@ import tech.pegasys.pantheon.ethereum.p2p.config.SubProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Clock;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -53,6 +57,8 @@ import org.apache.logging.log4j.Logger;
 public class MainnetPantheonController implements PantheonController<Void> {
 
   private static final Logger LOG = LogManager.getLogger();
+  private static final String ETHASH_DATASET_FILE = "ethash-dataset";
+  private static final String ETHASH_CACHE_DIRECTORY = "ethash";
 
   private final ProtocolSchedule<Void> protocolSchedule;
   private final ProtocolContext<Void> protocolContext;
@@ -95,7 +101,8 @@ public class MainnetPantheonController implements PantheonController<Void> {
       final KeyPair nodeKeys,
       final PrivacyParameters privacyParameters,
       final Path dataDirectory,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final EthHashCacheFactory ethHashCacheFactory) {
 
     final GenesisState genesisState = GenesisState.fromConfig(genesisConfig, protocolSchedule);
     final ProtocolContext<Void> protocolContext =
@@ -115,7 +122,8 @@ public class MainnetPantheonController implements PantheonController<Void> {
             fastSyncEnabled,
             syncConfig.downloaderParallelism(),
             syncConfig.transactionsParallelism(),
-            syncConfig.computationParallelism());
+            syncConfig.computationParallelism(),
+            metricsSystem);
     final SyncState syncState =
         new SyncState(blockchain, ethProtocolManager.ethContext().getEthPeers());
     final Synchronizer synchronizer =
@@ -134,6 +142,7 @@ public class MainnetPantheonController implements PantheonController<Void> {
             protocolSchedule, protocolContext, ethProtocolManager.ethContext());
 
     final ExecutorService minerThreadPool = Executors.newCachedThreadPool();
+    final EthHasher ethHasher = createEthHasher(miningParams, dataDirectory, ethHashCacheFactory);
     final EthHashMinerExecutor executor =
         new EthHashMinerExecutor(
             protocolContext,
@@ -144,7 +153,8 @@ public class MainnetPantheonController implements PantheonController<Void> {
             new DefaultBlockScheduler(
                 MainnetBlockHeaderValidator.MINIMUM_SECONDS_SINCE_PARENT,
                 MainnetBlockHeaderValidator.TIMESTAMP_TOLERANCE_S,
-                Clock.systemUTC()));
+                Clock.systemUTC()),
+            ethHasher);
 
     final EthHashMiningCoordinator miningCoordinator =
         new EthHashMiningCoordinator(blockchain, executor, syncState);
@@ -170,6 +180,13 @@ public class MainnetPantheonController implements PantheonController<Void> {
           } catch (final InterruptedException e) {
             LOG.error("Failed to shutdown miner executor");
           }
+          if (ethHasher instanceof Closeable) {
+            try {
+              ((Closeable) ethHasher).close();
+            } catch (final IOException e) {
+              LOG.error("Failed to close EthHash dataset", e);
+            }
+          }
           try {
             storageProvider.close();
           } catch (final IOException e) {
@@ -178,6 +195,33 @@ public class MainnetPantheonController implements PantheonController<Void> {
         });
   }
 
+  /**
+   * Creates the EthHash cache factory shared by block validation and mining. Caches are persisted
+   * so restarts and block imports do not regenerate them.
+   *
+   * @param dataDirectory the node's data directory
+   * @return the cache factory
+   */
+  public static EthHashCacheFactory createEthHashCacheFactory(final Path dataDirectory) {
+    return new EthHashCacheFactory(
+        Optional.of(dataDirectory.resolve(ETHASH_CACHE_DIRECTORY)),
+        EthHashCacheFactory.DEFAULT_PRECOMPUTE_BLOCKS);
+  }
+
+  private static EthHasher createEthHasher(
+      final MiningParameters miningParams,
+      final Path dataDirectory,
+      final EthHashCacheFactory ethHashCacheFactory) {
+    if (!miningParams.isFullDatasetEnabled()) {
+      return new EthHasher.Light(ethHashCacheFactory);
+    }
+    try {
+      return new EthHasher.Full(dataDirectory.resolve(ETHASH_DATASET_FILE));
+    } catch (final IOException e) {
+      throw new IllegalStateException("Unable to open EthHash dataset file", e);
+    }
+  }
+
   @Override
   public ProtocolContext<Void> getProtocolContext() {
     return protocolContext;
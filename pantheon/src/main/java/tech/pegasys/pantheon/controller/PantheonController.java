@@ -26,6 +26,7 @@ import tech.pegasys.pantheon.ethereum.core.TransactionPool;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.config.SubProtocolConfiguration;
@@ -56,16 +57,19 @@ public interface PantheonController<C> extends Closeable {
     final GenesisConfigOptions configOptions = genesisConfigFile.getConfigOptions();
 
     if (configOptions.isEthHash()) {
+      final EthHashCacheFactory ethHashCacheFactory =
+          MainnetPantheonController.createEthHashCacheFactory(dataDirectory);
       return MainnetPantheonController.init(
           storageProvider,
           genesisConfigFile,
-          MainnetProtocolSchedule.fromConfig(configOptions, privacyParameters),
+          MainnetProtocolSchedule.fromConfig(configOptions, privacyParameters, ethHashCacheFactory),
           syncConfig,
           miningParameters,
           nodeKeys,
           privacyParameters,
           dataDirectory,
-          metricsSystem);
+          metricsSystem,
+          ethHashCacheFactory);
     } else if (configOptions.isIbft2()) {
       return IbftPantheonController.init(
           storageProvider,
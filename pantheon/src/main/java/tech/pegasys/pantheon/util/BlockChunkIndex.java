@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Index of a chunked block export.
+ *
+ * <p>An export is a directory holding numbered chunk files of concatenated block RLP, optionally
+ * with a matching file of concatenated receipt lists, and an index file with one line per chunk:
+ * {@code <first block> <last block> <blocks file> <receipts file or ->}.
+ */
+final class BlockChunkIndex {
+  static final String INDEX_FILE_NAME = "index";
+  private static final String NO_RECEIPTS = "-";
+
+  private final List<Chunk> chunks;
+
+  BlockChunkIndex(final List<Chunk> chunks) {
+    this.chunks = Collections.unmodifiableList(new ArrayList<>(chunks));
+  }
+
+  static boolean isChunkedExport(final Path path) {
+    return Files.isDirectory(path) && Files.isRegularFile(path.resolve(INDEX_FILE_NAME));
+  }
+
+  static BlockChunkIndex read(final Path directory) throws IOException {
+    final List<Chunk> chunks = new ArrayList<>();
+    for (final String line : Files.readAllLines(directory.resolve(INDEX_FILE_NAME), UTF_8)) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      final String[] fields = line.trim().split("\\s+");
+      checkArgument(fields.length == 4, "Malformed block export index entry: %s", line);
+      chunks.add(
+          new Chunk(
+              Long.parseLong(fields[0]),
+              Long.parseLong(fields[1]),
+              fields[2],
+              NO_RECEIPTS.equals(fields[3]) ? Optional.empty() : Optional.of(fields[3])));
+    }
+    return new BlockChunkIndex(chunks);
+  }
+
+  void write(final Path directory) throws IOException {
+    final List<String> lines = new ArrayList<>(chunks.size());
+    for (final Chunk chunk : chunks) {
+      lines.add(
+          String.format(
+              "%d %d %s %s",
+              chunk.firstBlock,
+              chunk.lastBlock,
+              chunk.blocksFile,
+              chunk.receiptsFile.orElse(NO_RECEIPTS)));
+    }
+    Files.write(directory.resolve(INDEX_FILE_NAME), lines, UTF_8);
+  }
+
+  List<Chunk> getChunks() {
+    return chunks;
+  }
+
+  boolean includesReceipts() {
+    return !chunks.isEmpty() && chunks.stream().allMatch(chunk -> chunk.receiptsFile.isPresent());
+  }
+
+  static final class Chunk {
+    private final long firstBlock;
+    private final long lastBlock;
+    private final String blocksFile;
+    private final Optional<String> receiptsFile;
+
+    Chunk(
+        final long firstBlock,
+        final long lastBlock,
+        final String blocksFile,
+        final Optional<String> receiptsFile) {
+      this.firstBlock = firstBlock;
+      this.lastBlock = lastBlock;
+      this.blocksFile = blocksFile;
+      this.receiptsFile = receiptsFile;
+    }
+
+    long getFirstBlock() {
+      return firstBlock;
+    }
+
+    long getLastBlock() {
+      return lastBlock;
+    }
+
+    String getBlocksFile() {
+      return blocksFile;
+    }
+
+    Optional<String> getReceiptsFile() {
+      return receiptsFile;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("firstBlock", firstBlock)
+          .add("lastBlock", lastBlock)
+          .add("blocksFile", blocksFile)
+          .add("receiptsFile", receiptsFile)
+          .toString();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHashFunction;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Iterates over the blocks of a chunked export in index order.
+ *
+ * <p>Each chunk file is memory mapped and blocks are decoded straight from the mapping, so chunk
+ * files are never copied onto the heap as a whole.
+ */
+final class BlockChunkIterator implements Iterator<ExportedBlock> {
+  private final Path directory;
+  private final BlockHashFunction blockHashFunction;
+  private final Iterator<BlockChunkIndex.Chunk> chunks;
+
+  private BytesValue blocks = BytesValue.EMPTY;
+  private int blocksOffset;
+  private Optional<BytesValue> receipts = Optional.empty();
+  private int receiptsOffset;
+
+  BlockChunkIterator(
+      final Path directory,
+      final BlockChunkIndex index,
+      final BlockHashFunction blockHashFunction) {
+    this.directory = directory;
+    this.blockHashFunction = blockHashFunction;
+    this.chunks = index.getChunks().iterator();
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (blocksOffset >= blocks.size() && chunks.hasNext()) {
+      openChunk(chunks.next());
+    }
+    return blocksOffset < blocks.size();
+  }
+
+  @Override
+  public ExportedBlock next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more blocks found in the export.");
+    }
+    final BytesValue blockRlp = nextItem(blocks, blocksOffset);
+    blocksOffset += blockRlp.size();
+    final Block block = Block.readFrom(RLP.input(blockRlp), blockHashFunction);
+
+    final Optional<List<TransactionReceipt>> blockReceipts =
+        receipts.map(
+            encodedReceipts -> {
+              checkState(
+                  receiptsOffset < encodedReceipts.size(),
+                  "Missing receipts for block %s",
+                  block.getHeader().getNumber());
+              final BytesValue receiptsRlp = nextItem(encodedReceipts, receiptsOffset);
+              receiptsOffset += receiptsRlp.size();
+              return RLP.input(receiptsRlp).readList(TransactionReceipt::readFrom);
+            });
+    return new ExportedBlock(block, blockReceipts);
+  }
+
+  private static BytesValue nextItem(final BytesValue data, final int offset) {
+    return data.slice(offset, RLP.calculateSize(data.slice(offset)));
+  }
+
+  private void openChunk(final BlockChunkIndex.Chunk chunk) {
+    try {
+      blocks = map(directory.resolve(chunk.getBlocksFile()));
+      blocksOffset = 0;
+      receipts =
+          chunk.getReceiptsFile().isPresent()
+              ? Optional.of(map(directory.resolve(chunk.getReceiptsFile().get())))
+              : Optional.empty();
+      receiptsOffset = 0;
+    } catch (final IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static BytesValue map(final Path file) throws IOException {
+    // The mapping stays valid once the channel is closed
+    try (final FileChannel channel = FileChannel.open(file)) {
+      final long size = channel.size();
+      checkState(size <= Integer.MAX_VALUE, "Chunk file %s is too large to map", file);
+      return size == 0
+          ? BytesValue.EMPTY
+          : BytesValue.wrapBuffer(channel.map(MapMode.READ_ONLY, 0, size));
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import tech.pegasys.pantheon.controller.PantheonController;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.io.ByteStreams;
+import org.apache.logging.log4j.Logger;
+
+/** Pantheon Block Export Util. */
+public class BlockExporter {
+  private static final Logger LOG = getLogger();
+
+  public static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+  /**
+   * Exports canonical blocks, and optionally their receipts, into numbered chunk files in the
+   * given directory along with an index of the chunks.
+   *
+   * <p>Blocks are copied from storage in their encoded form and never decoded.
+   *
+   * @param directory the directory to write the chunks and index to
+   * @param pantheonController the PantheonController that holds the blockchain to export
+   * @param startBlock the number of the first block to export
+   * @param endBlock the number of the last block to export, the chain head if empty
+   * @param chunkSize the maximum number of blocks per chunk file
+   * @param includeReceipts whether transaction receipts should be exported alongside the blocks
+   * @param <C> the consensus context type
+   * @return the export result
+   * @throws IOException On Failure
+   */
+  public <C> BlockExporter.ExportResult exportBlockchain(
+      final Path directory,
+      final PantheonController<C> pantheonController,
+      final long startBlock,
+      final Optional<Long> endBlock,
+      final int chunkSize,
+      final boolean includeReceipts)
+      throws IOException {
+    checkArgument(chunkSize > 0, "Chunk size must be positive.");
+    try {
+      final Blockchain blockchain = pantheonController.getProtocolContext().getBlockchain();
+      final long lastBlock =
+          Math.min(endBlock.orElse(Long.MAX_VALUE), blockchain.getChainHeadBlockNumber());
+      checkArgument(
+          startBlock >= 0 && startBlock <= lastBlock,
+          "Cannot export from block %s, last exportable block is %s.",
+          startBlock,
+          lastBlock);
+
+      Files.createDirectories(directory);
+      final List<BlockChunkIndex.Chunk> chunks = new ArrayList<>();
+      for (long chunkStart = startBlock; chunkStart <= lastBlock; chunkStart += chunkSize) {
+        final long chunkEnd = Math.min(chunkStart + chunkSize - 1, lastBlock);
+        chunks.add(exportChunk(directory, blockchain, chunkStart, chunkEnd, includeReceipts));
+        LOG.info("Exported blocks {} to {}", chunkStart, chunkEnd);
+      }
+      // The index is written last so an interrupted export is never mistaken for a complete one
+      new BlockChunkIndex(chunks).write(directory);
+      return new BlockExporter.ExportResult(lastBlock - startBlock + 1, chunks.size());
+    } finally {
+      pantheonController.close();
+    }
+  }
+
+  private BlockChunkIndex.Chunk exportChunk(
+      final Path directory,
+      final Blockchain blockchain,
+      final long firstBlock,
+      final long lastBlock,
+      final boolean includeReceipts)
+      throws IOException {
+    final String blocksFile = String.format("blocks-%010d.rlp", firstBlock);
+    final Optional<String> receiptsFile =
+        includeReceipts
+            ? Optional.of(String.format("receipts-%010d.rlp", firstBlock))
+            : Optional.empty();
+
+    try (final OutputStream blocksOut = open(directory.resolve(blocksFile));
+        final OutputStream receiptsOut =
+            receiptsFile.isPresent()
+                ? open(directory.resolve(receiptsFile.get()))
+                : ByteStreams.nullOutputStream()) {
+      for (long number = firstBlock; number <= lastBlock; number++) {
+        final Hash hash = lookup(blockchain.getBlockHashByNumber(number), "hash", number);
+        final BytesValue header = lookup(blockchain.getBlockHeaderRlp(hash), "header", number);
+        final BytesValue body = lookup(blockchain.getBlockBodyRlp(hash), "body", number);
+        write(blocksOut, encodeBlock(header, body));
+        if (includeReceipts) {
+          write(receiptsOut, lookup(blockchain.getTxReceiptsRlp(hash), "receipts", number));
+        }
+      }
+    }
+    return new BlockChunkIndex.Chunk(firstBlock, lastBlock, blocksFile, receiptsFile);
+  }
+
+  private static BytesValue encodeBlock(final BytesValue header, final BytesValue body) {
+    // Stored bodies are [transactions, ommers] while a block is [header, transactions, ommers]
+    final RLPInput bodyInput = RLP.input(body);
+    bodyInput.enterList();
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeRLPUnsafe(header);
+    out.writeRLPUnsafe(bodyInput.readAsRlp().raw());
+    out.writeRLPUnsafe(bodyInput.readAsRlp().raw());
+    out.endList();
+    return out.encoded();
+  }
+
+  private static <T> T lookup(final Optional<T> value, final String name, final long number) {
+    return value.orElseThrow(
+        () -> new IllegalStateException("Missing " + name + " for block " + number + "."));
+  }
+
+  private static OutputStream open(final Path file) throws IOException {
+    return new BufferedOutputStream(Files.newOutputStream(file));
+  }
+
+  private static void write(final OutputStream out, final BytesValue value) throws IOException {
+    out.write(value.getArrayUnsafe(), 0, value.size());
+  }
+
+  public static final class ExportResult {
+
+    final long count;
+
+    final int chunks;
+
+    ExportResult(final long count, final int chunks) {
+      this.count = count;
+      this.chunks = chunks;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this).add("count", count).add("chunks", chunks).toString();
+    }
+  }
+}
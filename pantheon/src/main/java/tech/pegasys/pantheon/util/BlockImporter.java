@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.util;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.logging.log4j.LogManager.getLogger;
 
@@ -19,9 +20,12 @@ import tech.pegasys.pantheon.controller.PantheonController;
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHashFunction;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
+import tech.pegasys.pantheon.ethereum.mainnet.BodyValidation;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
@@ -32,22 +36,27 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.Iterators;
 import org.apache.logging.log4j.Logger;
 
 /** Pantheon Block Import Util. */
 public class BlockImporter {
   private static final Logger LOG = getLogger();
 
-  private final Semaphore blockBacklog = new Semaphore(2);
+  public static final int DEFAULT_PIPELINE_DEPTH = 64;
+  private static final int TRUSTED_BATCH_SIZE = 1_000;
 
-  private final ExecutorService validationExecutor = Executors.newCachedThreadPool();
+  private final ExecutorService validationExecutor =
+      Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
   private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
 
   /**
@@ -62,70 +71,74 @@ public class BlockImporter {
    */
   public <C> BlockImporter.ImportResult importBlockchain(
       final Path blocks, final PantheonController<C> pantheonController) throws IOException {
+    return importBlockchain(blocks, pantheonController, DEFAULT_PIPELINE_DEPTH, false);
+  }
+
+  /**
+   * Imports blocks into Pantheon's block storage, either from a file of concatenated RLP sections
+   * or from a directory holding a chunked export written by {@link BlockExporter}.
+   *
+   * <p>Blocks from a trusted source are stored along with their exported receipts without
+   * executing their transactions, so the world state is not rebuilt for them. Trusted imports
+   * require a chunked export that includes receipts, and the world state of the last exported
+   * block must already be present so the new chain head has state. Every block is checked before
+   * any is stored, so an import that fails leaves the chain head where it was.
+   *
+   * @param blocks Path to the file or export directory containing the blocks
+   * @param pantheonController the PantheonController that defines blockchain behavior
+   * @param pipelineDepth the maximum number of blocks being validated ahead of the import
+   * @param trustedSource whether blocks should be stored without being executed
+   * @param <C> the consensus context type
+   * @return the import result
+   * @throws IOException On Failure
+   */
+  public <C> BlockImporter.ImportResult importBlockchain(
+      final Path blocks,
+      final PantheonController<C> pantheonController,
+      final int pipelineDepth,
+      final boolean trustedSource)
+      throws IOException {
+    checkArgument(pipelineDepth > 0, "Pipeline depth must be positive.");
     final ProtocolSchedule<C> protocolSchedule = pantheonController.getProtocolSchedule();
     final ProtocolContext<C> context = pantheonController.getProtocolContext();
-    final MutableBlockchain blockchain = context.getBlockchain();
-    int count = 0;
+    final BlockHashFunction blockHashFunction =
+        ScheduleBasedBlockHashFunction.create(protocolSchedule);
 
-    try (final RawBlockIterator iterator =
-        new RawBlockIterator(
-            blocks,
-            rlp ->
-                BlockHeader.readFrom(
-                    rlp, ScheduleBasedBlockHashFunction.create(protocolSchedule)))) {
-      BlockHeader previousHeader = null;
-      CompletableFuture<Void> previousBlockFuture = null;
-      while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
-          continue;
-        }
-        if (header.getNumber() % 100 == 0) {
-          LOG.info("Import at block {}", header.getNumber());
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec<C> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
-        final BlockHeader lastHeader = previousHeader;
-
-        final CompletableFuture<Void> validationFuture =
-            CompletableFuture.runAsync(
-                () -> validateBlock(protocolSpec, context, lastHeader, header), validationExecutor);
-
-        final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
-
-        final CompletableFuture<Void> calculationFutures;
-        if (previousBlockFuture == null) {
-          calculationFutures = extractingFuture;
-        } else {
-          calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
+    try {
+      if (BlockChunkIndex.isChunkedExport(blocks)) {
+        final BlockChunkIndex index = BlockChunkIndex.read(blocks);
+        checkArgument(
+            !trustedSource || index.includesReceipts(),
+            "Trusted imports require an export that includes receipts.");
+        if (trustedSource) {
+          checkLastExportedStateIsPresent(blocks, index, blockHashFunction, context);
         }
-
-        try {
-          blockBacklog.acquire();
-        } catch (final InterruptedException e) {
-          LOG.error("Interrupted adding to backlog.", e);
-          break;
+        final BlockImporter.ImportResult result =
+            importBlocks(
+                new BlockChunkIterator(blocks, index, blockHashFunction),
+                protocolSchedule,
+                context,
+                pipelineDepth,
+                trustedSource);
+        if (!trustedSource) {
+          return result;
         }
-        previousBlockFuture =
-            validationFuture.runAfterBothAsync(
-                calculationFutures,
-                () -> evaluateBlock(context, block, header, protocolSpec),
-                importExecutor);
-
-        ++count;
-        previousHeader = header;
+        // Only reached once every block has been checked
+        final MutableBlockchain blockchain = context.getBlockchain();
+        storeTrustedBlocks(new BlockChunkIterator(blocks, index, blockHashFunction), blockchain);
+        return new BlockImporter.ImportResult(
+            blockchain.getChainHead().getTotalDifficulty(), result.count);
       }
-      if (previousBlockFuture != null) {
-        previousBlockFuture.join();
+      checkArgument(!trustedSource, "Trusted imports require an export that includes receipts.");
+      try (final RawBlockIterator iterator =
+          new RawBlockIterator(blocks, rlp -> BlockHeader.readFrom(rlp, blockHashFunction))) {
+        return importBlocks(
+            Iterators.transform(iterator, block -> new ExportedBlock(block, Optional.empty())),
+            protocolSchedule,
+            context,
+            pipelineDepth,
+            false);
       }
-      return new BlockImporter.ImportResult(blockchain.getChainHead().getTotalDifficulty(), count);
     } finally {
       validationExecutor.shutdownNow();
       try {
@@ -143,6 +156,88 @@ public class BlockImporter {
     }
   }
 
+  private <C> BlockImporter.ImportResult importBlocks(
+      final Iterator<ExportedBlock> iterator,
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> context,
+      final int pipelineDepth,
+      final boolean trustedSource) {
+    final MutableBlockchain blockchain = context.getBlockchain();
+    final Semaphore blockBacklog = new Semaphore(pipelineDepth);
+    int count = 0;
+
+    BlockHeader previousHeader = null;
+    CompletableFuture<Void> previousBlockFuture = null;
+    while (iterator.hasNext()) {
+      final ExportedBlock exportedBlock = iterator.next();
+      final Block block = exportedBlock.getBlock();
+      final BlockHeader header = block.getHeader();
+      if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
+        continue;
+      }
+      if (header.getNumber() % 100 == 0) {
+        LOG.info("Import at block {}", header.getNumber());
+      }
+      if (blockchain.contains(header.getHash())) {
+        continue;
+      }
+      if (previousHeader == null) {
+        previousHeader = lookupPreviousHeader(blockchain, header);
+      }
+      final ProtocolSpec<C> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
+      final BlockHeader lastHeader = previousHeader;
+
+      final CompletableFuture<Void> validationFuture;
+      final CompletableFuture<Void> extractingFuture;
+      if (trustedSource) {
+        final List<TransactionReceipt> receipts = exportedBlock.getReceipts().get();
+        validationFuture =
+            CompletableFuture.runAsync(
+                () -> validateTrustedBlock(protocolSpec, context, lastHeader, block, receipts),
+                validationExecutor);
+        // Senders are only needed to execute transactions
+        extractingFuture = CompletableFuture.completedFuture(null);
+      } else {
+        validationFuture =
+            CompletableFuture.runAsync(
+                () -> validateBlock(protocolSpec, context, lastHeader, header),
+                validationExecutor);
+        extractingFuture = CompletableFuture.runAsync(() -> extractSignatures(block));
+      }
+
+      final CompletableFuture<Void> calculationFutures;
+      if (previousBlockFuture == null) {
+        calculationFutures = extractingFuture;
+      } else {
+        calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
+      }
+
+      try {
+        blockBacklog.acquire();
+      } catch (final InterruptedException e) {
+        LOG.error("Interrupted adding to backlog.", e);
+        break;
+      }
+      // Trusted blocks are only checked here, they are stored once the whole export has passed
+      final Runnable importStep =
+          trustedSource ? () -> {} : () -> evaluateBlock(context, block, header, protocolSpec);
+      previousBlockFuture =
+          validationFuture
+              .runAfterBothAsync(calculationFutures, importStep, importExecutor)
+              .whenComplete((result, error) -> blockBacklog.release());
+
+      ++count;
+      previousHeader = header;
+      if (previousBlockFuture.isCompletedExceptionally()) {
+        break;
+      }
+    }
+    if (previousBlockFuture != null) {
+      previousBlockFuture.join();
+    }
+    return new BlockImporter.ImportResult(blockchain.getChainHead().getTotalDifficulty(), count);
+  }
+
   private void extractSignatures(final Block block) {
     final List<CompletableFuture<Void>> futures =
         new ArrayList<>(block.getBody().getTransactions().size());
@@ -168,23 +263,81 @@ public class BlockImporter {
     }
   }
 
+  private <C> void validateTrustedBlock(
+      final ProtocolSpec<C> protocolSpec,
+      final ProtocolContext<C> context,
+      final BlockHeader previousHeader,
+      final Block block,
+      final List<TransactionReceipt> receipts) {
+    // Proof of work is skipped but the content must still match the header, catching corruption
+    final BlockHeader header = block.getHeader();
+    final boolean validHeader =
+        protocolSpec
+            .getBlockHeaderValidator()
+            .validateHeader(header, previousHeader, context, HeaderValidationMode.LIGHT);
+    if (!validHeader
+        || !header
+            .getTransactionsRoot()
+            .equals(BodyValidation.transactionsRoot(block.getBody().getTransactions()))
+        || !header.getOmmersHash().equals(BodyValidation.ommersHash(block.getBody().getOmmers()))
+        || !header.getReceiptsRoot().equals(BodyValidation.receiptsRoot(receipts))) {
+      throw new IllegalStateException("Invalid block at block number " + header.getNumber() + ".");
+    }
+  }
+
   private <C> void evaluateBlock(
       final ProtocolContext<C> context,
       final Block block,
       final BlockHeader header,
       final ProtocolSpec<C> protocolSpec) {
-    try {
-      final tech.pegasys.pantheon.ethereum.core.BlockImporter<C> blockImporter =
-          protocolSpec.getBlockImporter();
-      final boolean blockImported =
-          blockImporter.importBlock(context, block, HeaderValidationMode.NONE);
-      if (!blockImported) {
-        throw new IllegalStateException(
-            "Invalid block at block number " + header.getNumber() + ".");
+    final tech.pegasys.pantheon.ethereum.core.BlockImporter<C> blockImporter =
+        protocolSpec.getBlockImporter();
+    final boolean blockImported =
+        blockImporter.importBlock(context, block, HeaderValidationMode.NONE);
+    if (!blockImported) {
+      throw new IllegalStateException("Invalid block at block number " + header.getNumber() + ".");
+    }
+  }
+
+  private void storeTrustedBlocks(
+      final Iterator<ExportedBlock> iterator, final MutableBlockchain blockchain) {
+    final List<Block> blocks = new ArrayList<>(TRUSTED_BATCH_SIZE);
+    final List<List<TransactionReceipt>> receipts = new ArrayList<>(TRUSTED_BATCH_SIZE);
+    while (iterator.hasNext()) {
+      final ExportedBlock exportedBlock = iterator.next();
+      final Block block = exportedBlock.getBlock();
+      if (block.getHeader().getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER
+          || blockchain.contains(block.getHash())) {
+        continue;
+      }
+      blocks.add(block);
+      receipts.add(exportedBlock.getReceipts().get());
+      if (blocks.size() >= TRUSTED_BATCH_SIZE) {
+        blockchain.appendBlocks(blocks, receipts);
+        blocks.clear();
+        receipts.clear();
       }
-    } finally {
-      blockBacklog.release();
     }
+    blockchain.appendBlocks(blocks, receipts);
+  }
+
+  private <C> void checkLastExportedStateIsPresent(
+      final Path directory,
+      final BlockChunkIndex index,
+      final BlockHashFunction blockHashFunction,
+      final ProtocolContext<C> context) {
+    // Only the last chunk is read to find the block the chain head will end up on
+    final List<BlockChunkIndex.Chunk> chunks = index.getChunks();
+    final BlockChunkIndex lastChunk =
+        new BlockChunkIndex(chunks.subList(chunks.size() - 1, chunks.size()));
+    final BlockHeader lastHeader =
+        Iterators.getLast(new BlockChunkIterator(directory, lastChunk, blockHashFunction))
+            .getBlock()
+            .getHeader();
+    checkArgument(
+        context.getWorldStateArchive().get(lastHeader.getStateRoot()).isPresent(),
+        "Trusted imports require the world state of the last exported block, %s, to be present.",
+        lastHeader.getNumber());
   }
 
   private BlockHeader lookupPreviousHeader(
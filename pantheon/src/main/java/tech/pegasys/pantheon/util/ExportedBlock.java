@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+
+import java.util.List;
+import java.util.Optional;
+
+/** A block read for import, along with its receipts when the source provides them. */
+final class ExportedBlock {
+  private final Block block;
+  private final Optional<List<TransactionReceipt>> receipts;
+
+  ExportedBlock(final Block block, final Optional<List<TransactionReceipt>> receipts) {
+    this.block = block;
+    this.receipts = receipts;
+  }
+
+  Block getBlock() {
+    return block;
+  }
+
+  Optional<List<TransactionReceipt>> getReceipts() {
+    return receipts;
+  }
+}
@@ -30,6 +30,7 @@ import tech.pegasys.pantheon.ethereum.eth.sync.SyncMode;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashCacheFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
@@ -106,7 +107,8 @@ public final class RunnerTest {
             aheadDbNodeKeys,
             PrivacyParameters.noPrivacy(),
             dataDirAhead,
-            noOpMetricsSystem)) {
+            noOpMetricsSystem,
+            new EthHashCacheFactory())) {
       setupState(blockCount, controller.getProtocolSchedule(), controller.getProtocolContext());
     }
 
@@ -121,7 +123,8 @@ public final class RunnerTest {
             aheadDbNodeKeys,
             PrivacyParameters.noPrivacy(),
             dataDirAhead,
-            noOpMetricsSystem);
+            noOpMetricsSystem,
+            new EthHashCacheFactory());
     final String listenHost = InetAddress.getLoopbackAddress().getHostAddress();
     final ExecutorService executorService = Executors.newFixedThreadPool(2);
     final JsonRpcConfiguration aheadJsonRpcConfiguration = jsonRpcConfiguration();
@@ -174,7 +177,8 @@ public final class RunnerTest {
               KeyPair.generate(),
               PrivacyParameters.noPrivacy(),
               dataDirBehind,
-              noOpMetricsSystem);
+              noOpMetricsSystem,
+              new EthHashCacheFactory());
       final Runner runnerBehind =
           runnerBuilder
               .pantheonController(controllerBehind)
@@ -14,9 +14,13 @@ package tech.pegasys.pantheon.cli;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
+import tech.pegasys.pantheon.util.BlockImporter;
+
 import java.io.File;
+import java.util.Optional;
 
 import org.junit.Test;
 import picocli.CommandLine.Model.CommandSpec;
@@ -35,22 +39,19 @@ public class BlockSubCommandTest extends CommandTestAbstract {
           + "Commands:"
           + System.lineSeparator()
           + "  import  This command imports blocks from a file into the database."
-          + System.lineSeparator();
-
-  private static final String EXPECTED_BLOCK_IMPORT_USAGE =
-      "Usage: pantheon blocks import [-hV] --from=<FILE>"
-          + System.lineSeparator()
-          + "This command imports blocks from a file into the database."
-          + System.lineSeparator()
-          + "      --from=<FILE>   File containing blocks to import"
           + System.lineSeparator()
-          + "  -h, --help          Show this help message and exit."
-          + System.lineSeparator()
-          + "  -V, --version       Print version information and exit."
+          + "  export  This command exports blocks from the database into chunk files."
           + System.lineSeparator();
 
+  private static final String EXPECTED_BLOCK_IMPORT_USAGE_START =
+      "Usage: pantheon blocks import [-hV]";
+
+  private static final String EXPECTED_BLOCK_EXPORT_USAGE_START =
+      "Usage: pantheon blocks export [-hV]";
+
   private static final String BLOCK_SUBCOMMAND_NAME = "blocks";
   private static final String BLOCK_IMPORT_SUBCOMMAND_NAME = "import";
+  private static final String BLOCK_EXPORT_SUBCOMMAND_NAME = "export";
 
   // Block sub-command
   @Test
@@ -58,7 +59,7 @@ public class BlockSubCommandTest extends CommandTestAbstract {
     CommandSpec spec = parseCommand();
     assertThat(spec.subcommands()).containsKeys(BLOCK_SUBCOMMAND_NAME);
     assertThat(spec.subcommands().get(BLOCK_SUBCOMMAND_NAME).getSubcommands())
-        .containsKeys(BLOCK_IMPORT_SUBCOMMAND_NAME);
+        .containsKeys(BLOCK_IMPORT_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME);
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
@@ -89,7 +90,9 @@ public class BlockSubCommandTest extends CommandTestAbstract {
   @Test
   public void callingBlockImportSubCommandHelpMustDisplayUsage() {
     parseCommand(BLOCK_SUBCOMMAND_NAME, BLOCK_IMPORT_SUBCOMMAND_NAME, "--help");
-    assertThat(commandOutput.toString()).startsWith(EXPECTED_BLOCK_IMPORT_USAGE);
+    assertThat(commandOutput.toString())
+        .startsWith(EXPECTED_BLOCK_IMPORT_USAGE_START)
+        .contains("--from=<FILE>", "--pipeline-depth=<INTEGER>", "--trusted-source");
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
@@ -99,11 +102,86 @@ public class BlockSubCommandTest extends CommandTestAbstract {
     parseCommand(
         BLOCK_SUBCOMMAND_NAME, BLOCK_IMPORT_SUBCOMMAND_NAME, "--from", fileToImport.getPath());
 
-    verify(mockBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any());
+    verify(mockBlockImporter)
+        .importBlockchain(
+            pathArgumentCaptor.capture(),
+            any(),
+            eq(BlockImporter.DEFAULT_PIPELINE_DEPTH),
+            eq(false));
 
     assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
 
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
+
+  @Test
+  public void callingBlockImportSubCommandWithPipelineOptionsMustUseThem() throws Exception {
+    final File exportToImport = temp.newFolder("export");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_IMPORT_SUBCOMMAND_NAME,
+        "--from",
+        exportToImport.getPath(),
+        "--pipeline-depth",
+        "128",
+        "--trusted-source");
+
+    verify(mockBlockImporter)
+        .importBlockchain(pathArgumentCaptor.capture(), any(), eq(128), eq(true));
+
+    assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(exportToImport.toPath());
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  // Export sub-sub-command
+  @Test
+  public void callingBlockExportSubCommandWithoutPathMustDisplayErrorAndUsage() {
+    parseCommand(BLOCK_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME);
+    final String expectedErrorOutputStart = "Missing required option '--to=<PATH>'";
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).startsWith(expectedErrorOutputStart);
+  }
+
+  @Test
+  public void callingBlockExportSubCommandHelpMustDisplayUsage() {
+    parseCommand(BLOCK_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME, "--help");
+    assertThat(commandOutput.toString())
+        .startsWith(EXPECTED_BLOCK_EXPORT_USAGE_START)
+        .contains(
+            "--to=<PATH>",
+            "--start-block=<INTEGER>",
+            "--end-block=<INTEGER>",
+            "--chunk-size=<INTEGER>",
+            "--include-receipts");
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void callingBlockExportSubCommandWithPathMustExportBlocksToThisPath() throws Exception {
+    final File exportDirectory = temp.newFolder("export");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_EXPORT_SUBCOMMAND_NAME,
+        "--to",
+        exportDirectory.getPath(),
+        "--start-block",
+        "10",
+        "--end-block",
+        "20",
+        "--chunk-size",
+        "5",
+        "--include-receipts");
+
+    verify(mockBlockExporter)
+        .exportBlockchain(
+            pathArgumentCaptor.capture(), any(), eq(10L), eq(Optional.of(20L)), eq(5), eq(true));
+
+    assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(exportDirectory.toPath());
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
 }
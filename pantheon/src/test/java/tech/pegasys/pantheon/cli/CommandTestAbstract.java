@@ -23,9 +23,11 @@ import tech.pegasys.pantheon.RunnerBuilder;
 import tech.pegasys.pantheon.controller.PantheonController;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
+import tech.pegasys.pantheon.ethereum.jsonrpc.ipc.IpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 
 import java.io.ByteArrayOutputStream;
@@ -71,6 +73,7 @@ public abstract class CommandTestAbstract {
   @Mock SynchronizerConfiguration mockSyncConf;
   @Mock PantheonController<?> mockController;
   @Mock BlockImporter mockBlockImporter;
+  @Mock BlockExporter mockBlockExporter;
   @Mock Logger mockLogger;
 
   @Captor ArgumentCaptor<Collection<String>> stringListArgumentCaptor;
@@ -80,6 +83,7 @@ public abstract class CommandTestAbstract {
   @Captor ArgumentCaptor<Integer> intArgumentCaptor;
   @Captor ArgumentCaptor<JsonRpcConfiguration> jsonRpcConfigArgumentCaptor;
   @Captor ArgumentCaptor<WebSocketConfiguration> wsRpcConfigArgumentCaptor;
+  @Captor ArgumentCaptor<IpcConfiguration> ipcConfigArgumentCaptor;
   @Captor ArgumentCaptor<MetricsConfiguration> metricsConfigArgumentCaptor;
 
   @Captor ArgumentCaptor<PermissioningConfiguration> permissioningConfigurationArgumentCaptor;
@@ -120,6 +124,10 @@ public abstract class CommandTestAbstract {
     when(mockRunnerBuilder.p2pEnabled(anyBoolean())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.jsonRpcConfiguration(any())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.webSocketConfiguration(any())).thenReturn(mockRunnerBuilder);
+    when(mockRunnerBuilder.ipcConfiguration(any())).thenReturn(mockRunnerBuilder);
+    when(mockRunnerBuilder.gasPriceOracleBlocks(anyInt())).thenReturn(mockRunnerBuilder);
+    when(mockRunnerBuilder.gasPriceOraclePercentile(anyInt())).thenReturn(mockRunnerBuilder);
+    when(mockRunnerBuilder.gasEstimationProbes(anyInt())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.dataDir(any())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.bannedNodeIds(any())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.metricsSystem(any())).thenReturn(mockRunnerBuilder);
@@ -140,6 +148,7 @@ public abstract class CommandTestAbstract {
         new TestPantheonCommand(
             mockLogger,
             mockBlockImporter,
+            mockBlockExporter,
             mockRunnerBuilder,
             mockControllerBuilder,
             mockSyncConfBuilder);
@@ -159,12 +168,14 @@ public abstract class CommandTestAbstract {
     TestPantheonCommand(
         final Logger mockLogger,
         final BlockImporter mockBlockImporter,
+        final BlockExporter mockBlockExporter,
         final RunnerBuilder mockRunnerBuilder,
         final PantheonControllerBuilder mockControllerBuilder,
         final SynchronizerConfiguration.Builder mockSyncConfBuilder) {
       super(
           mockLogger,
           mockBlockImporter,
+          mockBlockExporter,
           mockRunnerBuilder,
           mockControllerBuilder,
           mockSyncConfBuilder);
@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.cli;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.Assume.assumeFalse;
 import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.eq;
@@ -40,6 +41,7 @@ import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.eth.sync.SyncMode;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
+import tech.pegasys.pantheon.ethereum.jsonrpc.ipc.IpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
@@ -879,6 +881,16 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void blockPropagationEarlyRelayOptionMustBeUsed() {
+    parseCommand("--block-propagation-early-relay-enabled");
+
+    verify(mockSyncConfBuilder).blockPropagationEarlyRelay(ArgumentMatchers.eq(true));
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Ignore("Ignored as we only have one mode available for now. See NC-1057/NC-1681")
   @Test
   public void syncModeOptionMustBeUsed() {
@@ -983,6 +995,101 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void rpcHttpRequestSchedulingOptionsMustBeUsed() {
+    parseCommand(
+        "--rpc-http-enabled",
+        "--rpc-http-execution-threads",
+        "4",
+        "--rpc-http-max-queued-requests",
+        "50",
+        "--rpc-http-max-requests-per-client",
+        "10",
+        "--rpc-http-method-concurrency-limits",
+        "eth_getLogs=1,debug_traceTransaction=3");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    final JsonRpcConfiguration config = jsonRpcConfigArgumentCaptor.getValue();
+    assertThat(config.getExecutionThreads()).isEqualTo(4);
+    assertThat(config.getMaxQueuedRequests()).isEqualTo(50);
+    assertThat(config.getMaxRequestsPerClient()).isEqualTo(10);
+    assertThat(config.getMethodConcurrencyLimits())
+        .containsOnly(entry("eth_getLogs", 1), entry("debug_traceTransaction", 3));
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpExecutionThreadsDefaultWhenNotSet() {
+    parseCommand("--rpc-http-enabled");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getExecutionThreads())
+        .isEqualTo(JsonRpcConfiguration.DEFAULT_EXECUTION_THREADS);
+  }
+
+  @Test
+  public void rpcHttpMethodConcurrencyLimitsDefaultWhenNotSet() {
+    parseCommand("--rpc-http-enabled");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getMethodConcurrencyLimits())
+        .isEqualTo(JsonRpcConfiguration.DEFAULT_METHOD_CONCURRENCY_LIMITS);
+  }
+
+  @Test
+  public void rpcHttpResponseCacheOptionsMustBeUsed() {
+    parseCommand(
+        "--rpc-http-enabled",
+        "--rpc-http-response-cache-size",
+        "1048576",
+        "--rpc-http-response-cache-confirmations",
+        "30");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getResponseCacheSize()).isEqualTo(1048576);
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getResponseCacheConfirmations())
+        .isEqualTo(30);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpSlowRequestThresholdOptionMustBeUsed() {
+    parseCommand("--rpc-http-enabled", "--rpc-http-slow-request-threshold", "2000");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getSlowRequestThresholdMillis())
+        .isEqualTo(2000);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpSlowRequestThresholdMustNotBeNegative() {
+    parseCommand("--rpc-http-enabled", "--rpc-http-slow-request-threshold", "-1");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .startsWith(
+            "Slow request threshold must not be negative (--rpc-http-slow-request-threshold)");
+  }
+
   @Test
   public void rpcHttpHostMayBeLocalhost() {
 
@@ -1429,6 +1536,60 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void rpcIpcEnabledPropertyDefaultIsFalse() {
+    parseCommand();
+
+    verify(mockRunnerBuilder).ipcConfiguration(ipcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(ipcConfigArgumentCaptor.getValue().isEnabled()).isFalse();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void rpcIpcOptionsMustBeUsed() {
+    final Path path = Paths.get("/tmp/pantheon-test.ipc");
+    parseCommand("--rpc-ipc-enabled", "--rpc-ipc-path", path.toString(), "--rpc-ipc-api", "ETH");
+
+    verify(mockRunnerBuilder).ipcConfiguration(ipcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    final IpcConfiguration config = ipcConfigArgumentCaptor.getValue();
+    assertThat(config.isEnabled()).isTrue();
+    assertThat(config.getPath()).isEqualTo(path);
+    assertThat(config.getRpcApis()).containsExactly(ETH);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void rpcIpcPathDefaultsToDataPath() {
+    assumeTrue(isFullInstantiation());
+
+    final Path path = Paths.get(".");
+    parseCommand("--rpc-ipc-enabled", "--data-path", path.toString());
+
+    verify(mockRunnerBuilder).ipcConfiguration(ipcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(ipcConfigArgumentCaptor.getValue().getPath())
+        .isEqualTo(path.resolve(IpcConfiguration.DEFAULT_IPC_FILE));
+  }
+
+  @Test
+  public void rpcIpcOptionsRequiresServiceToBeEnabled() {
+    parseCommand("--rpc-ipc-path", "/tmp/pantheon-test.ipc");
+
+    verifyOptionsConstraintLoggerCall("--rpc-ipc-path", "--rpc-ipc-enabled");
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Test
   public void metricsEnabledPropertyDefaultIsFalse() {
     parseCommand();
@@ -1676,7 +1837,9 @@ public class PantheonCommandTest extends CommandTestAbstract {
         "--miner-enabled",
         "--miner-coinbase=" + requestedCoinbase.toString(),
         "--min-gas-price=15",
-        "--miner-extra-data=" + extraDataString);
+        "--miner-extra-data=" + extraDataString,
+        "--miner-threads=4",
+        "--miner-full-dataset-enabled");
 
     final ArgumentCaptor<MiningParameters> miningArg =
         ArgumentCaptor.forClass(MiningParameters.class);
@@ -1690,6 +1853,78 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(miningArg.getValue().getMinTransactionGasPrice()).isEqualTo(Wei.of(15));
     assertThat(miningArg.getValue().getExtraData())
         .isEqualTo(BytesValue.fromHexString(extraDataString));
+    assertThat(miningArg.getValue().getThreads()).isEqualTo(4);
+    assertThat(miningArg.getValue().isFullDatasetEnabled()).isTrue();
+  }
+
+  @Test
+  public void rpcGasPriceOptionsMustBeUsed() {
+    parseCommand("--rpc-gas-price-blocks", "50", "--rpc-gas-price-percentile", "40");
+
+    verify(mockRunnerBuilder).gasPriceOracleBlocks(50);
+    verify(mockRunnerBuilder).gasPriceOraclePercentile(40);
+    verify(mockRunnerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void rpcGasPriceBlocksMustBePositive() {
+    parseCommand("--rpc-gas-price-blocks", "0");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .startsWith(
+            "Unable to suggest a gas price from less than one block (--rpc-gas-price-blocks)");
+  }
+
+  @Test
+  public void rpcGasPricePercentileMustNotExceedOneHundred() {
+    parseCommand("--rpc-gas-price-percentile", "101");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .startsWith(
+            "Gas price percentile must be between 0 and 100 (--rpc-gas-price-percentile)");
+  }
+
+  @Test
+  public void rpcGasEstimationProbesOptionMustBeUsed() {
+    parseCommand("--rpc-gas-estimation-probes", "4");
+
+    verify(mockRunnerBuilder).gasEstimationProbes(4);
+    verify(mockRunnerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void rpcGasEstimationProbesMustBePositive() {
+    parseCommand("--rpc-gas-estimation-probes", "0");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .startsWith(
+            "Unable to estimate gas with less than one probe (--rpc-gas-estimation-probes)");
+  }
+
+  @Test
+  public void minerThreadsMustBePositive() {
+    parseCommand("--miner-threads=0");
+
+    verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .startsWith("Unable to mine with less than one thread (--miner-threads)");
   }
 
   @Test
@@ -14,14 +14,19 @@ package tech.pegasys.pantheon.util;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import tech.pegasys.pantheon.config.GenesisConfigFile;
 import tech.pegasys.pantheon.controller.PantheonController;
 import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider;
 import tech.pegasys.pantheon.ethereum.core.MiningParametersTestBuilder;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
+import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.testutil.BlockTestUtil;
 import tech.pegasys.pantheon.util.uint.UInt256;
@@ -30,6 +35,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import com.google.common.io.Resources;
 import org.junit.Rule;
@@ -67,6 +75,156 @@ public final class BlockImporterTest {
     assertThat(result.td).isEqualTo(UInt256.of(21991996248790L));
   }
 
+  @Test
+  public void chunkedExportImport() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    final Path source = dataDir.resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+    final PantheonController<?> sourceController = createMainnetController(dataDir);
+    blockImporter.importBlockchain(source, sourceController);
+
+    final Path export = folder.newFolder().toPath();
+    new BlockExporter().exportBlockchain(export, sourceController, 0, Optional.empty(), 300, true);
+    assertThat(BlockChunkIndex.read(export).getChunks()).hasSize(4);
+
+    final BlockImporter.ImportResult result =
+        new BlockImporter().importBlockchain(export, createMainnetController(dataDir), 16, false);
+    assertThat(result.count).isEqualTo(999);
+    assertThat(result.td).isEqualTo(UInt256.of(21991996248790L));
+  }
+
+  @Test
+  public void trustedChunkedImportStoresBlocksAndReceipts() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    final Path source = dataDir.resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+    // The world state of the exported chain head is present, as it is for any state restored
+    // separately from the blocks
+    final WorldStateStorage worldStateStorage =
+        new InMemoryStorageProvider().createWorldStateStorage();
+    final PantheonController<?> sourceController =
+        createMainnetController(dataDir, sharingWorldState(worldStateStorage));
+    blockImporter.importBlockchain(source, sourceController);
+
+    final Path export = folder.newFolder().toPath();
+    new BlockExporter().exportBlockchain(export, sourceController, 0, Optional.empty(), 300, true);
+
+    final PantheonController<?> targetController =
+        createMainnetController(dataDir, sharingWorldState(worldStateStorage));
+    final BlockImporter.ImportResult result =
+        new BlockImporter().importBlockchain(export, targetController, 16, true);
+    assertThat(result.count).isEqualTo(999);
+    assertThat(result.td).isEqualTo(UInt256.of(21991996248790L));
+
+    final Blockchain blockchain = targetController.getProtocolContext().getBlockchain();
+    final Hash headHash = blockchain.getChainHeadHash();
+    assertThat(blockchain.getTxReceipts(headHash))
+        .isEqualTo(sourceController.getProtocolContext().getBlockchain().getTxReceipts(headHash));
+  }
+
+  @Test
+  public void trustedImportRequiresWorldStateOfLastExportedBlock() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    final Path source = dataDir.resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+    final PantheonController<?> sourceController = createMainnetController(dataDir);
+    blockImporter.importBlockchain(source, sourceController);
+
+    final Path export = folder.newFolder().toPath();
+    new BlockExporter().exportBlockchain(export, sourceController, 0, Optional.empty(), 300, true);
+
+    final PantheonController<?> targetController = createMainnetController(dataDir);
+    assertThatThrownBy(
+            () -> new BlockImporter().importBlockchain(export, targetController, 16, true))
+        .isInstanceOf(IllegalArgumentException.class);
+    // The chain head is not moved onto blocks without world state
+    assertThat(targetController.getProtocolContext().getBlockchain().getChainHeadBlockNumber())
+        .isEqualTo(0L);
+  }
+
+  @Test
+  public void failedTrustedImportDoesNotStoreAnyBlocks() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    final Path source = dataDir.resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+    final WorldStateStorage worldStateStorage =
+        new InMemoryStorageProvider().createWorldStateStorage();
+    final PantheonController<?> sourceController =
+        createMainnetController(dataDir, sharingWorldState(worldStateStorage));
+    blockImporter.importBlockchain(source, sourceController);
+
+    final Path export = folder.newFolder().toPath();
+    new BlockExporter().exportBlockchain(export, sourceController, 0, Optional.empty(), 300, true);
+
+    // Point the second chunk at the blocks of the third, so the chain breaks after block 299
+    final List<BlockChunkIndex.Chunk> chunks =
+        new ArrayList<>(BlockChunkIndex.read(export).getChunks());
+    final BlockChunkIndex.Chunk secondChunk = chunks.get(1);
+    chunks.set(
+        1,
+        new BlockChunkIndex.Chunk(
+            secondChunk.getFirstBlock(),
+            secondChunk.getLastBlock(),
+            chunks.get(2).getBlocksFile(),
+            secondChunk.getReceiptsFile()));
+    new BlockChunkIndex(chunks).write(export);
+
+    final PantheonController<?> targetController =
+        createMainnetController(dataDir, sharingWorldState(worldStateStorage));
+    assertThatThrownBy(
+            () -> new BlockImporter().importBlockchain(export, targetController, 16, true))
+        .isInstanceOf(RuntimeException.class);
+    // Blocks checked before the failure are not stored either, they have no world state
+    assertThat(targetController.getProtocolContext().getBlockchain().getChainHeadBlockNumber())
+        .isEqualTo(0L);
+  }
+
+  @Test
+  public void trustedImportRequiresReceipts() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    final Path source = dataDir.resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+    final PantheonController<?> sourceController = createMainnetController(dataDir);
+    blockImporter.importBlockchain(source, sourceController);
+
+    final Path export = folder.newFolder().toPath();
+    new BlockExporter().exportBlockchain(export, sourceController, 0, Optional.empty(), 300, false);
+
+    assertThatThrownBy(
+            () ->
+                new BlockImporter()
+                    .importBlockchain(export, createMainnetController(dataDir), 16, true))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private PantheonController<?> createMainnetController(final Path dataDir) {
+    return createMainnetController(dataDir, new InMemoryStorageProvider());
+  }
+
+  private PantheonController<?> createMainnetController(
+      final Path dataDir, final StorageProvider storageProvider) {
+    return PantheonController.fromConfig(
+        GenesisConfigFile.mainnet(),
+        SynchronizerConfiguration.builder().build(),
+        storageProvider,
+        false,
+        1,
+        new MiningParametersTestBuilder().enabled(false).build(),
+        KeyPair.generate(),
+        new NoOpMetricsSystem(),
+        PrivacyParameters.noPrivacy(),
+        dataDir);
+  }
+
+  private static StorageProvider sharingWorldState(final WorldStateStorage worldStateStorage) {
+    return new InMemoryStorageProvider() {
+      @Override
+      public WorldStateStorage createWorldStateStorage() {
+        return worldStateStorage;
+      }
+    };
+  }
+
   @Test
   public void ibftImport() throws IOException {
     final Path dataDir = folder.newFolder().toPath();
@@ -32,6 +32,8 @@ import java.util.stream.StreamSupport;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
@@ -43,6 +45,9 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
+
+  private final BloomFilter bloomFilter;
   private final Options options;
   private final TransactionDBOptions txOptions;
   private final TransactionDB db;
@@ -62,7 +67,13 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
   private RocksDbKeyValueStorage(final Path storageDirectory, final MetricsSystem metricsSystem) {
     RocksDbUtil.loadNativeLibrary();
     try {
-      options = new Options().setCreateIfMissing(true);
+      bloomFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false);
+      // Bloom filters answer most lookups for absent keys, such as world state nodes that are
+      // still to be downloaded, without reading any data blocks.
+      options =
+          new Options()
+              .setCreateIfMissing(true)
+              .setTableFormatConfig(new BlockBasedTableConfig().setFilter(bloomFilter));
       txOptions = new TransactionDBOptions();
       db = TransactionDB.open(options, txOptions, storageDirectory.toString());
 
@@ -123,6 +134,7 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
       txOptions.close();
       options.close();
       db.close();
+      bloomFilter.close();
     }
   }
 
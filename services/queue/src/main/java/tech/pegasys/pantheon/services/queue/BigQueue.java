@@ -13,6 +13,9 @@
 package tech.pegasys.pantheon.services.queue;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Represents a very large thread-safe queue that may exceed memory limits.
@@ -23,10 +26,32 @@ public interface BigQueue<T> extends Closeable {
 
   void enqueue(T value);
 
+  default void enqueueAll(final Collection<T> values) {
+    values.forEach(this::enqueue);
+  }
+
   T dequeue();
 
+  /**
+   * Removes up to {@code maxSize} values from the head of the queue.
+   *
+   * @param maxSize the maximum number of values to remove
+   * @return the values removed, in queue order, which is empty if the queue is empty
+   */
+  default List<T> dequeueBatch(final int maxSize) {
+    final List<T> values = new ArrayList<>(Math.min(maxSize, 64));
+    T value;
+    while (values.size() < maxSize && (value = dequeue()) != null) {
+      values.add(value);
+    }
+    return values;
+  }
+
   long size();
 
+  /** Removes every value from the queue. */
+  void clear();
+
   default boolean isEmpty() {
     return size() == 0;
   }
@@ -15,7 +15,10 @@ package tech.pegasys.pantheon.services.queue;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class BytesQueueAdapter<T> implements BigQueue<T> {
 
@@ -37,17 +40,32 @@ public class BytesQueueAdapter<T> implements BigQueue<T> {
     queue.enqueue(serializer.apply(value));
   }
 
+  @Override
+  public void enqueueAll(final Collection<T> values) {
+    queue.enqueueAll(values.stream().map(serializer).collect(Collectors.toList()));
+  }
+
   @Override
   public T dequeue() {
     BytesValue value = queue.dequeue();
     return value == null ? null : deserializer.apply(value);
   }
 
+  @Override
+  public List<T> dequeueBatch(final int maxSize) {
+    return queue.dequeueBatch(maxSize).stream().map(deserializer).collect(Collectors.toList());
+  }
+
   @Override
   public long size() {
     return queue.size();
   }
 
+  @Override
+  public void clear() {
+    queue.clear();
+  }
+
   @Override
   public void close() throws IOException {
     queue.close();
@@ -33,6 +33,11 @@ public class InMemoryBigQueue<T> implements BigQueue<T> {
     return internalQueue.size();
   }
 
+  @Override
+  public void clear() {
+    internalQueue.clear();
+  }
+
   @Override
   public void close() {
     internalQueue.clear();
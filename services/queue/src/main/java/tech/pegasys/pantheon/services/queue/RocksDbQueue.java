@@ -19,6 +19,10 @@ import tech.pegasys.pantheon.services.util.RocksDbUtil;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -26,8 +30,13 @@ import com.google.common.primitives.Longs;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 public class RocksDbQueue implements BytesQueue {
 
@@ -35,10 +44,13 @@ public class RocksDbQueue implements BytesQueue {
 
   private final Options options;
   private final RocksDB db;
+  private final WriteOptions writeOptions;
 
   private final AtomicLong lastEnqueuedKey = new AtomicLong(0);
   private final AtomicLong lastDequeuedKey = new AtomicLong(0);
   private final AtomicBoolean closed = new AtomicBoolean(false);
+  private final Object enqueueLock = new Object();
+  private final Object dequeueLock = new Object();
 
   private final OperationTimer enqueueLatency;
   private final OperationTimer dequeueLatency;
@@ -46,12 +58,10 @@ public class RocksDbQueue implements BytesQueue {
   private RocksDbQueue(final Path storageDirectory, final MetricsSystem metricsSystem) {
     try {
       RocksDbUtil.loadNativeLibrary();
-      options =
-          new Options()
-              .setCreateIfMissing(true)
-              // TODO: Support restoration from a previously persisted queue
-              .setErrorIfExists(true);
+      options = new Options().setCreateIfMissing(true);
+      writeOptions = new WriteOptions();
       db = RocksDB.open(options, storageDirectory.toString());
+      restoreKeys();
 
       enqueueLatency =
           metricsSystem.createTimer(
@@ -68,51 +78,148 @@ public class RocksDbQueue implements BytesQueue {
     }
   }
 
+  private void restoreKeys() {
+    // Values are stored under consecutive keys, so the first and last stored keys are all that is
+    // needed to continue from a queue persisted by an earlier process.
+    try (final RocksIterator iterator = db.newIterator()) {
+      iterator.seekToFirst();
+      if (!iterator.isValid()) {
+        return;
+      }
+      final long firstKey = Longs.fromByteArray(iterator.key());
+      iterator.seekToLast();
+      final long lastKey = Longs.fromByteArray(iterator.key());
+      lastDequeuedKey.set(firstKey - 1);
+      lastEnqueuedKey.set(lastKey);
+      LOG.info("Restored queue with {} pending items", lastKey - firstKey + 1);
+    }
+  }
+
   public static RocksDbQueue create(
       final Path storageDirectory, final MetricsSystem metricsSystem) {
     return new RocksDbQueue(storageDirectory, metricsSystem);
   }
 
   @Override
-  public synchronized void enqueue(final BytesValue value) {
+  public void enqueue(final BytesValue value) {
     assertNotClosed();
-    try (final OperationTimer.TimingContext ignored = enqueueLatency.startTimer()) {
-      byte[] key = Longs.toByteArray(lastEnqueuedKey.incrementAndGet());
-      db.put(key, value.getArrayUnsafe());
-    } catch (RocksDBException e) {
-      throw new StorageException(e);
+    synchronized (enqueueLock) {
+      try (final OperationTimer.TimingContext ignored = enqueueLatency.startTimer()) {
+        final long key = lastEnqueuedKey.get() + 1;
+        db.put(Longs.toByteArray(key), value.getArrayUnsafe());
+        // Keys are only published once written, so readers never see a missing value
+        lastEnqueuedKey.set(key);
+      } catch (RocksDBException e) {
+        throw new StorageException(e);
+      }
     }
   }
 
   @Override
-  public synchronized BytesValue dequeue() {
+  public void enqueueAll(final Collection<BytesValue> values) {
     assertNotClosed();
-    if (size() == 0) {
-      return null;
+    if (values.isEmpty()) {
+      return;
     }
-    try (final OperationTimer.TimingContext ignored = dequeueLatency.startTimer()) {
-      byte[] key = Longs.toByteArray(lastDequeuedKey.incrementAndGet());
-      byte[] value = db.get(key);
-      if (value == null) {
-        throw new IllegalStateException("Next expected value is missing");
+    synchronized (enqueueLock) {
+      try (final OperationTimer.TimingContext ignored = enqueueLatency.startTimer();
+          final WriteBatch batch = new WriteBatch()) {
+        long key = lastEnqueuedKey.get();
+        for (final BytesValue value : values) {
+          batch.put(Longs.toByteArray(++key), value.getArrayUnsafe());
+        }
+        db.write(writeOptions, batch);
+        lastEnqueuedKey.set(key);
+      } catch (RocksDBException e) {
+        throw new StorageException(e);
       }
-      db.delete(key);
+    }
+  }
 
-      return BytesValue.of(value);
-    } catch (RocksDBException e) {
-      throw new StorageException(e);
+  @Override
+  public BytesValue dequeue() {
+    assertNotClosed();
+    synchronized (dequeueLock) {
+      if (size() == 0) {
+        return null;
+      }
+      try (final OperationTimer.TimingContext ignored = dequeueLatency.startTimer()) {
+        final long key = lastDequeuedKey.get() + 1;
+        byte[] value = db.get(Longs.toByteArray(key));
+        if (value == null) {
+          throw new IllegalStateException("Next expected value is missing");
+        }
+        db.delete(Longs.toByteArray(key));
+        lastDequeuedKey.set(key);
+
+        return BytesValue.of(value);
+      } catch (RocksDBException e) {
+        throw new StorageException(e);
+      }
     }
   }
 
   @Override
-  public synchronized long size() {
+  public List<BytesValue> dequeueBatch(final int maxSize) {
     assertNotClosed();
-    return lastEnqueuedKey.get() - lastDequeuedKey.get();
+    synchronized (dequeueLock) {
+      final long count = Math.min(maxSize, size());
+      if (count <= 0) {
+        return Collections.emptyList();
+      }
+      final long firstKey = lastDequeuedKey.get() + 1;
+      final long endKey = firstKey + count;
+      final List<BytesValue> values = new ArrayList<>((int) count);
+      try (final OperationTimer.TimingContext ignored = dequeueLatency.startTimer();
+          final Slice upperBound = new Slice(Longs.toByteArray(endKey));
+          final ReadOptions readOptions = new ReadOptions().setIterateUpperBound(upperBound);
+          final RocksIterator iterator = db.newIterator(readOptions)) {
+        for (iterator.seek(Longs.toByteArray(firstKey)); iterator.isValid(); iterator.next()) {
+          values.add(BytesValue.wrap(iterator.value()));
+        }
+        if (values.size() != count) {
+          throw new IllegalStateException("Next expected value is missing");
+        }
+        // A single range tombstone replaces one tombstone per consumed key
+        db.deleteRange(Longs.toByteArray(firstKey), Longs.toByteArray(endKey));
+        lastDequeuedKey.set(endKey - 1);
+
+        return values;
+      } catch (RocksDBException e) {
+        throw new StorageException(e);
+      }
+    }
+  }
+
+  @Override
+  public long size() {
+    assertNotClosed();
+    // Read the dequeue cursor first so a concurrent dequeue can never make the size negative
+    final long dequeuedKey = lastDequeuedKey.get();
+    return lastEnqueuedKey.get() - dequeuedKey;
+  }
+
+  @Override
+  public void clear() {
+    assertNotClosed();
+    synchronized (enqueueLock) {
+      synchronized (dequeueLock) {
+        try {
+          db.deleteRange(
+              Longs.toByteArray(lastDequeuedKey.get() + 1),
+              Longs.toByteArray(lastEnqueuedKey.get() + 1));
+          lastDequeuedKey.set(lastEnqueuedKey.get());
+        } catch (RocksDBException e) {
+          throw new StorageException(e);
+        }
+      }
+    }
   }
 
   @Override
   public void close() {
     if (closed.compareAndSet(false, true)) {
+      writeOptions.close();
       options.close();
       db.close();
     }
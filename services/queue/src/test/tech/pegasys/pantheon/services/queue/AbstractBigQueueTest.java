@@ -17,6 +17,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
@@ -52,6 +54,48 @@ abstract class AbstractBigQueueTest<T extends BigQueue<BytesValue>> {
     }
   }
 
+  @Test
+  public void enqueueAllAndDequeueBatch() throws Exception {
+    try (T queue = createQueue()) {
+      final BytesValue one = BytesValue.of(1);
+      final BytesValue two = BytesValue.of(2);
+      final BytesValue three = BytesValue.of(3);
+
+      assertThat(queue.dequeueBatch(2)).isEmpty();
+
+      queue.enqueueAll(Arrays.asList(one, two));
+      queue.enqueue(three);
+      assertThat(queue.size()).isEqualTo(3);
+
+      assertThat(queue.dequeueBatch(2)).containsExactly(one, two);
+      assertThat(queue.dequeueBatch(2)).containsExactly(three);
+      assertThat(queue.dequeueBatch(2)).isEmpty();
+
+      queue.enqueueAll(Collections.emptyList());
+      queue.enqueueAll(Collections.singletonList(one));
+      assertThat(queue.dequeue()).isEqualTo(one);
+      assertThat(queue.isEmpty()).isTrue();
+    }
+  }
+
+  @Test
+  public void clearRemovesAllValues() throws Exception {
+    try (T queue = createQueue()) {
+      queue.enqueue(BytesValue.of(1));
+      queue.enqueue(BytesValue.of(2));
+      queue.dequeue();
+      queue.enqueue(BytesValue.of(3));
+
+      queue.clear();
+
+      assertThat(queue.size()).isEqualTo(0);
+      assertThat(queue.dequeue()).isNull();
+
+      queue.enqueue(BytesValue.of(4));
+      assertThat(queue.dequeue()).isEqualTo(BytesValue.of(4));
+    }
+  }
+
   @Test
   public void handlesConcurrentQueuing() throws Exception {
     final int threadCount = 5;
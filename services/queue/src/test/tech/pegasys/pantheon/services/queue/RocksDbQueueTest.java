@@ -12,11 +12,16 @@
  */
 package tech.pegasys.pantheon.services.queue;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 import org.junit.Rule;
+import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 public class RocksDbQueueTest extends AbstractBigQueueTest<RocksDbQueue> {
@@ -27,4 +32,24 @@ public class RocksDbQueueTest extends AbstractBigQueueTest<RocksDbQueue> {
   protected RocksDbQueue createQueue() throws IOException {
     return RocksDbQueue.create(folder.newFolder().toPath(), new NoOpMetricsSystem());
   }
+
+  @Test
+  public void restoresPendingValuesWhenReopened() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    try (RocksDbQueue queue = RocksDbQueue.create(directory, new NoOpMetricsSystem())) {
+      queue.enqueue(BytesValue.of(1));
+      queue.enqueue(BytesValue.of(2));
+      queue.enqueue(BytesValue.of(3));
+      assertThat(queue.dequeue()).isEqualTo(BytesValue.of(1));
+    }
+
+    try (RocksDbQueue queue = RocksDbQueue.create(directory, new NoOpMetricsSystem())) {
+      assertThat(queue.size()).isEqualTo(2);
+      queue.enqueue(BytesValue.of(4));
+      assertThat(queue.dequeue()).isEqualTo(BytesValue.of(2));
+      assertThat(queue.dequeue()).isEqualTo(BytesValue.of(3));
+      assertThat(queue.dequeue()).isEqualTo(BytesValue.of(4));
+      assertThat(queue.dequeue()).isNull();
+    }
+  }
 }